@@ -0,0 +1,167 @@
+package com.shovan.NotificationService.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.tracing.DeliveryMetrics;
+import com.shovan.NotificationService.tracing.DeliveryTrace;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-message logging cost on the consumer path, before and after the
+ * delivery logging rework, with four listener threads sharing one appender
+ * that formats Spring Boot's console pattern into a null stream.
+ * <ul>
+ * <li>legacy – the former three INFO lines (received, sent, status) plus the
+ * two show-sql statements Hibernate printed for the status update</li>
+ * <li>summarySampled – the current path: DEBUG-only step logging and
+ * DeliveryMetrics' summary line at the default 1% success sampling</li>
+ * <li>summaryEveryMessage – the summary line for every message, i.e. a
+ * failure storm</li>
+ * </ul>
+ * Every variant also runs DeliveryMetrics.complete, so differences are the
+ * logging alone. The async appender blocks when full here (production config
+ * drops instead) so its writer thread's throughput shows up in the score. Run
+ * with {@code -prof gc} for allocation per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class DeliveryLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 4242 --- [Notification-Service] "
+            + "[%15.15t] [%X{traceId:-}] %-40.40logger{39} : %m%n%wEx";
+
+    private static final Logger listenerLog = LoggerFactory.getLogger(
+            "com.shovan.NotificationService.queue.NotificationListener");
+    private static final Logger notifierLog = LoggerFactory.getLogger(
+            "com.shovan.NotificationService.notifier.AbstractNotifier");
+
+    /** sync: ConsoleAppender as Boot configures it by default; async: logback-spring.xml. */
+    @Param({ "sync", "async" })
+    public String appender;
+
+    private final PrintStream sqlOut = new PrintStream(OutputStream.nullOutputStream());
+    private Appender<ILoggingEvent> root;
+    private DeliveryMetrics quietMetrics;
+    private DeliveryMetrics sampledMetrics;
+    private DeliveryMetrics everyMessageMetrics;
+    private Notification notification;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+
+        if (appender.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setIncludeCallerData(false);
+            async.addAppender(output);
+            async.start();
+            root = async;
+        } else {
+            root = output;
+        }
+        ch.qos.logback.classic.Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        rootLogger.addAppender(root);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        quietMetrics = new DeliveryMetrics(registry, Duration.ofSeconds(30), 0);
+        sampledMetrics = new DeliveryMetrics(registry, Duration.ofSeconds(30), 0.01);
+        everyMessageMetrics = new DeliveryMetrics(registry, Duration.ofSeconds(30), 1.0);
+
+        notification = Fixtures.notification("otp");
+        notification.setStatus(NotificationStatus.SUCCESS);
+        notification.setAttempts(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        root.stop();
+    }
+
+    @Benchmark
+    public Notification legacy() {
+        listenerLog.info("Received Notification id={} channel={}", notification.getId(), notification.getChannel());
+        notifierLog.info("Notification id={} sent successfully via {}",
+                notification.getId(), notification.getChannel());
+        sqlOut.println("Hibernate: select n1_0.id,n1_0.attempts,n1_0.channel,n1_0.created_at,n1_0.last_error_class,"
+                + "n1_0.parameters,n1_0.priority,n1_0.send_at,n1_0.status,n1_0.template_name,n1_0.updated_at "
+                + "from notification n1_0 where n1_0.id=?");
+        sqlOut.println("Hibernate: update notification set attempts=?,channel=?,last_error_class=?,parameters=?,"
+                + "priority=?,send_at=?,status=?,template_name=?,updated_at=? where id=?");
+        quietMetrics.complete(quietMetrics.start(trace()), notification);
+        listenerLog.info("Notification id={} status={} attempts={}",
+                notification.getId(), notification.getStatus(), notification.getAttempts());
+        return notification;
+    }
+
+    @Benchmark
+    public Notification summarySampled() {
+        listenerLog.debug("Received Notification id={} channel={}", notification.getId(), notification.getChannel());
+        notifierLog.debug("Notification id={} sent successfully via {}",
+                notification.getId(), notification.getChannel());
+        sampledMetrics.complete(sampledMetrics.start(trace()), notification);
+        return notification;
+    }
+
+    @Benchmark
+    public Notification summaryEveryMessage() {
+        listenerLog.debug("Received Notification id={} channel={}", notification.getId(), notification.getChannel());
+        notifierLog.debug("Notification id={} sent successfully via {}",
+                notification.getId(), notification.getChannel());
+        everyMessageMetrics.complete(everyMessageMetrics.start(trace()), notification);
+        return notification;
+    }
+
+    private static DeliveryTrace trace() {
+        long now = System.currentTimeMillis();
+        return new DeliveryTrace("0123456789abcdef0123456789abcdef", now - 5, now - 3);
+    }
+}
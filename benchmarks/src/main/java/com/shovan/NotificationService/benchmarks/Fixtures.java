@@ -0,0 +1,85 @@
+package com.shovan.NotificationService.benchmarks;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.enums.NotificationStatus;
+
+/**
+ * Representative templates and payloads shared by the benchmarks.
+ *
+ * <p>
+ * "otp" is a short transactional message with two variables; "digest" is a
+ * newsletter-style body iterating over a list, the heaviest shape seen in
+ * production templates.
+ * </p>
+ */
+final class Fixtures {
+
+    static final String OTP_TEMPLATE = """
+            <p>Hello <span th:text="${name}">user</span>,</p>
+            <p>Your verification code is <b th:text="${code}">000000</b>.
+            It expires in <span th:text="${minutes}">5</span> minutes.</p>
+            """;
+
+    static final String OTP_PARAMETERS = """
+            {"email":"ada@example.com","name":"Ada Lovelace","code":"482913","minutes":5}""";
+
+    static final String DIGEST_TEMPLATE = """
+            <html><body>
+            <h1 th:text="'Weekly digest for ' + ${name}">Digest</h1>
+            <table>
+              <tr th:each="item : ${items}">
+                <td th:text="${item.title}">title</td>
+                <td th:text="${item.summary}">summary</td>
+                <td><a th:href="${item.url}" th:text="${item.url}">link</a></td>
+              </tr>
+            </table>
+            <p th:if="${unsubscribe != null}"><a th:href="${unsubscribe}">Unsubscribe</a></p>
+            </body></html>
+            """;
+
+    static final String DIGEST_PARAMETERS = digestParameters(50);
+
+    private Fixtures() {
+    }
+
+    static String template(String shape) {
+        return "digest".equals(shape) ? DIGEST_TEMPLATE : OTP_TEMPLATE;
+    }
+
+    static String parameters(String shape) {
+        return "digest".equals(shape) ? DIGEST_PARAMETERS : OTP_PARAMETERS;
+    }
+
+    static Notification notification(String shape) {
+        return Notification.builder()
+                .id(42L)
+                .channel(Channel.EMAIL)
+                .templateName(shape)
+                .parameters(parameters(shape))
+                .priority(NotificationPriority.NORMAL)
+                .status(NotificationStatus.PENDING)
+                .sendAt(Instant.parse("2025-01-01T09:00:00Z"))
+                .createdAt(LocalDateTime.of(2025, 1, 1, 8, 59))
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 8, 59))
+                .build();
+    }
+
+    private static String digestParameters(int items) {
+        StringBuilder json = new StringBuilder("{\"email\":\"ada@example.com\",\"name\":\"Ada Lovelace\",\"unsubscribe\":\"https://example.com/u/42\",\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"title\":\"Article ").append(i)
+                    .append("\",\"summary\":\"A short summary of article ").append(i)
+                    .append(" with <markup> that needs escaping & more\",\"url\":\"https://example.com/a/")
+                    .append(i).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
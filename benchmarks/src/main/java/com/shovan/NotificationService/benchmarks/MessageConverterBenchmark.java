@@ -0,0 +1,69 @@
+package com.shovan.NotificationService.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import com.shovan.NotificationService.entity.Notification;
+
+/**
+ * Notification (de)serialization by the converter configured in
+ * RabbitMQConfig: publish side (toMessage), consume side (fromMessage with the
+ * listener's inferred argument type) and the full round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageConverterBenchmark {
+
+    @Param({ "otp", "digest" })
+    private String shape;
+
+    private Jackson2JsonMessageConverter converter;
+    private Notification notification;
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        converter = new Jackson2JsonMessageConverter();
+        notification = Fixtures.notification(shape);
+        message = inbound(converter.toMessage(notification, new MessageProperties()));
+    }
+
+    @Benchmark
+    public Message toMessage() {
+        return converter.toMessage(notification, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object fromMessage() {
+        return converter.fromMessage(message);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return converter.fromMessage(inbound(converter.toMessage(notification, new MessageProperties())));
+    }
+
+    /** Mark the message the way the @RabbitListener adapter does before converting. */
+    private static Message inbound(Message message) {
+        message.getMessageProperties().setInferredArgumentType(Notification.class);
+        return message;
+    }
+}
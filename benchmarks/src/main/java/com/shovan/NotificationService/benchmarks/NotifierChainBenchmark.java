@@ -0,0 +1,108 @@
+package com.shovan.NotificationService.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.shovan.NotificationService.decorator.RetryDecorator;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.notifier.AbstractNotifier;
+import com.shovan.NotificationService.notifier.Notifier;
+import com.shovan.NotificationService.routing.Provider;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties.Hedge;
+import com.shovan.NotificationService.routing.RoutingNotifier;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Overhead of the chain NotificationListener sends through on the success
+ * path: RetryDecorator around the channel's {@link RoutingNotifier} (provider
+ * pick, one circuit breaker per provider), over a notifier whose doSend() does
+ * nothing. Registries mirror the resilience4j defaults in application.yml.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotifierChainBenchmark {
+
+    private static final String NAME = Channel.EMAIL.notifierName();
+
+    private RetryRegistry retryRegistry;
+    private Notifier notifier;
+    private RoutingNotifier router;
+    private Notifier prebuiltChain;
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(20)
+                .failureRateThreshold(50)
+                .build());
+        retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(500))
+                .build());
+        notifier = new NoOpNotifier();
+        // The email route in application.yml: one provider, no hedging. The notification
+        // has no stored body, so the router needs neither executor nor TemplateService
+        router = new RoutingNotifier(Channel.EMAIL, List.of(new Provider("smtp", 1, notifier)),
+                Hedge.DISABLED, circuitBreakerRegistry, new SimpleMeterRegistry(), Runnable::run, null);
+        prebuiltChain = new RetryDecorator(router, retryRegistry, NAME);
+        notification = Fixtures.notification("otp");
+    }
+
+    /** Template method only, no decorators. */
+    @Benchmark
+    public Notification baseline() {
+        notifier.send(notification, "body");
+        return notification;
+    }
+
+    /** The router alone: provider pick and its circuit breaker. */
+    @Benchmark
+    public Notification routed() {
+        router.send(notification, "body");
+        return notification;
+    }
+
+    /** As NotificationListener does it: the router, wrapped in a RetryDecorator for every message. */
+    @Benchmark
+    public Notification chainPerMessage() {
+        Notifier chain = new RetryDecorator(router, retryRegistry, NAME);
+        chain.send(notification, "body");
+        return notification;
+    }
+
+    /** Reference point: one chain reused across messages. */
+    @Benchmark
+    public Notification chainReused() {
+        prebuiltChain.send(notification, "body");
+        return notification;
+    }
+
+    static final class NoOpNotifier extends AbstractNotifier {
+        @Override
+        protected void doSend(Notification notification, String content) {
+        }
+    }
+}
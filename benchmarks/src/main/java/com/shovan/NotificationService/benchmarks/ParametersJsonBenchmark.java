@@ -0,0 +1,70 @@
+package com.shovan.NotificationService.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Parsing the parameters JSON column into a Map. The same document is parsed
+ * by TemplateService and again by every notifier's doSend().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParametersJsonBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    @Param({ "otp", "digest" })
+    private String shape;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader mapReader;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        mapReader = objectMapper.readerFor(MAP_TYPE);
+        json = Fixtures.parameters(shape);
+    }
+
+    /** As TemplateService does it: a new TypeReference per call. */
+    @Benchmark
+    public Map<String, Object> typeReference() throws Exception {
+        return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {
+        });
+    }
+
+    /** As the notifiers do it: raw Map.class. */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> rawMap() throws Exception {
+        return objectMapper.readValue(json, Map.class);
+    }
+
+    /** Reference point: a reader resolved once and reused. */
+    @Benchmark
+    public Map<String, Object> cachedReader() throws Exception {
+        return mapReader.readValue(json);
+    }
+}
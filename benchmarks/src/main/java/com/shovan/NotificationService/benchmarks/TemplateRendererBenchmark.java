@@ -0,0 +1,54 @@
+package com.shovan.NotificationService.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.util.TemplateRenderer;
+
+/**
+ * Thymeleaf rendering alone: variables are parsed once in setup, so this
+ * isolates the engine (template parsing is not cached, see TemplateRenderer).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRendererBenchmark {
+
+    @Param({ "otp", "digest" })
+    private String shape;
+
+    private TemplateRenderer renderer;
+    private String template;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() throws Exception {
+        renderer = new TemplateRenderer();
+        template = Fixtures.template(shape);
+        variables = new ObjectMapper().readValue(Fixtures.parameters(shape),
+                new TypeReference<Map<String, Object>>() {
+                });
+    }
+
+    @Benchmark
+    public String render() {
+        return renderer.render(template, variables);
+    }
+}
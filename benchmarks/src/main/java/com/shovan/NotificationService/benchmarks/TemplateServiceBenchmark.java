@@ -0,0 +1,88 @@
+package com.shovan.NotificationService.benchmarks;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.blob.BlobProperties;
+import com.shovan.NotificationService.blob.BlobStore;
+import com.shovan.NotificationService.render.RenderExecutor;
+import com.shovan.NotificationService.render.RenderProperties;
+import com.shovan.NotificationService.repository.NotificationTemplateRepository;
+import com.shovan.NotificationService.service.TemplateService;
+import com.shovan.NotificationService.util.TemplateRenderer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * TemplateService.render on a Redis cache hit: cache lookup, parameters JSON
+ * parsing and Thymeleaf rendering, i.e. step 1 of NotificationListener.
+ * Redis is a Mockito stub, so network time is excluded. Renders run on
+ * RenderExecutor with the default budgets, so the hand-off to a render thread
+ * is included; the blob store is disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateServiceBenchmark {
+
+    @Param({ "otp", "digest" })
+    private String shape;
+
+    private RenderExecutor renderExecutor;
+    private TemplateService templateService;
+    private String parameters;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(ops);
+        when(ops.get(anyString())).thenReturn(Fixtures.template(shape));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BlobStore blobStore = new BlobStore(
+                new BlobProperties(false, null, DataSize.ofKilobytes(64), Duration.ofDays(7), Duration.ofHours(1)),
+                meterRegistry);
+        renderExecutor = new RenderExecutor(new TemplateRenderer(), new RenderProperties(0, 0, 256,
+                Duration.ofSeconds(2), Duration.ofMillis(500), DataSize.ofMegabytes(1)), blobStore, meterRegistry);
+        templateService = new TemplateService(mock(NotificationTemplateRepository.class), redis,
+                renderExecutor, blobStore, new ObjectMapper());
+        parameters = Fixtures.parameters(shape);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        renderExecutor.destroy();
+    }
+
+    @Benchmark
+    public String render() {
+        return templateService.render(shape, parameters);
+    }
+}
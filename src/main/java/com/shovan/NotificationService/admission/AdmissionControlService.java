@@ -0,0 +1,183 @@
+package com.shovan.NotificationService.admission;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.shovan.NotificationService.dto.NotificationRequestDTO;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.exception.AdmissionRejectedException;
+import com.shovan.NotificationService.factory.NotifierFactory;
+import com.shovan.NotificationService.tenant.KnownTenants;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether an ingestion request is accepted, before any DB work.
+ *
+ * <p>
+ * Checks, cheapest first:
+ * <ol>
+ * <li><b>Load shedding</b> – broker unreachable, lane backlog above its limit,
+ * Postgres pool saturated, or every provider of every requested channel
+ * behind an OPEN circuit breaker. Decisions use the latest {@link LoadSnapshot}; nothing is queried
+ * on the request thread.</li>
+ * <li><b>Per-tenant quota</b> – one Resilience4j RateLimiter per known tenant
+ * (see KnownTenants), using the "clientQuota" config; individual tenants can
+ * be given their own limits as "client-&lt;id&gt;" instances. Client ids that
+ * are not known share one "client-other" quota, so arbitrary X-Client-Id
+ * values cannot create limiters.</li>
+ * </ol>
+ * Rejections throw {@link AdmissionRejectedException} (HTTP 429 + Retry-After)
+ * and every decision is counted in notification.admission{outcome,reason}.
+ * </p>
+ */
+@Service
+@Slf4j
+public class AdmissionControlService {
+
+    private static final String QUOTA_CONFIG = "clientQuota";
+
+    private final LoadSampler loadSampler;
+    private final NotifierFactory notifierFactory;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final KnownTenants knownTenants;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final long maxQueueDepth;
+    private final long maxHighQueueDepth;
+    private final int maxDbPoolWaiters;
+    private final Duration retryAfter;
+    private final Duration maxRetryAfter;
+
+    public AdmissionControlService(LoadSampler loadSampler,
+            NotifierFactory notifierFactory,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RateLimiterRegistry rateLimiterRegistry,
+            KnownTenants knownTenants,
+            MeterRegistry meterRegistry,
+            @Value("${notification.admission.enabled:true}") boolean enabled,
+            @Value("${notification.admission.max-queue-depth:100000}") long maxQueueDepth,
+            @Value("${notification.admission.max-high-queue-depth:10000}") long maxHighQueueDepth,
+            @Value("${notification.admission.max-db-pool-waiters:10}") int maxDbPoolWaiters,
+            @Value("${notification.admission.retry-after:5s}") Duration retryAfter,
+            @Value("${notification.admission.max-retry-after:5m}") Duration maxRetryAfter) {
+        this.loadSampler = loadSampler;
+        this.notifierFactory = notifierFactory;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.knownTenants = knownTenants;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxHighQueueDepth = maxHighQueueDepth;
+        this.maxDbPoolWaiters = maxDbPoolWaiters;
+        this.retryAfter = retryAfter;
+        this.maxRetryAfter = maxRetryAfter;
+    }
+
+    /**
+     * Admit or reject a request.
+     *
+     * @param clientId resolved tenant id (null counts as the default tenant)
+     * @param request  the validated request
+     * @throws AdmissionRejectedException if the request is shed or over quota
+     */
+    public void admit(String clientId, NotificationRequestDTO request) {
+        if (!enabled) {
+            return;
+        }
+        LoadSnapshot load = loadSampler.current();
+        boolean high = request.getPriority() == NotificationPriority.HIGH;
+        // Scheduled requests do not hit the queue or providers now
+        boolean immediate = request.getSendAt() == null || !request.getSendAt().isAfter(OffsetDateTime.now());
+
+        if (immediate) {
+            if (!load.brokerReachable()) {
+                reject("broker_unavailable", retryAfter);
+            }
+            long depth = high ? load.highQueueDepth() : load.bulkQueueDepth();
+            long limit = high ? maxHighQueueDepth : maxQueueDepth;
+            if (depth > limit) {
+                reject("queue_depth", drainEstimate(depth - limit, load.consumedPerSecond()));
+            }
+            if (allChannelsOpen(request, load)) {
+                reject("circuit_open", breakerWait(request));
+            }
+        }
+        if (load.dbPoolWaiters() > maxDbPoolWaiters) {
+            reject("db_pool", retryAfter);
+        }
+
+        String client = knownTenants.bucket(clientId != null && !clientId.isBlank() ? clientId : null);
+        RateLimiter quota = rateLimiterRegistry.rateLimiter("client-" + client, QUOTA_CONFIG);
+        if (!quota.acquirePermission(request.getChannels().size())) {
+            reject("client_quota", quota.getRateLimiterConfig().getLimitRefreshPeriod());
+        }
+
+        counter("accepted", "none").increment();
+    }
+
+    private boolean allChannelsOpen(NotificationRequestDTO request, LoadSnapshot load) {
+        if (load.openCircuitBreakers().isEmpty()) {
+            return false;
+        }
+        for (Channel channel : request.getChannels()) {
+            // A channel is down only when failover has nowhere left to go
+            if (!load.openCircuitBreakers().containsAll(notifierFactory.circuitBreakerNames(channel))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Time until the first requested provider's breaker may go HALF_OPEN. */
+    private Duration breakerWait(NotificationRequestDTO request) {
+        long waitMillis = request.getChannels().stream()
+                .flatMap(ch -> notifierFactory.circuitBreakerNames(ch).stream())
+                .mapToLong(name -> circuitBreakerRegistry.circuitBreaker(name)
+                        .getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1))
+                .min()
+                .orElse(retryAfter.toMillis());
+        return Duration.ofMillis(waitMillis);
+    }
+
+    /** Rough time for consumers to drain the excess backlog, bounded. */
+    private Duration drainEstimate(long excess, double consumedPerSecond) {
+        if (consumedPerSecond <= 0) {
+            return maxRetryAfter;
+        }
+        Duration estimate = Duration.ofSeconds((long) Math.ceil(excess / consumedPerSecond));
+        if (estimate.compareTo(retryAfter) < 0) {
+            return retryAfter;
+        }
+        return estimate.compareTo(maxRetryAfter) > 0 ? maxRetryAfter : estimate;
+    }
+
+    private void reject(String reason, Duration wait) {
+        counter("shed", reason).increment();
+        log.debug("Admission rejected [reason={}, retryAfter={}]", reason, wait);
+        throw new AdmissionRejectedException(reason, wait);
+    }
+
+    private Counter counter(String outcome, String reason) {
+        return counters.computeIfAbsent(outcome + ":" + reason, key -> Counter.builder("notification.admission")
+                .description("Ingestion requests accepted or shed by admission control")
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,168 @@
+package com.shovan.NotificationService.admission;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.event.NotificationSentEvent;
+import com.shovan.NotificationService.partition.RecipientPartitions;
+import com.shovan.NotificationService.queue.PostgresQueueConsumer;
+import com.shovan.NotificationService.stream.StreamLane;
+import com.shovan.NotificationService.tenant.TenantShards;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically samples queue depth, consumer throughput, Postgres pool
+ * saturation and circuit breaker state into an immutable {@link LoadSnapshot}.
+ *
+ * <p>
+ * Sampling runs on the scheduler, never on request threads, so admission
+ * decisions cost a volatile read instead of a broker round trip.
+ * </p>
+ * <p>
+ * Under the pg-queue profile there is no broker: queue depths are the
+ * PENDING backlogs PostgresQueueConsumer counts in the notification table.
+ * </p>
+ */
+@Component
+@Slf4j
+public class LoadSampler {
+
+    private final ObjectProvider<AmqpAdmin> amqpAdmin;
+    private final ObjectProvider<PostgresQueueConsumer> postgresQueue;
+    private final ObjectProvider<DataSource> dataSource;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final TenantShards tenantShards;
+    private final RecipientPartitions recipientPartitions;
+    private final ObjectProvider<StreamLane> streamLane;
+
+    /** Notifications processed by this instance (fed by NotificationSentEvent). */
+    private final LongAdder processed = new LongAdder();
+    private long lastProcessed;
+    private long lastSampleNanos = System.nanoTime();
+
+    private volatile LoadSnapshot snapshot = LoadSnapshot.INITIAL;
+
+    public LoadSampler(ObjectProvider<AmqpAdmin> amqpAdmin,
+            ObjectProvider<PostgresQueueConsumer> postgresQueue,
+            ObjectProvider<DataSource> dataSource,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            TenantShards tenantShards,
+            RecipientPartitions recipientPartitions,
+            ObjectProvider<StreamLane> streamLane) {
+        this.amqpAdmin = amqpAdmin;
+        this.postgresQueue = postgresQueue;
+        this.dataSource = dataSource;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.tenantShards = tenantShards;
+        this.recipientPartitions = recipientPartitions;
+        this.streamLane = streamLane;
+    }
+
+    /** @return the most recent load snapshot */
+    public LoadSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Count processed notifications to estimate consumer throughput.
+     *
+     * @param event published by NotificationListener after each notification
+     */
+    @EventListener
+    public void onNotificationSent(NotificationSentEvent event) {
+        processed.increment();
+    }
+
+    /**
+     * Take a new snapshot.
+     */
+    @Scheduled(fixedDelayString = "${notification.admission.sample-interval:1s}")
+    public void sample() {
+        long now = System.nanoTime();
+        long total = processed.sum();
+        double seconds = Math.max((now - lastSampleNanos) / 1e9, 0.001);
+        double consumedPerSecond = (total - lastProcessed) / seconds;
+        lastProcessed = total;
+        lastSampleNanos = now;
+
+        boolean brokerReachable = true;
+        long bulkDepth = snapshot.bulkQueueDepth();
+        long highDepth = snapshot.highQueueDepth();
+        PostgresQueueConsumer pgQueue = postgresQueue.getIfAvailable();
+        if (pgQueue != null) {
+            try {
+                bulkDepth = pgQueue.backlog(NotificationPriority.NORMAL);
+                highDepth = pgQueue.backlog(NotificationPriority.HIGH);
+            } catch (RuntimeException ex) {
+                log.debug("Queue depth sample failed: {}", ex.getMessage());
+            }
+            snapshot = new LoadSnapshot(true, bulkDepth, highDepth, consumedPerSecond,
+                    dbPoolWaiters(), openCircuitBreakers(), Instant.now());
+            return;
+        }
+        try {
+            // The bulk lane is the plain bulk queue plus every tenant sub-queue
+            // and recipient partition, plus the bulk stream's lag
+            long sum = 0;
+            for (String queue : tenantShards.bulkQueues()) {
+                sum += depth(queue);
+            }
+            for (String queue : recipientPartitions.queues()) {
+                sum += depth(queue);
+            }
+            StreamLane stream = streamLane.getIfAvailable();
+            if (stream != null) {
+                sum += stream.lag();
+            }
+            bulkDepth = sum;
+            highDepth = depth(RabbitMQConfig.HIGH_PRIORITY_QUEUE);
+        } catch (AmqpException ex) {
+            brokerReachable = false;
+            log.debug("Queue depth sample failed: {}", ex.getMessage());
+        }
+
+        snapshot = new LoadSnapshot(brokerReachable, bulkDepth, highDepth, consumedPerSecond,
+                dbPoolWaiters(), openCircuitBreakers(), Instant.now());
+    }
+
+    private long depth(String queue) {
+        QueueInformation info = amqpAdmin.getObject().getQueueInfo(queue);
+        return info != null ? info.getMessageCount() : 0;
+    }
+
+    private int dbPoolWaiters() {
+        DataSource ds = dataSource.getIfAvailable();
+        if (ds instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+        }
+        return 0;
+    }
+
+    private Set<String> openCircuitBreakers() {
+        return circuitBreakerRegistry.getAllCircuitBreakers().stream()
+                .filter(cb -> cb.getState() == CircuitBreaker.State.OPEN
+                        || cb.getState() == CircuitBreaker.State.FORCED_OPEN)
+                .map(CircuitBreaker::getName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
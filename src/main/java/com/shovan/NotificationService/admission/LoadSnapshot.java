@@ -0,0 +1,28 @@
+package com.shovan.NotificationService.admission;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Point-in-time view of downstream load, sampled off the request path.
+ *
+ * @param brokerReachable       whether the last queue-depth sample succeeded
+ * @param bulkQueueDepth        ready messages in the bulk lane
+ * @param highQueueDepth        ready messages in the HIGH priority lane
+ * @param consumedPerSecond     notifications processed per second by this instance
+ * @param dbPoolWaiters         threads waiting for a Postgres connection
+ * @param openCircuitBreakers   names of circuit breakers currently OPEN
+ * @param sampledAt             when this snapshot was taken
+ */
+public record LoadSnapshot(
+        boolean brokerReachable,
+        long bulkQueueDepth,
+        long highQueueDepth,
+        double consumedPerSecond,
+        int dbPoolWaiters,
+        Set<String> openCircuitBreakers,
+        Instant sampledAt) {
+
+    /** Snapshot used before the first sample: assume a healthy system. */
+    public static final LoadSnapshot INITIAL = new LoadSnapshot(true, 0, 0, 0, 0, Set.of(), Instant.EPOCH);
+}
@@ -0,0 +1,33 @@
+package com.shovan.NotificationService.blob;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Local store for large rendered bodies, bound from notification.blobs.
+ *
+ * @param enabled       off by default: every body is rendered into memory
+ * @param dir           where blobs are kept; defaults to notification-blobs
+ *                      under java.io.tmpdir. Local to the instance, so it
+ *                      saves re-renders on this instance only
+ * @param threshold     rendered size, in characters, above which an EMAIL
+ *                      body is written to the store instead of memory
+ * @param ttl           how long a blob is kept after it was last stored;
+ *                      beyond the replay window of FAILED notifications
+ * @param sweepInterval how often expired blobs are deleted
+ */
+@ConfigurationProperties("notification.blobs")
+public record BlobProperties(@DefaultValue("false") boolean enabled,
+        Path dir,
+        @DefaultValue("64KB") DataSize threshold,
+        @DefaultValue("7d") Duration ttl,
+        @DefaultValue("1h") Duration sweepInterval) {
+
+    public BlobProperties {
+        dir = dir != null ? dir : Path.of(System.getProperty("java.io.tmpdir"), "notification-blobs");
+    }
+}
@@ -0,0 +1,252 @@
+package com.shovan.NotificationService.blob;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed store for large rendered bodies, on the instance's local
+ * disk.
+ *
+ * <p>
+ * A blob is written once, to a temporary file while its SHA-256 is computed,
+ * then moved to {@code <dir>/<first 2 hex>/<hex>}; storing the same body again
+ * (a retry, a replay, the same newsletter to another recipient with identical
+ * parameters) finds the file and only refreshes its modification time. The
+ * key is what Notification.contentRef holds. Reads map the file rather than
+ * loading it onto the heap ({@link MappedBlob}).
+ * </p>
+ * <p>
+ * Blobs not stored again within the ttl are deleted by {@link #sweep}. The
+ * store is a cache of renders: a missing blob only means the body is rendered
+ * again. Meters: notification.blobs.writes{result=stored|deduplicated} and
+ * notification.blobs.swept.
+ * </p>
+ */
+@Component
+@Slf4j
+public class BlobStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final BlobProperties properties;
+    private final Path uploads;
+    private final Counter stored;
+    private final Counter deduplicated;
+    private final Counter swept;
+
+    public BlobStore(BlobProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.uploads = properties.dir().resolve("tmp");
+        this.stored = writes(meterRegistry, "stored");
+        this.deduplicated = writes(meterRegistry, "deduplicated");
+        this.swept = Counter.builder("notification.blobs.swept")
+                .description("Blobs deleted after their ttl")
+                .register(meterRegistry);
+        if (properties.enabled()) {
+            try {
+                Files.createDirectories(uploads);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create blob store at " + properties.dir(), e);
+            }
+        }
+    }
+
+    private static Counter writes(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("notification.blobs.writes")
+                .description("Bodies written to the blob store, by whether the blob was new")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** @return whether large bodies should be stored here */
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    /** @return rendered size, in characters, above which a body is stored */
+    public long threshold() {
+        return properties.threshold().toBytes();
+    }
+
+    /**
+     * @param key a blob key, e.g. a Notification's contentRef
+     * @return whether the blob is in the store
+     */
+    public boolean contains(String key) {
+        return KEY.matcher(key).matches() && Files.isRegularFile(path(key));
+    }
+
+    /**
+     * Start writing a blob. The caller writes the body to
+     * {@link Upload#writer()} and then commits it, or closes the upload to
+     * discard it.
+     *
+     * @return a new upload
+     * @throws IOException if the temporary file cannot be created
+     */
+    public Upload upload() throws IOException {
+        return new Upload(Files.createTempFile(uploads, "blob-", ".part"));
+    }
+
+    /**
+     * Map a stored blob.
+     *
+     * @param key         the blob's key
+     * @param contentType the DataSource's content type
+     * @return the blob, mapped read-only
+     * @throws IOException if the blob is not in the store
+     */
+    public MappedBlob open(String key, String contentType) throws IOException {
+        // The mapping stays valid once the channel is closed, and if a sweep deletes the file
+        try (FileChannel channel = FileChannel.open(blob(key), StandardOpenOption.READ)) {
+            return new MappedBlob(key, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), contentType);
+        }
+    }
+
+    /**
+     * Read a stored blob onto the heap, for consumers that need a String.
+     *
+     * @param key the blob's key
+     * @return the blob, decoded as UTF-8
+     * @throws IOException if the blob is not in the store
+     */
+    public String read(String key) throws IOException {
+        return Files.readString(blob(key), UTF_8);
+    }
+
+    /** Delete blobs, and uploads left by a crash, not stored again within the ttl. */
+    @Scheduled(fixedDelayString = "${notification.blobs.sweep-interval:1h}",
+            initialDelayString = "${notification.blobs.sweep-interval:1h}")
+    public void sweep() {
+        if (!properties.enabled()) {
+            return;
+        }
+        FileTime expiry = FileTime.from(Instant.now().minus(properties.ttl()));
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(properties.dir(), 2)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        } catch (IOException e) {
+            log.warn("Sweeping the blob store at {} failed", properties.dir(), e);
+            return;
+        }
+        int deleted = 0;
+        for (Path file : files) {
+            try {
+                if (Files.getLastModifiedTime(file).compareTo(expiry) < 0 && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.debug("Could not sweep blob {}: {}", file, e.getMessage());
+            }
+        }
+        swept.increment(deleted);
+        if (deleted > 0) {
+            log.info("Swept {} blobs older than {}", deleted, properties.ttl());
+        }
+    }
+
+    private Path blob(String key) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Not a blob key: " + key);
+        }
+        return path(key);
+    }
+
+    private Path path(String key) {
+        return properties.dir().resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    /** A blob being written; not visible to readers until {@link #commit}. */
+    public final class Upload implements Closeable {
+
+        private final Path temp;
+        private final MessageDigest digest;
+        private final Writer writer;
+        private boolean committed;
+
+        private Upload(Path temp) throws IOException {
+            this.temp = temp;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            this.writer = new OutputStreamWriter(new DigestOutputStream(Files.newOutputStream(temp), digest), UTF_8);
+        }
+
+        /** @return where the body is written, as UTF-8 */
+        public Writer writer() {
+            return writer;
+        }
+
+        /**
+         * Finish the blob and make it readable under its key.
+         *
+         * @return the blob's key: the SHA-256 of its bytes, in hex
+         * @throws IOException if the blob could not be written or moved
+         */
+        public String commit() throws IOException {
+            writer.close();
+            String key = HEX.formatHex(digest.digest());
+            Path target = path(key);
+            if (Files.isRegularFile(target)) {
+                Files.delete(temp);
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                deduplicated.increment();
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Stored concurrently; same key, same bytes
+                    Files.deleteIfExists(temp);
+                }
+                stored.increment();
+            }
+            committed = true;
+            return key;
+        }
+
+        /** Discard the blob unless it was committed. */
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                writer.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.debug("Could not discard blob upload {}: {}", temp, e.getMessage());
+            }
+        }
+    }
+}
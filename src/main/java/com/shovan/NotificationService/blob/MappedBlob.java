@@ -0,0 +1,89 @@
+package com.shovan.NotificationService.blob;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import jakarta.activation.DataSource;
+
+/**
+ * A stored blob, memory-mapped, as a mail DataSource. Each
+ * {@link #getInputStream} reads the mapping from its start, so JavaMail can
+ * encode the body straight from the page cache as many times as it needs.
+ */
+public final class MappedBlob implements DataSource {
+
+    private final String key;
+    private final ByteBuffer content;
+    private final String contentType;
+
+    MappedBlob(String key, ByteBuffer content, String contentType) {
+        this.key = key;
+        this.content = content;
+        this.contentType = contentType;
+    }
+
+    /** @return the blob's size in bytes */
+    public int size() {
+        return content.capacity();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new BufferInputStream(content.duplicate());
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        throw new UnsupportedOperationException("Blob " + key + " is read-only");
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getName() {
+        return key;
+    }
+
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.shovan.NotificationService.coalescing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Coalescing of bursty notifications into digests, bound from
+ * notification.coalescing.
+ *
+ * @param enabled     off by default
+ * @param window      how long the first notification of a burst waits for
+ *                    others to the same recipient and group
+ * @param maxItems    a digest is sent as soon as it has this many items
+ * @param maxBuffered notifications held in memory across all recipients;
+ *                    beyond that, notifications are sent individually
+ * @param tick        how often closed windows are flushed
+ * @param groups      template groups by name; only templates listed in a
+ *                    group are coalesced
+ */
+@ConfigurationProperties("notification.coalescing")
+public record CoalescingProperties(boolean enabled,
+        @DefaultValue("60s") Duration window,
+        @DefaultValue("50") int maxItems,
+        @DefaultValue("10000") int maxBuffered,
+        @DefaultValue("1s") Duration tick,
+        Map<String, Group> groups) {
+
+    public CoalescingProperties {
+        groups = groups != null ? groups : Map.of();
+    }
+
+    /**
+     * @param templates      templates whose notifications are digested together
+     * @param digestTemplate template rendered for a digest of two or more; gets
+     *                       {@code count}, {@code items} (each item's
+     *                       parameters plus its templateName) and the latest
+     *                       item's parameters at top level
+     */
+    public record Group(List<String> templates, String digestTemplate) {
+
+        public Group {
+            templates = templates != null ? templates : List.of();
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.shovan.NotificationService.coalescing;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.decorator.RetryDecorator;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.event.NotificationSentEvent;
+import com.shovan.NotificationService.factory.NotifierFactory;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.service.NotificationPublisher;
+import com.shovan.NotificationService.service.TemplateService;
+import com.shovan.NotificationService.tenant.Tenants;
+import com.shovan.NotificationService.util.Recipients;
+
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces bursts of notifications to the same recipient into one digest.
+ *
+ * <p>
+ * Runs before rendering: NotificationListener offers every NORMAL priority
+ * notification whose template belongs to a configured group. Accepted ones
+ * are persisted as BUFFERED and held in memory per (tenant, channel,
+ * recipient, group). When the first item's window closes, or the digest
+ * reaches maxItems, the items are sent as one notification rendered from the
+ * group's digest template (a lone item is sent with its own template), and
+ * every covered row gets the digest's outcome in a single UPDATE. HIGH
+ * priority traffic is never delayed.
+ * </p>
+ * <p>
+ * Memory is bounded by maxBuffered: once reached, notifications bypass the
+ * stage and are sent individually. Open digests are flushed when the
+ * application stops, after the listener containers (see {@link #getPhase()}).
+ * Rows left BUFFERED by a crash are re-published after twice the window.
+ * </p>
+ * <p>
+ * Meters: notification.coalescing.buffered (gauge),
+ * notification.coalescing.digest.size{channel} and
+ * notification.coalescing.bypassed{reason}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.coalescing", name = "enabled", havingValue = "true")
+@Slf4j
+public class NotificationCoalescer implements SmartLifecycle {
+
+    /** Stop after the consumers (Integer.MAX_VALUE and MAX_VALUE - 100) and the drain (MAX_VALUE - 150). */
+    private static final int PHASE = Integer.MAX_VALUE - 200;
+
+    private static final int RECOVERY_BATCH = 1000;
+
+    private record Key(String tenant, Channel channel, String recipient, String group) {
+    }
+
+    /** Items collected for one key; guarded by the coalescer's lock. */
+    private static final class Digest {
+        private final Key key;
+        private final long deadlineMillis;
+        private final List<Notification> items = new ArrayList<>();
+        private boolean closed;
+
+        private Digest(Key key, long deadlineMillis) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+
+    private final CoalescingProperties properties;
+    private final Map<String, String> groupByTemplate = new HashMap<>();
+    private final TemplateService templateService;
+    private final NotifierFactory notifierFactory;
+    private final RetryRegistry retryRegistry;
+    private final NotificationRepository notificationRepository;
+    private final NotificationPublisher notificationPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Counter bypassedCapacity;
+    private final Map<Channel, DistributionSummary> digestSizes = new HashMap<>();
+
+    private final Map<Key, Digest> open = new HashMap<>();
+    /** Open digests by deadline; the window is fixed, so creation order is deadline order. */
+    private final ArrayDeque<Digest> byDeadline = new ArrayDeque<>();
+    /** Digests that reached maxItems, waiting for the next flush. */
+    private final List<Digest> full = new ArrayList<>();
+    private int buffered;
+    private volatile boolean running;
+
+    public NotificationCoalescer(CoalescingProperties properties,
+            TemplateService templateService,
+            NotifierFactory notifierFactory,
+            RetryRegistry retryRegistry,
+            NotificationRepository notificationRepository,
+            NotificationPublisher notificationPublisher,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.templateService = templateService;
+        this.notifierFactory = notifierFactory;
+        this.retryRegistry = retryRegistry;
+        this.notificationRepository = notificationRepository;
+        this.notificationPublisher = notificationPublisher;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        properties.groups().forEach((group, config) -> {
+            if (config.digestTemplate() == null || config.digestTemplate().isBlank()) {
+                throw new IllegalStateException("Coalescing group " + group + " has no digest-template");
+            }
+            config.templates().forEach(template -> groupByTemplate.put(template, group));
+        });
+
+        this.bypassedCapacity = Counter.builder("notification.coalescing.bypassed")
+                .description("Notifications sent individually because the coalescing buffer was full")
+                .tag("reason", "capacity")
+                .register(meterRegistry);
+        Gauge.builder("notification.coalescing.buffered", this, NotificationCoalescer::bufferedCount)
+                .description("Notifications held in coalescing buffers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the notification should be buffered instead of sent now. If
+     * true, the caller persists it as BUFFERED and then calls
+     * {@link #buffer(Notification)}.
+     *
+     * @param notification a notification about to be rendered
+     * @return true if it belongs to a group and there is room
+     */
+    public boolean accepts(Notification notification) {
+        if (!running || notification.getPriority() == NotificationPriority.HIGH
+                || !groupByTemplate.containsKey(notification.getTemplateName())
+                || Recipients.of(notification, objectMapper) == null) {
+            return false;
+        }
+        synchronized (this) {
+            if (buffered >= properties.maxBuffered()) {
+                bypassedCapacity.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add an accepted notification to its digest once the current transaction
+     * (which persisted it as BUFFERED) commits, so a flush can never race the
+     * BUFFERED write.
+     *
+     * @param notification an accepted notification
+     */
+    public void buffer(Notification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(notification);
+                }
+            });
+        } else {
+            add(notification);
+        }
+    }
+
+    private synchronized void add(Notification notification) {
+        String group = groupByTemplate.get(notification.getTemplateName());
+        Key key = new Key(Tenants.orDefault(notification.getTenantId()), notification.getChannel(),
+                Recipients.of(notification, objectMapper), group);
+        Digest digest = open.computeIfAbsent(key, k -> {
+            Digest created = new Digest(k, System.currentTimeMillis() + properties.window().toMillis());
+            byDeadline.add(created);
+            return created;
+        });
+        digest.items.add(notification);
+        buffered++;
+        if (digest.items.size() >= properties.maxItems()) {
+            close(digest);
+            full.add(digest);
+        }
+    }
+
+    /**
+     * Send every digest whose window has closed or that is full.
+     */
+    @Scheduled(fixedDelayString = "${notification.coalescing.tick:1s}")
+    public void flushDue() {
+        for (Digest digest : takeDue(System.currentTimeMillis())) {
+            send(digest);
+        }
+    }
+
+    /**
+     * Re-publish rows left BUFFERED by an instance that died before flushing.
+     * Only the rows this instance moved to PENDING are published.
+     */
+    @Scheduled(fixedDelayString = "${notification.coalescing.recovery-interval:60s}")
+    public void recoverOrphans() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.window().multipliedBy(2));
+        List<Long> ids = notificationRepository.findIdsByStatusUpdatedBefore(NotificationStatus.BUFFERED, before,
+                Limit.of(RECOVERY_BATCH));
+        if (ids.isEmpty()) {
+            return;
+        }
+        // Lock before moving, so rows another instance is recovering (or its own
+        // flush is completing) are skipped instead of published twice
+        List<Long> claimed = transactionTemplate.execute(status -> {
+            List<Long> locked = notificationRepository.lockIdsInStatus(ids, NotificationStatus.BUFFERED.name());
+            if (!locked.isEmpty()) {
+                notificationRepository.transitionStatus(locked, NotificationStatus.BUFFERED,
+                        NotificationStatus.PENDING);
+            }
+            return locked;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+        for (Notification notification : notificationRepository.findAllById(claimed)) {
+            notificationPublisher.publish(notification);
+        }
+        log.warn("Re-published {} orphaned BUFFERED notifications", claimed.size());
+    }
+
+    private synchronized List<Digest> takeDue(long nowMillis) {
+        List<Digest> due = new ArrayList<>(full);
+        full.clear();
+        while (!byDeadline.isEmpty()
+                && (byDeadline.peekFirst().closed || byDeadline.peekFirst().deadlineMillis <= nowMillis)) {
+            Digest digest = byDeadline.pollFirst();
+            if (!digest.closed) {
+                close(digest);
+                due.add(digest);
+            }
+        }
+        return due;
+    }
+
+    private synchronized List<Digest> takeAll() {
+        List<Digest> all = new ArrayList<>(full);
+        full.clear();
+        for (Digest digest : byDeadline) {
+            if (!digest.closed) {
+                close(digest);
+                all.add(digest);
+            }
+        }
+        byDeadline.clear();
+        return all;
+    }
+
+    /** Caller holds the lock. The digest stays in byDeadline, marked closed, until it reaches the head. */
+    private void close(Digest digest) {
+        digest.closed = true;
+        open.remove(digest.key);
+        buffered -= digest.items.size();
+    }
+
+    private void send(Digest digest) {
+        List<Notification> items = digest.items;
+        Notification latest = items.get(items.size() - 1);
+        Channel channel = digest.key.channel();
+        Notification outgoing = latest.toBuilder().attempts(0).provider(null).build();
+        String error = null;
+        try {
+            String content;
+            if (items.size() == 1) {
+                content = templateService.render(latest.getTemplateName(), latest.getParameters());
+            } else {
+                outgoing.setTemplateName(properties.groups().get(digest.key.group()).digestTemplate());
+                content = templateService.render(outgoing.getTemplateName(), variables(items));
+            }
+            new RetryDecorator(notifierFactory.getNotifier(channel), retryRegistry, channel.notifierName())
+                    .send(outgoing, content);
+        } catch (RuntimeException ex) {
+            outgoing.setStatus(NotificationStatus.FAILED);
+            error = rootCause(ex).getClass().getSimpleName();
+            log.debug("Digest of {} notifications to {} failed", items.size(), channel, ex);
+        }
+        NotificationStatus status = outgoing.getStatus() == NotificationStatus.SUCCESS
+                ? NotificationStatus.SUCCESS
+                : NotificationStatus.FAILED;
+        String lastErrorClass = error;
+        List<Long> ids = items.stream().map(Notification::getId).toList();
+        transactionTemplate.executeWithoutResult(tx -> notificationRepository.completeBuffered(ids, status,
+                outgoing.getAttempts(), outgoing.getProvider(), lastErrorClass));
+
+        digestSize(channel).record(items.size());
+        for (Notification item : items) {
+            item.setStatus(status);
+            item.setAttempts(item.getAttempts() + outgoing.getAttempts());
+            item.setProvider(outgoing.getProvider());
+            item.setLastErrorClass(lastErrorClass);
+            eventPublisher.publishEvent(new NotificationSentEvent(this, item));
+        }
+    }
+
+    /** The latest item's parameters, plus count and every item's parameters. */
+    private Map<String, Object> variables(List<Notification> items) {
+        List<Map<String, Object>> itemVariables = new ArrayList<>(items.size());
+        Map<String, Object> latest = Map.of();
+        for (Notification item : items) {
+            Map<String, Object> parameters = new LinkedHashMap<>(parse(item.getParameters()));
+            parameters.put("templateName", item.getTemplateName());
+            itemVariables.add(parameters);
+            latest = parameters;
+        }
+        Map<String, Object> variables = new LinkedHashMap<>(latest);
+        variables.put("count", items.size());
+        variables.put("items", itemVariables);
+        return variables;
+    }
+
+    private Map<String, Object> parse(String parametersJson) {
+        try {
+            return objectMapper.readValue(parametersJson, new TypeReference<Map<String, Object>>() {
+            });
+        } catch (Exception ex) {
+            // Not coalesced without a recipient, so this only drops one item's variables
+            return Map.of();
+        }
+    }
+
+    private DistributionSummary digestSize(Channel channel) {
+        synchronized (digestSizes) {
+            return digestSizes.computeIfAbsent(channel, ch -> DistributionSummary
+                    .builder("notification.coalescing.digest.size")
+                    .description("Notifications covered by each digest sent")
+                    .tag("channel", ch.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    private synchronized int bufferedCount() {
+        return buffered;
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /** Flush every open digest; runs after the listener containers stopped. */
+    @Override
+    public void stop() {
+        running = false;
+        List<Digest> remaining = takeAll();
+        if (!remaining.isEmpty()) {
+            log.info("Flushing {} open digests on shutdown", remaining.size());
+        }
+        for (Digest digest : remaining) {
+            send(digest);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,89 @@
+package com.shovan.NotificationService.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.twilio.http.TwilioRestClient;
+
+/**
+ * Client beans for third-party providers that are not auto-configured.
+ *
+ * <p>
+ * SMTP is configured through spring.mail.* (JavaMailSender connects per
+ * send). Both clients here are lazy: they are created by the first send or by
+ * ProviderWarmup after startup, so credential lookups and HTTP client set-up
+ * stay off the startup path and a bad credential fails sends, not startup.
+ * Inactive under the "stub-providers" profile, where tests supply clients
+ * pointed at local stubs.
+ * </p>
+ */
+@Configuration
+@Profile("!stub-providers")
+public class ProviderConfig {
+
+    private static final String FIREBASE_APP_NAME = "notification-service";
+
+    /**
+     * Firebase Cloud Messaging client.
+     *
+     * @param credentialsLocation service account JSON (file: or classpath:);
+     *                            blank to use Application Default Credentials
+     * @param projectId           Firebase project id; blank to take it from the
+     *                            credentials
+     * @return the FirebaseMessaging instance used by PushNotifier
+     * @throws IOException if the credentials cannot be read
+     */
+    @Bean
+    @Lazy
+    public FirebaseMessaging firebaseMessaging(
+            @Value("${notification.providers.fcm.credentials:}") String credentialsLocation,
+            @Value("${notification.providers.fcm.project-id:}") String projectId) throws IOException {
+        FirebaseOptions.Builder options = FirebaseOptions.builder()
+                .setCredentials(credentials(credentialsLocation));
+        if (!projectId.isBlank()) {
+            options.setProjectId(projectId);
+        }
+        FirebaseApp app = FirebaseApp.getApps().stream()
+                .filter(existing -> existing.getName().equals(FIREBASE_APP_NAME))
+                .findFirst()
+                .orElseGet(() -> FirebaseApp.initializeApp(options.build(), FIREBASE_APP_NAME));
+        return FirebaseMessaging.getInstance(app);
+    }
+
+    /**
+     * Twilio client of the built-in "twilio" provider.
+     *
+     * @param accountSid account SID
+     * @param authToken  auth token
+     * @return the TwilioRestClient used by SmsNotifier
+     */
+    @Bean
+    @Lazy
+    public TwilioRestClient twilioRestClient(
+            @Value("${notification.providers.twilio.account-sid}") String accountSid,
+            @Value("${notification.providers.twilio.auth-token}") String authToken) {
+        return new TwilioRestClient.Builder(accountSid, authToken).build();
+    }
+
+    private static GoogleCredentials credentials(String location) throws IOException {
+        if (location.isBlank()) {
+            return GoogleCredentials.getApplicationDefault();
+        }
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            return GoogleCredentials.fromStream(in);
+        }
+    }
+}
@@ -1,16 +1,40 @@
 package com.shovan.NotificationService.config;
 
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.partition.RecipientPartitions;
+import com.shovan.NotificationService.queue.PoisonMessageRecoverer;
+import com.shovan.NotificationService.queue.ShutdownDrain;
+import com.shovan.NotificationService.tenant.TenantShards;
 
+/** Not loaded under the pg-queue profile, where PostgresQueueConsumer replaces the broker. */
 @Configuration  // ← Spring manages this as a singleton bean
+@Profile("!pg-queue")
 public class RabbitMQConfig {
 
     /** Name of the RabbitMQ exchange for notifications. */
@@ -22,6 +46,64 @@ public class RabbitMQConfig {
     /** Name of the queue that will receive notification messages. */
     public static final String QUEUE = "notification.queue";
 
+    /** Routing key for latency-critical (HIGH priority) notifications. */
+    public static final String HIGH_PRIORITY_ROUTING_KEY = "notification.routingkey.high";
+
+    /**
+     * Dedicated lane for HIGH priority notifications (OTP, password reset).
+     * It has its own consumers, so bulk backlog in {@link #QUEUE} never delays it.
+     */
+    public static final String HIGH_PRIORITY_QUEUE = "notification.queue.high";
+
+    /**
+     * Prefix of the per-tenant bulk sub-queues ("notification.queue.shard.0",
+     * ...); see TenantShards.
+     */
+    public static final String TENANT_SHARD_QUEUE_PREFIX = "notification.queue.shard.";
+
+    /** Prefix of the routing keys binding the per-tenant sub-queues. */
+    public static final String TENANT_SHARD_ROUTING_KEY_PREFIX = "notification.routingkey.shard.";
+
+    /**
+     * Prefix of the per-recipient bulk partitions ("notification.queue.partition.0",
+     * ...); see RecipientPartitions.
+     */
+    public static final String PARTITION_QUEUE_PREFIX = "notification.queue.partition.";
+
+    /** Prefix of the routing keys binding the recipient partitions. */
+    public static final String PARTITION_ROUTING_KEY_PREFIX = "notification.routingkey.partition.";
+
+    /** Dead-letter exchange for messages that cannot be delivered. */
+    public static final String DEAD_LETTER_EXCHANGE = "notification.dlx";
+
+    /** Routing key used when a notification permanently failed. */
+    public static final String DEAD_LETTER_ROUTING_KEY = "notification.dead";
+
+    /** Queue holding notifications that permanently failed (kept for inspection). */
+    public static final String DEAD_LETTER_QUEUE = "notification.dlq";
+
+    /** Routing key for messages that could not even be deserialized. */
+    public static final String QUARANTINE_ROUTING_KEY = "notification.quarantine";
+
+    /** Queue holding unparseable (poison) messages, isolated from the DLQ. */
+    public static final String QUARANTINE_QUEUE = "notification.quarantine";
+
+    /** Listener container factory used by the HIGH priority lane. */
+    public static final String HIGH_PRIORITY_CONTAINER_FACTORY = "highPriorityListenerContainerFactory";
+
+    /** Listener container factory used by the bulk lane in batch mode. */
+    public static final String BULK_BATCH_CONTAINER_FACTORY = "bulkBatchListenerContainerFactory";
+
+    /**
+     * Resolve the routing key (and thus the lane) for a given priority.
+     *
+     * @param priority the notification priority, may be null (treated as NORMAL)
+     * @return the routing key to publish with
+     */
+    public static String routingKeyFor(NotificationPriority priority) {
+        return priority == NotificationPriority.HIGH ? HIGH_PRIORITY_ROUTING_KEY : ROUTING_KEY;
+    }
+
     /**
      * Declare a durable DirectExchange.
      * 
@@ -34,27 +116,128 @@ public class RabbitMQConfig {
     }
 
     /**
-     * Declare a durable Queue.
+     * Declare a durable Queue. Rejected messages are dead-lettered to the DLX.
+     * <p>
+     * Note: RabbitMQ does not allow changing arguments of an existing queue;
+     * queues declared before the DLX was added must be deleted once.
+     * </p>
      * 
      * @return the Queue instance
      */
     @Bean
     public Queue notificationQueue() {
-        // durable=true, exclusive=false, autoDelete=false
-        return new Queue(QUEUE, true, false, false);
+        return QueueBuilder.durable(QUEUE)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(DEAD_LETTER_ROUTING_KEY)
+                .build();
+    }
+
+    /**
+     * Declare the durable HIGH priority lane, dead-lettered like the bulk queue.
+     * 
+     * @return the Queue instance
+     */
+    @Bean
+    public Queue highPriorityNotificationQueue() {
+        return QueueBuilder.durable(HIGH_PRIORITY_QUEUE)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(DEAD_LETTER_ROUTING_KEY)
+                .build();
+    }
+
+    /**
+     * Declare the per-tenant bulk sub-queues and their bindings.
+     * 
+     * @param tenantShards shard layout (notification.fairness.shards)
+     * @return the shard queues and bindings
+     */
+    @Bean
+    public Declarables tenantShardQueues(TenantShards tenantShards) {
+        return tenantShards.declarables();
+    }
+
+    /**
+     * Declare the recipient partition queues and their bindings (none when
+     * partitioning is off).
+     * 
+     * @param recipientPartitions partition layout (notification.partitioning.partitions)
+     * @return the partition queues and bindings
+     */
+    @Bean
+    public Declarables recipientPartitionQueues(RecipientPartitions recipientPartitions) {
+        return recipientPartitions.declarables();
+    }
+
+    /**
+     * Declare the durable dead-letter exchange.
+     * 
+     * @return the DirectExchange instance
+     */
+    @Bean
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+    }
+
+    /**
+     * Declare the dead-letter queue for permanently failed notifications.
+     * 
+     * @return the Queue instance
+     */
+    @Bean
+    public Queue deadLetterQueue() {
+        return QueueBuilder.durable(DEAD_LETTER_QUEUE).build();
+    }
+
+    /**
+     * Declare the quarantine queue for poison messages.
+     * 
+     * @return the Queue instance
+     */
+    @Bean
+    public Queue quarantineQueue() {
+        return QueueBuilder.durable(QUARANTINE_QUEUE).build();
     }
 
     /**
      * Bind the queue to the exchange under the given routing key.
      * Messages sent to the exchange with ROUTING_KEY will end up in this queue.
      * 
-     * @param queue    the notification queue bean
-     * @param exchange the notification exchange bean
      * @return the Binding between queue and exchange
      */
     @Bean
-    public Binding notificationBinding(Queue queue, DirectExchange exchange) {
-        return BindingBuilder.bind(queue).to(exchange).with(ROUTING_KEY);
+    public Binding notificationBinding() {
+        return BindingBuilder.bind(notificationQueue()).to(notificationExchange()).with(ROUTING_KEY);
+    }
+
+    /**
+     * Bind the HIGH priority lane under HIGH_PRIORITY_ROUTING_KEY.
+     * 
+     * @return the Binding between the high lane and exchange
+     */
+    @Bean
+    public Binding highPriorityNotificationBinding() {
+        return BindingBuilder.bind(highPriorityNotificationQueue()).to(notificationExchange())
+                .with(HIGH_PRIORITY_ROUTING_KEY);
+    }
+
+    /**
+     * Bind the DLQ to the dead-letter exchange.
+     * 
+     * @return the Binding between DLQ and DLX
+     */
+    @Bean
+    public Binding deadLetterBinding() {
+        return BindingBuilder.bind(deadLetterQueue()).to(deadLetterExchange()).with(DEAD_LETTER_ROUTING_KEY);
+    }
+
+    /**
+     * Bind the quarantine queue to the dead-letter exchange.
+     * 
+     * @return the Binding between quarantine queue and DLX
+     */
+    @Bean
+    public Binding quarantineBinding() {
+        return BindingBuilder.bind(quarantineQueue()).to(deadLetterExchange()).with(QUARANTINE_ROUTING_KEY);
     }
 
     /**
@@ -82,4 +265,135 @@ public class RabbitMQConfig {
         return template;
     }
 
-}
\ No newline at end of file
+    /**
+     * Bounded in-thread retry for listener failures, then recovery.
+     * <p>
+     * Poison messages (conversion failures) and explicit rejections are never
+     * retried. Once attempts are exhausted, {@link PoisonMessageRecoverer}
+     * quarantines unparseable messages and dead-letters everything else, so no
+     * message is requeued forever. A delivery handed back on shutdown is not
+     * retried either; the recoverer lets it requeue.
+     * </p>
+     * 
+     * @param rabbitTemplate template used to republish poison messages
+     * @param maxAttempts    listener attempts before giving up
+     * @param backoff        delay between attempts
+     * @return the interceptor to place in the container advice chain
+     */
+    @Bean
+    public RetryOperationsInterceptor listenerRetryInterceptor(RabbitTemplate rabbitTemplate,
+            @Value("${notification.dead-letter.listener-attempts:3}") int maxAttempts,
+            @Value("${notification.dead-letter.listener-backoff:1s}") Duration backoff) {
+        SimpleRetryPolicy policy = new SimpleRetryPolicy(maxAttempts, Map.of(
+                MessageConversionException.class, false,
+                org.springframework.messaging.converter.MessageConversionException.class, false,
+                AmqpRejectAndDontRequeueException.class, false,
+                ImmediateRequeueAmqpException.class, false), true, true);
+        return RetryInterceptorBuilder.stateless()
+                .retryPolicy(policy)
+                .backOffOptions(backoff.toMillis(), 1.0, backoff.toMillis())
+                .recoverer(new PoisonMessageRecoverer(rabbitTemplate))
+                .build();
+    }
+
+    /**
+     * Default listener container factory (bulk lane), with the retry/recovery
+     * advice applied.
+     * <p>
+     * The bulk listener consumes every tenant sub-queue; a prefetch of 1 (per
+     * queue on RabbitMQ) keeps at most one message per tenant shard buffered
+     * in each consumer, which is what makes the broker alternate between
+     * tenants instead of draining one tenant's backlog first.
+     * </p>
+     * 
+     * @param configurer        Boot's configurer (applies converter and defaults)
+     * @param connectionFactory the RabbitMQ connection factory
+     * @param listenerRetryInterceptor bounded retry + dead-letter recovery
+     * @param shutdownDrain     drains the containers on shutdown
+     * @param prefetch          prefetch count per bulk consumer and queue
+     * @return the container factory
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            RetryOperationsInterceptor listenerRetryInterceptor,
+            ShutdownDrain shutdownDrain,
+            @Value("${notification.lanes.bulk.prefetch:1}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPrefetchCount(prefetch);
+        factory.setAdviceChain(listenerRetryInterceptor);
+        factory.setContainerCustomizer(shutdownDrain::configure);
+        return factory;
+    }
+
+    /**
+     * Listener container factory for the HIGH priority lane.
+     * <p>
+     * Inherits the spring.rabbitmq.listener.simple.* settings, but uses a small
+     * prefetch so a slow provider call never holds several OTPs hostage on one
+     * consumer. Consumer count is set per listener (see NotificationListener).
+     * </p>
+     * 
+     * @param configurer        Boot's configurer (applies converter and defaults)
+     * @param connectionFactory the RabbitMQ connection factory
+     * @param listenerRetryInterceptor bounded retry + dead-letter recovery
+     * @param shutdownDrain     drains the containers on shutdown
+     * @param prefetch          prefetch count per HIGH lane consumer
+     * @return the container factory
+     */
+    @Bean(HIGH_PRIORITY_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory highPriorityListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            RetryOperationsInterceptor listenerRetryInterceptor,
+            ShutdownDrain shutdownDrain,
+            @Value("${notification.lanes.high.prefetch:1}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPrefetchCount(prefetch);
+        factory.setAdviceChain(listenerRetryInterceptor);
+        factory.setContainerCustomizer(shutdownDrain::configure);
+        return factory;
+    }
+
+    /**
+     * Listener container factory for the bulk lane in batch mode
+     * (notification.lanes.bulk.batch.enabled, see BatchNotificationListener).
+     * <p>
+     * Each consumer hands the listener up to {@code batch-size} messages at
+     * once, or fewer once no message arrived for {@code receive-timeout}.
+     * Acks are manual so each message of a batch is acked or rejected on its
+     * own; retry and dead-lettering happen in the listener, so there is no
+     * advice chain. Prefetch is raised to the batch size, otherwise a batch
+     * could never fill.
+     * </p>
+     *
+     * @param configurer        Boot's configurer (applies converter and defaults)
+     * @param connectionFactory the RabbitMQ connection factory
+     * @param shutdownDrain     drains the containers on shutdown
+     * @param batchSize         messages per batch
+     * @param receiveTimeout    how long a partial batch waits for more
+     * @return the container factory
+     */
+    @Bean(BULK_BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory bulkBatchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ShutdownDrain shutdownDrain,
+            @Value("${notification.lanes.bulk.batch.size:50}") int batchSize,
+            @Value("${notification.lanes.bulk.batch.receive-timeout:200ms}") Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        factory.setPrefetchCount(batchSize);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setContainerCustomizer(shutdownDrain::configure);
+        return factory;
+    }
+
+}
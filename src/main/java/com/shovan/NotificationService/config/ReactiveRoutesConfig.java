@@ -0,0 +1,32 @@
+package com.shovan.NotificationService.config;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.shovan.NotificationService.reactive.ReactiveNotificationHandler;
+
+@Configuration  // ← Spring manages this as a singleton bean
+@Profile("reactive")
+public class ReactiveRoutesConfig {
+
+    /**
+     * Route the ingestion endpoint, and the status polls NotificationController
+     * serves without this profile, to the reactive handler.
+     *
+     * @param handler the reactive ingestion handler
+     * @return the router function
+     */
+    @Bean
+    public RouterFunction<ServerResponse> notificationRoutes(ReactiveNotificationHandler handler) {
+        return RouterFunctions.route(POST("/api/notifications"), handler::sendNotifications)
+                .andRoute(GET("/api/notifications/{id}/status"), handler::getStatus)
+                .andRoute(GET("/api/notifications/status"), handler::getStatuses);
+    }
+}
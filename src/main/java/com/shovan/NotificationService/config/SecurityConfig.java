@@ -2,10 +2,12 @@ package com.shovan.NotificationService.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration  // ← Spring manages this as a singleton bean
+@Profile("!reactive") // servlet stack; see ReactiveSecurityConfig for the reactive profile
 public class SecurityConfig {
 
     @Bean
@@ -0,0 +1,40 @@
+package com.shovan.NotificationService.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.rabbitmq.stream.Environment;
+import com.shovan.NotificationService.stream.LocalNotificationLog;
+import com.shovan.NotificationService.stream.NotificationLog;
+import com.shovan.NotificationService.stream.RabbitNotificationLog;
+import com.shovan.NotificationService.stream.StreamProperties;
+
+/**
+ * The log behind the stream-backed bulk lane (notification.stream.enabled).
+ *
+ * <p>
+ * The RABBIT backend uses Boot's stream Environment, configured through
+ * spring.rabbitmq.stream.* and connected lazily, so nothing touches the
+ * stream port while the lane is disabled.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "notification.stream", name = "enabled", havingValue = "true")
+public class StreamConfig {
+
+    /**
+     * @param properties  notification.stream settings
+     * @param environment RabbitMQ stream environment (RABBIT backend only)
+     * @return the bulk lane's log
+     */
+    @Bean
+    public NotificationLog notificationLog(StreamProperties properties, ObjectProvider<Environment> environment) {
+        return switch (properties.backend()) {
+            case LOCAL -> new LocalNotificationLog(properties.localMaxRecords());
+            case RABBIT -> new RabbitNotificationLog(environment.getObject(), properties.name(),
+                    properties.maxAge(), properties.publishTimeout());
+        };
+    }
+}
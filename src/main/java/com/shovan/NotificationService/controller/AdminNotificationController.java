@@ -0,0 +1,118 @@
+package com.shovan.NotificationService.controller;
+
+import com.shovan.NotificationService.dto.ReplayJobDTO;
+import com.shovan.NotificationService.dto.ReplayRequestDTO;
+import com.shovan.NotificationService.dto.StreamReplayRequestDTO;
+import com.shovan.NotificationService.service.ReplayService;
+import com.shovan.NotificationService.stream.StreamReplayService;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+
+/**
+ * Admin REST controller for operating on notifications in bulk.
+ *
+ * Exposes endpoints to replay FAILED notifications in throttled batches
+ * (filtered by channel, time range and error class) and to track or cancel
+ * the resulting replay jobs. With the stream lane enabled, a time window of
+ * the bulk stream can also be reprocessed (404 otherwise).
+ */
+@RestController
+@RequestMapping("/api/admin/notifications")
+@Validated
+public class AdminNotificationController {
+
+    private final ReplayService replayService;
+    private final ObjectProvider<StreamReplayService> streamReplayService;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param replayService       service running replay jobs
+     * @param streamReplayService service re-reading the bulk stream, present
+     *                            only when the stream lane is enabled
+     */
+    public AdminNotificationController(ReplayService replayService,
+            ObjectProvider<StreamReplayService> streamReplayService) {
+        this.replayService = replayService;
+        this.streamReplayService = streamReplayService;
+    }
+
+    /**
+     * Start replaying FAILED notifications matching the given filters.
+     *
+     * @param request filters and throttling options (validated via JSR-380)
+     * @return HTTP 202 Accepted with the job status
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<ReplayJobDTO> replay(@Valid @RequestBody ReplayRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayService.startReplay(request));
+    }
+
+    /**
+     * @param jobId the replay job id
+     * @return the job status, or 404 if unknown
+     */
+    @GetMapping("/replay/{jobId}")
+    public ResponseEntity<ReplayJobDTO> getReplay(@PathVariable String jobId) {
+        return ResponseEntity.of(replayService.getJob(jobId));
+    }
+
+    /**
+     * Cancel a running replay job.
+     *
+     * @param jobId the replay job id
+     * @return the job status, or 404 if unknown
+     */
+    @DeleteMapping("/replay/{jobId}")
+    public ResponseEntity<ReplayJobDTO> cancelReplay(@PathVariable String jobId) {
+        return ResponseEntity.of(replayService.cancel(jobId));
+    }
+
+    /**
+     * Reprocess the records appended to the bulk stream in a time window;
+     * notifications that already reached SUCCESS are skipped.
+     *
+     * @param request the window (validated via JSR-380)
+     * @return HTTP 202 Accepted with the job status, or 404 if the stream lane
+     *         is disabled
+     */
+    @PostMapping("/replay/stream")
+    public ResponseEntity<ReplayJobDTO> replayStream(@Valid @RequestBody StreamReplayRequestDTO request) {
+        StreamReplayService service = streamReplayService.getIfAvailable();
+        if (service == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(service.startReplay(request.getFrom(), request.getTo()));
+    }
+
+    /**
+     * @param jobId the stream replay job id
+     * @return the job status, or 404 if unknown
+     */
+    @GetMapping("/replay/stream/{jobId}")
+    public ResponseEntity<ReplayJobDTO> getStreamReplay(@PathVariable String jobId) {
+        StreamReplayService service = streamReplayService.getIfAvailable();
+        return ResponseEntity.of(service != null ? service.getJob(jobId) : Optional.empty());
+    }
+
+    /**
+     * Cancel a running stream replay job.
+     *
+     * @param jobId the stream replay job id
+     * @return the job status, or 404 if unknown
+     */
+    @DeleteMapping("/replay/stream/{jobId}")
+    public ResponseEntity<ReplayJobDTO> cancelStreamReplay(@PathVariable String jobId) {
+        StreamReplayService service = streamReplayService.getIfAvailable();
+        return ResponseEntity.of(service != null ? service.cancel(jobId) : Optional.empty());
+    }
+}
@@ -0,0 +1,92 @@
+package com.shovan.NotificationService.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import com.shovan.NotificationService.dto.SuppressionRequestDTO;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.SuppressionReason;
+import com.shovan.NotificationService.suppression.SuppressionList;
+import com.shovan.NotificationService.util.Recipients;
+
+import jakarta.validation.Valid;
+
+/**
+ * Admin REST controller for the suppression list: add an address (e.g. an
+ * unsubscribe received out of band), check one, or remove one after the
+ * recipient opted back in. 404 on every endpoint when
+ * notification.suppression.enabled is off.
+ */
+@RestController
+@RequestMapping("/api/admin/suppressions")
+@Validated
+public class AdminSuppressionController {
+
+    private final ObjectProvider<SuppressionList> suppressionList;
+
+    /**
+     * @param suppressionList the suppression list, present only when enabled
+     */
+    public AdminSuppressionController(ObjectProvider<SuppressionList> suppressionList) {
+        this.suppressionList = suppressionList;
+    }
+
+    /**
+     * Suppress an address.
+     *
+     * @param request the address (validated via JSR-380)
+     * @return 201 Created if added, 200 OK if it already was suppressed
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> suppress(@Valid @RequestBody SuppressionRequestDTO request) {
+        SuppressionList list = suppressionList.getIfAvailable();
+        if (list == null) {
+            return ResponseEntity.notFound().build();
+        }
+        SuppressionReason reason = request.getReason() != null ? request.getReason() : SuppressionReason.MANUAL;
+        boolean added = list.suppress(request.getChannel(), request.getAddress(), reason, request.getDetail());
+        return ResponseEntity.status(added ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(body(request.getChannel(), request.getAddress(), true));
+    }
+
+    /**
+     * @param channel the channel
+     * @param address the address
+     * @return whether the address is suppressed on the channel
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> check(@RequestParam Channel channel, @RequestParam String address) {
+        SuppressionList list = suppressionList.getIfAvailable();
+        if (list == null) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean suppressed = list.isSuppressed(channel, Recipients.normalize(channel, address));
+        return ResponseEntity.ok(body(channel, address, suppressed));
+    }
+
+    /**
+     * Remove an address from the list.
+     *
+     * @param channel the channel
+     * @param address the address
+     * @return 204 No Content, or 404 if it was not suppressed
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> remove(@RequestParam Channel channel, @RequestParam String address) {
+        SuppressionList list = suppressionList.getIfAvailable();
+        if (list == null || !list.remove(channel, address)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static Map<String, Object> body(Channel channel, String address, boolean suppressed) {
+        return Map.of("channel", channel, "address", Recipients.normalize(channel, address),
+                "suppressed", suppressed);
+    }
+}
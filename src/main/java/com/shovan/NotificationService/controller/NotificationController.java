@@ -1,23 +1,20 @@
 package com.shovan.NotificationService.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.admission.AdmissionControlService;
 import com.shovan.NotificationService.dto.NotificationRequestDTO;
 import com.shovan.NotificationService.dto.NotificationResponseDTO;
-import com.shovan.NotificationService.entity.Notification;
-import com.shovan.NotificationService.enums.Channel;
-import com.shovan.NotificationService.enums.NotificationStatus;
-import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.dto.NotificationStatusDTO;
+import com.shovan.NotificationService.service.NotificationIngestService;
+import com.shovan.NotificationService.status.NotificationStatusService;
+import com.shovan.NotificationService.tenant.Tenants;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,30 +22,39 @@ import java.util.List;
  * 
  * Exposes a POST endpoint to accept notification details,
  * persist them as PENDING, enqueue for async processing,
- * and return the created record IDs.
+ * and return the created record IDs. Notifications with a future
+ * sendAt are persisted as SCHEDULED and released later by
+ * ScheduledNotificationDispatcher.
+ *
+ * Clients poll delivery status per id or in bulk; NotificationStatusService
+ * answers from Redis when the status cache is enabled.
+ *
+ * Active unless the "reactive" profile is on; that profile serves the same
+ * endpoints through ReactiveNotificationHandler instead.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/notifications")
 @Validated
 public class NotificationController {
 
-    private final NotificationRepository notificationRepository;
-    private final RabbitTemplate rabbitTemplate;
-    private final ObjectMapper objectMapper;
+    private final AdmissionControlService admissionControl;
+    private final NotificationIngestService ingestService;
+    private final NotificationStatusService statusService;
 
     /**
      * Constructor for dependency injection.
      *
-     * @param notificationRepository repository to persist Notification entities
-     * @param rabbitTemplate         template for publishing to RabbitMQ
-     * @param objectMapper           Jackson mapper for serializing parameters
+     * @param admissionControl load shedding and per-client quotas
+     * @param ingestService    persists and enqueues Notification entities
+     * @param statusService    answers status polls
      */
-    public NotificationController(NotificationRepository notificationRepository,
-            RabbitTemplate rabbitTemplate,
-            ObjectMapper objectMapper) {
-        this.notificationRepository = notificationRepository;
-        this.rabbitTemplate = rabbitTemplate;
-        this.objectMapper = objectMapper;
+    public NotificationController(AdmissionControlService admissionControl,
+            NotificationIngestService ingestService,
+            NotificationStatusService statusService) {
+        this.admissionControl = admissionControl;
+        this.ingestService = ingestService;
+        this.statusService = statusService;
     }
 
     /**
@@ -56,43 +62,25 @@ public class NotificationController {
      * saves each with status=PENDING, publishes to RabbitMQ for async handling,
      * and returns the list of created IDs.
      *
-     * @param request the incoming notification details (validated via JSR-380)
-     * @return HTTP 202 Accepted with a NotificationResponse listing new IDs
+     * @param clientId optional caller identity; the tenant for quotas and fair
+     *                 scheduling
+     * @param request  the incoming notification details (validated via JSR-380)
+     * @return HTTP 202 Accepted with a NotificationResponse listing new IDs,
+     *         or 429 with Retry-After when shed by admission control
      */
     @PostMapping
     public ResponseEntity<NotificationResponseDTO> sendNotifications(
+            @RequestHeader(value = "X-Client-Id", required = false) String clientId,
             @Valid @RequestBody NotificationRequestDTO request) {
 
-        // Serialize the parameters map to a JSON string for storage
-        final String paramsJson;
-        try {
-            paramsJson = objectMapper.writeValueAsString(request.getParameters());
-        } catch (JsonProcessingException e) {
-            // Wrap and rethrow so GlobalExceptionHandler can map to a 400/500
-            throw new RuntimeException("Failed to serialize notification parameters", e);
-        }
-
-        List<Long> notificationIds = new ArrayList<>();
-        // For each requested channel, persist and enqueue a Notification
-        for (Channel channel : request.getChannels()) {
-            Notification notification = Notification.builder() // ← Builder pattern
-                    .channel(channel)
-                    .templateName(request.getTemplateName())
-                    .parameters(paramsJson)
-                    .status(NotificationStatus.PENDING)
-                    .attempts(0)
-                    .build();
+        // Header wins over the body, so a client cannot use another tenant's quota
+        request.setTenantId(Tenants.resolve(clientId, request.getTenantId()));
 
-            // Persist with initial status=PENDING
-            Notification saved = notificationRepository.save(notification);
-            notificationIds.add(saved.getId());
+        // Shed load / enforce quotas before doing any DB work
+        admissionControl.admit(request.getTenantId(), request);
 
-            // Publish the saved entity to RabbitMQ for async processing
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.EXCHANGE,
-                    RabbitMQConfig.ROUTING_KEY,
-                    saved);
-        }
+        // Persist one Notification per channel and enqueue (or schedule) it
+        List<Long> notificationIds = ingestService.accept(request);
 
         // Build and return the response containing all created IDs
         NotificationResponseDTO response = NotificationResponseDTO.builder()
@@ -100,4 +88,39 @@ public class NotificationController {
                 .build();
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Delivery status of one notification.
+     *
+     * @param clientId optional caller identity; only that tenant's
+     *                 notifications are visible
+     * @param id       the notification id
+     * @return the status, or 404 if unknown or another tenant's
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<NotificationStatusDTO> getStatus(
+            @RequestHeader(value = "X-Client-Id", required = false) String clientId,
+            @PathVariable long id) {
+        return ResponseEntity.of(statusService.find(id, Tenants.resolve(clientId, null)));
+    }
+
+    /**
+     * Delivery status of several notifications in one call.
+     *
+     * @param clientId optional caller identity; only that tenant's
+     *                 notifications are visible
+     * @param ids      notification ids, e.g. {@code ?ids=1,2,3}; at most
+     *                 {@value NotificationStatusService#MAX_IDS}
+     * @return the statuses found, in request order (unknown ids are left
+     *         out), or 400 if too many ids
+     */
+    @GetMapping("/status")
+    public ResponseEntity<List<NotificationStatusDTO>> getStatuses(
+            @RequestHeader(value = "X-Client-Id", required = false) String clientId,
+            @RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > NotificationStatusService.MAX_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(statusService.findAll(ids, Tenants.resolve(clientId, null)));
+    }
+}
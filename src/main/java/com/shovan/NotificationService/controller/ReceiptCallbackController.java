@@ -0,0 +1,135 @@
+package com.shovan.NotificationService.controller;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.dto.ReceiptDTO;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.enums.SuppressionReason;
+import com.shovan.NotificationService.receipt.Receipt;
+import com.shovan.NotificationService.receipt.ReceiptBuffer;
+import com.shovan.NotificationService.receipt.ReceiptProperties;
+import com.shovan.NotificationService.receipt.ReceiptSignatures;
+import com.shovan.NotificationService.receipt.TwilioReceipts;
+
+/**
+ * Provider delivery receipts: Twilio status callbacks, and a generic signed
+ * JSON endpoint for providers without callbacks of their own (adapters for
+ * ESP bounce webhooks, FCM delivery data). Receipts are only buffered here;
+ * ReceiptBuffer writes them in batches. 404 on every endpoint when
+ * notification.receipts.enabled is off, 429 while the buffer is full.
+ */
+@RestController
+@RequestMapping("/api/callbacks")
+public class ReceiptCallbackController {
+
+    private static final TypeReference<List<ReceiptDTO>> RECEIPTS = new TypeReference<>() {
+    };
+
+    private final ObjectProvider<ReceiptBuffer> receiptBuffer;
+    private final ObjectProvider<ReceiptSignatures> signatures;
+    private final ReceiptProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param receiptBuffer the receipt buffer, present only when enabled
+     * @param signatures    callback signature checks, present only when enabled
+     * @param properties    notification.receipts
+     * @param objectMapper  mapper for the generic endpoint's body
+     */
+    public ReceiptCallbackController(ObjectProvider<ReceiptBuffer> receiptBuffer,
+            ObjectProvider<ReceiptSignatures> signatures,
+            ReceiptProperties properties,
+            ObjectMapper objectMapper) {
+        this.receiptBuffer = receiptBuffer;
+        this.signatures = signatures;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Twilio status callback, sent to the URL SmsNotifier gave with the
+     * message.
+     *
+     * @param notificationId the notification, from the callback URL
+     * @param signature      X-Twilio-Signature
+     * @param params         the form parameters (and notificationId)
+     * @return 204 No Content, or 403 if the signature does not match
+     */
+    @PostMapping(path = "/twilio", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<Void> twilio(@RequestParam long notificationId,
+            @RequestHeader(name = "X-Twilio-Signature", required = false) String signature,
+            @RequestParam Map<String, String> params) {
+        ReceiptBuffer buffer = receiptBuffer.getIfAvailable();
+        if (buffer == null || properties.twilioCallbackUrl().isBlank()) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, String> form = new HashMap<>(params);
+        form.remove("notificationId");
+        String url = TwilioReceipts.callbackUrl(properties.twilioCallbackUrl(), notificationId);
+        if (!signatures.getObject().twilio(url, form, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Receipt receipt = TwilioReceipts.fromCallback(notificationId, form);
+        if (receipt != null) {
+            buffer.accept(receipt);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Generic receipts: a JSON array of ReceiptDTO, signed with
+     * X-Receipt-Signature: sha256=&lt;hex HMAC-SHA256 of the body&gt;.
+     *
+     * @param signature X-Receipt-Signature
+     * @param body      the raw body, as signed
+     * @return 202 Accepted with the count, 401 on a bad signature, 400 on a
+     *         malformed body (nothing is buffered then)
+     */
+    @PostMapping(path = "/receipts", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> receipts(
+            @RequestHeader(name = "X-Receipt-Signature", required = false) String signature,
+            @RequestBody byte[] body) {
+        ReceiptBuffer buffer = receiptBuffer.getIfAvailable();
+        ReceiptSignatures check = signatures.getIfAvailable();
+        if (buffer == null || check == null || !check.genericEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!check.generic(body, signature)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        List<Receipt> receipts = new ArrayList<>();
+        try {
+            for (ReceiptDTO dto : objectMapper.readValue(body, RECEIPTS)) {
+                receipts.add(toReceipt(dto));
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Bad Request", "reason", ex.getMessage()));
+        }
+        receipts.forEach(buffer::accept);
+        return ResponseEntity.accepted().body(Map.of("accepted", receipts.size()));
+    }
+
+    private static Receipt toReceipt(ReceiptDTO dto) {
+        if (dto == null || dto.getNotificationId() == null || dto.getStatus() == null) {
+            throw new IllegalArgumentException("notificationId and status are required");
+        }
+        if (dto.getReason() != null && dto.getReason().length() > 255) {
+            throw new IllegalArgumentException("reason must be at most 255 characters");
+        }
+        boolean suppress = dto.isPermanent() && dto.getStatus() == NotificationStatus.BOUNCED;
+        return new Receipt(dto.getNotificationId(), dto.getStatus(), dto.getReason(),
+                suppress ? SuppressionReason.BOUNCE : null);
+    }
+}
@@ -53,7 +53,7 @@ public class CircuitBreakerDecorator implements Notifier {
         try {
             decorated.run();
         } catch (Exception ex) {
-            log.warn("CircuitBreaker intercepted failure for notification id={}: {}",
+            log.debug("CircuitBreaker intercepted failure for notification id={}: {}",
                     notification.getId(), ex.getMessage());
             throw ex;
         }
@@ -1,6 +1,9 @@
 package com.shovan.NotificationService.decorator;
 
+import java.util.function.BooleanSupplier;
+
 import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.exception.HandBackException;
 import com.shovan.NotificationService.notifier.Notifier;
 
 import io.github.resilience4j.retry.Retry;
@@ -14,6 +17,12 @@ import lombok.extern.slf4j.Slf4j;
  * <b>Pattern:</b> <i>Decorator</i> – wraps a Notifier and
  * retries the send(...) call on transient failures.
  * </p>
+ * <p>
+ * While {@code handBack} is true (the instance is draining) a failed attempt
+ * is neither waited on nor retried: it is thrown as a
+ * {@link HandBackException} so the consumer returns the notification to its
+ * queue.
+ * </p>
  */
 @Slf4j
 public class RetryDecorator implements Notifier {
@@ -24,6 +33,9 @@ public class RetryDecorator implements Notifier {
     /** Resilience4j Retry instance for this channel. */
     private final Retry retry;
 
+    /** Whether a failed attempt is handed back instead of retried. */
+    private final BooleanSupplier handBack;
+
     /**
      * @param delegate  the Notifier to wrap
      * @param registry  Resilience4j registry to obtain retry policies
@@ -32,8 +44,22 @@ public class RetryDecorator implements Notifier {
     public RetryDecorator(Notifier delegate,
             RetryRegistry registry,
             String retryName) {
+        this(delegate, registry, retryName, () -> false);
+    }
+
+    /**
+     * @param delegate  the Notifier to wrap
+     * @param registry  Resilience4j registry to obtain retry policies
+     * @param retryName the name/key of the retry config (matches config)
+     * @param handBack  checked after each failed attempt
+     */
+    public RetryDecorator(Notifier delegate,
+            RetryRegistry registry,
+            String retryName,
+            BooleanSupplier handBack) {
         this.delegate = delegate;
         this.retry = registry.retry(retryName);
+        this.handBack = handBack;
     }
 
     /**
@@ -44,16 +70,27 @@ public class RetryDecorator implements Notifier {
      */
     @Override
     public void send(Notification notification, String renderedContent) {
-        // Decorate the send() call with retry logic
-        Runnable decorated = Retry
-                .decorateRunnable(retry, () -> delegate.send(notification, renderedContent));
-
-        try {
-            decorated.run();
-        } catch (Exception ex) {
-            log.warn("RetryDecorator exhausted retries for notification id={}: {}",
-                    notification.getId(), ex.getMessage());
-            throw ex;
+        // Retry.decorateRunnable's loop, with a hand-back check before each wait
+        Retry.Context<Void> context = retry.context();
+        while (true) {
+            try {
+                delegate.send(notification, renderedContent);
+                context.onComplete();
+                return;
+            } catch (RuntimeException ex) {
+                if (handBack.getAsBoolean()) {
+                    throw new HandBackException(
+                            "Notification id=" + notification.getId() + " handed back on shutdown", ex);
+                }
+                try {
+                    // Waits before the next attempt, or rethrows once retries are exhausted
+                    context.onRuntimeError(ex);
+                } catch (RuntimeException exhausted) {
+                    log.debug("RetryDecorator exhausted retries for notification id={}: {}",
+                            notification.getId(), exhausted.getMessage());
+                    throw exhausted;
+                }
+            }
         }
     }
 }
@@ -1,13 +1,17 @@
 package com.shovan.NotificationService.dto;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 
 import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.tenant.Tenants;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -20,6 +24,9 @@ import lombok.Setter;
  * @param templateName the key of the template to render (must match a NotificationTemplate.name)
  * @param channels     list of channels (EMAIL, SMS, PUSH) to send through
  * @param parameters   map of template variables (e.g. username, link) to substitute
+ * @param priority     optional delivery priority (defaults to NORMAL)
+ * @param sendAt       optional delivery time; absent or past means send now
+ * @param tenantId     optional tenant; the X-Client-Id header takes precedence
  */
 
 @Getter
@@ -40,4 +47,21 @@ public class NotificationRequestDTO {
     /** Template parameters to substitute; must not be null. */
     @NotNull(message = "parameters must not be null")
     private Map<String, Object> parameters;
+
+    /** Optional delivery priority; HIGH for OTP/transactional traffic. Defaults to NORMAL. */
+    private NotificationPriority priority;
+
+    /**
+     * Optional delivery time with offset, e.g. {@code 2025-07-01T09:00:00+05:30}
+     * for 09:00 recipient local time. Absent or in the past means send now.
+     */
+    private OffsetDateTime sendAt;
+
+    /**
+     * Tenant the notifications belong to, for callers that send on behalf of
+     * several tenants without an X-Client-Id header. Overwritten with the
+     * resolved tenant on ingestion.
+     */
+    @Pattern(regexp = Tenants.PATTERN, message = "tenantId must be 1-64 characters of [A-Za-z0-9._-]")
+    private String tenantId;
 }
@@ -9,6 +9,7 @@ import java.util.List;
  * containing the IDs of the persisted Notification records.
  * 
  * @param notificationIds list of database IDs for the newly created notifications
+ * @param requestId       outbox entry id when accepted by the reactive path
  */
 @Getter
 @Setter
@@ -19,4 +20,10 @@ public class NotificationResponseDTO {
 
     /** IDs of the Notification entities that were persisted and queued. */
     private List<Long> notificationIds;
+
+    /**
+     * Id of the outbox entry when accepted through the reactive ingestion path;
+     * database IDs are assigned asynchronously by the outbox relay there.
+     */
+    private String requestId;
 }
@@ -0,0 +1,49 @@
+package com.shovan.NotificationService.dto;
+
+import java.time.LocalDateTime;
+
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO returned by the status endpoints: the delivery state of one
+ * notification, without its parameters.
+ *
+ * @param id             the notification id
+ * @param tenantId       tenant the notification belongs to
+ * @param channel        its channel
+ * @param status         current delivery status
+ * @param attempts       send attempts so far
+ * @param provider       provider that accepted it, once sent
+ * @param lastErrorClass root cause of the last failure, if any
+ * @param updatedAt      when the status last changed
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NotificationStatusDTO {
+
+    private long id;
+
+    private String tenantId;
+
+    private Channel channel;
+
+    private NotificationStatus status;
+
+    private int attempts;
+
+    private String provider;
+
+    private String lastErrorClass;
+
+    private LocalDateTime updatedAt;
+}
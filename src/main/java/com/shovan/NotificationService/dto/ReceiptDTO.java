@@ -0,0 +1,40 @@
+package com.shovan.NotificationService.dto;
+
+import com.shovan.NotificationService.enums.NotificationStatus;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for one receipt posted to the generic receipt endpoint, e.g. by an
+ * adapter for ESP bounce webhooks or FCM delivery data.
+ *
+ * @param notificationId the notification the receipt is about
+ * @param status         DELIVERED or BOUNCED
+ * @param reason         provider error, stored as lastErrorClass
+ * @param permanent      whether the bounce means the recipient is gone, which
+ *                       adds it to the suppression list
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReceiptDTO {
+
+    @NotNull(message = "notificationId is required")
+    private Long notificationId;
+
+    @NotNull(message = "status is required")
+    private NotificationStatus status;
+
+    @Size(max = 255, message = "reason must be at most 255 characters")
+    private String reason;
+
+    private boolean permanent;
+}
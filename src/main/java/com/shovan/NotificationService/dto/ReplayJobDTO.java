@@ -0,0 +1,36 @@
+package com.shovan.NotificationService.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO reporting the progress of a replay job.
+ *
+ * @param jobId      identifier to poll or cancel the job
+ * @param state      RUNNING, COMPLETED, CANCELLED or FAILED
+ * @param replayed   notifications re-published so far
+ * @param startedAt  when the job started
+ * @param finishedAt when the job finished, null while running
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplayJobDTO {
+
+    private String jobId;
+
+    private String state;
+
+    private long replayed;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,56 @@
+package com.shovan.NotificationService.dto;
+
+import java.time.LocalDateTime;
+
+import com.shovan.NotificationService.enums.Channel;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO describing which FAILED notifications to replay and how fast.
+ * All filters are optional; omitted filters match everything.
+ *
+ * @param channel       only replay this channel
+ * @param from          only notifications created at or after this time
+ * @param to            only notifications created before this time
+ * @param errorClass    only notifications whose last failure had this root cause
+ *                      (simple class name, e.g. ApiException)
+ * @param maxMessages   stop after this many notifications
+ * @param ratePerSecond publish rate, to avoid overwhelming providers
+ * @param batchSize     rows claimed per database round trip
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReplayRequestDTO {
+
+    private Channel channel;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private String errorClass;
+
+    /** Upper bound on replayed notifications; unlimited if absent. */
+    @Positive(message = "maxMessages must be positive")
+    private Long maxMessages;
+
+    /** Messages published per second (default 50). */
+    @Positive(message = "ratePerSecond must be positive")
+    @Max(value = 10_000, message = "ratePerSecond must be at most 10000")
+    private Integer ratePerSecond;
+
+    /** Rows loaded and claimed per batch (default 500). */
+    @Positive(message = "batchSize must be positive")
+    @Max(value = 5_000, message = "batchSize must be at most 5000")
+    private Integer batchSize;
+}
@@ -0,0 +1,29 @@
+package com.shovan.NotificationService.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO describing which window of the bulk stream to reprocess.
+ *
+ * @param from records appended at or after this time
+ * @param to   records appended before this time; omitted to read to the end
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StreamReplayRequestDTO {
+
+    @NotNull(message = "from is required")
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+}
@@ -0,0 +1,41 @@
+package com.shovan.NotificationService.dto;
+
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.SuppressionReason;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO adding an address to the suppression list.
+ *
+ * @param channel the channel the address belongs to
+ * @param address email, phone number or device token, as in the parameters
+ * @param reason  defaults to MANUAL
+ * @param detail  free-text note
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SuppressionRequestDTO {
+
+    @NotNull(message = "channel is required")
+    private Channel channel;
+
+    @NotBlank(message = "address is required")
+    @Size(max = 512, message = "address must be at most 512 characters")
+    private String address;
+
+    private SuppressionReason reason;
+
+    @Size(max = 255, message = "detail must be at most 255 characters")
+    private String detail;
+}
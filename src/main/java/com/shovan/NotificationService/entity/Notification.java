@@ -1,9 +1,12 @@
 package com.shovan.NotificationService.entity;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 import com.shovan.NotificationService.enums.NotificationStatus;
 import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.tenant.Tenants;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,6 +15,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -22,12 +26,17 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+        // Lets the scheduler load "SCHEDULED and due before X" as an index range scan
+        @Index(name = "idx_notification_status_send_at", columnList = "status, send_at"),
+        // Lets StuckNotificationReconciler and coalescing recovery find rows left in a status
+        @Index(name = "idx_notification_status_updated_at", columnList = "status, updated_at")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Notification {
 
     @Id
@@ -48,15 +57,56 @@ public class Notification {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String parameters;
 
+    /** Delivery priority; decides which queue lane the message is routed to. */
+    @Enumerated(EnumType.STRING)
+    private NotificationPriority priority;
+
+    /**
+     * Tenant (API client) the notification was accepted for; routes it to
+     * the tenant's bulk sub-queue. Null on rows created before tenants, which
+     * belong to the default tenant.
+     */
+    @Column(length = 64)
+    private String tenantId;
+
     /** Current delivery status. */
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private NotificationStatus status;
 
+    /**
+     * When the notification should be delivered; null means immediately.
+     * Stored as an absolute instant, so "09:00 recipient local time" is
+     * expressed by the client through the offset of the requested time.
+     */
+    private Instant sendAt;
+
     /** How many times we’ve attempted to send this notification. */
     @Column(nullable = false)
     private int attempts;
 
+    /**
+     * Simple class name of the root cause of the last failure (e.g.
+     * ApiException, CallNotPermittedException); lets FAILED rows be replayed
+     * by error class.
+     */
+    private String lastErrorClass;
+
+    /**
+     * Provider that accepted the notification (e.g. "twilio-backup" after a
+     * failover); null until sent.
+     */
+    @Column(length = 64)
+    private String provider;
+
+    /**
+     * BlobStore key of the rendered body, when it was large enough to be
+     * stored rather than kept in memory; a replay of this row sends the
+     * stored body instead of rendering it again. Null otherwise.
+     */
+    @Column(length = 64)
+    private String contentRef;
+
     /** When this record was created. */
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -65,7 +115,7 @@ public class Notification {
     private LocalDateTime updatedAt;
 
     /**
-     * JPA callback: initialize timestamps and status on first save.
+     * JPA callback: initialize timestamps, status and priority on first save.
      */
     @PrePersist
     protected void onCreate() {
@@ -75,6 +125,12 @@ public class Notification {
         if (this.status == null) {
             this.status = NotificationStatus.PENDING;
         }
+        if (this.priority == null) {
+            this.priority = NotificationPriority.NORMAL;
+        }
+        if (this.tenantId == null) {
+            this.tenantId = Tenants.DEFAULT_TENANT;
+        }
     }
 
     /**
@@ -0,0 +1,70 @@
+package com.shovan.NotificationService.entity;
+
+import java.time.LocalDateTime;
+
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.SuppressionReason;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An address that must not be sent to on a channel: a bounced mailbox, an
+ * unsubscribed number, a dead device token. Ids only grow, so instances
+ * fold in new rows incrementally by id.
+ */
+@Entity
+@Table(name = "notification_suppression", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_suppression_channel_address", columnNames = { "channel",
+                "address" })
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Suppression {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Channel channel;
+
+    /** Recipient address as Recipients reads it (emails lower-cased). */
+    @Column(nullable = false, length = 512)
+    private String address;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SuppressionReason reason;
+
+    /** Provider error class, or an operator's note. */
+    private String detail;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * JPA callback: set createdAt before first persist.
+     */
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
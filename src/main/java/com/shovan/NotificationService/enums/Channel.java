@@ -4,5 +4,26 @@ public enum Channel {
 
     EMAIL,
     SMS,
-    PUSH
+    PUSH;
+
+    /**
+     * Name of the Resilience4j retry instance for this channel, as configured
+     * in application.yml (e.g. "smsNotifier").
+     *
+     * @return the resilience instance name
+     */
+    public String notifierName() {
+        return name().toLowerCase() + "Notifier";
+    }
+
+    /**
+     * Name of the circuit breaker of one of this channel's providers (e.g.
+     * "smsNotifier-twilio"); providers fail independently.
+     *
+     * @param provider provider name from notification.routing
+     * @return the circuit breaker instance name
+     */
+    public String circuitBreakerName(String provider) {
+        return notifierName() + "-" + provider;
+    }
 }
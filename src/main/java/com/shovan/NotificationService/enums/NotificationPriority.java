@@ -0,0 +1,14 @@
+package com.shovan.NotificationService.enums;
+
+/**
+ * Delivery priority of a notification.
+ * <p>
+ * HIGH is reserved for latency-critical, transactional traffic (OTP, password
+ * reset) and is routed to its own lane so it never queues behind bulk sends.
+ * </p>
+ */
+public enum NotificationPriority {
+
+    HIGH,
+    NORMAL
+}
@@ -2,7 +2,23 @@ package com.shovan.NotificationService.enums;
 
 public enum NotificationStatus {
     
+    /** Accepted with a future sendAt; released to the queue when due. */
+    SCHEDULED,
     PENDING,
+    /** Held by the coalescing stage; sent as part of a digest when its window closes. */
+    BUFFERED,
+    /** Handed off to the provider. */
     SUCCESS,
-    FAILED
+    FAILED,
+    /** Not sent: the recipient is on the suppression list (bounced, unsubscribed, invalid). */
+    SUPPRESSED,
+    /** The provider's receipt confirmed delivery to the recipient. */
+    DELIVERED,
+    /** Handed off, but the provider's receipt reported it undelivered or bounced. */
+    BOUNCED;
+
+    /** @return whether a provider accepted the notification (whatever its receipt said since) */
+    public boolean handedOff() {
+        return this == SUCCESS || this == DELIVERED || this == BOUNCED;
+    }
 }
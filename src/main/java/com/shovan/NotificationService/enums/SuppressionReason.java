@@ -0,0 +1,14 @@
+package com.shovan.NotificationService.enums;
+
+/** Why an address is on the suppression list. */
+public enum SuppressionReason {
+
+    /** The mail server rejected the mailbox permanently (5xx). */
+    BOUNCE,
+    /** The recipient opted out, e.g. replied STOP to an SMS. */
+    UNSUBSCRIBED,
+    /** Not deliverable on the channel: an unregistered device token, an invalid or non-mobile number. */
+    INVALID_RECIPIENT,
+    /** Added by an operator. */
+    MANUAL
+}
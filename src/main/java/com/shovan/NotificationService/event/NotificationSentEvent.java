@@ -0,0 +1,32 @@
+package com.shovan.NotificationService.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.shovan.NotificationService.entity.Notification;
+
+import lombok.Getter;
+
+/**
+ * Application event published after a Notification has been processed
+ * (successfully or not) and its status persisted.
+ *
+ * <p>
+ * <b>Pattern:</b> <i>Observer</i> – listeners such as MetricsListener
+ * subscribe to this event without coupling to NotificationListener.
+ * </p>
+ */
+@Getter
+public class NotificationSentEvent extends ApplicationEvent {
+
+    /** The processed notification, including its final status. */
+    private final Notification notification;
+
+    /**
+     * @param source       the component that published the event
+     * @param notification the processed notification
+     */
+    public NotificationSentEvent(Object source, Notification notification) {
+        super(source);
+        this.notification = notification;
+    }
+}
@@ -1,5 +1,8 @@
 package com.shovan.NotificationService.event.listeners;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import io.micrometer.core.instrument.Counter;
@@ -10,6 +13,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import com.shovan.NotificationService.event.NotificationSentEvent;
+import com.shovan.NotificationService.tenant.KnownTenants;
+
 /**
  * Listener that tracks notification outcomes and reports metrics via Micrometer.
  *
@@ -22,21 +28,29 @@ public class MetricsListener {
 
 
     private final MeterRegistry meterRegistry;
+    private final KnownTenants knownTenants;
+
+    /** Counters by "status:channel:tenant", so the hot path does not rebuild meter ids. */
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
 
     /**
      * Constructor injection of Micrometer’s MeterRegistry.
      *
      * @param meterRegistry the central registry for meters (counters, gauges, etc.)
+     * @param knownTenants  bounds the tenant tag's values
      */
-    public MetricsListener(MeterRegistry meterRegistry) {
+    public MetricsListener(MeterRegistry meterRegistry, KnownTenants knownTenants) {
         this.meterRegistry = meterRegistry;
+        this.knownTenants = knownTenants;
     }
 
     /**
      * Handle NotificationSentEvent and increment corresponding counters.
      *
-     * <p>We tag each counter by {@code status} and {@code channel}
-     * so dashboards can break down success vs failure per channel.</p>
+     * <p>We tag each counter by {@code status}, {@code channel} and
+     * {@code tenant} so dashboards can break down success vs failure per
+     * channel and per tenant. Tenants that are not known share the tenant
+     * tag "other".</p>
      *
      * @param event the event containing the processed Notification
      */
@@ -45,19 +59,22 @@ public class MetricsListener {
         var notification = event.getNotification();
         String status = notification.getStatus().name().toLowerCase();
         String channel = notification.getChannel().name().toLowerCase();
+        String tenant = knownTenants.bucket(notification.getTenantId());
 
         // Build metric name and tags
         String metricName = "notification.sent";
-        Counter counter = Counter.builder(metricName)
-                .description("Count of notifications sent")
-                .tag("status", status)
-                .tag("channel", channel)
-                .register(meterRegistry);
+        Counter counter = counters.computeIfAbsent(status + ":" + channel + ":" + tenant,
+                key -> Counter.builder(metricName)
+                        .description("Count of notifications sent")
+                        .tag("status", status)
+                        .tag("channel", channel)
+                        .tag("tenant", tenant)
+                        .register(meterRegistry));
 
         // Increment the counter for this outcome
         counter.increment();
 
-        log.debug("MetricsListener incremented '{}' counter [status={}, channel={}]",
-                  metricName, status, channel);
+        log.debug("MetricsListener incremented '{}' counter [status={}, channel={}, tenant={}]",
+                  metricName, status, channel, tenant);
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.shovan.NotificationService.exception;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the ingestion API sheds a request because the system is
+ * overloaded or the caller exceeded its quota. Mapped to HTTP 429 with a
+ * Retry-After header by GlobalExceptionHandler.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    /** Short machine-readable reason, e.g. queue_depth or client_quota. */
+    private final String reason;
+
+    /** How long the client should wait before retrying. */
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String reason, Duration retryAfter) {
+        super("Request rejected by admission control: " + reason);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+}
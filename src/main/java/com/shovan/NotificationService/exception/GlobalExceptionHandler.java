@@ -0,0 +1,42 @@
+package com.shovan.NotificationService.exception;
+
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps application exceptions to HTTP responses for all REST controllers.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * Load shedding / quota rejection → 429 Too Many Requests with Retry-After.
+     *
+     * @param ex the rejection
+     * @return 429 response with the reason in the body
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleAdmissionRejected(AdmissionRejectedException ex) {
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Map.of("error", "Too Many Requests", "reason", ex.getReason()));
+    }
+
+    /**
+     * Malformed tenant id (X-Client-Id header or tenantId) → 400 Bad Request.
+     *
+     * @param ex the rejection
+     * @return 400 response with the message in the body
+     */
+    @ExceptionHandler(InvalidTenantException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidTenant(InvalidTenantException ex) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("error", "Bad Request", "reason", ex.getMessage()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.shovan.NotificationService.exception;
+
+/**
+ * A send abandoned because the instance is shutting down: the attempt that
+ * failed is not retried here, and the notification goes back to its queue
+ * for another instance instead of being marked FAILED (see ShutdownDrain).
+ */
+public class HandBackException extends RuntimeException {
+
+    public HandBackException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
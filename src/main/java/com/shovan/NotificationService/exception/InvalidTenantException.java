@@ -0,0 +1,12 @@
+package com.shovan.NotificationService.exception;
+
+/**
+ * Thrown when a request names a tenant id that is not allowed (see
+ * Tenants.PATTERN). Mapped to HTTP 400 by GlobalExceptionHandler.
+ */
+public class InvalidTenantException extends RuntimeException {
+
+    public InvalidTenantException(String tenantId) {
+        super("Invalid tenant id: " + tenantId);
+    }
+}
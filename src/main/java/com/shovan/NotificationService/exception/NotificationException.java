@@ -0,0 +1,16 @@
+package com.shovan.NotificationService.exception;
+
+/**
+ * Unchecked exception for failures while preparing or sending a notification
+ * (e.g. missing template, invalid parameters JSON).
+ */
+public class NotificationException extends RuntimeException {
+
+    public NotificationException(String message) {
+        super(message);
+    }
+
+    public NotificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,35 @@
+package com.shovan.NotificationService.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a template render runs out of its budget or cannot get a
+ * render thread (see RenderExecutor). Like any render error the notification
+ * fails and is dead-lettered, so it can be replayed once the template or its
+ * parameters are fixed.
+ */
+@Getter
+public class RenderRejectedException extends NotificationException {
+
+    /** Which budget the render ran out of. */
+    public enum Reason {
+        /** Used more CPU time than notification.render.cpu-budget. */
+        CPU,
+        /** Produced more than notification.render.max-output. */
+        OUTPUT,
+        /** Not finished within notification.render.timeout, queueing included. */
+        TIMEOUT,
+        /** Its template held all the render threads it may for the whole timeout. */
+        THROTTLED,
+        /** The render queue was full. */
+        BUSY
+    }
+
+    /** The budget the render ran out of. */
+    private final Reason reason;
+
+    public RenderRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+}
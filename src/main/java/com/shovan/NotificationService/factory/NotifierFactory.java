@@ -1,8 +1,15 @@
 package com.shovan.NotificationService.factory;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.stereotype.Component;
 
 import com.shovan.NotificationService.enums.Channel;
@@ -10,8 +17,17 @@ import com.shovan.NotificationService.notifier.EmailNotifier;
 import com.shovan.NotificationService.notifier.Notifier;
 import com.shovan.NotificationService.notifier.PushNotifier;
 import com.shovan.NotificationService.notifier.SmsNotifier;
+import com.shovan.NotificationService.notifier.StubNotifier;
+import com.shovan.NotificationService.routing.Provider;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties.ChannelRoute;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties.Hedge;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties.ProviderSpec;
+import com.shovan.NotificationService.routing.RoutingNotifier;
+import com.shovan.NotificationService.service.TemplateService;
 
-import lombok.AllArgsConstructor;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Factory for creating Notifier instances based on the Channel.
@@ -19,41 +35,80 @@ import lombok.AllArgsConstructor;
  * This encapsulates the logic of “which concrete class to instantiate”
  * so clients (like our Facade or Listener) don’t need to know the details.
  * </p>
+ * <p>
+ * Each channel gets a {@link RoutingNotifier} over the providers listed under
+ * notification.routing.channels (weighted routing, failover, hedging, one
+ * circuit breaker per provider). Provider types:
+ * <ul>
+ * <li>smtp, twilio, fcm – without settings, the built-in EmailNotifier,
+ * SmsNotifier and PushNotifier beans</li>
+ * <li>smtp with settings host/port/username/password – another SMTP relay</li>
+ * <li>twilio with settings account-sid/auth-token/from-number – another
+ * Twilio account</li>
+ * <li>stub with settings latency/error-rate – a local StubNotifier</li>
+ * </ul>
+ * A channel without routing config uses its built-in provider alone.
+ * </p>
  */
 @Component
-public class NotifierFactory {
+public class NotifierFactory implements DisposableBean {
 
     /**
      * Internal map of Channel → Notifier implementation.
      * We use EnumMap for performance when keys are enum values.
      */
-    private final Map<Channel, Notifier> notifiers = new EnumMap<>(Channel.class);
+    private final Map<Channel, RoutingNotifier> notifiers = new EnumMap<>(Channel.class);
+
+    /** Runs the legs of hedged sends; they block on provider I/O. */
+    private final ExecutorService hedgeExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("hedge-", 0).factory());
+
+    private final EmailNotifier emailNotifier;
+    private final SmsNotifier smsNotifier;
+    private final PushNotifier pushNotifier;
 
     /**
-     * Constructor: wires in each concrete Notifier and registers
-     * it under its Channel key.
+     * Constructor: wires in each concrete Notifier and registers the
+     * configured providers under their Channel key.
      *
-     * @param emailNotifier adapter for EMAIL channel
-     * @param smsNotifier   adapter for SMS channel
-     * @param pushNotifier  adapter for PUSH channel
+     * @param emailNotifier          built-in provider for EMAIL
+     * @param smsNotifier            built-in provider for SMS
+     * @param pushNotifier           built-in provider for PUSH
+     * @param routing                providers per channel
+     * @param circuitBreakerRegistry registry for the per-provider breakers
+     * @param meterRegistry          registry for the provider meters
+     * @param templateService        resolves stored bodies for each provider
      */
     public NotifierFactory(EmailNotifier emailNotifier,
             SmsNotifier smsNotifier,
-            PushNotifier pushNotifier) {
-        // Populate the map here—this is the core of the Factory pattern.
-        notifiers.put(Channel.EMAIL, emailNotifier);
-        notifiers.put(Channel.SMS, smsNotifier);
-        notifiers.put(Channel.PUSH, pushNotifier);
+            PushNotifier pushNotifier,
+            ProviderRoutingProperties routing,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            TemplateService templateService) {
+        this.emailNotifier = emailNotifier;
+        this.smsNotifier = smsNotifier;
+        this.pushNotifier = pushNotifier;
+        for (Channel channel : Channel.values()) {
+            ChannelRoute route = routing.channels().get(channel);
+            List<Provider> providers = new ArrayList<>();
+            if (route == null || route.providers().isEmpty()) {
+                providers.add(new Provider(builtInName(channel), 1, builtIn(channel)));
+            } else {
+                for (ProviderSpec spec : route.providers()) {
+                    providers.add(new Provider(spec.name(), spec.weight(), create(channel, spec)));
+                }
+            }
+            Hedge hedge = route != null && route.hedge() != null ? route.hedge() : Hedge.DISABLED;
+            notifiers.put(channel, new RoutingNotifier(channel, providers, hedge,
+                    circuitBreakerRegistry, meterRegistry, hedgeExecutor, templateService));
+        }
     }
 
     /**
-     * Factory method: return the correct Notifier for the requested Channel.
-     * <ul>
-     * <li>If the channel is EMAIL, returns EmailNotifier</li>
-     * <li>If SMS, returns SmsNotifier</li>
-     * <li>If PUSH, returns PushNotifier</li>
-     * </ul>
-     * 
+     * Factory method: return the Notifier for the requested Channel, which
+     * routes to that channel's providers.
+     *
      * @param channel the medium to send on
      * @return a Notifier that knows how to handle that channel
      * @throws IllegalArgumentException if no Notifier is registered for the channel
@@ -66,6 +121,84 @@ public class NotifierFactory {
         return notifier;
     }
 
+    /**
+     * Create the provider clients of every channel, which notifiers otherwise
+     * create on their first send. Blocks on provider I/O; ProviderWarmup runs
+     * it in the background once the application is ready.
+     */
+    public void warmUp() {
+        notifiers.values().forEach(RoutingNotifier::warmUp);
+    }
+
+    /**
+     * @param channel the channel
+     * @return circuit breaker names of the channel's providers; the channel is
+     *         unavailable only when all of them are OPEN
+     */
+    public List<String> circuitBreakerNames(Channel channel) {
+        RoutingNotifier notifier = notifiers.get(channel);
+        return notifier != null ? notifier.circuitBreakerNames() : List.of();
+    }
+
+    @Override
+    public void destroy() {
+        hedgeExecutor.shutdown();
+    }
+
+    private Notifier create(Channel channel, ProviderSpec spec) {
+        Map<String, String> settings = spec.settings();
+        if (spec.type().equals("stub")) {
+            return new StubNotifier(spec.name(),
+                    DurationStyle.detectAndParse(settings.getOrDefault("latency", "0ms")),
+                    Double.parseDouble(settings.getOrDefault("error-rate", "0")));
+        }
+        if (!spec.type().equals(builtInName(channel))) {
+            throw new IllegalStateException("Provider " + spec.name() + " of type " + spec.type()
+                    + " cannot serve channel " + channel);
+        }
+        if (settings.isEmpty()) {
+            return builtIn(channel);
+        }
+        return switch (channel) {
+            case EMAIL -> {
+                JavaMailSenderImpl sender = new JavaMailSenderImpl();
+                sender.setHost(required(spec, "host"));
+                sender.setPort(Integer.parseInt(settings.getOrDefault("port", "25")));
+                sender.setUsername(settings.get("username"));
+                sender.setPassword(settings.get("password"));
+                yield emailNotifier.forSender(sender);
+            }
+            case SMS -> smsNotifier.forAccount(required(spec, "account-sid"),
+                    required(spec, "auth-token"), required(spec, "from-number"));
+            case PUSH -> throw new IllegalStateException("Provider " + spec.name()
+                    + ": only the built-in fcm provider is supported for PUSH");
+        };
+    }
+
+    private Notifier builtIn(Channel channel) {
+        return switch (channel) {
+            case EMAIL -> emailNotifier;
+            case SMS -> smsNotifier;
+            case PUSH -> pushNotifier;
+        };
+    }
+
+    private static String builtInName(Channel channel) {
+        return switch (channel) {
+            case EMAIL -> "smtp";
+            case SMS -> "twilio";
+            case PUSH -> "fcm";
+        };
+    }
+
+    private static String required(ProviderSpec spec, String key) {
+        String value = spec.settings().get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Provider " + spec.name() + " needs setting " + key);
+        }
+        return value;
+    }
+
 }
 
 // Why Factory?
@@ -76,4 +209,4 @@ public class NotifierFactory {
 // add to the map
 
 // Keeps client code (e.g. our Facade or Listener) clean—just call
-// factory.getNotifier(channel)
\ No newline at end of file
+// factory.getNotifier(channel)
@@ -0,0 +1,38 @@
+package com.shovan.NotificationService.factory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the provider clients (Twilio, FCM) in the background once the
+ * application is ready, so neither startup nor the first send of a new
+ * instance waits for them. A send that arrives first creates its client
+ * itself; a client that cannot be created is logged and left to its first
+ * send. Disable with notification.providers.warm-up=false.
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.providers", name = "warm-up", havingValue = "true",
+        matchIfMissing = true)
+@Slf4j
+public class ProviderWarmup {
+
+    private final NotifierFactory notifierFactory;
+
+    public ProviderWarmup(NotifierFactory notifierFactory) {
+        this.notifierFactory = notifierFactory;
+    }
+
+    /** Start the warm-up off the startup path. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Thread.ofVirtual().name("provider-warmup").start(() -> {
+            long start = System.nanoTime();
+            notifierFactory.warmUp();
+            log.info("Provider clients ready in {} ms", (System.nanoTime() - start) / 1_000_000);
+        });
+    }
+}
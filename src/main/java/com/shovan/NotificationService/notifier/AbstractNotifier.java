@@ -16,15 +16,16 @@ import lombok.extern.slf4j.Slf4j;
  * </ol>
  * Subclasses override doSend() to plug in channel‐specific logic.
  * </p>
+ * <p>
+ * Notifiers are singletons shared by all listener threads, so the
+ * notification and content are passed through the steps rather than kept in
+ * fields.
+ * </p>
  */
 
 @Slf4j
 public abstract class AbstractNotifier implements Notifier {
 
-    protected Notification notification;
-
-    protected String content;
-
     /**
      * Final Template Method: orchestrates the send steps.
      */
@@ -34,37 +35,39 @@ public abstract class AbstractNotifier implements Notifier {
         prepare(notification, renderedContent);
 
         try {
-            doSend();
-            this.notification.setStatus(NotificationStatus.SUCCESS);
-            log.info("Notification id={} sent successfully via {}",
-                    this.notification.getId(), this.notification.getChannel());
+            doSend(notification, renderedContent);
+            notification.setStatus(NotificationStatus.SUCCESS);
+            log.debug("Notification id={} sent successfully via {}",
+                    notification.getId(), notification.getChannel());
 
         } catch (Exception ex) {
 
-            this.notification.setStatus(NotificationStatus.FAILED);
-            log.error("Failed to send notification id={} via {}",
-                    this.notification.getId(), this.notification.getChannel(), ex);
+            notification.setStatus(NotificationStatus.FAILED);
+            // Per attempt, so DEBUG; the outcome is in the listener's summary line
+            log.debug("Failed to send notification id={} via {}",
+                    notification.getId(), notification.getChannel(), ex);
             throw ex instanceof RuntimeException
                     ? (RuntimeException) ex
                     : new RuntimeException(ex);
         } finally {
-            postProcess(this.notification);
+            postProcess(notification);
         }
     }
 
     /**
-     * Hook: initialize fields before sending.
+     * Hook: runs before sending (no-op by default).
      */
     protected void prepare(Notification notification, String renderedContent) {
-        this.notification = notification;
-        this.content = renderedContent;
     }
 
     /**
      * Primitive operation: subclasses must implement this to perform the actual
      * send.
+     *
+     * @param notification the notification being sent
+     * @param content      the rendered content
      */
-    protected abstract void doSend();
+    protected abstract void doSend(Notification notification, String content);
 
     /**
      * Hook: update attempt count (persisted later by listener).
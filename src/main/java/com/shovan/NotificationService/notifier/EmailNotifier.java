@@ -7,7 +7,10 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.blob.BlobStore;
+import com.shovan.NotificationService.entity.Notification;
 
+import jakarta.activation.DataHandler;
 import jakarta.mail.internet.MimeMessage;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +21,13 @@ import lombok.extern.slf4j.Slf4j;
  * <b>Pattern:</b> Adapter – wraps Spring’s JavaMailSender so it fits our
  * Notifier interface.
  * </p>
+ * <p>
+ * A body TemplateService stored in the BlobStore arrives as its key (the
+ * notification's contentRef) when RoutingNotifier has found the blob in the
+ * store; it is streamed into the message from the memory-mapped blob rather
+ * than read into a String. A blob swept in between fails this attempt, and
+ * the next one is given the body re-rendered.
+ * </p>
  */
 @Component
 @AllArgsConstructor
@@ -26,6 +36,23 @@ public class EmailNotifier extends AbstractNotifier {
 
     private final JavaMailSender javaMailSender;
     private final ObjectMapper objectMapper;
+    private final BlobStore blobStore;
+
+    /**
+     * The same notifier on another SMTP relay, for additional routing
+     * providers.
+     *
+     * @param sender the relay's JavaMailSender
+     * @return a notifier sending through {@code sender}
+     */
+    public EmailNotifier forSender(JavaMailSender sender) {
+        return new EmailNotifier(sender, objectMapper, blobStore);
+    }
+
+    @Override
+    public boolean streamsStoredBodies() {
+        return true;
+    }
 
     /**
      * Perform the actual email send.
@@ -34,7 +61,7 @@ public class EmailNotifier extends AbstractNotifier {
      * - optional "subject"
      */
     @Override
-    protected void doSend() {
+    protected void doSend(Notification notification, String content) {
 
         try {
 
@@ -49,12 +76,18 @@ public class EmailNotifier extends AbstractNotifier {
 
             mimeMessageHelper.setTo(to);
             mimeMessageHelper.setSubject(subject);
-            mimeMessageHelper.setText(content, true);
+            if (content.equals(notification.getContentRef())) {
+                message.setDataHandler(new DataHandler(blobStore.open(content, "text/html; charset=UTF-8")));
+            } else {
+                mimeMessageHelper.setText(content, true);
+            }
 
             javaMailSender.send(message);
             log.debug("Email sent [id={}, to={}]", notification.getId(), to);
         } catch (Exception e) {
-            // TODO: handle exception
+            // Must propagate: retry, the circuit breaker and failover all act on the exception
+            throw new RuntimeException(
+                    "EmailNotifier failed for notification id=" + notification.getId(), e);
         }
     }
 
@@ -19,6 +19,22 @@ public interface Notifier {
      * @param renderedContent the body/content produced after template rendering
      */
     void send(Notification notification, String renderedContent);
+
+    /**
+     * @return whether this notifier streams a body stored in the BlobStore,
+     *         given its key (the notification's contentRef) as content.
+     *         RoutingNotifier gives every other notifier the text.
+     */
+    default boolean streamsStoredBodies() {
+        return false;
+    }
+
+    /**
+     * Create the provider client ahead of the first send, for notifiers that
+     * create it lazily. Called off the startup path by ProviderWarmup.
+     */
+    default void warmUp() {
+    }
 }
 
 // Where the patterns are used:
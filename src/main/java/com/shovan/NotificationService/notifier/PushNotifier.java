@@ -2,6 +2,7 @@ package com.shovan.NotificationService.notifier;
 
 import java.util.Map;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,7 +10,6 @@ import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.Notification;
 
-import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,15 +19,24 @@ import lombok.extern.slf4j.Slf4j;
  * <b>Pattern:</b> Adapter – wraps FirebaseMessaging so it fits our Notifier
  * interface.
  * </p>
+ * <p>
+ * The FirebaseMessaging bean is lazy (credentials lookup, app init): it is
+ * resolved on the first send, or earlier by {@link #warmUp}.
+ * </p>
  */
 @Component
 @Slf4j
 @AllArgsConstructor
 public class PushNotifier extends AbstractNotifier {
 
-    private final FirebaseMessaging fcm;
+    private final ObjectProvider<FirebaseMessaging> fcm;
     private final ObjectMapper objectMapper;
 
+    @Override
+    public void warmUp() {
+        fcm.getObject();
+    }
+
     /**
      * Perform the actual push send.
      * Expects parameters JSON to contain:
@@ -35,7 +44,7 @@ public class PushNotifier extends AbstractNotifier {
      * - optional "title"
      */
     @Override
-    protected void doSend() {
+    protected void doSend(com.shovan.NotificationService.entity.Notification notification, String content) {
         try {
             @SuppressWarnings("unchecked")
             Map<String, Object> params = objectMapper.readValue(
@@ -54,7 +63,7 @@ public class PushNotifier extends AbstractNotifier {
                     .setNotification(fcmNotif)
                     .build();
 
-            String response = fcm.send(fcmMsg);
+            String response = fcm.getObject().send(fcmMsg);
             log.debug("Push sent [id={}, token={}, resp={}]",
                     notification.getId(), token, response);
         } catch (Exception ex) {
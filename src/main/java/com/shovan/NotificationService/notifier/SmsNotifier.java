@@ -1,16 +1,21 @@
 package com.shovan.NotificationService.notifier;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.twilio.Twilio;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.receipt.TwilioReceipts;
+import com.twilio.http.TwilioRestClient;
 import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.rest.api.v2010.account.MessageCreator;
 import com.twilio.type.PhoneNumber;
 
-import jakarta.annotation.PostConstruct;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -18,23 +23,64 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * <b>Pattern:</b> Adapter – wraps Twilio’s API to match our Notifier interface.
  * </p>
+ * <p>
+ * The bean is the built-in "twilio" provider and uses the TwilioRestClient
+ * bean (ProviderConfig, for notification.providers.twilio). Further accounts,
+ * configured as routing providers of type twilio, get their own client via
+ * {@link #forAccount}. Clients are created on first use (or by
+ * {@link #warmUp}), not at startup.
+ * </p>
+ * <p>
+ * With notification.receipts.twilio-callback-url set, every message asks
+ * Twilio to post its delivery status back, tagged with the notification id.
+ * </p>
  */
 
 @Component
-@AllArgsConstructor
 @Slf4j
 public class SmsNotifier extends AbstractNotifier {
-    
+
     private final ObjectMapper objectMapper;
-    private final String twilioSid;
-    private final String twilioToken;
     private final String fromNumber;
+    /** Where Twilio posts delivery receipts (ReceiptCallbackController); blank for none. */
+    private final String statusCallbackUrl;
+    /** Creates the account's client. */
+    private final Supplier<TwilioRestClient> clientFactory;
+    private volatile TwilioRestClient client;
+
+    @Autowired
+    public SmsNotifier(ObjectMapper objectMapper,
+            ObjectProvider<TwilioRestClient> twilioClient,
+            @Value("${notification.providers.twilio.from-number}") String fromNumber,
+            @Value("${notification.receipts.twilio-callback-url:}") String statusCallbackUrl) {
+        this(objectMapper, fromNumber, statusCallbackUrl, twilioClient::getObject);
+    }
+
+    private SmsNotifier(ObjectMapper objectMapper, String fromNumber, String statusCallbackUrl,
+            Supplier<TwilioRestClient> clientFactory) {
+        this.objectMapper = objectMapper;
+        this.fromNumber = fromNumber;
+        this.statusCallbackUrl = statusCallbackUrl;
+        this.clientFactory = clientFactory;
+    }
 
+    /**
+     * Notifier for an additional Twilio account, with its own client and the
+     * same status callback as this one.
+     *
+     * @param accountSid account SID
+     * @param authToken  auth token
+     * @param fromNumber sender number of that account
+     * @return a notifier with a client of its own
+     */
+    public SmsNotifier forAccount(String accountSid, String authToken, String fromNumber) {
+        return new SmsNotifier(objectMapper, fromNumber, statusCallbackUrl,
+                () -> new TwilioRestClient.Builder(accountSid, authToken).build());
+    }
 
-    /** Initialize the Twilio SDK on startup. */
-    @PostConstruct
-    public void init() {
-        Twilio.init(twilioSid, twilioToken);
+    @Override
+    public void warmUp() {
+        client();
     }
 
     /**
@@ -42,17 +88,21 @@ public class SmsNotifier extends AbstractNotifier {
      * Expects parameters JSON to contain "phoneNumber".
      */
     @Override
-    protected void doSend() {
+    protected void doSend(Notification notification, String content) {
         try {
             @SuppressWarnings("unchecked")
             Map<String, Object> params = objectMapper.readValue(
                     notification.getParameters(), Map.class);
 
             String to = (String) params.get("phoneNumber");
-            Message msg = Message.creator(
+            MessageCreator creator = Message.creator(
                     new PhoneNumber(to),
                     new PhoneNumber(fromNumber),
-                    content).create();
+                    content);
+            if (!statusCallbackUrl.isBlank()) {
+                creator.setStatusCallback(TwilioReceipts.callbackUrl(statusCallbackUrl, notification.getId()));
+            }
+            Message msg = creator.create(client());
 
             log.debug("SMS sent [id={}, to={}, sid={}]",
                     notification.getId(), to, msg.getSid());
@@ -61,4 +111,18 @@ public class SmsNotifier extends AbstractNotifier {
                     "SmsNotifier failed for notification id=" + notification.getId(), ex);
         }
     }
+
+    private TwilioRestClient client() {
+        TwilioRestClient current = client;
+        if (current == null) {
+            synchronized (this) {
+                current = client;
+                if (current == null) {
+                    current = clientFactory.get();
+                    client = current;
+                }
+            }
+        }
+        return current;
+    }
 }
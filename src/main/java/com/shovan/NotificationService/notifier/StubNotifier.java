@@ -0,0 +1,57 @@
+package com.shovan.NotificationService.notifier;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.shovan.NotificationService.entity.Notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local stand-in for a provider: waits a configurable latency and fails a
+ * configurable fraction of sends, without any network. Configured as a
+ * routing provider of type "stub" for local runs and failover drills.
+ */
+@Slf4j
+public class StubNotifier extends AbstractNotifier {
+
+    private final String name;
+    private final Duration latency;
+    private final double errorRate;
+    private final AtomicLong sent = new AtomicLong();
+
+    /**
+     * @param name      provider name, for logs and errors
+     * @param latency   time every send takes
+     * @param errorRate fraction of sends that fail, 0–1
+     */
+    public StubNotifier(String name, Duration latency, double errorRate) {
+        this.name = name;
+        this.latency = latency;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    protected void doSend(Notification notification, String content) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Stub provider " + name + " interrupted", e);
+            }
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new IllegalStateException("Stub provider " + name + " failed notification id="
+                    + notification.getId());
+        }
+        sent.incrementAndGet();
+        log.debug("Stub provider {} sent notification id={}", name, notification.getId());
+    }
+
+    /** @return number of successful sends */
+    public long sentCount() {
+        return sent.get();
+    }
+}
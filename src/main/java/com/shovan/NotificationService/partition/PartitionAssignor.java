@@ -0,0 +1,252 @@
+package com.shovan.NotificationService.partition;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.DirectMessageListenerContainer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.queue.NotificationListener;
+import com.shovan.NotificationService.queue.ShutdownDrain;
+import com.shovan.NotificationService.util.ConsistentHash;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides which recipient partitions this instance consumes, and consumes
+ * them.
+ *
+ * <p>
+ * Live instances heartbeat into a Redis sorted set (member id scored by the
+ * last heartbeat); members silent for {@code member-ttl} are dropped. Each
+ * partition is owned by the member with the highest rendezvous hash of
+ * (member, partition), so every instance computes the same assignment from
+ * the same member list, and a join or leave moves only the partitions gained
+ * or lost by that member (about partitions/members of them).
+ * </p>
+ * <p>
+ * Owned partitions are consumed by one DirectMessageListenerContainer with one
+ * consumer per queue, through NotificationListener's pipeline and the shared
+ * listener retry advice. On a rebalance, consumers of partitions given up are
+ * cancelled (their unacked messages are requeued at the head of the queue)
+ * and consumers of partitions gained are added. While two instances briefly
+ * disagree on the member list, the partition queues' single-active-consumer
+ * flag still lets only one of them receive messages, so ordering holds across
+ * the handover. A graceful stop leaves the set immediately; a crashed instance
+ * is noticed after {@code member-ttl}.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("${notification.partitioning.partitions:0} > 0")
+@Slf4j
+public class PartitionAssignor implements SmartLifecycle {
+
+    static final String MEMBERS_KEY = "notification:partitions:members";
+
+    /**
+     * Its container stops just after spring-rabbit's own listener containers
+     * (Integer.MAX_VALUE), before the drain and the coalescer.
+     */
+    private static final int PHASE = Integer.MAX_VALUE - 100;
+
+    private final RecipientPartitions partitions;
+    private final StringRedisTemplate redisTemplate;
+    private final DirectMessageListenerContainer container;
+    private final String memberId;
+    private final Duration memberTtl;
+    private final Counter rebalanceCounter;
+
+    private Set<Integer> owned = Set.of();
+    private volatile boolean running;
+
+    public PartitionAssignor(RecipientPartitions partitions,
+            StringRedisTemplate redisTemplate,
+            ConnectionFactory connectionFactory,
+            RetryOperationsInterceptor listenerRetryInterceptor,
+            ShutdownDrain shutdownDrain,
+            Jackson2JsonMessageConverter messageConverter,
+            NotificationListener notificationListener,
+            MeterRegistry meterRegistry,
+            @Value("${notification.partitioning.prefetch:10}") int prefetch,
+            @Value("${notification.partitioning.member-ttl:10s}") Duration memberTtl,
+            @Value("${notification.partitioning.member-id:}") String memberId) {
+        this.partitions = partitions;
+        this.redisTemplate = redisTemplate;
+        this.memberId = memberId == null || memberId.isBlank() ? defaultMemberId() : memberId;
+        this.memberTtl = memberTtl;
+
+        container = new DirectMessageListenerContainer(connectionFactory);
+        container.setConsumersPerQueue(1);
+        container.setPrefetchCount(prefetch);
+        if (listenerRetryInterceptor != null) {
+            container.setAdviceChain(listenerRetryInterceptor);
+        }
+        if (shutdownDrain != null) {
+            shutdownDrain.configure(container);
+        }
+        container.setMessageListener(message -> notificationListener.handlePartitionedNotification(
+                (Notification) messageConverter.fromMessage(message), message));
+        container.afterPropertiesSet();
+
+        this.rebalanceCounter = Counter.builder("notification.partitions.rebalances")
+                .description("Changes to the set of recipient partitions this instance consumes")
+                .register(meterRegistry);
+        Gauge.builder("notification.partitions.owned", this, assignor -> assignor.owned().size())
+                .description("Recipient partitions consumed by this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refresh this instance's membership, expire silent members and apply the
+     * resulting assignment. When Redis is unreachable the current partitions
+     * are kept: other instances keep theirs too, and single active consumer
+     * guards any overlap.
+     */
+    @Scheduled(fixedDelayString = "${notification.partitioning.heartbeat:2s}")
+    public void heartbeat() {
+        if (!running) {
+            return;
+        }
+        Set<String> members;
+        try {
+            long now = System.currentTimeMillis();
+            ZSetOperations<String, String> zset = redisTemplate.opsForZSet();
+            zset.add(MEMBERS_KEY, memberId, now);
+            zset.removeRangeByScore(MEMBERS_KEY, 0, now - memberTtl.toMillis());
+            members = zset.range(MEMBERS_KEY, 0, -1);
+        } catch (DataAccessException ex) {
+            log.warn("Partition heartbeat failed; keeping partitions {}: {}", owned(), ex.getMessage());
+            return;
+        }
+        rebalance(assign(partitions.count(), members != null ? members : Set.of(memberId), memberId));
+    }
+
+    /** @return the partitions this instance currently consumes */
+    public synchronized Set<Integer> owned() {
+        return owned;
+    }
+
+    /** @return this instance's id in the member set */
+    public String memberId() {
+        return memberId;
+    }
+
+    private synchronized void rebalance(Set<Integer> target) {
+        if (target.equals(owned)) {
+            return;
+        }
+        List<String> released = new ArrayList<>();
+        List<String> acquired = new ArrayList<>();
+        for (int partition : owned) {
+            if (!target.contains(partition)) {
+                released.add(partitions.queue(partition));
+            }
+        }
+        for (int partition : target) {
+            if (!owned.contains(partition)) {
+                acquired.add(partitions.queue(partition));
+            }
+        }
+        if (!released.isEmpty()) {
+            container.removeQueueNames(released.toArray(String[]::new));
+        }
+        if (!acquired.isEmpty()) {
+            container.addQueueNames(acquired.toArray(String[]::new));
+        }
+        owned = Set.copyOf(target);
+        rebalanceCounter.increment();
+        log.info("Recipient partitions rebalanced: {} owns {} (+{} -{})",
+                memberId, new TreeSet<>(target), acquired.size(), released.size());
+    }
+
+    /**
+     * Rendezvous (highest random weight) assignment.
+     *
+     * @param partitions number of partitions
+     * @param members    live member ids
+     * @param self       the member to compute the assignment for
+     * @return the partitions owned by {@code self}
+     */
+    static Set<Integer> assign(int partitions, Collection<String> members, String self) {
+        Set<Integer> mine = new TreeSet<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            String owner = null;
+            long best = 0;
+            for (String member : members) {
+                long weight = ConsistentHash.rendezvous(member, partition);
+                if (owner == null || Long.compareUnsigned(weight, best) > 0
+                        || (weight == best && member.compareTo(owner) < 0)) {
+                    owner = member;
+                    best = weight;
+                }
+            }
+            if (self.equals(owner)) {
+                mine.add(partition);
+            }
+        }
+        return mine;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        container.start();
+        heartbeat();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            redisTemplate.opsForZSet().remove(MEMBERS_KEY, memberId);
+        } catch (DataAccessException ex) {
+            log.warn("Could not leave partition membership; others take over after {}", memberTtl);
+        }
+        container.stop();
+        synchronized (this) {
+            owned = Set.of();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static String defaultMemberId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "instance";
+        }
+        // Unique per process start, so a restart never inherits a stale entry
+        return host + "-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,133 @@
+package com.shovan.NotificationService.partition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.tenant.Tenants;
+import com.shovan.NotificationService.util.ConsistentHash;
+import com.shovan.NotificationService.util.Recipients;
+
+/**
+ * Splits the bulk lane into partitions keyed by recipient, for ordered
+ * delivery per recipient across instances.
+ *
+ * <p>
+ * Each (tenant, recipient address) is hashed with jump consistent hashing to
+ * one of {@code notification.partitioning.partitions} queues. Every partition
+ * queue is a RabbitMQ single-active-consumer queue and is consumed by exactly
+ * one instance (see PartitionAssignor), one message at a time, so a
+ * recipient's notifications are sent in publish order. Notifications without
+ * a recipient address are spread by id.
+ * </p>
+ * <p>
+ * This replaces the per-tenant shards (TenantShards) for bulk traffic while it
+ * is enabled: ordering needs every message of a recipient on one queue, and
+ * fairness between tenants then rests on campaigns being spread over many
+ * partitions. The HIGH lane is unchanged. With zero partitions (the default)
+ * nothing is declared and publishing uses the tenant shards.
+ * </p>
+ */
+@Component
+public class RecipientPartitions {
+
+    private final int partitions;
+    private final boolean singleActiveConsumer;
+    private final ObjectMapper objectMapper;
+
+    public RecipientPartitions(@Value("${notification.partitioning.partitions:0}") int partitions,
+            @Value("${notification.partitioning.single-active-consumer:true}") boolean singleActiveConsumer,
+            ObjectMapper objectMapper) {
+        if (partitions < 0) {
+            throw new IllegalArgumentException("notification.partitioning.partitions must be >= 0");
+        }
+        this.partitions = partitions;
+        this.singleActiveConsumer = singleActiveConsumer;
+        this.objectMapper = objectMapper;
+    }
+
+    /** @return true if bulk traffic is partitioned by recipient */
+    public boolean enabled() {
+        return partitions > 0;
+    }
+
+    /** @return the number of partitions (0 when disabled) */
+    public int count() {
+        return partitions;
+    }
+
+    /**
+     * @param notification a bulk notification
+     * @return its partition, or -1 when partitioning is disabled
+     */
+    public int partitionOf(Notification notification) {
+        if (partitions == 0) {
+            return -1;
+        }
+        String recipient = Recipients.of(notification, objectMapper);
+        String key = Tenants.orDefault(notification.getTenantId()) + "|"
+                + (recipient != null ? recipient : "#" + notification.getId());
+        return ConsistentHash.bucket(key, partitions);
+    }
+
+    /**
+     * @param notification a bulk notification
+     * @return the routing key of its partition
+     * @throws IllegalStateException when partitioning is disabled
+     */
+    public String routingKey(Notification notification) {
+        int partition = partitionOf(notification);
+        if (partition < 0) {
+            throw new IllegalStateException("Recipient partitioning is disabled");
+        }
+        return RabbitMQConfig.PARTITION_ROUTING_KEY_PREFIX + partition;
+    }
+
+    /**
+     * @param partition partition number
+     * @return the queue name of the partition
+     */
+    public String queue(int partition) {
+        return RabbitMQConfig.PARTITION_QUEUE_PREFIX + partition;
+    }
+
+    /** @return every partition queue name */
+    public String[] queues() {
+        String[] queues = new String[partitions];
+        for (int i = 0; i < partitions; i++) {
+            queues[i] = queue(i);
+        }
+        return queues;
+    }
+
+    /**
+     * Partition queues (single active consumer unless disabled, dead-lettered
+     * like the bulk queue) and their bindings to the notification exchange.
+     *
+     * @return the declarables for RabbitAdmin
+     */
+    public Declarables declarables() {
+        List<Declarable> declarables = new ArrayList<>(partitions * 2);
+        for (int i = 0; i < partitions; i++) {
+            QueueBuilder queue = QueueBuilder.durable(queue(i))
+                    .deadLetterExchange(RabbitMQConfig.DEAD_LETTER_EXCHANGE)
+                    .deadLetterRoutingKey(RabbitMQConfig.DEAD_LETTER_ROUTING_KEY);
+            if (singleActiveConsumer) {
+                queue.singleActiveConsumer();
+            }
+            declarables.add(queue.build());
+            declarables.add(new Binding(queue(i), Binding.DestinationType.QUEUE, RabbitMQConfig.EXCHANGE,
+                    RabbitMQConfig.PARTITION_ROUTING_KEY_PREFIX + i, null));
+        }
+        return new Declarables(declarables);
+    }
+}
@@ -0,0 +1,301 @@
+package com.shovan.NotificationService.queue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.MDC;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rabbitmq.client.Channel;
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.exception.HandBackException;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.service.TemplateService;
+import com.shovan.NotificationService.tracing.DeliveryMetrics;
+import com.shovan.NotificationService.tracing.DeliveryTimeline;
+import com.shovan.NotificationService.tracing.DeliveryTrace;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consumes the bulk lane in micro-batches when
+ * notification.lanes.bulk.batch.enabled is set, in place of
+ * NotificationListener's one-message-per-transaction listener.
+ *
+ * <p>
+ * Per batch: the templates it uses are fetched once
+ * ({@link TemplateService#loadAll}); every message is then rendered and sent
+ * concurrently on the dispatch pool through NotificationListener's pipeline;
+ * all outcomes are saved in one transaction, as one JDBC batch of UPDATEs;
+ * and only then is each message acked, or rejected without requeue if its
+ * delivery failed, so the broker dead-letters it as on the classic lane.
+ * Unparseable messages are quarantined up front and do not hold up the rest.
+ * </p>
+ * <p>
+ * If the outcomes cannot be saved after notification.dead-letter.listener-
+ * attempts tries, the whole batch is rejected to the dead-letter queue, like
+ * a single message out of listener attempts.
+ * </p>
+ * <p>
+ * Messages handed back while the instance drains on shutdown are left out of
+ * the save and requeued for another instance.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.lanes.bulk.batch", name = "enabled", havingValue = "true")
+@Slf4j
+public class BatchNotificationListener implements DisposableBean {
+
+    /** One message of a batch and what happened to it. */
+    private static final class Delivery {
+        final long deliveryTag;
+        final Notification notification;
+        final DeliveryTimeline timeline;
+        boolean buffered;
+        boolean handedBack;
+        RuntimeException failure;
+
+        Delivery(long deliveryTag, Notification notification, DeliveryTimeline timeline) {
+            this.deliveryTag = deliveryTag;
+            this.notification = notification;
+            this.timeline = timeline;
+        }
+    }
+
+    private final NotificationListener pipeline;
+    private final NotificationRepository notificationRepository;
+    private final TemplateService templateService;
+    private final DeliveryMetrics deliveryMetrics;
+    private final Jackson2JsonMessageConverter messageConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final MessageRecoverer poisonRecoverer;
+    private final ShutdownDrain shutdownDrain;
+    private final ExecutorService dispatcher;
+    private final int persistAttempts;
+    private final Duration persistBackoff;
+    private final DistributionSummary batchSizes;
+
+    public BatchNotificationListener(NotificationListener pipeline,
+            NotificationRepository notificationRepository,
+            TemplateService templateService,
+            DeliveryMetrics deliveryMetrics,
+            Jackson2JsonMessageConverter messageConverter,
+            PlatformTransactionManager transactionManager,
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            ShutdownDrain shutdownDrain,
+            @Value("${notification.lanes.bulk.batch.dispatch-threads:16}") int dispatchThreads,
+            @Value("${notification.dead-letter.listener-attempts:3}") int persistAttempts,
+            @Value("${notification.dead-letter.listener-backoff:1s}") Duration persistBackoff) {
+        this.pipeline = pipeline;
+        this.notificationRepository = notificationRepository;
+        this.templateService = templateService;
+        this.deliveryMetrics = deliveryMetrics;
+        this.messageConverter = messageConverter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.poisonRecoverer = new PoisonMessageRecoverer(rabbitTemplate);
+        this.shutdownDrain = shutdownDrain;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads,
+                Thread.ofPlatform().name("batch-dispatch-", 0).factory());
+        this.persistAttempts = persistAttempts;
+        this.persistBackoff = persistBackoff;
+        this.batchSizes = DistributionSummary.builder("notification.lanes.bulk.batch.size")
+                .description("Messages per batch consumed from the bulk lane")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consume a batch from the bulk lane (tenant sub-queues plus the plain
+     * bulk queue) and process it end-to-end.
+     *
+     * @param messages the batch, up to notification.lanes.bulk.batch.size
+     * @param channel  the consumer's channel, for per-message acks
+     * @throws IOException if an ack cannot be sent; unacked messages are
+     *                     redelivered when the channel closes
+     */
+    @RabbitListener(queues = "#{@tenantShards.bulkQueues()}",
+            containerFactory = RabbitMQConfig.BULK_BATCH_CONTAINER_FACTORY,
+            concurrency = "${notification.lanes.bulk.concurrency:2-4}")
+    public void handleNotifications(List<Message> messages, Channel channel) throws IOException {
+        batchSizes.record(messages.size());
+
+        // 1) Convert; poison is quarantined and acked right away
+        List<Delivery> deliveries = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            long deliveryTag = message.getMessageProperties().getDeliveryTag();
+            DeliveryTimeline timeline = deliveryMetrics.start(DeliveryTrace.from(message.getMessageProperties()));
+            try {
+                Notification notification = (Notification) messageConverter.fromMessage(message);
+                deliveries.add(new Delivery(deliveryTag, notification, timeline));
+            } catch (MessageConversionException ex) {
+                poisonRecoverer.recover(message, ex);
+                channel.basicAck(deliveryTag, false);
+            }
+        }
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        shutdownDrain.started(deliveries.size());
+        try {
+            process(deliveries, channel);
+        } finally {
+            shutdownDrain.finished(deliveries.size());
+        }
+    }
+
+    private void process(List<Delivery> deliveries, Channel channel) throws IOException {
+        // 2) One lookup per distinct template for the whole batch
+        Map<String, String> templates = loadTemplates(deliveries);
+
+        // 3) Render and send concurrently
+        dispatch(deliveries, templates);
+
+        // Handed back on shutdown: requeued untouched, another instance sends them
+        List<Delivery> outcomes = new ArrayList<>(deliveries.size());
+        for (Delivery delivery : deliveries) {
+            if (delivery.handedBack) {
+                channel.basicReject(delivery.deliveryTag, true);
+            } else {
+                outcomes.add(delivery);
+            }
+        }
+        if (outcomes.isEmpty()) {
+            return;
+        }
+
+        // 4) Persist every outcome in one transaction
+        if (!persist(outcomes)) {
+            for (Delivery delivery : outcomes) {
+                channel.basicReject(delivery.deliveryTag, false);
+            }
+            return;
+        }
+
+        // 5) Per-message acknowledgement: failures are dead-lettered by the broker
+        for (Delivery delivery : outcomes) {
+            if (delivery.buffered) {
+                pipeline.buffer(delivery.notification);
+            }
+            if (delivery.failure != null) {
+                channel.basicReject(delivery.deliveryTag, false);
+            } else {
+                channel.basicAck(delivery.deliveryTag, false);
+            }
+            pipeline.completed(delivery.notification, delivery.timeline);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // Containers stop (and finish their batch) before beans are destroyed
+        dispatcher.shutdown();
+    }
+
+    private Map<String, String> loadTemplates(List<Delivery> deliveries) {
+        List<String> names = deliveries.stream()
+                .map(delivery -> delivery.notification.getTemplateName())
+                .distinct()
+                .toList();
+        try {
+            return templateService.loadAll(names);
+        } catch (RuntimeException ex) {
+            // Each message falls back to its own lookup, failing on its own if need be
+            log.warn("Batch template lookup failed for {}: {}", names, ex.toString());
+            return Map.of();
+        }
+    }
+
+    private void dispatch(List<Delivery> deliveries, Map<String, String> templates) {
+        List<Future<?>> pending = new ArrayList<>(deliveries.size());
+        for (Delivery delivery : deliveries) {
+            pending.add(dispatcher.submit(() -> dispatch(delivery, templates)));
+        }
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // dispatch(Delivery) records failures itself; this is a bug, not a send failure
+                log.error("Batch dispatch task failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while dispatching a batch", e);
+            }
+        }
+    }
+
+    private void dispatch(Delivery delivery, Map<String, String> templates) {
+        Notification notification = delivery.notification;
+        MDC.put(DeliveryTrace.MDC_KEY, delivery.timeline.trace().traceId());
+        try {
+            if (pipeline.suppressed(notification)) {
+                return;
+            }
+            if (pipeline.coalesces(notification)) {
+                delivery.buffered = true;
+                return;
+            }
+            RuntimeException failure = pipeline.send(notification,
+                    () -> templateService.renderBody(notification, templates),
+                    delivery.timeline);
+            delivery.handedBack = failure instanceof HandBackException;
+            delivery.failure = delivery.handedBack ? null : failure;
+        } finally {
+            MDC.remove(DeliveryTrace.MDC_KEY);
+        }
+    }
+
+    /** @return false if the outcomes could not be saved within the attempts */
+    private boolean persist(List<Delivery> deliveries) {
+        List<Notification> notifications = deliveries.stream().map(delivery -> delivery.notification).toList();
+        List<Long> ids = notifications.stream().map(Notification::getId).toList();
+        for (int attempt = 1; attempt <= persistAttempts; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // One SELECT ... IN, so the merges below find every row managed;
+                    // the dirty rows then flush as one JDBC batch (hibernate.jdbc.batch_size)
+                    notificationRepository.findAllById(ids);
+                    notificationRepository.saveAll(notifications);
+                });
+                return true;
+            } catch (RuntimeException ex) {
+                log.warn("Saving a batch of {} notifications failed (attempt {}/{})",
+                        notifications.size(), attempt, persistAttempts, ex);
+                if (attempt < persistAttempts) {
+                    sleep(persistBackoff);
+                }
+            }
+        }
+        log.error("Dead-lettering a batch of {} notifications whose outcome could not be saved: ids={}",
+                notifications.size(), ids);
+        return false;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.shovan.NotificationService.queue;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Consumer drain on shutdown, bound from notification.drain.
+ *
+ * @param enabled on by default; off restores the containers' defaults (5s
+ *                wait, prefetched messages processed) and retries that run
+ *                to the end
+ * @param timeout how long listener containers wait for in-flight deliveries
+ *                before closing their channels; keep it below
+ *                spring.lifecycle.timeout-per-shutdown-phase and the
+ *                platform's termination grace period
+ */
+@ConfigurationProperties("notification.drain")
+public record DrainProperties(@DefaultValue("true") boolean enabled,
+        @DefaultValue("20s") Duration timeout) {
+}
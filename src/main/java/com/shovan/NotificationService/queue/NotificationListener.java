@@ -1,15 +1,33 @@
 package com.shovan.NotificationService.queue;
 
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.shovan.NotificationService.coalescing.NotificationCoalescer;
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.decorator.RetryDecorator;
 import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.event.NotificationSentEvent;
+import com.shovan.NotificationService.exception.HandBackException;
 import com.shovan.NotificationService.factory.NotifierFactory;
 import com.shovan.NotificationService.notifier.Notifier;
 import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.service.TemplateService;
+import com.shovan.NotificationService.suppression.SuppressionList;
+import com.shovan.NotificationService.tracing.DeliveryMetrics;
+import com.shovan.NotificationService.tracing.DeliveryTimeline;
+import com.shovan.NotificationService.tracing.DeliveryTrace;
 
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.RetryRegistry;
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,14 +42,41 @@ import lombok.extern.slf4j.Slf4j;
  * <li><b>Adapter</b> – we call send() on a Notifier, hiding the 3rd-party API
  * details.</li>
  * <li><b>Factory</b> – NotifierFactory decides which Notifier to return for
- * each channel.</li>
- * <li><b>Decorator</b> – we wrap the base Notifier in CircuitBreakerDecorator
- * and RetryDecorator.</li>
+ * each channel: a RoutingNotifier over the channel's providers, each behind
+ * its own circuit breaker.</li>
+ * <li><b>Decorator</b> – we wrap that Notifier in RetryDecorator.</li>
  * <li><b>Template Method</b> – AbstractNotifier defines the send(...) workflow;
  * subclasses implement doSend().</li>
  * <li><b>Observer</b> – we publish a NotificationSentEvent for any downstream
  * listeners.</li>
  * </ul>
+ * Permanently failed notifications are persisted as FAILED and then rejected,
+ * so the broker dead-letters them instead of dropping them from the pipeline.
+ * Each stage (queue wait, render, send, persist) is timed by DeliveryMetrics,
+ * which also writes the message's single summary log line; the message's
+ * trace id is put in the MDC for the duration. Per-step logging is DEBUG only.
+ * </p>
+ * <p>
+ * When coalescing is enabled, notifications the NotificationCoalescer accepts
+ * are persisted as BUFFERED and acked without being rendered; they are sent
+ * later as part of a digest.
+ * </p>
+ * <p>
+ * When the suppression list is enabled, notifications to a suppressed
+ * recipient are persisted as SUPPRESSED and acked before any of that; a send
+ * failure that says the recipient is undeliverable adds it to the list.
+ * </p>
+ * <p>
+ * While the instance drains on shutdown (ShutdownDrain), a send that fails
+ * is handed back: the message is requeued for another instance rather than
+ * retried here, and nothing is saved. The stream lane is exempt, as a stream
+ * cannot take a record back.
+ * </p>
+ * <p>
+ * The steps are package-private so BatchNotificationListener can run the same
+ * pipeline over a batch with a single commit, and PostgresQueueConsumer over
+ * rows it claimed from the notification table (pg-queue profile, where the
+ * listeners above are inert).
  * </p>
  */
 @Component
@@ -41,65 +86,268 @@ public class NotificationListener {
     private final NotificationRepository notificationRepository;
     private final TemplateService templateService;
     private final NotifierFactory notifierFactory;
-    private final CircuitBreakerRegistry circuitBreakerRegistry;
     private final RetryRegistry retryRegistry;
     private final ApplicationEventPublisher eventPublisher;
+    private final DeliveryMetrics deliveryMetrics;
+    private final ObjectProvider<NotificationCoalescer> coalescer;
+    private final ObjectProvider<SuppressionList> suppressionList;
+    private final ShutdownDrain shutdownDrain;
 
     public NotificationListener(NotificationRepository notificationRepository,
             TemplateService templateService,
             NotifierFactory notifierFactory,
-            CircuitBreakerRegistry circuitBreakerRegistry,
             RetryRegistry retryRegistry,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher,
+            DeliveryMetrics deliveryMetrics,
+            ObjectProvider<NotificationCoalescer> coalescer,
+            ObjectProvider<SuppressionList> suppressionList,
+            ShutdownDrain shutdownDrain) {
         this.notificationRepository = notificationRepository;
         this.templateService = templateService;
         this.notifierFactory = notifierFactory;
-        this.circuitBreakerRegistry = circuitBreakerRegistry;
         this.retryRegistry = retryRegistry;
         this.eventPublisher = eventPublisher;
+        this.deliveryMetrics = deliveryMetrics;
+        this.coalescer = coalescer;
+        this.suppressionList = suppressionList;
+        this.shutdownDrain = shutdownDrain;
     }
 
     /**
-     * Consume a Notification entity from RabbitMQ and process it end-to-end.
+     * Consume a Notification entity from the bulk (NORMAL priority) lane and
+     * process it end-to-end. The lane is the per-tenant sub-queues plus the
+     * plain bulk queue (see TenantShards); the bulk container's prefetch of 1
+     * makes consumers alternate between tenants. Not started when
+     * notification.lanes.bulk.batch.enabled hands the lane to
+     * BatchNotificationListener.
      *
      * @param notification the Notification payload deserialized by
      *                     Jackson2JsonMessageConverter
+     * @param message      the raw message, for the trace headers
+     */
+    @RabbitListener(queues = "#{@tenantShards.bulkQueues()}",
+            concurrency = "${notification.lanes.bulk.concurrency:2-4}",
+            autoStartup = "#{!${notification.lanes.bulk.batch.enabled:false}}")
+    @Transactional(noRollbackFor = AmqpRejectAndDontRequeueException.class)
+    public void handleNotification(Notification notification, Message message) {
+        process(notification, message, true);
+    }
+
+    /**
+     * Consume a Notification from the HIGH priority lane. Runs on its own
+     * consumers so OTP/transactional traffic is never stuck behind bulk backlog.
+     *
+     * @param notification the Notification payload
+     * @param message      the raw message, for the trace headers
+     */
+    @RabbitListener(queues = RabbitMQConfig.HIGH_PRIORITY_QUEUE,
+            containerFactory = RabbitMQConfig.HIGH_PRIORITY_CONTAINER_FACTORY,
+            concurrency = "${notification.lanes.high.concurrency:4-8}")
+    @Transactional(noRollbackFor = AmqpRejectAndDontRequeueException.class)
+    public void handleHighPriorityNotification(Notification notification, Message message) {
+        process(notification, message, true);
+    }
+
+    /**
+     * Consume a Notification from a recipient partition. Not a
+     * {@code @RabbitListener}: PartitionAssignor subscribes one consumer to
+     * each partition this instance owns, so a recipient's notifications are
+     * processed one at a time in publish order.
+     *
+     * @param notification the Notification payload
+     * @param message      the raw message, for the trace headers
      */
-    @RabbitListener(queues = RabbitConfig.QUEUE)
-    @Transactional
-    public void handleNotification(Notification notification) {
-        log.info("Received Notification id={} channel={}", notification.getId(), notification.getChannel());
+    @Transactional(noRollbackFor = AmqpRejectAndDontRequeueException.class)
+    public void handlePartitionedNotification(Notification notification, Message message) {
+        process(notification, message, true);
+    }
+
+    /**
+     * Consume a Notification from the bulk stream. Not a
+     * {@code @RabbitListener}: StreamLane reads the stream in batches and calls
+     * this per record, with its own retry and dead-lettering.
+     *
+     * @param notification the Notification payload
+     * @param message      the raw message, for the trace headers
+     */
+    @Transactional(noRollbackFor = AmqpRejectAndDontRequeueException.class)
+    public void handleStreamedNotification(Notification notification, Message message) {
+        process(notification, message, false);
+    }
+
+    /**
+     * Shared processing pipeline for all lanes.
+     *
+     * @param notification the Notification to render, send and persist
+     * @param message      the raw message, for the trace headers
+     * @param handBack     whether a failed send may be requeued while draining
+     */
+    private void process(Notification notification, Message message, boolean handBack) {
+        DeliveryTimeline timeline = deliveryMetrics.start(DeliveryTrace.from(message.getMessageProperties()));
+        MDC.put(DeliveryTrace.MDC_KEY, timeline.trace().traceId());
+        shutdownDrain.started(1);
+        try {
+            deliver(notification, timeline, handBack);
+        } finally {
+            shutdownDrain.finished(1);
+            MDC.remove(DeliveryTrace.MDC_KEY);
+        }
+    }
+
+    private void deliver(Notification notification, DeliveryTimeline timeline, boolean handBack) {
+        log.debug("Received Notification id={} channel={}", notification.getId(), notification.getChannel());
+
+        // 1) Suppression: bounced, unsubscribed or dead recipients are not rendered nor sent
+        if (suppressed(notification)) {
+            notificationRepository.save(notification);
+            completed(notification, timeline);
+            return;
+        }
+
+        // 2) Coalescing: bursts to one recipient wait for a digest instead of being sent now
+        if (coalesces(notification)) {
+            notificationRepository.save(notification);
+            buffer(notification);
+            return;
+        }
 
-        // 1) Render the template into a content string (HTML or text)
-        // TemplateService may cache templates in Redis.
-        String renderedContent = templateService.render(
-                notification.getTemplateName(),
-                notification.getParameters());
+        // 3-6) Render, route, retry, send
+        RuntimeException failure = send(notification,
+                () -> templateService.renderBody(notification),
+                timeline, handBack);
 
-        // 2) Factory: pick the correct Notifier implementation (Adapter pattern)
-        Notifier baseNotifier = notifierFactory.getNotifier(notification.getChannel());
+        // Draining: requeue untouched (rolls back), another instance sends it
+        if (failure instanceof HandBackException) {
+            throw new ImmediateRequeueAmqpException(failure.getMessage(), failure);
+        }
+
+        // 7) Persist updated status & attempt count back to database
+        notificationRepository.save(notification);
+        // 8) Summary log line and event
+        completed(notification, timeline);
 
-        // 3) Decorator: wrap with circuit breaker
-        String cbName = notification.getChannel().name().toLowerCase() + "Notifier";
-        Notifier cbProtected = new CircuitBreakerDecorator(baseNotifier, circuitBreakerRegistry, cbName);
+        // 9) Permanent failure: reject so the broker dead-letters it to notification.dlq
+        if (failure != null) {
+            throw new AmqpRejectAndDontRequeueException(
+                    "Notification id=" + notification.getId() + " failed", failure);
+        }
+    }
 
-        // 4) Decorator: then wrap with retry logic
-        Notifier withRetry = new RetryDecorator(cbProtected, retryRegistry, cbName);
+    /**
+     * Step 1: whether the recipient is on the suppression list. If so the
+     * notification is marked SUPPRESSED; persist it and complete it without
+     * sending.
+     *
+     * @param notification the received notification
+     * @return true if it must not be sent
+     */
+    boolean suppressed(Notification notification) {
+        SuppressionList suppressions = suppressionList.getIfAvailable();
+        if (suppressions != null && suppressions.isSuppressed(notification)) {
+            notification.setStatus(NotificationStatus.SUPPRESSED);
+            return true;
+        }
+        return false;
+    }
 
-        // 5) Template Method: calling send() runs prepare → doSend → postProcess
+    /**
+     * Step 2: whether the coalescer takes this notification into a digest. If
+     * so it is marked BUFFERED; persist it, then {@link #buffer} it.
+     *
+     * @param notification the received notification
+     * @return true if it must not be sent now
+     */
+    boolean coalesces(Notification notification) {
+        NotificationCoalescer digests = coalescer.getIfAvailable();
+        if (digests != null && digests.accepts(notification)) {
+            notification.setStatus(NotificationStatus.BUFFERED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Hand a persisted BUFFERED notification to the coalescer.
+     *
+     * @param notification a notification {@link #coalesces} accepted
+     */
+    void buffer(Notification notification) {
+        coalescer.getObject().buffer(notification);
+    }
+
+    /**
+     * Steps 3-6: render, then send through the channel's provider router with
+     * retry. A failure marks the notification FAILED and is returned rather
+     * than thrown, so the caller persists the outcome either way. While
+     * draining, a failed attempt returns a {@link HandBackException} instead:
+     * the caller returns the notification to its queue rather than recording
+     * the failure.
+     *
+     * @param notification the notification to send
+     * @param content      renders the notification's content
+     * @param timeline     marked as rendered and sent
+     * @return the failure, or null if sent
+     */
+    RuntimeException send(Notification notification, Supplier<String> content, DeliveryTimeline timeline) {
+        return send(notification, content, timeline, true);
+    }
+
+    private RuntimeException send(Notification notification, Supplier<String> content, DeliveryTimeline timeline,
+            boolean handBack) {
         try {
+            // 3) Render the template into a content string (HTML or text)
+            // TemplateService may cache templates in Redis.
+            String renderedContent = content.get();
+            timeline.rendered();
+
+            // 4) Factory: the channel's provider router (weighted, failover, hedging;
+            // each provider behind its own circuit breaker)
+            Notifier routed = notifierFactory.getNotifier(notification.getChannel());
+
+            // 5) Decorator: wrap with retry logic
+            Notifier withRetry = new RetryDecorator(routed, retryRegistry,
+                    notification.getChannel().notifierName(),
+                    handBack ? shutdownDrain::draining : () -> false);
+
+            // 6) Template Method: calling send() runs prepare → doSend → postProcess
             withRetry.send(notification, renderedContent);
-        } catch (Exception ex) {
-            log.warn("Notification id={} failed after decorators: {}", notification.getId(), ex.getMessage());
-            // status and attempts already updated in AbstractNotifier
+            timeline.sent();
+            return null;
+        } catch (HandBackException ex) {
+            log.debug("Notification id={} handed back", notification.getId(), ex);
+            shutdownDrain.handedBack();
+            return ex;
+        } catch (RuntimeException ex) {
+            // Summarised by DeliveryMetrics; the container logs the rejection with its stack trace
+            log.debug("Notification id={} failed after decorators", notification.getId(), ex);
+            // Open breakers or a render error never reach AbstractNotifier
+            notification.setStatus(NotificationStatus.FAILED);
+            notification.setLastErrorClass(rootCause(ex).getClass().getSimpleName());
+            suppressionList.ifAvailable(suppressions -> suppressions.recordFailure(notification, ex));
+            timeline.sent();
+            return ex;
         }
+    }
 
-        // 6) Persist updated status & attempt count back to database
-        notificationRepository.save(notification);
-        log.info("Notification id={} status={} attempts={}",
-                notification.getId(), notification.getStatus(), notification.getAttempts());
+    /**
+     * Step 8, once the outcome is persisted: the summary log line (failures
+     * always, successes sampled) and the NotificationSentEvent for observers.
+     *
+     * @param notification the notification with its final status
+     * @param timeline     its timeline
+     */
+    void completed(Notification notification, DeliveryTimeline timeline) {
+        deliveryMetrics.complete(timeline, notification);
 
-        // 7) Observer: publish an event so MetricsListener (or others) can react
+        // Observer: publish an event so MetricsListener (or others) can react
         eventPublisher.publishEvent(new NotificationSentEvent(this, notification));
     }
+
+    private static Throwable rootCause(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root;
+    }
 }
@@ -0,0 +1,108 @@
+package com.shovan.NotificationService.queue;
+
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import com.shovan.NotificationService.config.RabbitMQConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides what happens to a message once listener attempts are exhausted.
+ *
+ * <ul>
+ * <li><b>Poison message</b> (payload cannot be converted to a Notification) –
+ * republished as-is to the quarantine queue, with the exception details in
+ * x-exception-* headers, and acked. It never reaches the listener again.</li>
+ * <li><b>Anything else</b> – rejected without requeue, so the broker
+ * dead-letters it to notification.dlq. Streams have no broker-side
+ * dead-lettering, so the stream lane's recoverer ({@link #republishing})
+ * republishes these to notification.dlq itself.</li>
+ * <li><b>Handed back</b> on shutdown (ImmediateRequeueAmqpException) –
+ * rethrown, so the container requeues it for another instance.</li>
+ * </ul>
+ */
+@Slf4j
+public class PoisonMessageRecoverer implements MessageRecoverer {
+
+    private final RepublishMessageRecoverer quarantine;
+    private final RepublishMessageRecoverer deadLetter;
+
+    /**
+     * @param amqpTemplate template used to republish to the quarantine queue
+     */
+    public PoisonMessageRecoverer(AmqpTemplate amqpTemplate) {
+        this(amqpTemplate, false);
+    }
+
+    private PoisonMessageRecoverer(AmqpTemplate amqpTemplate, boolean republishFailures) {
+        this.quarantine = new RepublishMessageRecoverer(amqpTemplate,
+                RabbitMQConfig.DEAD_LETTER_EXCHANGE, RabbitMQConfig.QUARANTINE_ROUTING_KEY);
+        this.deadLetter = republishFailures
+                ? new RepublishMessageRecoverer(amqpTemplate,
+                        RabbitMQConfig.DEAD_LETTER_EXCHANGE, RabbitMQConfig.DEAD_LETTER_ROUTING_KEY)
+                : null;
+    }
+
+    /**
+     * Recoverer for consumers without broker dead-lettering (streams):
+     * failures are republished to the dead-letter queue instead of rejected.
+     *
+     * @param amqpTemplate template used to republish
+     * @return the recoverer
+     */
+    public static PoisonMessageRecoverer republishing(AmqpTemplate amqpTemplate) {
+        return new PoisonMessageRecoverer(amqpTemplate, true);
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        ImmediateRequeueAmqpException handedBack = handedBack(cause);
+        if (handedBack != null) {
+            throw handedBack;
+        }
+        if (isPoison(cause)) {
+            log.error("Quarantining unparseable message (deliveryTag={}): {}",
+                    message.getMessageProperties().getDeliveryTag(), cause.getMessage());
+            quarantine.recover(message, cause);
+            return;
+        }
+        if (deadLetter != null) {
+            deadLetter.recover(message, cause);
+            return;
+        }
+        throw new AmqpRejectAndDontRequeueException("Dead-lettering message after failed attempts", cause);
+    }
+
+    /**
+     * @param cause the listener failure
+     * @return the hand-back in the cause chain, or null
+     */
+    private static ImmediateRequeueAmqpException handedBack(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof ImmediateRequeueAmqpException requeue) {
+                return requeue;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param cause the listener failure
+     * @return true if the failure comes from payload conversion
+     */
+    static boolean isPoison(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof MessageConversionException
+                    || t instanceof org.springframework.messaging.converter.MessageConversionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,390 @@
+package com.shovan.NotificationService.queue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.exception.HandBackException;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.service.TemplateService;
+import com.shovan.NotificationService.tracing.DeliveryMetrics;
+import com.shovan.NotificationService.tracing.DeliveryTimeline;
+import com.shovan.NotificationService.tracing.DeliveryTrace;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broker-less consumer of the pg-queue profile: PENDING notification rows
+ * are the queue, claimed in batches with SELECT ... FOR UPDATE SKIP LOCKED
+ * (NotificationRepository.CLAIM_PENDING), in place of the RabbitMQ listeners.
+ *
+ * <p>
+ * Each worker thread loops: in one transaction it claims up to batchSize
+ * rows of its lane (HIGH, or NORMAL), fetches their templates once, renders
+ * and sends them concurrently on the dispatch pool through
+ * NotificationListener's pipeline, and saves every outcome; the commit
+ * releases the row locks. Concurrent workers, on this or other instances,
+ * skip locked rows instead of waiting, so each notification is claimed
+ * once. If the instance dies mid-batch the transaction rolls back and the
+ * rows are PENDING again for the next claim, as unacked messages are
+ * redelivered by the broker. Permanently failed notifications stay FAILED;
+ * there is no dead-letter queue, ReplayService re-queues them.
+ * </p>
+ * <p>
+ * A worker that claimed less than a full batch waits for a wakeup: one
+ * connection LISTENs on the channel PostgresNotificationPublisher NOTIFYs
+ * after every insert or release. Without it (connection lost, or not
+ * PostgreSQL) workers fall back to claiming every pollInterval.
+ * </p>
+ * <p>
+ * A notification handed back while the instance drains on shutdown is saved
+ * PENDING again, so the next claim, on another instance, sends it.
+ * </p>
+ * <p>
+ * Meters: notification.pg-queue.claimed{lane} and
+ * notification.pg-queue.batch.size{lane}.
+ * </p>
+ */
+@Component
+@Profile("pg-queue")
+@Slf4j
+public class PostgresQueueConsumer implements SmartLifecycle, DisposableBean {
+
+    /** Keeps the claim query off the rest of the table: only PENDING rows are indexed. */
+    static final String PENDING_INDEX = """
+            create index if not exists idx_notification_pending on notification (priority, id)
+            where status = 'PENDING'
+            """;
+
+    /** One claimed notification and what happened to it. */
+    private static final class Delivery {
+        final Notification notification;
+        final DeliveryTimeline timeline;
+        boolean buffered;
+        boolean handedBack;
+
+        Delivery(Notification notification, DeliveryTimeline timeline) {
+            this.notification = notification;
+            this.timeline = timeline;
+        }
+    }
+
+    private final NotificationListener pipeline;
+    private final NotificationRepository notificationRepository;
+    private final TemplateService templateService;
+    private final DeliveryMetrics deliveryMetrics;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final PostgresQueueProperties properties;
+    private final ShutdownDrain shutdownDrain;
+    private final Map<NotificationPriority, Counter> claimed = new EnumMap<>(NotificationPriority.class);
+    private final Map<NotificationPriority, DistributionSummary> batchSizes =
+            new EnumMap<>(NotificationPriority.class);
+    /** Released by the LISTEN thread, one permit per worker. */
+    private final Semaphore wakeups = new Semaphore(0);
+    private final List<Thread> workers = new ArrayList<>();
+    private Thread listener;
+    private final ExecutorService dispatcher;
+    private volatile boolean running;
+
+    public PostgresQueueConsumer(NotificationListener pipeline,
+            NotificationRepository notificationRepository,
+            TemplateService templateService,
+            DeliveryMetrics deliveryMetrics,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            PostgresQueueProperties properties,
+            ShutdownDrain shutdownDrain,
+            MeterRegistry meterRegistry) {
+        this.pipeline = pipeline;
+        this.notificationRepository = notificationRepository;
+        this.templateService = templateService;
+        this.deliveryMetrics = deliveryMetrics;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.shutdownDrain = shutdownDrain;
+        this.dispatcher = Executors.newFixedThreadPool(properties.dispatchThreads(),
+                Thread.ofPlatform().name("pg-queue-dispatch-", 0).factory());
+        for (NotificationPriority lane : NotificationPriority.values()) {
+            String tag = lane.name().toLowerCase();
+            claimed.put(lane, Counter.builder("notification.pg-queue.claimed")
+                    .description("Notifications claimed from the Postgres queue")
+                    .tag("lane", tag)
+                    .register(meterRegistry));
+            batchSizes.put(lane, DistributionSummary.builder("notification.pg-queue.batch.size")
+                    .description("Notifications per non-empty claim")
+                    .tag("lane", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Number of PENDING notifications in a lane, for admission control.
+     *
+     * @param lane HIGH or NORMAL
+     * @return the lane's backlog
+     */
+    public long backlog(NotificationPriority lane) {
+        return notificationRepository.countByStatusAndPriorityIn(NotificationStatus.PENDING, Set.of(lane));
+    }
+
+    @Override
+    public synchronized void start() {
+        createIndex();
+        running = true;
+        listener = Thread.ofPlatform().name("pg-queue-listen").daemon().start(this::listen);
+        for (int i = 0; i < properties.highWorkers(); i++) {
+            workers.add(Thread.ofPlatform().name("pg-queue-high-" + i)
+                    .start(() -> work(NotificationPriority.HIGH)));
+        }
+        for (int i = 0; i < properties.workers(); i++) {
+            workers.add(Thread.ofPlatform().name("pg-queue-" + i)
+                    .start(() -> work(NotificationPriority.NORMAL)));
+        }
+        log.info("Postgres queue started: {} workers, {} HIGH priority workers, batches of {}",
+                properties.workers(), properties.highWorkers(), properties.batchSize());
+    }
+
+    /** Workers finish the batch they hold, so its outcomes are committed. */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        wakeups.release(workers.size());
+        listener.interrupt();
+        for (Thread thread : workers) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Claim one batch of a lane and process it end-to-end in one transaction.
+     *
+     * @param lane HIGH or NORMAL
+     * @return the number of notifications claimed
+     */
+    int claimBatch(NotificationPriority lane) {
+        List<Delivery> deliveries = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Notification notification : notificationRepository.claimPending(List.of(lane.name()),
+                    properties.batchSize())) {
+                deliveries.add(new Delivery(notification,
+                        deliveryMetrics.start(DeliveryTrace.forClaim(notification))));
+            }
+            if (deliveries.isEmpty()) {
+                return;
+            }
+            shutdownDrain.started(deliveries.size());
+            try {
+                dispatch(deliveries, loadTemplates(deliveries));
+                notificationRepository.saveAll(deliveries.stream().map(delivery -> delivery.notification).toList());
+            } finally {
+                shutdownDrain.finished(deliveries.size());
+            }
+        });
+        if (deliveries.isEmpty()) {
+            return 0;
+        }
+        claimed.get(lane).increment(deliveries.size());
+        batchSizes.get(lane).record(deliveries.size());
+        // Committed: hand digests their items, then log and publish outcomes
+        for (Delivery delivery : deliveries) {
+            if (delivery.handedBack) {
+                continue;
+            }
+            if (delivery.buffered) {
+                pipeline.buffer(delivery.notification);
+            }
+            pipeline.completed(delivery.notification, delivery.timeline);
+        }
+        return deliveries.size();
+    }
+
+    private void work(NotificationPriority lane) {
+        while (running) {
+            int count;
+            try {
+                count = claimBatch(lane);
+            } catch (RuntimeException ex) {
+                // Rolled back: the rows are PENDING again and are claimed next time
+                log.warn("Processing a claimed {} batch failed; it will be claimed again: {}", lane, ex.toString());
+                count = 0;
+            }
+            if (count < properties.batchSize()) {
+                awaitWakeup();
+            }
+        }
+    }
+
+    private void awaitWakeup() {
+        try {
+            wakeups.tryAcquire(properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void wake() {
+        int workers = properties.workers() + properties.highWorkers();
+        int missing = workers - wakeups.availablePermits();
+        if (missing > 0) {
+            wakeups.release(missing);
+        }
+    }
+
+    /** LISTEN loop; reconnects after a failure, workers poll meanwhile. */
+    private void listen() {
+        boolean failing = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("Not a PostgreSQL connection; Postgres queue workers poll every {}",
+                            properties.pollInterval());
+                    return;
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.channel());
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                if (failing) {
+                    log.info("LISTEN {} recovered", properties.channel());
+                    failing = false;
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications((int) properties.pollInterval().toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        wake();
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                if (!failing) {
+                    log.warn("LISTEN {} failed; workers poll every {} until it reconnects: {}",
+                            properties.channel(), properties.pollInterval(), ex.toString());
+                    failing = true;
+                }
+                try {
+                    Thread.sleep(properties.pollInterval());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void createIndex() {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(PENDING_INDEX);
+        } catch (SQLException ex) {
+            log.warn("Could not create the Postgres queue index; claims scan the notification table: {}",
+                    ex.toString());
+        }
+    }
+
+    private Map<String, String> loadTemplates(List<Delivery> deliveries) {
+        List<String> names = deliveries.stream()
+                .map(delivery -> delivery.notification.getTemplateName())
+                .distinct()
+                .toList();
+        try {
+            return templateService.loadAll(names);
+        } catch (RuntimeException ex) {
+            // Each notification falls back to its own lookup, failing on its own if need be
+            log.warn("Batch template lookup failed for {}: {}", names, ex.toString());
+            return Map.of();
+        }
+    }
+
+    private void dispatch(List<Delivery> deliveries, Map<String, String> templates) {
+        List<Future<?>> pending = new ArrayList<>(deliveries.size());
+        for (Delivery delivery : deliveries) {
+            pending.add(dispatcher.submit(() -> dispatch(delivery, templates)));
+        }
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // dispatch(Delivery) records failures itself; this is a bug, not a send failure
+                log.error("Postgres queue dispatch task failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while dispatching a batch", e);
+            }
+        }
+    }
+
+    private void dispatch(Delivery delivery, Map<String, String> templates) {
+        Notification notification = delivery.notification;
+        MDC.put(DeliveryTrace.MDC_KEY, delivery.timeline.trace().traceId());
+        try {
+            if (pipeline.suppressed(notification)) {
+                return;
+            }
+            if (pipeline.coalesces(notification)) {
+                delivery.buffered = true;
+                return;
+            }
+            // A failure leaves the notification FAILED; it is saved like any outcome
+            RuntimeException failure = pipeline.send(notification,
+                    () -> templateService.renderBody(notification, templates),
+                    delivery.timeline);
+            if (failure instanceof HandBackException) {
+                notification.setStatus(NotificationStatus.PENDING);
+                delivery.handedBack = true;
+            }
+        } finally {
+            MDC.remove(DeliveryTrace.MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.shovan.NotificationService.queue;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Broker-less dispatch (pg-queue profile), bound from notification.pg-queue.
+ *
+ * @param workers         threads claiming NORMAL priority notifications
+ * @param highWorkers     threads claiming HIGH priority ones only, so bulk
+ *                        backlog never delays them
+ * @param batchSize       most notifications one claim takes
+ * @param dispatchThreads threads rendering and sending a claimed batch in
+ *                        parallel, shared by all workers
+ * @param pollInterval    how often an idle worker claims anyway; LISTEN/NOTIFY
+ *                        wakes it sooner, this covers lost notifications and
+ *                        a broken listen connection
+ * @param channel         the LISTEN/NOTIFY channel
+ */
+@ConfigurationProperties("notification.pg-queue")
+public record PostgresQueueProperties(@DefaultValue("4") int workers,
+        @DefaultValue("2") int highWorkers,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("16") int dispatchThreads,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("notification_pending") String channel) {
+}
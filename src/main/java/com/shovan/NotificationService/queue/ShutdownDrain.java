@@ -0,0 +1,167 @@
+package com.shovan.NotificationService.queue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the consumers on shutdown, so a rolling deploy does not abandon
+ * in-flight deliveries for other instances to redo.
+ *
+ * <p>
+ * The drain starts when the context begins to close, before any lifecycle
+ * bean stops. From then on a send that fails is handed back instead of
+ * waiting out RetryDecorator's back-off: requeued on the queue lanes, left
+ * PENDING under pg-queue. The next instance then retries it without a second
+ * provider call here. The listener containers ({@link #configure}) stop
+ * consuming after their current delivery, returning prefetched messages
+ * untouched, and wait up to the timeout for deliveries in progress to be
+ * sent, saved and acked. The stream lane finishes its batch as before: a
+ * stream cannot take a record back.
+ * </p>
+ * <p>
+ * Once the consumers have stopped this bean reports the drain; the coalescer
+ * then flushes its digests, and StatusReadModel and ReceiptBuffer flush their
+ * buffered writes as they are destroyed, before the meter registries publish
+ * for the last time. Meters: notification.drain.deliveries{outcome} with
+ * completed (finished during the drain), handed-back and abandoned (still in
+ * progress at the deadline; redelivered once their channel closes), and the
+ * gauge notification.drain.in-flight.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ShutdownDrain implements SmartLifecycle {
+
+    /**
+     * After the consumers (listener containers at Integer.MAX_VALUE, the
+     * stream lane and partition assignor at MAX_VALUE - 100), before the
+     * coalescer (MAX_VALUE - 200).
+     */
+    private static final int PHASE = Integer.MAX_VALUE - 150;
+
+    private final DrainProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder finishedDuringDrain = new LongAdder();
+    private final Counter completed;
+    private final Counter handedBack;
+    private final Counter abandoned;
+
+    private volatile boolean draining;
+    private volatile long drainStartedAt;
+    private volatile boolean running;
+
+    public ShutdownDrain(DrainProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.completed = outcome(meterRegistry, "completed");
+        this.handedBack = outcome(meterRegistry, "handed-back");
+        this.abandoned = outcome(meterRegistry, "abandoned");
+        Gauge.builder("notification.drain.in-flight", inFlight, AtomicInteger::get)
+                .description("Deliveries being processed by this instance's consumers")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.drain.deliveries")
+                .description("Deliveries in progress when the instance began to shut down, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Apply the drain to a listener container: stop after the current
+     * delivery and wait up to the timeout for it. Used by the container
+     * factories and PartitionAssignor.
+     *
+     * @param container a listener container, before it starts
+     */
+    public void configure(AbstractMessageListenerContainer container) {
+        if (properties.enabled()) {
+            container.setForceStop(true);
+            container.setShutdownTimeout(properties.timeout().toMillis());
+        }
+    }
+
+    /** @return whether sends that fail should be handed back rather than retried */
+    public boolean draining() {
+        return draining;
+    }
+
+    /**
+     * Count deliveries a consumer started processing.
+     *
+     * @param deliveries messages or claimed rows
+     */
+    public void started(int deliveries) {
+        inFlight.addAndGet(deliveries);
+    }
+
+    /**
+     * Count deliveries a consumer is done with, whatever their outcome.
+     *
+     * @param deliveries messages or claimed rows
+     */
+    public void finished(int deliveries) {
+        inFlight.addAndGet(-deliveries);
+        if (draining) {
+            finishedDuringDrain.add(deliveries);
+        }
+    }
+
+    /** Count a send handed back by RetryDecorator; it is also {@link #finished}. */
+    public void handedBack() {
+        handedBack.increment();
+    }
+
+    /** The context is closing: consumers are about to stop. */
+    @EventListener(ContextClosedEvent.class)
+    public void beginDrain() {
+        if (!properties.enabled() || draining) {
+            return;
+        }
+        drainStartedAt = System.nanoTime();
+        draining = true;
+        log.info("Draining consumers: {} deliveries in progress, up to {}", inFlight.get(), properties.timeout());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /** The consumers have stopped: report what the drain did. */
+    @Override
+    public void stop() {
+        running = false;
+        if (!draining) {
+            return;
+        }
+        long handed = (long) handedBack.count();
+        long done = Math.max(finishedDuringDrain.sum() - handed, 0);
+        int left = inFlight.get();
+        completed.increment(done);
+        abandoned.increment(left);
+        log.info("Drained in {} ms: {} completed, {} handed back, {} abandoned to redelivery",
+                (System.nanoTime() - drainStartedAt) / 1_000_000, done, handed, left);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
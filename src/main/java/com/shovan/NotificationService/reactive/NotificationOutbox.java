@@ -0,0 +1,71 @@
+package com.shovan.NotificationService.reactive;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.dto.NotificationRequestDTO;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking outbox: appends accepted requests to a Redis Stream.
+ *
+ * <p>
+ * One XADD per request (all channels together), so the HTTP path costs a
+ * single sub-millisecond Redis round trip instead of a JPA insert per channel
+ * plus a synchronous publish. {@link OutboxRelay} turns entries into rows and
+ * messages.
+ * </p>
+ */
+@Component
+@Profile("reactive")
+public class NotificationOutbox {
+
+    /** Stream field holding the JSON-serialized NotificationRequestDTO. */
+    static final String REQUEST_FIELD = "request";
+
+    /** Stream field holding the caller's client id (may be empty). */
+    static final String CLIENT_FIELD = "clientId";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String streamKey;
+
+    public NotificationOutbox(ReactiveStringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${notification.outbox.stream-key:notification:outbox}") String streamKey) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.streamKey = streamKey;
+    }
+
+    /**
+     * Append a request to the outbox.
+     *
+     * @param clientId caller identity (may be null)
+     * @param request  the validated, admitted request
+     * @return the stream entry id
+     */
+    public Mono<String> append(String clientId, NotificationRequestDTO request) {
+        final String json;
+        try {
+            json = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        Map<String, String> fields = Map.of(
+                REQUEST_FIELD, json,
+                CLIENT_FIELD, clientId != null ? clientId : "");
+        return redisTemplate.opsForStream()
+                .add(StreamRecords.string(fields).withStreamKey(streamKey))
+                .map(RecordId::getValue);
+    }
+}
@@ -0,0 +1,314 @@
+package com.shovan.NotificationService.reactive;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.dto.NotificationRequestDTO;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.service.NotificationIngestService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the Redis Stream outbox written by {@link NotificationOutbox}.
+ *
+ * <p>
+ * Reads entries in batches through a consumer group, persists all of a
+ * batch's notifications in one transaction, acknowledges and deletes the
+ * entries, then publishes the rows. Delivery is at-least-once: a crash between
+ * commit and XACK replays the batch (this consumer's pending entries are read
+ * first on restart); a failed publish leaves committed PENDING rows behind,
+ * like a failed publish in NotificationController.
+ * </p>
+ * <p>
+ * Consumers are named after the host, so entries left pending by an instance
+ * that never comes back would never be read again. Each loop therefore also
+ * claims other consumers' entries idle for longer than
+ * notification.outbox.claim-idle and relays them as its own.
+ * </p>
+ * <p>
+ * If the batch's transaction fails, its entries are persisted and
+ * acknowledged one at a time instead, so one bad entry does not hold back the
+ * others. An entry that still fails stays pending and is retried; after
+ * max-attempts failures (or at once, if it cannot be parsed) it is moved to
+ * the dead-letter stream (notification.outbox.dead-letter-key) with the
+ * error, and the outbox moves on.
+ * </p>
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationIngestService ingestService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final String streamKey;
+    private final String group;
+    private final int batchSize;
+    private final Duration block;
+    private final int maxAttempts;
+    private final String deadLetterKey;
+    private final Duration claimIdle;
+    private final Consumer consumer;
+    private final Counter relayedCounter;
+    private final Counter deadLetteredCounter;
+    /** Failed attempts per pending entry; touched by the relay thread only. */
+    private final Map<RecordId, Integer> failures = new HashMap<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxRelay(StringRedisTemplate redisTemplate,
+            NotificationIngestService ingestService,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${notification.outbox.stream-key:notification:outbox}") String streamKey,
+            @Value("${notification.outbox.group:notification-relay}") String group,
+            @Value("${notification.outbox.batch-size:200}") int batchSize,
+            @Value("${notification.outbox.block:1s}") Duration block,
+            @Value("${notification.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${notification.outbox.dead-letter-key:notification:outbox:dead}") String deadLetterKey,
+            @Value("${notification.outbox.claim-idle:1m}") Duration claimIdle) {
+        this.redisTemplate = redisTemplate;
+        this.ingestService = ingestService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.streamKey = streamKey;
+        this.group = group;
+        this.batchSize = batchSize;
+        this.block = block;
+        this.maxAttempts = maxAttempts;
+        this.deadLetterKey = deadLetterKey;
+        this.claimIdle = claimIdle;
+        this.consumer = Consumer.from(group, consumerName());
+        this.relayedCounter = Counter.builder("notification.outbox.relayed")
+                .description("Outbox entries persisted and published by the relay")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("notification.outbox.dead-lettered")
+                .description("Outbox entries moved to the dead-letter stream")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        createGroupIfMissing();
+        running = true;
+        worker = Thread.ofPlatform().name("outbox-relay").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(block.toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        // Entries this consumer read but never acknowledged (previous crash)
+        ReadOffset offset = ReadOffset.from("0");
+        while (running) {
+            try {
+                List<MapRecord<String, Object, Object>> claimed = claimIdle();
+                if (!claimed.isEmpty() && !relay(claimed)) {
+                    // Now this consumer's pending entries: read again from the start
+                    offset = ReadOffset.from("0");
+                }
+                List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(consumer,
+                        StreamReadOptions.empty().count(batchSize).block(block),
+                        StreamOffset.create(streamKey, offset));
+                if (records == null || records.isEmpty()) {
+                    offset = ReadOffset.lastConsumed();
+                    continue;
+                }
+                if (!relay(records)) {
+                    // Come back to the entries that failed, after a pause
+                    offset = ReadOffset.from("0");
+                    sleepQuietly(block);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Outbox relay iteration failed; retrying", ex);
+                // Re-read what this consumer already claimed but never acknowledged
+                offset = ReadOffset.from("0");
+                sleepQuietly(block);
+            }
+        }
+    }
+
+    /**
+     * Take over the entries other consumers (e.g. a pod that is gone) have held
+     * unacknowledged for longer than claim-idle.
+     */
+    List<MapRecord<String, Object, Object>> claimIdle() {
+        RecordId[] idle = redisTemplate.opsForStream().pending(streamKey, group, Range.unbounded(), batchSize)
+                .stream()
+                .filter(message -> !message.getConsumerName().equals(consumer.getName()))
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+        if (idle.length == 0) {
+            return List.of();
+        }
+        // XCLAIM re-checks the idle time, so of two relays claiming the same
+        // entry only the first gets it
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream()
+                .claim(streamKey, group, consumer.getName(), claimIdle, idle);
+        if (!claimed.isEmpty()) {
+            log.warn("Claimed {} outbox entries left pending by other consumers", claimed.size());
+        }
+        return claimed;
+    }
+
+    /** @return false if some entries are still pending after a failure */
+    boolean relay(List<MapRecord<String, Object, Object>> records) {
+        Map<RecordId, NotificationRequestDTO> requests = new HashMap<>();
+        List<MapRecord<String, Object, Object>> parsed = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                Object json = record.getValue().get(NotificationOutbox.REQUEST_FIELD);
+                requests.put(record.getId(),
+                        objectMapper.readValue(String.valueOf(json), NotificationRequestDTO.class));
+                parsed.add(record);
+            } catch (Exception ex) {
+                // Unparseable entry: no retry will help
+                deadLetter(record, ex);
+            }
+        }
+        if (parsed.isEmpty()) {
+            return true;
+        }
+
+        List<Notification> persisted;
+        try {
+            persisted = transactionTemplate.execute(status -> {
+                List<Notification> saved = new ArrayList<>();
+                for (MapRecord<String, Object, Object> record : parsed) {
+                    saved.addAll(ingestService.persist(requests.get(record.getId())));
+                }
+                return saved;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Persisting a batch of {} outbox entries failed; relaying them one at a time",
+                    parsed.size(), ex);
+            boolean relayed = true;
+            for (MapRecord<String, Object, Object> record : parsed) {
+                relayed &= relayOne(record, requests.get(record.getId()));
+            }
+            return relayed;
+        }
+        completed(parsed, persisted);
+        return true;
+    }
+
+    /** @return false if the entry failed and stays pending for another attempt */
+    private boolean relayOne(MapRecord<String, Object, Object> record, NotificationRequestDTO request) {
+        List<Notification> persisted;
+        try {
+            persisted = transactionTemplate.execute(status -> ingestService.persist(request));
+        } catch (RuntimeException ex) {
+            int attempts = failures.merge(record.getId(), 1, Integer::sum);
+            if (attempts >= maxAttempts) {
+                deadLetter(record, ex);
+                return true;
+            }
+            log.warn("Outbox entry {} failed to persist (attempt {}/{})", record.getId(), attempts, maxAttempts, ex);
+            return false;
+        }
+        completed(List.of(record), persisted);
+        return true;
+    }
+
+    private void completed(List<MapRecord<String, Object, Object>> records, List<Notification> persisted) {
+        // Rows are committed: Postgres is now the source of truth for these entries
+        remove(records);
+        relayedCounter.increment(records.size());
+
+        // Publish only after commit so consumers always find the row
+        ingestService.dispatch(persisted);
+    }
+
+    /** Move an entry to the dead-letter stream, with the error, and take it off the outbox. */
+    private void deadLetter(MapRecord<String, Object, Object> record, Exception error) {
+        Map<String, String> entry = new HashMap<>();
+        entry.put(NotificationOutbox.REQUEST_FIELD,
+                String.valueOf(record.getValue().get(NotificationOutbox.REQUEST_FIELD)));
+        entry.put("outboxId", record.getId().getValue());
+        entry.put("error", String.valueOf(error));
+        redisTemplate.opsForStream().add(MapRecord.create(deadLetterKey, entry));
+        remove(List.of(record));
+        deadLetteredCounter.increment();
+        log.error("Dead-lettered outbox entry {} to {}", record.getId(), deadLetterKey, error);
+    }
+
+    private void remove(List<MapRecord<String, Object, Object>> records) {
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        redisTemplate.opsForStream().acknowledge(streamKey, group, ids);
+        redisTemplate.opsForStream().delete(streamKey, ids);
+        records.forEach(record -> failures.remove(record.getId()));
+    }
+
+    private void createGroupIfMissing() {
+        byte[] key = redisTemplate.getStringSerializer().serialize(streamKey);
+        try {
+            redisTemplate.execute((RedisCallback<String>) (RedisConnection connection) -> connection
+                    .streamCommands().xGroupCreate(key, group, ReadOffset.from("0"), true));
+        } catch (RuntimeException ex) {
+            // BUSYGROUP: the group already exists
+            log.debug("Outbox consumer group {} not created: {}", group, ex.getMessage());
+        }
+    }
+
+    private static String consumerName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "relay-" + ProcessHandle.current().pid();
+        }
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.shovan.NotificationService.reactive;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.shovan.NotificationService.admission.AdmissionControlService;
+import com.shovan.NotificationService.dto.NotificationRequestDTO;
+import com.shovan.NotificationService.dto.NotificationResponseDTO;
+import com.shovan.NotificationService.exception.AdmissionRejectedException;
+import com.shovan.NotificationService.exception.InvalidTenantException;
+import com.shovan.NotificationService.status.NotificationStatusService;
+import com.shovan.NotificationService.tenant.Tenants;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux handler for /api/notifications (profile "reactive").
+ *
+ * <p>
+ * Same contract as NotificationController – validation, admission control,
+ * 202 Accepted – but nothing on the request path blocks: admission reads an
+ * in-memory snapshot and the request is written to the Redis Stream outbox.
+ * The response carries the outbox entry id; database ids are assigned by
+ * {@link OutboxRelay}.
+ * </p>
+ * <p>
+ * The status polls (GET /{id}/status and /status?ids=) answer like
+ * NotificationController's, from NotificationStatusService; its Redis and
+ * database reads block, so they run on the bounded elastic scheduler.
+ * </p>
+ */
+@Component
+@Profile("reactive")
+public class ReactiveNotificationHandler {
+
+    private final AdmissionControlService admissionControl;
+    private final NotificationOutbox outbox;
+    private final Validator validator;
+    private final NotificationStatusService statusService;
+
+    public ReactiveNotificationHandler(AdmissionControlService admissionControl,
+            NotificationOutbox outbox,
+            Validator validator,
+            NotificationStatusService statusService) {
+        this.admissionControl = admissionControl;
+        this.outbox = outbox;
+        this.validator = validator;
+        this.statusService = statusService;
+    }
+
+    /**
+     * Validate, admit and append the request to the outbox.
+     *
+     * @param request the server request
+     * @return 202 with the outbox id, 400 on validation errors, 429 when shed
+     */
+    public Mono<ServerResponse> sendNotifications(ServerRequest request) {
+        String clientId = request.headers().firstHeader("X-Client-Id");
+        return request.bodyToMono(NotificationRequestDTO.class)
+                .switchIfEmpty(Mono.error(new ServerWebInputException("Request body is required")))
+                .flatMap(dto -> {
+                    Set<ConstraintViolation<NotificationRequestDTO>> violations = validator.validate(dto);
+                    if (!violations.isEmpty()) {
+                        List<String> errors = violations.stream().map(ConstraintViolation::getMessage).toList();
+                        return ServerResponse.badRequest().bodyValue(Map.of("errors", errors));
+                    }
+                    dto.setTenantId(Tenants.resolve(clientId, dto.getTenantId()));
+                    // Shed load / enforce quotas before touching the outbox
+                    admissionControl.admit(dto.getTenantId(), dto);
+                    return outbox.append(clientId, dto)
+                            .flatMap(id -> ServerResponse.status(HttpStatus.ACCEPTED)
+                                    .bodyValue(NotificationResponseDTO.builder().requestId(id).build()));
+                })
+                .onErrorResume(InvalidTenantException.class, this::invalidTenant)
+                .onErrorResume(AdmissionRejectedException.class, ex -> ServerResponse
+                        .status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                        .bodyValue(Map.of("error", "Too Many Requests", "reason", ex.getReason())));
+    }
+
+    /**
+     * Delivery status of one notification.
+     *
+     * @param request the server request
+     * @return the status, 404 if unknown or another tenant's, 400 on a bad id
+     *         or client id
+     */
+    public Mono<ServerResponse> getStatus(ServerRequest request) {
+        String clientId = request.headers().firstHeader("X-Client-Id");
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException ex) {
+            return ServerResponse.badRequest().build();
+        }
+        return Mono.fromCallable(() -> statusService.find(id, Tenants.resolve(clientId, null)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(status -> status.isPresent() ? ServerResponse.ok().bodyValue(status.get())
+                        : ServerResponse.notFound().build())
+                .onErrorResume(InvalidTenantException.class, this::invalidTenant);
+    }
+
+    /**
+     * Delivery status of several notifications in one call.
+     *
+     * @param request the server request, with {@code ?ids=1,2,3}
+     * @return the statuses found, in request order (unknown ids are left out),
+     *         or 400 if there are no ids, too many or malformed ones
+     */
+    public Mono<ServerResponse> getStatuses(ServerRequest request) {
+        String clientId = request.headers().firstHeader("X-Client-Id");
+        List<Long> ids;
+        try {
+            ids = request.queryParams().getOrDefault("ids", List.of()).stream()
+                    .flatMap(value -> Arrays.stream(value.split(",")))
+                    .map(value -> Long.valueOf(value.trim()))
+                    .toList();
+        } catch (NumberFormatException ex) {
+            return ServerResponse.badRequest().build();
+        }
+        if (ids.isEmpty() || ids.size() > NotificationStatusService.MAX_IDS) {
+            return ServerResponse.badRequest().build();
+        }
+        return Mono.fromCallable(() -> statusService.findAll(ids, Tenants.resolve(clientId, null)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(statuses -> ServerResponse.ok().bodyValue(statuses))
+                .onErrorResume(InvalidTenantException.class, this::invalidTenant);
+    }
+
+    private Mono<ServerResponse> invalidTenant(InvalidTenantException ex) {
+        return ServerResponse.badRequest().bodyValue(Map.of("error", "Bad Request", "reason", ex.getMessage()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.shovan.NotificationService.receipt;
+
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.enums.SuppressionReason;
+
+/**
+ * What a provider reported about one notification after accepting it.
+ *
+ * @param notificationId the notification
+ * @param status         DELIVERED or BOUNCED
+ * @param reason         provider error, stored as the notification's
+ *                       lastErrorClass; null for deliveries
+ * @param suppression    set when the receipt says the recipient is
+ *                       undeliverable for good, which adds it to the
+ *                       suppression list
+ */
+public record Receipt(long notificationId, NotificationStatus status, String reason,
+        SuppressionReason suppression) {
+
+    public Receipt {
+        if (status != NotificationStatus.DELIVERED && status != NotificationStatus.BOUNCED) {
+            throw new IllegalArgumentException("A receipt is DELIVERED or BOUNCED, not " + status);
+        }
+    }
+
+    /**
+     * @param notificationId the notification
+     * @return a delivery confirmation
+     */
+    public static Receipt delivered(long notificationId) {
+        return new Receipt(notificationId, NotificationStatus.DELIVERED, null, null);
+    }
+
+    /** A bounce overrides a delivery: providers report late bounces, never late deliveries. */
+    Receipt merge(Receipt next) {
+        return next.status.compareTo(status) >= 0 ? next : this;
+    }
+}
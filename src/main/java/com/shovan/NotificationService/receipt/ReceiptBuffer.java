@@ -0,0 +1,264 @@
+package com.shovan.NotificationService.receipt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.exception.AdmissionRejectedException;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.status.NotificationStatusService;
+import com.shovan.NotificationService.status.StatusReadModel;
+import com.shovan.NotificationService.suppression.SuppressionList;
+import com.shovan.NotificationService.util.Recipients;
+import com.shovan.NotificationService.util.WriteBehindBuffer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers provider receipts in memory and writes them in batched UPDATEs, so
+ * callback floods (Twilio posts several per message) cost the database one
+ * statement per batch instead of one transaction per callback.
+ *
+ * <p>
+ * Receipts are coalesced per notification (a bounce outranks a delivery) and
+ * written every flushInterval from a dedicated thread, grouped by (status,
+ * reason) into UPDATEs of up to batchSize ids. DELIVERED only moves SUCCESS
+ * rows; BOUNCED moves SUCCESS and DELIVERED rows. A receipt for a
+ * notification whose send outcome is not committed yet (the provider can be
+ * faster than the listener's commit) is kept for earlyReceiptGrace and
+ * retried; receipts that change nothing are discarded. Updated rows are then
+ * written to the status read model, and bounces that say the recipient is
+ * gone add it to the suppression list.
+ * </p>
+ * <p>
+ * Receipts live in memory only: beyond maxPending, callbacks are answered
+ * 429 so the provider retries, and the buffer is flushed on shutdown.
+ * </p>
+ * <p>
+ * Meters: notification.receipts.received{status},
+ * notification.receipts.applied{status}, notification.receipts.discarded,
+ * notification.receipts.rejected, notification.receipts.batch.size and
+ * notification.receipts.pending (gauge).
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.receipts", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReceiptBuffer implements DisposableBean {
+
+    /** What a receipt may move a row from. */
+    private static final Map<NotificationStatus, Set<NotificationStatus>> FROM = Map.of(
+            NotificationStatus.DELIVERED, EnumSet.of(NotificationStatus.SUCCESS),
+            NotificationStatus.BOUNCED, EnumSet.of(NotificationStatus.SUCCESS, NotificationStatus.DELIVERED));
+
+    /** Rows whose send outcome is still to come. */
+    private static final Set<NotificationStatus> NOT_SENT_YET = EnumSet.of(
+            NotificationStatus.SCHEDULED, NotificationStatus.PENDING, NotificationStatus.BUFFERED);
+
+    private static final Duration BACKLOG_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final NotificationRepository notificationRepository;
+    private final ReceiptProperties properties;
+    private final ObjectProvider<StatusReadModel> readModel;
+    private final ObjectProvider<SuppressionList> suppressionList;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final WriteBehindBuffer<Long, Pending> pending;
+    private final Map<NotificationStatus, Counter> received = new EnumMap<>(NotificationStatus.class);
+    private final Map<NotificationStatus, Counter> applied = new EnumMap<>(NotificationStatus.class);
+    private final Counter discarded;
+    private final Counter rejected;
+    private final DistributionSummary batchSize;
+
+    /** A buffered receipt and when its notification was first reported on. */
+    private record Pending(Receipt receipt, long firstSeenMillis) {
+    }
+
+    /** Receipts written by one UPDATE. */
+    private record Group(NotificationStatus status, String reason) {
+    }
+
+    /** Rows one UPDATE moved, and the ids it skipped because they were not sent yet. */
+    private record Written(int rows, Set<Long> notSentYet) {
+    }
+
+    public ReceiptBuffer(NotificationRepository notificationRepository,
+            ReceiptProperties properties,
+            ObjectProvider<StatusReadModel> readModel,
+            ObjectProvider<SuppressionList> suppressionList,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.properties = properties;
+        this.readModel = readModel;
+        this.suppressionList = suppressionList;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.pending = new WriteBehindBuffer<>("receipt-flush", properties.flushInterval(), properties.maxPending(),
+                (queued, next) -> new Pending(queued.receipt().merge(next.receipt()), queued.firstSeenMillis()),
+                this::flush);
+        for (NotificationStatus status : FROM.keySet()) {
+            String tag = status.name().toLowerCase();
+            received.put(status, Counter.builder("notification.receipts.received")
+                    .description("Provider receipts accepted by the callback endpoints")
+                    .tag("status", tag)
+                    .register(meterRegistry));
+            applied.put(status, Counter.builder("notification.receipts.applied")
+                    .description("Notifications updated from provider receipts")
+                    .tag("status", tag)
+                    .register(meterRegistry));
+        }
+        this.discarded = Counter.builder("notification.receipts.discarded")
+                .description("Receipts that changed nothing: unknown, duplicate, superseded or too early for too long")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("notification.receipts.rejected")
+                .description("Callbacks answered 429 because too many receipts were buffered")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("notification.receipts.batch.size")
+                .description("Notifications per receipt UPDATE")
+                .register(meterRegistry);
+        Gauge.builder("notification.receipts.pending", pending, WriteBehindBuffer::size)
+                .description("Receipts waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffer a receipt for the next flush.
+     *
+     * @param receipt the receipt
+     * @throws AdmissionRejectedException if maxPending receipts are waiting
+     */
+    public void accept(Receipt receipt) {
+        if (!pending.offer(receipt.notificationId(), new Pending(receipt, System.currentTimeMillis()))) {
+            rejected.increment();
+            throw new AdmissionRejectedException("receipt_backlog", BACKLOG_RETRY_AFTER);
+        }
+        received.get(receipt.status()).increment();
+    }
+
+    /** Write every buffered receipt; receipts the database did not take are kept for the next flush. */
+    void flush() {
+        Map<Group, List<Pending>> groups = new LinkedHashMap<>();
+        for (Pending entry : pending.drain()) {
+            Receipt receipt = entry.receipt();
+            groups.computeIfAbsent(new Group(receipt.status(), receipt.reason()), g -> new ArrayList<>())
+                    .add(entry);
+        }
+        groups.forEach((group, entries) -> {
+            for (int from = 0; from < entries.size(); from += properties.batchSize()) {
+                write(group, entries.subList(from, Math.min(entries.size(), from + properties.batchSize())));
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        pending.close();
+    }
+
+    private void write(Group group, List<Pending> batch) {
+        List<Long> ids = batch.stream().map(entry -> entry.receipt().notificationId()).toList();
+        Written written;
+        try {
+            written = transaction.execute(status -> {
+                int rows = notificationRepository.applyReceipt(ids, group.status(), group.reason(),
+                        FROM.get(group.status()));
+                return new Written(rows, rows < ids.size()
+                        ? new HashSet<>(notificationRepository.findIdsByStatusIn(ids, NOT_SENT_YET))
+                        : Set.of());
+            });
+            if (pending.recovered()) {
+                log.info("Receipt writes recovered");
+            }
+        } catch (RuntimeException ex) {
+            if (pending.failed()) {
+                log.warn("Receipt writes failed; keeping up to {} receipts buffered: {}", properties.maxPending(),
+                        ex.toString());
+            }
+            batch.forEach(this::requeue);
+            return;
+        }
+        int updated = written.rows();
+        Set<Long> early = written.notSentYet();
+        batchSize.record(ids.size());
+        applied.get(group.status()).increment(updated);
+
+        long expired = System.currentTimeMillis() - properties.earlyReceiptGrace().toMillis();
+        int kept = 0;
+        for (Pending entry : batch) {
+            if (early.contains(entry.receipt().notificationId()) && entry.firstSeenMillis() > expired) {
+                requeue(entry);
+                kept++;
+            }
+        }
+        discarded.increment(ids.size() - updated - kept);
+        if (updated > 0) {
+            followUp(group, batch, early);
+        }
+    }
+
+    /** Status read model and suppression list, for the rows the receipts moved. */
+    private void followUp(Group group, List<Pending> batch, Set<Long> early) {
+        StatusReadModel cache = readModel.getIfAvailable();
+        SuppressionList suppressions = suppressionList.getIfAvailable();
+        Map<Long, Receipt> suppressing = new LinkedHashMap<>();
+        if (suppressions != null) {
+            for (Pending entry : batch) {
+                if (entry.receipt().suppression() != null && !early.contains(entry.receipt().notificationId())) {
+                    suppressing.put(entry.receipt().notificationId(), entry.receipt());
+                }
+            }
+        }
+        if (cache == null && suppressing.isEmpty()) {
+            return;
+        }
+        List<Long> reread = cache != null ? batch.stream()
+                .map(entry -> entry.receipt().notificationId())
+                .filter(id -> !early.contains(id))
+                .toList() : List.copyOf(suppressing.keySet());
+        try {
+            for (Notification notification : notificationRepository.findAllById(reread)) {
+                if (notification.getStatus() != group.status()) {
+                    continue;
+                }
+                if (cache != null) {
+                    cache.put(NotificationStatusService.toStatus(notification));
+                }
+                Receipt receipt = suppressing.get(notification.getId());
+                String address = receipt != null ? Recipients.of(notification, objectMapper) : null;
+                if (address != null) {
+                    suppressions.suppress(notification.getChannel(), address, receipt.suppression(),
+                            receipt.reason());
+                }
+            }
+        } catch (RuntimeException ex) {
+            // The receipts are written; the cache catches up on the next poll
+            log.warn("Could not propagate {} receipts: {}", group.status(), ex.toString());
+        }
+    }
+
+    private void requeue(Pending entry) {
+        pending.requeue(entry.receipt().notificationId(), entry);
+    }
+}
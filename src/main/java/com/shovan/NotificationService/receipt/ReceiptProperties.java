@@ -0,0 +1,32 @@
+package com.shovan.NotificationService.receipt;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Provider delivery receipts, bound from notification.receipts.
+ *
+ * @param enabled            off by default; the callback endpoints answer 404
+ * @param twilioCallbackUrl  public URL of POST /api/callbacks/twilio, passed
+ *                           to Twilio as each message's status callback and
+ *                           used to check the callback's signature; blank
+ *                           sends no callback URL
+ * @param secret             HMAC-SHA256 key for the generic receipt endpoint
+ *                           (POST /api/callbacks/receipts); blank disables it
+ * @param flushInterval      how often buffered receipts are written
+ * @param batchSize          most ids per UPDATE
+ * @param maxPending         receipts buffered before callbacks get 429
+ * @param earlyReceiptGrace  how long a receipt for a notification whose
+ *                           outcome is not committed yet is kept for a retry
+ */
+@ConfigurationProperties("notification.receipts")
+public record ReceiptProperties(boolean enabled,
+        @DefaultValue("") String twilioCallbackUrl,
+        @DefaultValue("") String secret,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("200000") int maxPending,
+        @DefaultValue("30s") Duration earlyReceiptGrace) {
+}
@@ -0,0 +1,121 @@
+package com.shovan.NotificationService.receipt;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties.ChannelRoute;
+import com.twilio.security.RequestValidator;
+
+/**
+ * Checks that a receipt callback comes from the provider.
+ *
+ * <p>
+ * Twilio signs each callback with the auth token of the account that sent
+ * the message (X-Twilio-Signature), so the token is picked by the callback's
+ * AccountSid among the built-in account and the routing providers of type
+ * twilio. The generic endpoint expects X-Receipt-Signature:
+ * sha256=&lt;hex HMAC-SHA256 of the body&gt; keyed with
+ * notification.receipts.secret.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.receipts", name = "enabled", havingValue = "true")
+public class ReceiptSignatures {
+
+    private static final String HMAC = "HmacSHA256";
+    private static final String SIGNATURE_PREFIX = "sha256=";
+
+    /** Validators by Twilio account SID. */
+    private final Map<String, RequestValidator> twilioAccounts = new HashMap<>();
+    private final SecretKeySpec secret;
+
+    public ReceiptSignatures(ReceiptProperties properties,
+            ProviderRoutingProperties routing,
+            @Value("${notification.providers.twilio.account-sid:}") String twilioSid,
+            @Value("${notification.providers.twilio.auth-token:}") String twilioToken) {
+        addTwilioAccount(twilioSid, twilioToken);
+        ChannelRoute sms = routing.channels().get(Channel.SMS);
+        List<ProviderRoutingProperties.ProviderSpec> providers = sms != null ? sms.providers() : List.of();
+        for (ProviderRoutingProperties.ProviderSpec spec : providers) {
+            if ("twilio".equals(spec.type())) {
+                addTwilioAccount(spec.settings().get("account-sid"), spec.settings().get("auth-token"));
+            }
+        }
+        this.secret = properties.secret().isBlank() ? null
+                : new SecretKeySpec(properties.secret().getBytes(UTF_8), HMAC);
+    }
+
+    /**
+     * @param url       the URL Twilio posted to, as given to it
+     * @param params    the form parameters
+     * @param signature the X-Twilio-Signature header
+     * @return whether a configured account signed the callback
+     */
+    public boolean twilio(String url, Map<String, String> params, String signature) {
+        RequestValidator validator = twilioAccounts.get(params.get("AccountSid"));
+        return validator != null && signature != null && validator.validate(url, params, signature);
+    }
+
+    /** @return whether the generic endpoint has a secret to check against */
+    public boolean genericEnabled() {
+        return secret != null;
+    }
+
+    /**
+     * @param body      the raw request body
+     * @param signature the X-Receipt-Signature header
+     * @return whether the body was signed with the configured secret
+     */
+    public boolean generic(byte[] body, String signature) {
+        if (secret == null || signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+            return false;
+        }
+        byte[] expected = sign(body);
+        byte[] given;
+        try {
+            given = HexFormat.of().parseHex(signature.substring(SIGNATURE_PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, given);
+    }
+
+    /**
+     * @param body a request body
+     * @return its X-Receipt-Signature header value
+     */
+    public String signature(byte[] body) {
+        return SIGNATURE_PREFIX + HexFormat.of().formatHex(sign(body));
+    }
+
+    private byte[] sign(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(secret);
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 unavailable", ex);
+        }
+    }
+
+    private void addTwilioAccount(String accountSid, String authToken) {
+        if (accountSid != null && !accountSid.isBlank() && authToken != null && !authToken.isBlank()) {
+            twilioAccounts.put(accountSid, new RequestValidator(authToken));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.shovan.NotificationService.receipt;
+
+import java.util.Map;
+
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.suppression.ProviderFeedback;
+
+/**
+ * Twilio status callbacks: the URL each message is sent with, and what a
+ * callback's form parameters mean.
+ *
+ * <p>
+ * Twilio posts every status change of a message (queued, sent, delivered,
+ * ...). Only the final ones are receipts: delivered and read become
+ * DELIVERED, undelivered and failed become BOUNCED with reason
+ * twilio-&lt;ErrorCode&gt;; the others are acknowledged and ignored.
+ * </p>
+ */
+public final class TwilioReceipts {
+
+    private TwilioReceipts() {
+    }
+
+    /**
+     * @param base           notification.receipts.twilio-callback-url
+     * @param notificationId the notification being sent
+     * @return the status callback URL for that message
+     */
+    public static String callbackUrl(String base, long notificationId) {
+        return base + (base.contains("?") ? "&" : "?") + "notificationId=" + notificationId;
+    }
+
+    /**
+     * @param notificationId the notificationId query parameter
+     * @param params         the callback's form parameters
+     * @return the receipt, or null for a status that is not final
+     */
+    public static Receipt fromCallback(long notificationId, Map<String, String> params) {
+        String status = params.getOrDefault("MessageStatus", params.get("SmsStatus"));
+        if (status == null) {
+            return null;
+        }
+        return switch (status) {
+            case "delivered", "read" -> Receipt.delivered(notificationId);
+            case "undelivered", "failed" -> {
+                String code = params.get("ErrorCode");
+                Integer errorCode = parseCode(code);
+                yield new Receipt(notificationId, NotificationStatus.BOUNCED,
+                        "twilio-" + (code != null && !code.isBlank() ? code : status),
+                        errorCode != null ? ProviderFeedback.twilioError(errorCode) : null);
+            }
+            default -> null;
+        };
+    }
+
+    private static Integer parseCode(String code) {
+        try {
+            return code != null ? Integer.valueOf(code.trim()) : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.shovan.NotificationService.reconcile;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Stuck-notification reconciliation, bound from notification.reconciler.
+ *
+ * @param enabled       off by default; PostgreSQL only (advisory lock)
+ * @param interval      delay between runs
+ * @param pendingAfter  PENDING this long means the message was lost; must
+ *                      exceed the worst queueing delay admission allows
+ * @param failedAfter   FAILED rows are retried once they have been FAILED
+ *                      this long
+ * @param maxAttempts   FAILED rows with this many attempts (provider
+ *                      attempts plus requeues) are left to the replay API
+ * @param nonRetryable  lastErrorClass values of FAILED rows left to the
+ *                      replay API: failures another attempt cannot fix
+ * @param window        rows last updated longer ago than this are not
+ *                      swept, so old failures are not rescanned forever
+ * @param chunkSize     rows read per keyset page
+ * @param maxPerRun     most rows re-enqueued per run and status; the sweep
+ *                      resumes where it stopped on the next run
+ * @param ratePerSecond re-publishing rate
+ */
+@ConfigurationProperties("notification.reconciler")
+public record ReconcilerProperties(boolean enabled,
+        @DefaultValue("30s") Duration interval,
+        @DefaultValue("15m") Duration pendingAfter,
+        @DefaultValue("10m") Duration failedAfter,
+        @DefaultValue("9") int maxAttempts,
+        @DefaultValue({ "NotificationException", "TemplateInputException", "TemplateProcessingException",
+                "JsonParseException", "MismatchedInputException" }) List<String> nonRetryable,
+        @DefaultValue("24h") Duration window,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("5000") int maxPerRun,
+        @DefaultValue("100") int ratePerSecond) {
+}
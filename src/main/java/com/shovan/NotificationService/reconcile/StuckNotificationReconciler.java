@@ -0,0 +1,276 @@
+package com.shovan.NotificationService.reconcile;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.shovan.NotificationService.admission.LoadSampler;
+import com.shovan.NotificationService.admission.LoadSnapshot;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.queue.PostgresQueueConsumer;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.repository.NotificationRepository.StuckRow;
+import com.shovan.NotificationService.service.NotificationPublisher;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-enqueues notifications stuck in PENDING or FAILED.
+ *
+ * <p>
+ * A row stays PENDING forever if its instance died between the commit and
+ * the publish, or if the message was lost; a transient outage leaves rows
+ * FAILED that a later attempt would deliver. Every interval the leader
+ * (whoever holds a PostgreSQL session advisory lock for the run) walks each
+ * status with a keyset cursor over (updatedAt, id) through
+ * idx_notification_status_updated_at, in chunks of chunkSize rows and at
+ * most maxPerRun per run, moves each chunk to PENDING in one UPDATE (which
+ * also stamps updatedAt, taking the rows out of the sweep, and counts the
+ * requeue as an attempt) and re-publishes it at ratePerSecond. The cursor is kept between runs, so a large backlog
+ * is worked off incrementally; a new leader starts its pass from the
+ * beginning. SCHEDULED rows are the scheduler's late sweep and BUFFERED ones
+ * the coalescer's recovery.
+ * </p>
+ * <p>
+ * FAILED rows are retried until they reach maxAttempts. Counting requeues
+ * as attempts caps failures that never reach a provider, such as a missing
+ * template or open breakers; failures listed in nonRetryable are not retried
+ * at all. Both are left to the replay API.
+ * </p>
+ * <p>
+ * A PENDING row may still be sitting in the queue, so PENDING sweeps are
+ * deferred while the sampled queue backlog would take longer than
+ * pendingAfter to drain at this instance's rate; under the pg-queue profile
+ * PENDING rows are the queue itself and only FAILED is swept.
+ * </p>
+ * <p>
+ * Meters: notification.reconciler.requeued{status},
+ * notification.reconciler.deferred and notification.reconciler.lag{status},
+ * the seconds since the last complete pass started: a row stuck longer than
+ * its threshold plus the lag has been missed.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.reconciler", name = "enabled", havingValue = "true")
+@Slf4j
+public class StuckNotificationReconciler {
+
+    /** Advisory lock key ("recon" in ASCII) electing the instance that sweeps. */
+    static final long LOCK_KEY = 0x7265636f6eL;
+
+    /** Skips no error class: JPQL cannot take an empty IN list. */
+    private static final List<String> NO_SKIPPED_ERRORS = List.of("");
+
+    /** Keyset cursor of one status' pass, kept between runs. */
+    private static final class Sweep {
+        final NotificationStatus status;
+        final Duration after;
+        final int maxAttempts;
+        final List<String> skippedErrors;
+        final Counter requeued;
+        /** Cutoff of the pass in progress; null between passes. */
+        LocalDateTime before;
+        LocalDateTime cursorUpdatedAt;
+        long cursorId;
+        Instant passStartedAt;
+        volatile Instant lastPassStartedAt = Instant.now();
+
+        Sweep(NotificationStatus status, Duration after, int maxAttempts, List<String> skippedErrors,
+                MeterRegistry meterRegistry) {
+            this.status = status;
+            this.after = after;
+            this.maxAttempts = maxAttempts;
+            this.skippedErrors = skippedErrors.isEmpty() ? NO_SKIPPED_ERRORS : skippedErrors;
+            String tag = status.name().toLowerCase();
+            this.requeued = Counter.builder("notification.reconciler.requeued")
+                    .description("Stuck notifications re-enqueued")
+                    .tag("status", tag)
+                    .register(meterRegistry);
+            Gauge.builder("notification.reconciler.lag", this,
+                    sweep -> Duration.between(sweep.lastPassStartedAt, Instant.now()).toMillis() / 1000.0)
+                    .description("Seconds since the last complete sweep started")
+                    .baseUnit("seconds")
+                    .tag("status", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationPublisher notificationPublisher;
+    private final LoadSampler loadSampler;
+    private final ObjectProvider<PostgresQueueConsumer> postgresQueue;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final ReconcilerProperties properties;
+    private final RateLimiter rateLimiter;
+    private final Sweep pending;
+    private final Sweep failed;
+    private final Counter deferred;
+
+    public StuckNotificationReconciler(NotificationRepository notificationRepository,
+            NotificationPublisher notificationPublisher,
+            LoadSampler loadSampler,
+            ObjectProvider<PostgresQueueConsumer> postgresQueue,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ReconcilerProperties properties,
+            MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.notificationPublisher = notificationPublisher;
+        this.loadSampler = loadSampler;
+        this.postgresQueue = postgresQueue;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.rateLimiter = RateLimiter.of("reconciler", RateLimiterConfig.custom()
+                .limitForPeriod(properties.ratePerSecond())
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMinutes(1))
+                .build());
+        this.pending = new Sweep(NotificationStatus.PENDING, properties.pendingAfter(), Integer.MAX_VALUE,
+                List.of(), meterRegistry);
+        this.failed = new Sweep(NotificationStatus.FAILED, properties.failedAfter(), properties.maxAttempts(),
+                properties.nonRetryable(), meterRegistry);
+        this.deferred = Counter.builder("notification.reconciler.deferred")
+                .description("PENDING sweeps deferred while the queue backlog may still hold the rows")
+                .register(meterRegistry);
+    }
+
+    /**
+     * One run: if this instance wins the lock, continue both sweeps for up to
+     * maxPerRun rows each.
+     */
+    @Scheduled(fixedDelayString = "${notification.reconciler.interval:30s}",
+            initialDelayString = "${notification.reconciler.interval:30s}")
+    public void reconcile() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                log.debug("Reconciler running elsewhere; skipped");
+                return;
+            }
+            try {
+                if (postgresQueue.getIfAvailable() == null) {
+                    if (backlogMayHoldPending()) {
+                        deferred.increment();
+                        log.debug("Queue backlog may still hold PENDING rows; PENDING sweep deferred");
+                    } else {
+                        sweep(pending);
+                    }
+                }
+                sweep(failed);
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        } catch (SQLException | RuntimeException ex) {
+            log.error("Stuck notification reconciliation failed; retried next run", ex);
+        }
+    }
+
+    /**
+     * Continue a status' pass for up to maxPerRun rows.
+     *
+     * @return the number of notifications re-enqueued
+     */
+    private int sweep(Sweep sweep) {
+        if (sweep.before == null) {
+            LocalDateTime now = LocalDateTime.now();
+            sweep.before = now.minus(sweep.after);
+            sweep.cursorUpdatedAt = now.minus(properties.window());
+            sweep.cursorId = 0;
+            sweep.passStartedAt = Instant.now();
+        }
+        int requeued = 0;
+        while (requeued < properties.maxPerRun()) {
+            int limit = Math.min(properties.chunkSize(), properties.maxPerRun() - requeued);
+            List<StuckRow> page = notificationRepository.findStuckAfter(sweep.status, sweep.maxAttempts,
+                    sweep.skippedErrors, sweep.cursorUpdatedAt, sweep.cursorId, sweep.before, Limit.of(limit));
+            if (!page.isEmpty()) {
+                StuckRow last = page.get(page.size() - 1);
+                sweep.cursorUpdatedAt = last.getUpdatedAt();
+                sweep.cursorId = last.getId();
+                requeued += requeue(sweep, page.stream().map(StuckRow::getId).toList());
+            }
+            if (page.size() < limit) {
+                // Pass complete: the next run starts over with a new cutoff
+                sweep.lastPassStartedAt = sweep.passStartedAt;
+                sweep.before = null;
+                break;
+            }
+        }
+        if (requeued > 0) {
+            log.warn("Re-enqueued {} notifications stuck in {}", requeued, sweep.status);
+        }
+        return requeued;
+    }
+
+    private int requeue(Sweep sweep, List<Long> ids) {
+        Integer claimed = transactionTemplate.execute(status -> notificationRepository
+                .requeue(ids, sweep.status));
+        if (claimed == null || claimed == 0) {
+            return 0;
+        }
+        List<Notification> batch = notificationRepository.findAllById(ids);
+        if (claimed < ids.size()) {
+            // Some rows moved on concurrently; only publish what we claimed
+            batch = batch.stream().filter(n -> n.getStatus() == NotificationStatus.PENDING).toList();
+        }
+        int published = 0;
+        for (Notification notification : batch) {
+            RateLimiter.waitForPermission(rateLimiter);
+            // Measure re-enqueued deliveries from now, not from their original creation
+            notificationPublisher.publish(notification, Instant.now());
+            sweep.requeued.increment();
+            published++;
+        }
+        return published;
+    }
+
+    /**
+     * Whether a PENDING row past its threshold may simply not have been
+     * consumed yet: the backlog takes longer than pendingAfter to drain at
+     * this instance's rate (conservative with several consumers), or the
+     * broker cannot be sampled.
+     */
+    private boolean backlogMayHoldPending() {
+        LoadSnapshot load = loadSampler.current();
+        long depth = load.bulkQueueDepth() + load.highQueueDepth();
+        if (!load.brokerReachable()) {
+            return true;
+        }
+        if (depth == 0) {
+            return false;
+        }
+        return load.consumedPerSecond() <= 0
+                || depth / load.consumedPerSecond() > properties.pendingAfter().toSeconds();
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select " + function + "(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.shovan.NotificationService.render;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import com.shovan.NotificationService.blob.BlobStore;
+import com.shovan.NotificationService.exception.RenderRejectedException;
+import com.shovan.NotificationService.exception.RenderRejectedException.Reason;
+
+/**
+ * Collects a render's output and stops the render, by throwing from a write,
+ * once it exceeds its output size or CPU budget, or its thread is
+ * interrupted. The CPU time of the rendering thread is sampled every
+ * {@link #CHECK_EVERY} characters, so the budget is enforced on templates
+ * that keep producing output; a template that loops without writing is only
+ * bounded by the caller's timeout.
+ *
+ * <p>
+ * Given a blob store, output past the store's threshold is moved out of
+ * memory: what was collected so far and everything written after it go to a
+ * blob upload, and {@link #finish} returns the blob's key instead of the text.
+ * </p>
+ */
+final class BudgetedWriter extends Writer {
+
+    /** Characters written between CPU time samples. */
+    static final int CHECK_EVERY = 4096;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final String templateName;
+    private final long maxChars;
+    private final long cpuBudgetNanos;
+    private final long cpuStart;
+    private final BlobStore blobStore;
+    private StringBuilder out = new StringBuilder(256);
+    private BlobStore.Upload upload;
+    private long written;
+    private long nextCheck = CHECK_EVERY;
+
+    /**
+     * Must be created on the rendering thread: CPU time is counted from here.
+     *
+     * @param templateName   for the rejection message
+     * @param maxChars       largest output
+     * @param cpuBudgetNanos CPU time the render may use
+     * @param blobStore      where large output goes; null keeps it in memory
+     */
+    BudgetedWriter(String templateName, long maxChars, long cpuBudgetNanos, BlobStore blobStore) {
+        this.templateName = templateName;
+        this.maxChars = maxChars;
+        this.cpuBudgetNanos = cpuBudgetNanos;
+        this.blobStore = blobStore;
+        this.cpuStart = cpuTime();
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        if (upload != null) {
+            upload.writer().write(cbuf, off, len);
+        } else {
+            out.append(cbuf, off, len);
+        }
+        written += len;
+        check();
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        if (upload != null) {
+            upload.writer().write(str, off, len);
+        } else {
+            out.append(str, off, off + len);
+        }
+        written += len;
+        check();
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (upload != null) {
+            upload.writer().write(c);
+        } else {
+            out.append((char) c);
+        }
+        written++;
+        check();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /** @return CPU time used since this writer was created, in nanoseconds */
+    long cpuUsed() {
+        return cpuTime() - cpuStart;
+    }
+
+    /**
+     * The render is complete: store the output if it was moved out of memory.
+     *
+     * @return the rendered body
+     * @throws UncheckedIOException if the blob could not be stored
+     */
+    RenderedBody finish() {
+        if (upload == null) {
+            return new RenderedBody(out.toString(), null);
+        }
+        try {
+            return new RenderedBody(null, upload.commit());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Storing the render of template " + templateName + " failed", e);
+        }
+    }
+
+    /** Delete the blob being written, unless {@link #finish} stored it. */
+    void discard() {
+        if (upload != null) {
+            upload.close();
+        }
+    }
+
+    private void check() throws IOException {
+        if (written > maxChars) {
+            throw new RenderRejectedException(Reason.OUTPUT,
+                    "Template " + templateName + " rendered more than " + maxChars + " characters");
+        }
+        if (upload == null && blobStore != null && written > blobStore.threshold()) {
+            upload = blobStore.upload();
+            upload.writer().append(out);
+            out = null;
+        }
+        if (written < nextCheck) {
+            return;
+        }
+        nextCheck = written + CHECK_EVERY;
+        if (Thread.currentThread().isInterrupted()) {
+            throw new RenderRejectedException(Reason.TIMEOUT, "Render of template " + templateName + " cancelled");
+        }
+        if (cpuUsed() > cpuBudgetNanos) {
+            throw new RenderRejectedException(Reason.CPU,
+                    "Template " + templateName + " used more than " + cpuBudgetNanos / 1_000_000 + "ms of CPU");
+        }
+    }
+
+    private static long cpuTime() {
+        // Wall time where the JVM cannot measure thread CPU time
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
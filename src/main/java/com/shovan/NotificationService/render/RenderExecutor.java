@@ -0,0 +1,248 @@
+package com.shovan.NotificationService.render;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.shovan.NotificationService.blob.BlobStore;
+import com.shovan.NotificationService.exception.NotificationException;
+import com.shovan.NotificationService.exception.RenderRejectedException;
+import com.shovan.NotificationService.exception.RenderRejectedException.Reason;
+import com.shovan.NotificationService.util.TemplateRenderer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders templates on a small dedicated pool, within a budget, so a
+ * pathological template (a loop over a huge parameter list) cannot pin the
+ * consumer threads that do the I/O.
+ *
+ * <p>
+ * The caller waits up to notification.render.timeout for its render,
+ * queueing included; the render itself is stopped once it has used
+ * cpu-budget of CPU time or written max-output characters (see
+ * {@link BudgetedWriter}). A template may hold at most template-threads of
+ * the render threads at once, so one heavy template slows down its own
+ * notifications rather than everyone's. Any of these fails the notification
+ * with a {@link RenderRejectedException}.
+ * </p>
+ * <p>
+ * {@link #renderBody} writes output past the blob store's threshold to a
+ * blob instead of the heap, so a large body is never held as one String.
+ * </p>
+ * <p>
+ * Meters: notification.render{template}, render time per template as a
+ * histogram, to find the heavy ones; notification.render.rejected{template,
+ * reason}; and notification.render.queued. Template names come from the
+ * template table, so the tag's cardinality is that of the table.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RenderExecutor implements DisposableBean {
+
+    private final TemplateRenderer templateRenderer;
+    private final RenderProperties properties;
+    private final BlobStore blobStore;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Semaphore> templatePermits = new ConcurrentHashMap<>();
+    private final Map<String, Timer> renderTimers = new ConcurrentHashMap<>();
+
+    public RenderExecutor(TemplateRenderer templateRenderer, RenderProperties properties, BlobStore blobStore,
+            MeterRegistry meterRegistry) {
+        this.templateRenderer = templateRenderer;
+        this.properties = properties;
+        this.blobStore = blobStore;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(properties.threads(), properties.threads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.queueCapacity()),
+                Thread.ofPlatform().name("render-", 0).daemon().factory());
+        Gauge.builder("notification.render.queued", executor, pool -> pool.getQueue().size())
+                .description("Renders waiting for a render thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Render template content within the budget.
+     *
+     * @param templateName    the template's name, for throttling and meters
+     * @param templateContent the raw Thymeleaf template
+     * @param variables       variable names → values
+     * @return the rendered content
+     * @throws RenderRejectedException if the render ran out of its budget
+     */
+    public String render(String templateName, String templateContent, Map<String, Object> variables) {
+        return render(templateName, templateContent, variables, false).text();
+    }
+
+    /**
+     * Render template content within the budget, into the blob store if it
+     * turns out larger than the store's threshold (and the store is enabled).
+     *
+     * @param templateName    the template's name, for throttling and meters
+     * @param templateContent the raw Thymeleaf template
+     * @param variables       variable names → values
+     * @return the rendered body
+     * @throws RenderRejectedException if the render ran out of its budget
+     */
+    public RenderedBody renderBody(String templateName, String templateContent, Map<String, Object> variables) {
+        return render(templateName, templateContent, variables, blobStore.enabled());
+    }
+
+    private RenderedBody render(String templateName, String templateContent, Map<String, Object> variables,
+            boolean spill) {
+        long deadline = System.nanoTime() + properties.timeout().toNanos();
+        Semaphore permits = templatePermits.computeIfAbsent(templateName,
+                name -> new Semaphore(properties.templateThreads()));
+        try {
+            if (!permits.tryAcquire(properties.timeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw rejected(templateName, Reason.THROTTLED, "Template " + templateName
+                        + " held its " + properties.templateThreads() + " render threads for " + properties.timeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NotificationException("Interrupted while waiting to render template " + templateName, e);
+        }
+
+        RenderTask task = new RenderTask(templateName, templateContent, variables, spill, permits);
+        Future<RenderedBody> result;
+        try {
+            result = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw rejected(templateName, Reason.BUSY, "Render queue full (" + properties.queueCapacity()
+                    + ") for template " + templateName);
+        }
+
+        try {
+            return result.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Stops the render at its next write; a render never started gives its permit back here
+            result.cancel(true);
+            task.abandon();
+            throw rejected(templateName, Reason.TIMEOUT, "Template " + templateName
+                    + " not rendered within " + properties.timeout());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RenderRejectedException rejection) {
+                throw rejected(templateName, rejection);
+            }
+            throw e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new NotificationException("Rendering template " + templateName + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            task.abandon();
+            Thread.currentThread().interrupt();
+            throw new NotificationException("Interrupted while rendering template " + templateName, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // Consumers and the coalescer have stopped by now
+        executor.shutdownNow();
+    }
+
+    private RenderRejectedException rejected(String templateName, Reason reason, String message) {
+        return rejected(templateName, new RenderRejectedException(reason, message));
+    }
+
+    private RenderRejectedException rejected(String templateName, RenderRejectedException rejection) {
+        Counter.builder("notification.render.rejected")
+                .description("Renders stopped or refused by their budget")
+                .tag("template", templateName)
+                .tag("reason", rejection.getReason().name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        log.warn("Render rejected: {}", rejection.getMessage());
+        return rejection;
+    }
+
+    private Timer renderTimer(String templateName) {
+        return renderTimers.computeIfAbsent(templateName, name -> Timer.builder("notification.render")
+                .description("Time to render a template, on a render thread")
+                .tag("template", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry));
+    }
+
+    /**
+     * One render. Its template permit is released once: by the render when it
+     * ran, or by the caller that gave up on it before it started.
+     */
+    private final class RenderTask implements Callable<RenderedBody> {
+
+        private final String templateName;
+        private final String templateContent;
+        private final Map<String, Object> variables;
+        private final boolean spill;
+        private final Semaphore permits;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        RenderTask(String templateName, String templateContent, Map<String, Object> variables, boolean spill,
+                Semaphore permits) {
+            this.templateName = templateName;
+            this.templateContent = templateContent;
+            this.variables = variables;
+            this.spill = spill;
+            this.permits = permits;
+        }
+
+        @Override
+        public RenderedBody call() {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            long started = System.nanoTime();
+            try {
+                BudgetedWriter out = new BudgetedWriter(templateName, properties.maxOutput().toBytes(),
+                        properties.cpuBudget().toNanos(), spill ? blobStore : null);
+                try {
+                    templateRenderer.render(templateContent, variables, out);
+                    return out.finish();
+                } catch (RuntimeException ex) {
+                    // Thymeleaf wraps what the writer throws
+                    for (Throwable t = ex; t != null; t = t.getCause()) {
+                        if (t instanceof RenderRejectedException rejection) {
+                            throw rejection;
+                        }
+                    }
+                    throw ex;
+                } finally {
+                    out.discard();
+                }
+            } finally {
+                renderTimer(templateName).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                permits.release();
+            }
+        }
+
+        /** The caller gave up: release the permit unless the render already holds it. */
+        void abandon() {
+            if (claimed.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.shovan.NotificationService.render;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Template rendering budgets, bound from notification.render.
+ *
+ * @param threads         render threads; 0 uses one per available processor
+ * @param templateThreads render threads one template may hold at once; 0 uses
+ *                        half of threads (at least 1)
+ * @param queueCapacity   renders waiting for a thread before new ones are
+ *                        refused
+ * @param timeout         how long a caller waits for its render, queueing
+ *                        included, before it is cancelled
+ * @param cpuBudget       CPU time one render may use
+ * @param maxOutput       largest rendered content, counted in characters
+ */
+@ConfigurationProperties("notification.render")
+public record RenderProperties(@DefaultValue("0") int threads,
+        @DefaultValue("0") int templateThreads,
+        @DefaultValue("256") int queueCapacity,
+        @DefaultValue("2s") Duration timeout,
+        @DefaultValue("500ms") Duration cpuBudget,
+        @DefaultValue("1MB") DataSize maxOutput) {
+
+    public RenderProperties {
+        threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        templateThreads = templateThreads > 0 ? templateThreads : Math.max(1, threads / 2);
+    }
+}
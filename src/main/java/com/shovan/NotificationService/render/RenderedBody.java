@@ -0,0 +1,16 @@
+package com.shovan.NotificationService.render;
+
+/**
+ * A rendered body: in memory, or written to the blob store when it was
+ * large.
+ *
+ * @param text    the rendered content; null when stored
+ * @param blobKey the BlobStore key of the content; null when in memory
+ */
+public record RenderedBody(String text, String blobKey) {
+
+    /** @return whether the body is in the blob store rather than in {@link #text} */
+    public boolean stored() {
+        return blobKey != null;
+    }
+}
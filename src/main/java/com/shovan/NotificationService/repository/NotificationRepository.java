@@ -1,13 +1,47 @@
 package com.shovan.NotificationService.repository;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationPriority;
 import com.shovan.NotificationService.enums.NotificationStatus;
 
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>,
+        JpaSpecificationExecutor<Notification> {
+
+    /**
+     * Claim query of the Postgres queue (pg-queue profile): the oldest PENDING
+     * rows of the given priorities, locked for the claiming transaction;
+     * rows other workers hold are skipped rather than waited for. Served by
+     * the partial index PostgresQueueConsumer creates.
+     */
+    String CLAIM_PENDING = """
+            select * from notification
+            where status = 'PENDING' and priority in (:priorities)
+            order by id
+            limit :limit
+            for update skip locked
+            """;
+
+    /**
+     * Lightweight projection used by the scheduler: only what the timing wheel
+     * needs, so loading a time window never hydrates full entities.
+     */
+    interface ScheduledSlot {
+        Long getId();
+
+        Instant getSendAt();
+    }
 
     /**
      * Retrieve all notifications with the given status.
@@ -17,4 +51,225 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      * @return list of matching notifications
      */
     List<Notification> findByStatus(NotificationStatus status);
+
+    /** Id and last update of a notification the reconciler found stuck. */
+    interface StuckRow {
+        Long getId();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Keyset-paged read of SCHEDULED notifications due before {@code until},
+     * strictly after the cursor {@code (afterSendAt, afterId)}.
+     * Served by idx_notification_status_send_at; never rescans rows already read.
+     *
+     * @param afterSendAt cursor: sendAt of the last row already loaded
+     * @param afterId     cursor: id of the last row already loaded
+     * @param until       exclusive upper bound of the time window
+     * @param limit       page size
+     * @return the next page of slots ordered by (sendAt, id)
+     */
+    @Query("""
+            select n.id as id, n.sendAt as sendAt from Notification n
+            where n.status = com.shovan.NotificationService.enums.NotificationStatus.SCHEDULED
+              and n.sendAt < :until
+              and (n.sendAt > :afterSendAt or (n.sendAt = :afterSendAt and n.id > :afterId))
+            order by n.sendAt, n.id
+            """)
+    List<ScheduledSlot> findScheduledAfter(@Param("afterSendAt") Instant afterSendAt,
+            @Param("afterId") long afterId,
+            @Param("until") Instant until,
+            Limit limit);
+
+    /**
+     * Oldest notifications in the given status whose sendAt is before the bound.
+     * Used to pick up scheduled rows that were inserted behind the scheduler's
+     * cursor (e.g. sendAt only a few seconds in the future).
+     *
+     * @param status the status to filter by
+     * @param before exclusive upper bound for sendAt
+     * @param limit  maximum number of rows
+     * @return matching slots ordered by sendAt
+     */
+    List<ScheduledSlot> findByStatusAndSendAtBeforeOrderBySendAtAsc(NotificationStatus status,
+            Instant before, Limit limit);
+
+    /**
+     * Conditionally move notifications from one status to another in a single
+     * UPDATE statement.
+     *
+     * @param ids  ids to transition
+     * @param from expected current status (rows in any other status are skipped)
+     * @param to   new status
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("""
+            update Notification n set n.status = :to, n.updatedAt = local datetime
+            where n.id in :ids and n.status = :from
+            """)
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+            @Param("from") NotificationStatus from,
+            @Param("to") NotificationStatus to);
+
+    /**
+     * The reconciler's {@link #transitionStatus} to PENDING, which also counts
+     * the requeue as an attempt. A notification that fails before reaching a
+     * provider (render error, open breakers) never gets its attempts
+     * incremented otherwise, and would be re-enqueued without end.
+     *
+     * @param ids  ids to re-enqueue
+     * @param from expected current status (rows in any other status are skipped)
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("""
+            update Notification n
+            set n.status = com.shovan.NotificationService.enums.NotificationStatus.PENDING,
+              n.attempts = n.attempts + 1, n.updatedAt = local datetime
+            where n.id in :ids and n.status = :from
+            """)
+    int requeue(@Param("ids") Collection<Long> ids, @Param("from") NotificationStatus from);
+
+    /**
+     * Lock those of {@code ids} that are in {@code status} and not held by
+     * another transaction. Followed by {@link #transitionStatus} in the same
+     * transaction, the caller moves, and then publishes, exactly the rows it
+     * locked: a concurrent claimer skips them, or finds them already moved.
+     *
+     * @param ids    candidate ids
+     * @param status status (as stored) the rows must be in
+     * @return the locked ids, held until the transaction ends
+     */
+    @Query(value = """
+            select id from notification
+            where id in (:ids) and status = :status
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> lockIdsInStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    /**
+     * Record the outcome of a digest on every notification it covered, in one
+     * UPDATE. Only rows still BUFFERED are touched, so a row recovered and
+     * re-published meanwhile is left alone.
+     *
+     * @param ids            notifications covered by the digest
+     * @param status         SUCCESS or FAILED
+     * @param attempts       provider attempts made for the digest
+     * @param provider       provider that accepted it, or null
+     * @param lastErrorClass root cause of a failure, or null
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("""
+            update Notification n set n.status = :status, n.attempts = n.attempts + :attempts,
+              n.provider = :provider, n.lastErrorClass = :lastErrorClass, n.updatedAt = local datetime
+            where n.id in :ids
+              and n.status = com.shovan.NotificationService.enums.NotificationStatus.BUFFERED
+            """)
+    int completeBuffered(@Param("ids") Collection<Long> ids,
+            @Param("status") NotificationStatus status,
+            @Param("attempts") int attempts,
+            @Param("provider") String provider,
+            @Param("lastErrorClass") String lastErrorClass);
+
+    /**
+     * Ids of notifications that have been in the given status since before
+     * the bound, oldest first.
+     *
+     * @param status the status to filter by
+     * @param before exclusive upper bound for updatedAt
+     * @param limit  maximum number of rows
+     * @return matching ids
+     */
+    @Query("""
+            select n.id from Notification n
+            where n.status = :status and n.updatedAt < :before
+            order by n.updatedAt
+            """)
+    List<Long> findIdsByStatusUpdatedBefore(@Param("status") NotificationStatus status,
+            @Param("before") LocalDateTime before,
+            Limit limit);
+
+    /**
+     * Keyset-paged read of notifications left in a status since before
+     * {@code before}, strictly after the cursor {@code (afterUpdatedAt,
+     * afterId)}. Served by idx_notification_status_updated_at; rows the
+     * reconciler re-enqueues get a fresh updatedAt and leave the range.
+     *
+     * @param status         PENDING or FAILED
+     * @param maxAttempts    exclusive upper bound on attempts
+     * @param skippedErrors  lastErrorClass values to leave alone; must not be
+     *                       empty (JPQL has no empty IN list)
+     * @param afterUpdatedAt cursor: updatedAt of the last row already read
+     * @param afterId        cursor: id of the last row already read
+     * @param before         exclusive upper bound for updatedAt
+     * @param limit          page size
+     * @return the next page ordered by (updatedAt, id)
+     */
+    @Query("""
+            select n.id as id, n.updatedAt as updatedAt from Notification n
+            where n.status = :status and n.attempts < :maxAttempts
+              and (n.lastErrorClass is null or n.lastErrorClass not in :skippedErrors)
+              and n.updatedAt < :before
+              and (n.updatedAt > :afterUpdatedAt or (n.updatedAt = :afterUpdatedAt and n.id > :afterId))
+            order by n.updatedAt, n.id
+            """)
+    List<StuckRow> findStuckAfter(@Param("status") NotificationStatus status,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("skippedErrors") Collection<String> skippedErrors,
+            @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") long afterId,
+            @Param("before") LocalDateTime before,
+            Limit limit);
+
+    /**
+     * Record a provider receipt on many notifications in one UPDATE. Rows in
+     * any status outside {@code from} are skipped, so a receipt never undoes
+     * a later state nor lands before the send outcome is committed.
+     *
+     * @param ids    notifications the receipts are about
+     * @param status DELIVERED or BOUNCED
+     * @param reason provider error for lastErrorClass; null keeps the current one
+     * @param from   statuses the receipt may move a row from
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("""
+            update Notification n set n.status = :status,
+              n.lastErrorClass = coalesce(:reason, n.lastErrorClass), n.updatedAt = local datetime
+            where n.id in :ids and n.status in :from
+            """)
+    int applyReceipt(@Param("ids") Collection<Long> ids,
+            @Param("status") NotificationStatus status,
+            @Param("reason") String reason,
+            @Param("from") Collection<NotificationStatus> from);
+
+    /**
+     * @param ids      notification ids
+     * @param statuses statuses to filter by
+     * @return the ids among {@code ids} currently in one of the statuses
+     */
+    @Query("select n.id from Notification n where n.id in :ids and n.status in :statuses")
+    List<Long> findIdsByStatusIn(@Param("ids") Collection<Long> ids,
+            @Param("statuses") Collection<NotificationStatus> statuses);
+
+    /**
+     * Lock up to {@code limit} PENDING notifications no other transaction
+     * holds (see {@link #CLAIM_PENDING}). PostgreSQL only.
+     *
+     * @param priorities priorities (as stored) to claim
+     * @param limit      batch size
+     * @return the claimed rows, oldest first, locked until the transaction ends
+     */
+    @Query(value = CLAIM_PENDING, nativeQuery = true)
+    List<Notification> claimPending(@Param("priorities") Collection<String> priorities, @Param("limit") int limit);
+
+    /**
+     * @param status     the status to count
+     * @param priorities priorities to count
+     * @return number of notifications in that status with one of the priorities
+     */
+    long countByStatusAndPriorityIn(NotificationStatus status, Collection<NotificationPriority> priorities);
 }
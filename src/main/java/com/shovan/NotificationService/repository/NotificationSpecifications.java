@@ -0,0 +1,53 @@
+package com.shovan.NotificationService.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationStatus;
+
+/**
+ * Reusable JPA Specifications for Notification queries with optional filters.
+ */
+public final class NotificationSpecifications {
+
+    private NotificationSpecifications() {
+    }
+
+    /**
+     * Notifications in the given status, optionally filtered by channel,
+     * creation time range and root-cause error class, with ids strictly
+     * greater than {@code afterId} (keyset paging). Null filters are ignored.
+     *
+     * @param status     required status
+     * @param channel    optional channel
+     * @param from       optional inclusive lower bound on createdAt
+     * @param to         optional exclusive upper bound on createdAt
+     * @param errorClass optional lastErrorClass (exact match)
+     * @param afterId    keyset cursor
+     * @return the combined specification
+     */
+    public static Specification<Notification> matching(NotificationStatus status, Channel channel,
+            LocalDateTime from, LocalDateTime to, String errorClass, long afterId) {
+        return (root, query, cb) -> {
+            var predicate = cb.and(
+                    cb.equal(root.get("status"), status),
+                    cb.greaterThan(root.get("id"), afterId));
+            if (channel != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("channel"), channel));
+            }
+            if (from != null) {
+                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get("createdAt"), from));
+            }
+            if (to != null) {
+                predicate = cb.and(predicate, cb.lessThan(root.get("createdAt"), to));
+            }
+            if (errorClass != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("lastErrorClass"), errorClass));
+            }
+            return predicate;
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.shovan.NotificationService.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,4 +17,12 @@ public interface NotificationTemplateRepository extends JpaRepository<Notificati
      * @return an Optional containing the template if present
      */
     Optional<NotificationTemplate> findByName(String name);
+
+    /**
+     * Find several templates by name in one query.
+     *
+     * @param names the templates’ unique keys
+     * @return the templates that exist
+     */
+    List<NotificationTemplate> findByNameIn(Collection<String> names);
 }
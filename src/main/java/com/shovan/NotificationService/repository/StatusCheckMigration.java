@@ -0,0 +1,120 @@
+package com.shovan.NotificationService.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.shovan.NotificationService.enums.NotificationStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Widens the check constraint on notification.status to every
+ * {@link NotificationStatus} value, on PostgreSQL.
+ *
+ * <p>
+ * Hibernate's ddl-auto creates the constraint with the values the enum had
+ * then, and update never changes it, so on an existing schema inserting a
+ * newer status (SCHEDULED, BUFFERED, SUPPRESSED, DELIVERED, BOUNCED) fails.
+ * On startup, if the constraint (on the table or any of its partitions) is
+ * missing a value, it is dropped and added again with all of them, NOT VALID
+ * under a short lock, then validated without blocking writes. A constraint
+ * that already allows every value is left alone, so this runs once.
+ * </p>
+ * <p>
+ * Runs as the context starts, in the first lifecycle phase: after ddl-auto,
+ * before the listener containers and the web server, and not at all in a
+ * refresh-only run such as the CDS training run of the startup profile.
+ * </p>
+ */
+@Component
+@Slf4j
+public class StatusCheckMigration implements SmartLifecycle {
+
+    static final String TABLE = "notification";
+    static final String CONSTRAINT = "notification_status_check";
+
+    /** The constraint wherever it is defined: the table, or (if partitioned) its partitions. */
+    private static final String DEFINITIONS = "select conrelid::regclass::text, pg_get_constraintdef(oid) "
+            + "from pg_constraint where conname = '" + CONSTRAINT + "' "
+            + "and conrelid in (select relid from pg_partition_tree('" + TABLE + "'))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    public StatusCheckMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        migrate();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    public void migrate() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)
+                || !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "select to_regclass(?) is not null", Boolean.class, TABLE))
+                || upToDate()) {
+            return;
+        }
+        Boolean widened = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("lock table " + TABLE + " in access exclusive mode");
+            // Another instance may have done it while this one waited for the lock
+            if (upToDate()) {
+                return false;
+            }
+            // Dropping it from the table drops the inherited copies; a partition
+            // that had its own before it was attached keeps that one
+            jdbcTemplate.execute("alter table " + TABLE + " drop constraint if exists " + CONSTRAINT);
+            for (String table : jdbcTemplate.query(DEFINITIONS, (rs, row) -> rs.getString(1))) {
+                jdbcTemplate.execute("alter table " + table + " drop constraint " + CONSTRAINT);
+            }
+            String values = Arrays.stream(NotificationStatus.values())
+                    .map(value -> "'" + value.name() + "'")
+                    .collect(Collectors.joining(", "));
+            jdbcTemplate.execute("alter table " + TABLE + " add constraint " + CONSTRAINT
+                    + " check (status in (" + values + ")) not valid");
+            return true;
+        });
+        if (Boolean.TRUE.equals(widened)) {
+            jdbcTemplate.execute("alter table " + TABLE + " validate constraint " + CONSTRAINT);
+            log.info("Widened {} to every notification status", CONSTRAINT);
+        }
+    }
+
+    /** @return whether every definition of the constraint allows every status */
+    private boolean upToDate() {
+        List<String> definitions = jdbcTemplate.query(DEFINITIONS, (rs, row) -> rs.getString(2));
+        return !definitions.isEmpty() && definitions.stream().allMatch(definition -> Arrays
+                .stream(NotificationStatus.values())
+                .allMatch(value -> definition.contains("'" + value.name() + "'")));
+    }
+}
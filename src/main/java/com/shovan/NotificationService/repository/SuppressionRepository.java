@@ -0,0 +1,43 @@
+package com.shovan.NotificationService.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.shovan.NotificationService.entity.Suppression;
+import com.shovan.NotificationService.enums.Channel;
+
+public interface SuppressionRepository extends JpaRepository<Suppression, Long> {
+
+    /**
+     * Exact membership check, behind the in-memory filter.
+     *
+     * @param channel the channel
+     * @param address the normalized address
+     * @return whether the address is suppressed on the channel
+     */
+    boolean existsByChannelAndAddress(Channel channel, String address);
+
+    /**
+     * Rows added after a watermark, in id order, to fold into the filter.
+     *
+     * @param id    the highest id already seen
+     * @param limit page size
+     * @return the next rows
+     */
+    List<Suppression> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    /**
+     * Remove an address from the list, e.g. after the recipient re-subscribed.
+     *
+     * @param channel the channel
+     * @param address the normalized address
+     * @return rows deleted (0 or 1)
+     */
+    @Modifying
+    @Query("delete from Suppression s where s.channel = :channel and s.address = :address")
+    int deleteByChannelAndAddress(Channel channel, String address);
+}
@@ -0,0 +1,395 @@
+package com.shovan.NotificationService.retention;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.shovan.NotificationService.enums.NotificationStatus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the notification table range-partitioned by created_at on
+ * PostgreSQL, and archives partitions past retention
+ * (notification.retention).
+ *
+ * <p>
+ * On startup, a plain notification table (as created by ddl-auto) is
+ * converted once: it becomes the partition {@code notification_legacy}, which
+ * holds every existing row up to the next partition boundary, under a new
+ * partitioned parent with the same columns. The slow parts (proving the rows
+ * fit the range, building the (id, created_at) index the partitioned primary
+ * key needs) run first without blocking writes; the swap itself is a short
+ * transaction. Ids continue from the old maximum on a plain sequence.
+ * </p>
+ * <p>
+ * Then, and every maintenance-interval: partitions are created
+ * {@code premake} intervals ahead (a DEFAULT partition catches anything
+ * else); partitions whose whole range is older than {@code keep} are
+ * detached, written to a gzip-compressed CSV file in {@code archive-dir}
+ * ({@link PartitionArchiver}) and dropped. A partition still holding
+ * notifications that may be sent (SCHEDULED, PENDING, BUFFERED) is left
+ * attached. Each step takes a transaction-level advisory lock, so one
+ * instance does the work and the others skip it.
+ * </p>
+ * <p>
+ * Updates by id (the listener's) cannot be pruned to one partition and probe
+ * each partition's primary key index: with 90 days kept in daily partitions
+ * they took about five times as long as on the plain table in
+ * PartitionedTableLoadTest. Prefer weekly partitions for long
+ * retention.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.retention", name = "enabled", havingValue = "true")
+// Hibernate's ddl-auto must have created (or updated) the plain table first
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class NotificationTableManager {
+
+    static final String TABLE = "notification";
+    static final String LEGACY = "notification_legacy";
+    static final String DEFAULT_PARTITION = "notification_default";
+    static final String PARTITION_PREFIX = "notification_p";
+
+    /** Table comment marking a detached partition not yet archived. */
+    static final String DETACHED_COMMENT = "notification partition detached for archival";
+
+    /** Rows in these statuses may still be sent; their partition is kept. */
+    static final Set<NotificationStatus> LIVE = EnumSet.of(NotificationStatus.SCHEDULED,
+            NotificationStatus.PENDING, NotificationStatus.BUFFERED);
+
+    /** Advisory lock key ("notif" in ASCII) serializing maintenance across instances. */
+    private static final long LOCK_KEY = 0x6e6f746966L;
+
+    /** How long a detach waits for the notification table before giving up until the next run. */
+    private static final String LOCK_TIMEOUT = "5s";
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern RANGE = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+
+    /** A partition's created_at range, [from, to). */
+    record Range(LocalDateTime from, LocalDateTime to) {
+
+        boolean overlaps(Range other) {
+            return from.isBefore(other.to) && other.from.isBefore(to);
+        }
+
+        String partitionName() {
+            return PARTITION_PREFIX + from.format(DateTimeFormatter.BASIC_ISO_DATE);
+        }
+    }
+
+    /** An attached partition; range is null for the DEFAULT partition. */
+    record Partition(String name, Range range) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionProperties properties;
+    private final PartitionArchiver archiver;
+    private final Counter partitionsCreated;
+    private final Counter partitionsArchived;
+    private final Counter rowsArchived;
+
+    public NotificationTableManager(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            RetentionProperties properties,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.archiver = new PartitionArchiver(jdbcTemplate, properties.archiveDir());
+        this.partitionsCreated = Counter.builder("notification.retention.partitions.created")
+                .description("Partitions of the notification table created ahead of time")
+                .register(meterRegistry);
+        this.partitionsArchived = Counter.builder("notification.retention.partitions.archived")
+                .description("Partitions past retention archived to disk and dropped")
+                .register(meterRegistry);
+        this.rowsArchived = Counter.builder("notification.retention.rows.archived")
+                .description("Notification rows archived to disk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Convert the table if it is not partitioned yet, then run maintenance.
+     */
+    @PostConstruct
+    public void prepare() {
+        convert();
+        maintain();
+    }
+
+    /**
+     * Create upcoming partitions, then detach, archive and drop expired ones.
+     * Each step is its own locked transaction; a failed step is logged and
+     * retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${notification.retention.maintenance-interval:1h}",
+            initialDelayString = "${notification.retention.maintenance-interval:1h}")
+    public void maintain() {
+        String kind = jdbcTemplate.queryForObject(
+                "select (select relkind from pg_class where oid = to_regclass(?))::text", String.class, TABLE);
+        if (!"p".equals(kind)) {
+            log.warn("Table {} is not partitioned; maintenance skipped", TABLE);
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<Partition> partitions = partitions();
+        for (Range range : plan(today, properties.interval(), properties.premake())) {
+            boolean covered = partitions.stream()
+                    .anyMatch(partition -> partition.range() != null && partition.range().overlaps(range));
+            if (!covered) {
+                step("creating partition " + range.partitionName(), () -> create(range));
+            }
+        }
+        LocalDateTime horizon = today.atStartOfDay().minus(properties.keep());
+        for (Partition partition : partitions) {
+            if (partition.range() != null && !partition.range().to().isAfter(horizon)) {
+                step("detaching partition " + partition.name(), () -> detach(partition.name()));
+            }
+        }
+        for (String table : detachedTables()) {
+            step("archiving " + table, () -> archive(table));
+        }
+    }
+
+    /**
+     * The partitions to exist from today's onwards: the current one and
+     * {@code premake} after it.
+     *
+     * @param today    the current day
+     * @param interval range per partition
+     * @param premake  partitions ahead of the current one
+     * @return ranges in order
+     */
+    static List<Range> plan(LocalDate today, RetentionProperties.Interval interval, int premake) {
+        List<Range> ranges = new ArrayList<>(premake + 1);
+        LocalDate start = interval.start(today);
+        for (int i = 0; i <= premake; i++) {
+            LocalDate next = interval.next(start);
+            ranges.add(new Range(start.atStartOfDay(), next.atStartOfDay()));
+            start = next;
+        }
+        return ranges;
+    }
+
+    /**
+     * @param bound a partition bound as printed by {@code pg_get_expr}, e.g.
+     *              {@code FOR VALUES FROM ('2026-10-19 00:00:00') TO ('2026-10-20 00:00:00')}
+     * @return the range (MINVALUE and MAXVALUE as LocalDateTime.MIN and MAX),
+     *         or null for the DEFAULT partition
+     */
+    static Range parseBound(String bound) {
+        Matcher matcher = RANGE.matcher(bound);
+        if (!matcher.find()) {
+            return null;
+        }
+        return new Range(parseValue(matcher.group(1)), parseValue(matcher.group(2)));
+    }
+
+    private static LocalDateTime parseValue(String value) {
+        if (value.equals("MINVALUE")) {
+            return LocalDateTime.MIN;
+        }
+        if (value.equals("MAXVALUE")) {
+            return LocalDateTime.MAX;
+        }
+        return LocalDateTime.parse(value.replace("'", "").replace(' ', 'T'));
+    }
+
+    /** Turn a plain notification table into a partitioned one, once. */
+    private void convert() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // Session lock: instances starting together convert one at a time
+                statement.execute("select pg_advisory_lock(" + LOCK_KEY + ")");
+                try {
+                    String kind = relkind(statement, TABLE);
+                    if (kind == null) {
+                        log.warn("Table {} does not exist; not partitioning it", TABLE);
+                    } else if (kind.equals("r")) {
+                        convert(connection, statement);
+                    }
+                } finally {
+                    statement.execute("select pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+            }
+            return null;
+        });
+    }
+
+    private void convert(Connection connection, Statement statement) throws SQLException {
+        RetentionProperties.Interval interval = properties.interval();
+        String cutover = interval.next(interval.start(LocalDate.now())).atStartOfDay().format(TIMESTAMP);
+        log.info("Partitioning {} by created_at; existing rows become partition {} (before {})",
+                TABLE, LEGACY, cutover);
+
+        // 1) Without blocking writes: prove every row fits below the cutover (so the
+        // attach below need not scan), and build the index the partitioned key needs
+        statement.execute("alter table notification drop constraint if exists notification_legacy_range");
+        statement.execute("alter table notification add constraint notification_legacy_range "
+                + "check (created_at < '" + cutover + "') not valid");
+        statement.execute("alter table notification validate constraint notification_legacy_range");
+        statement.execute("create unique index concurrently if not exists notification_legacy_id_created_at "
+                + "on notification (id, created_at)");
+
+        // 2) The swap: one short transaction
+        long maxId;
+        connection.setAutoCommit(false);
+        try {
+            statement.execute("lock table notification in access exclusive mode");
+            try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from notification")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            statement.execute("alter table notification rename to " + LEGACY);
+            // A partition cannot keep a primary key of its own; the (id, created_at)
+            // index built above becomes its part of the partitioned one
+            statement.execute("alter table " + LEGACY + " drop constraint if exists notification_pkey");
+            statement.execute("alter index if exists idx_notification_status_send_at "
+                    + "rename to notification_legacy_status_send_at");
+            statement.execute("alter index if exists idx_notification_status_updated_at "
+                    + "rename to notification_legacy_status_updated_at");
+            // Identity columns cannot move to the partitioned parent; ids continue on a sequence
+            statement.execute("alter table " + LEGACY + " alter column id drop identity if exists");
+            statement.execute("alter table " + LEGACY + " alter column id drop default");
+            statement.execute("create sequence if not exists notification_id_seq");
+            statement.execute("select setval('notification_id_seq', " + (maxId + 1) + ", false)");
+
+            // Keeps the column checks ddl-auto added (the values of channel, priority
+            // and status), copied as is so the attach below can match them up
+            statement.execute("create table notification (like " + LEGACY + " including defaults "
+                    + "including constraints) partition by range (created_at)");
+            statement.execute("alter table notification drop constraint notification_legacy_range");
+            statement.execute("alter table notification alter column id set default nextval('notification_id_seq')");
+            statement.execute("alter sequence notification_id_seq owned by notification.id");
+            statement.execute("alter table notification add constraint notification_pkey primary key (id, created_at)");
+            statement.execute("create index idx_notification_status_send_at on notification (status, send_at)");
+            statement.execute("create index idx_notification_status_updated_at on notification (status, updated_at)");
+            statement.execute("alter table notification attach partition " + LEGACY
+                    + " for values from (minvalue) to ('" + cutover + "')");
+            statement.execute("alter table " + LEGACY + " drop constraint notification_legacy_range");
+            statement.execute("create table " + DEFAULT_PARTITION + " partition of notification default");
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        log.info("Partitioned {}; ids continue from {}", TABLE, maxId + 1);
+    }
+
+    private void create(Range range) {
+        // If not exists: another instance may have created it since the partition list was read
+        jdbcTemplate.execute("create table if not exists " + range.partitionName() + " partition of notification "
+                + "for values from ('" + range.from().format(TIMESTAMP) + "') "
+                + "to ('" + range.to().format(TIMESTAMP) + "')");
+        partitionsCreated.increment();
+        log.info("Created partition {} [{}, {})", range.partitionName(), range.from(), range.to());
+    }
+
+    private void detach(String partition) {
+        Boolean attached = jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_inherits where inhrelid = to_regclass(?))", Boolean.class, partition);
+        if (!Boolean.TRUE.equals(attached)) {
+            return;
+        }
+        // Lock the parent first, in the mode the detach takes anyway: writers lock
+        // the parent before its partitions (updates by id cannot be pruned), so
+        // locking the partition first, or upgrading later, could deadlock with
+        // them. No row can become live between the check below and the detach.
+        // Give up, and retry next run, rather than queue traffic behind the lock.
+        jdbcTemplate.execute("set local lock_timeout = '" + LOCK_TIMEOUT + "'");
+        jdbcTemplate.execute("lock table " + TABLE + " in access exclusive mode");
+        String live = LIVE.stream().map(status -> "'" + status.name() + "'").collect(Collectors.joining(", "));
+        Boolean pending = jdbcTemplate.queryForObject(
+                "select exists (select 1 from " + partition + " where status in (" + live + "))", Boolean.class);
+        if (Boolean.TRUE.equals(pending)) {
+            log.warn("Partition {} is past retention but still holds notifications in {}; kept", partition, LIVE);
+            return;
+        }
+        jdbcTemplate.execute("alter table notification detach partition " + partition);
+        jdbcTemplate.execute("comment on table " + partition + " is '" + DETACHED_COMMENT + "'");
+        log.info("Detached partition {} for archival", partition);
+    }
+
+    private void archive(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, table);
+        if (!Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        long rows = archiver.archive(table);
+        jdbcTemplate.execute("drop table " + table);
+        partitionsArchived.increment();
+        rowsArchived.increment(rows);
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query("""
+                select c.relname, pg_get_expr(c.relpartbound, c.oid)
+                from pg_inherits i join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = 'notification'::regclass
+                order by c.relname
+                """, (rs, row) -> new Partition(rs.getString(1), parseBound(rs.getString(2))));
+    }
+
+    private List<String> detachedTables() {
+        return jdbcTemplate.queryForList("""
+                select relname from pg_class
+                where relkind = 'r' and pg_table_is_visible(oid) and obj_description(oid, 'pg_class') = ?
+                order by relname
+                """, String.class, DETACHED_COMMENT);
+    }
+
+    /**
+     * Run {@code work} in a transaction holding the advisory lock, or skip it
+     * if another instance holds the lock; failures are logged.
+     */
+    private void step(String description, Runnable work) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class,
+                        LOCK_KEY);
+                if (Boolean.TRUE.equals(locked)) {
+                    work.run();
+                } else {
+                    log.debug("Notification table maintenance running elsewhere; skipped {}", description);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.error("Notification table maintenance failed {}", description, ex);
+        }
+    }
+
+    private static String relkind(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(
+                "select relkind from pg_class where oid = to_regclass('" + table + "')")) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+}
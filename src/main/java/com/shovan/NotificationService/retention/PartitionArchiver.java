@@ -0,0 +1,87 @@
+package com.shovan.NotificationService.retention;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPOutputStream;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a table to a gzip-compressed CSV file (with a header row) on local
+ * disk, streaming PostgreSQL's {@code COPY ... TO STDOUT} so the rows never
+ * sit in memory.
+ *
+ * <p>
+ * The file is written under a temporary name, synced, then renamed, so a
+ * file named after the table is always complete; only then may the caller
+ * drop the table. Runs on the caller's transaction, if any.
+ * </p>
+ */
+@Slf4j
+public class PartitionArchiver {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path archiveDir;
+
+    /**
+     * @param jdbcTemplate template on the notification database
+     * @param archiveDir   directory receiving the archive files
+     */
+    public PartitionArchiver(JdbcTemplate jdbcTemplate, Path archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveDir = archiveDir;
+    }
+
+    /**
+     * @param table the table to archive (a detached partition)
+     * @return the archive file
+     */
+    public Path file(String table) {
+        return archiveDir.resolve(table + ".csv.gz");
+    }
+
+    /**
+     * Copy every row of {@code table} to {@link #file(String)}.
+     *
+     * @param table the table to archive; must be a plain identifier
+     * @return rows written
+     */
+    public long archive(String table) {
+        Path target = file(table);
+        Path partial = archiveDir.resolve(table + ".csv.gz.tmp");
+        long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                Files.createDirectories(archiveDir);
+                try (FileOutputStream file = new FileOutputStream(partial.toFile());
+                        GZIPOutputStream gzip = new GZIPOutputStream(new BufferedOutputStream(file, 1 << 16),
+                                1 << 16)) {
+                    long copied = connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyOut("COPY " + table + " TO STDOUT WITH (FORMAT csv, HEADER)", gzip);
+                    // Trailer written and buffers flushed before the sync, not at close
+                    gzip.finish();
+                    gzip.flush();
+                    file.getFD().sync();
+                    return copied;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Archiving " + table + " to " + partial + " failed", e);
+            }
+        });
+        try {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not move " + partial + " to " + target, e);
+        }
+        log.info("Archived {} ({} rows) to {}", table, rows, target);
+        return rows;
+    }
+}
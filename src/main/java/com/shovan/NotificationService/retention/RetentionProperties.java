@@ -0,0 +1,51 @@
+package com.shovan.NotificationService.retention;
+
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Time partitioning and retention of the notification table, bound from
+ * notification.retention.
+ *
+ * @param enabled    off by default; PostgreSQL only
+ * @param interval   range covered by each partition of created_at
+ * @param premake    partitions kept created ahead of the current one
+ * @param keep       partitions whose whole range is older than this are
+ *                   archived and dropped
+ * @param archiveDir local directory receiving the archived partitions
+ *                   (gzip-compressed CSV, one file per partition)
+ */
+@ConfigurationProperties("notification.retention")
+public record RetentionProperties(boolean enabled,
+        @DefaultValue("DAILY") Interval interval,
+        @DefaultValue("7") int premake,
+        @DefaultValue("90d") Duration keep,
+        @DefaultValue("archive/notification") Path archiveDir) {
+
+    /** Range covered by one partition. */
+    public enum Interval {
+        DAILY, WEEKLY;
+
+        /**
+         * @param day any day
+         * @return the first day of the partition containing it
+         */
+        public LocalDate start(LocalDate day) {
+            return this == DAILY ? day : day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        /**
+         * @param start the first day of a partition
+         * @return the first day of the following partition
+         */
+        public LocalDate next(LocalDate start) {
+            return this == DAILY ? start.plusDays(1) : start.plusWeeks(1);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.shovan.NotificationService.routing;
+
+import java.util.Arrays;
+
+/**
+ * Recent successful send latencies of one provider, for the hedge delay.
+ *
+ * <p>
+ * A ring of the last {@value #CAPACITY} samples; the percentile is recomputed
+ * every {@value #RECOMPUTE_EVERY} samples rather than per call, so reading it
+ * on the send path is a volatile load.
+ * </p>
+ */
+final class LatencyWindow {
+
+    static final int CAPACITY = 512;
+    static final int RECOMPUTE_EVERY = 32;
+
+    private final double percentile;
+    private final int minSamples;
+    private final long[] samples = new long[CAPACITY];
+    private int next;
+    private int size;
+    private int sinceRecompute;
+    private volatile long percentileMillis = -1;
+
+    LatencyWindow(double percentile, int minSamples) {
+        this.percentile = percentile;
+        this.minSamples = Math.max(1, Math.min(minSamples, CAPACITY));
+    }
+
+    synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % CAPACITY;
+        if (size < CAPACITY) {
+            size++;
+        }
+        if (++sinceRecompute >= RECOMPUTE_EVERY || size == minSamples) {
+            sinceRecompute = 0;
+            if (size >= minSamples) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                int rank = (int) Math.ceil(percentile * size) - 1;
+                percentileMillis = sorted[Math.max(0, Math.min(size - 1, rank))];
+            }
+        }
+    }
+
+    /** @return the latency percentile in ms, or -1 until minSamples were recorded */
+    long percentileMillis() {
+        return percentileMillis;
+    }
+}
@@ -0,0 +1,19 @@
+package com.shovan.NotificationService.routing;
+
+import com.shovan.NotificationService.notifier.Notifier;
+
+/**
+ * A configured backend of a channel, e.g. one Twilio account.
+ *
+ * @param name     provider name, unique within the channel
+ * @param weight   share of traffic as primary; 0 = standby
+ * @param notifier the adapter that talks to the backend
+ */
+public record Provider(String name, int weight, Notifier notifier) {
+
+    public Provider {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Provider " + name + " has a negative weight");
+        }
+    }
+}
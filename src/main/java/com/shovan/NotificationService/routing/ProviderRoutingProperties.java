@@ -0,0 +1,89 @@
+package com.shovan.NotificationService.routing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+
+/**
+ * Providers per channel, bound from notification.routing.channels.
+ *
+ * <p>
+ * A channel without an entry uses its built-in provider only (smtp, twilio or
+ * fcm), so the service behaves as with a single provider per channel.
+ * </p>
+ *
+ * @param channels routing per channel
+ */
+@ConfigurationProperties("notification.routing")
+public record ProviderRoutingProperties(Map<Channel, ChannelRoute> channels) {
+
+    public ProviderRoutingProperties {
+        channels = channels != null ? channels : Map.of();
+    }
+
+    /**
+     * @param providers providers in preference order (ties in weight keep it)
+     * @param hedge     optional hedging for latency-sensitive traffic
+     */
+    public record ChannelRoute(List<ProviderSpec> providers, Hedge hedge) {
+
+        public ChannelRoute {
+            providers = providers != null ? providers : List.of();
+        }
+    }
+
+    /**
+     * One provider of a channel.
+     *
+     * @param name     unique within the channel; also names the provider's
+     *                 circuit breaker (see Channel#circuitBreakerName)
+     * @param type     smtp, twilio, fcm or stub; defaults to the name, so the
+     *                 built-in providers need only a name
+     * @param weight   share of traffic as primary; 0 makes it a standby used
+     *                 only on failover
+     * @param settings type-specific settings (credentials, host, stub
+     *                 latency); empty for the built-in providers, which use
+     *                 spring.mail and notification.providers
+     */
+    public record ProviderSpec(String name, String type, @DefaultValue("1") int weight,
+            Map<String, String> settings) {
+
+        public ProviderSpec {
+            type = type != null ? type : name;
+            settings = settings != null ? settings : Map.of();
+        }
+    }
+
+    /**
+     * Send to the next provider as well if the primary has not acknowledged
+     * within its recent latency percentile. Trades an occasional duplicate
+     * for tail latency, so it is meant for OTP-style traffic.
+     *
+     * @param enabled     off by default
+     * @param priorities  priorities that are hedged
+     * @param percentile  latency percentile of the primary after which the
+     *                    hedge is sent
+     * @param minSamples  successful sends needed before the percentile is
+     *                    trusted; until then maxDelay is used
+     * @param minDelay    lower bound of the hedge delay
+     * @param maxDelay    upper bound of the hedge delay
+     */
+    public record Hedge(boolean enabled,
+            @DefaultValue("HIGH") Set<NotificationPriority> priorities,
+            @DefaultValue("0.95") double percentile,
+            @DefaultValue("20") int minSamples,
+            @DefaultValue("50ms") Duration minDelay,
+            @DefaultValue("2s") Duration maxDelay) {
+
+        /** Hedging off. */
+        public static final Hedge DISABLED = new Hedge(false, Set.of(), 0.95, 20,
+                Duration.ofMillis(50), Duration.ofSeconds(2));
+    }
+}
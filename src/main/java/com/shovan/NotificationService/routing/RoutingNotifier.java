@@ -0,0 +1,341 @@
+package com.shovan.NotificationService.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import com.shovan.NotificationService.decorator.CircuitBreakerDecorator;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.exception.NotificationException;
+import com.shovan.NotificationService.notifier.Notifier;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties.Hedge;
+import com.shovan.NotificationService.service.TemplateService;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends a channel's notifications through one of several providers.
+ *
+ * <p>
+ * <b>Pattern:</b> <i>Composite</i> – looks like a single Notifier to the
+ * listener, and wraps each provider in its own CircuitBreakerDecorator.
+ * </p>
+ * <ul>
+ * <li><b>Weighted routing</b> – the primary is drawn by weight among the
+ * providers whose breaker is not OPEN; the others follow in configured
+ * order.</li>
+ * <li><b>Failover</b> – a failed or rejected (OPEN breaker) send moves on to
+ * the next provider within the same attempt. Providers with an OPEN breaker
+ * are tried last, which lets their breaker reject quickly or move to
+ * HALF_OPEN.</li>
+ * <li><b>Hedging</b> – for hedged priorities, the second provider is sent the
+ * same notification if the primary has not acknowledged within its recent
+ * latency percentile (or failed before that); the first success wins. Legs
+ * work on copies of the notification, so a losing leg still in flight never
+ * touches the entity being persisted. A slow leg that succeeds late means the
+ * recipient gets the message twice; that is the price of the lower tail.</li>
+ * </ul>
+ * <p>
+ * A body TemplateService stored in the BlobStore arrives as its key. Each
+ * provider is given the key only if it streams stored bodies and the blob is
+ * still there, otherwise the text ({@link TemplateService#storedBody}).
+ * </p>
+ * <p>
+ * Meters: notification.provider.calls{channel,provider,outcome},
+ * notification.provider.failovers{channel,provider} (failed over from) and
+ * notification.provider.hedges{channel,winner}.
+ * </p>
+ */
+@Slf4j
+public class RoutingNotifier implements Notifier {
+
+    private final Channel channel;
+    private final List<Route> routes;
+    private final Hedge hedge;
+    private final Executor hedgeExecutor;
+    private final TemplateService templateService;
+    private final Counter hedgePrimaryWon;
+    private final Counter hedgeSecondaryWon;
+    private final Counter hedgeBothFailed;
+
+    /**
+     * @param channel                the channel served
+     * @param providers              providers in preference order
+     * @param hedge                  hedging settings (Hedge.DISABLED for none)
+     * @param circuitBreakerRegistry registry for the per-provider breakers
+     * @param meterRegistry          registry for the provider meters
+     * @param hedgeExecutor          runs the legs of hedged sends
+     * @param templateService        resolves stored bodies for each provider
+     */
+    public RoutingNotifier(Channel channel, List<Provider> providers, Hedge hedge,
+            CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry, Executor hedgeExecutor,
+            TemplateService templateService) {
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("No providers configured for channel " + channel);
+        }
+        this.channel = channel;
+        this.hedge = hedge;
+        this.hedgeExecutor = hedgeExecutor;
+        this.templateService = templateService;
+        this.routes = providers.stream()
+                .map(provider -> new Route(channel, provider, hedge, circuitBreakerRegistry, meterRegistry,
+                        templateService))
+                .toList();
+        this.hedgePrimaryWon = hedgeCounter(meterRegistry, "primary");
+        this.hedgeSecondaryWon = hedgeCounter(meterRegistry, "secondary");
+        this.hedgeBothFailed = hedgeCounter(meterRegistry, "none");
+    }
+
+    /** @return the channel served */
+    public Channel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Create every provider's client now; a provider that fails is logged and
+     * tries again on its first send.
+     */
+    @Override
+    public void warmUp() {
+        for (Route route : routes) {
+            try {
+                route.adapter.warmUp();
+            } catch (RuntimeException ex) {
+                log.warn("Provider {} of {} could not be warmed up; its first send will try again: {}",
+                        route.name, channel, ex.toString());
+            }
+        }
+    }
+
+    /** @return circuit breaker names of the providers, in configured order */
+    public List<String> circuitBreakerNames() {
+        return routes.stream().map(route -> route.circuitBreaker.getName()).toList();
+    }
+
+    @Override
+    public void send(Notification notification, String renderedContent) {
+        List<Route> candidates = candidates();
+        if (candidates.size() > 1 && hedge.enabled() && hedge.priorities().contains(notification.getPriority())) {
+            sendHedged(notification, renderedContent, candidates.get(0), candidates.get(1));
+            return;
+        }
+
+        RuntimeException failure = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            Route route = candidates.get(i);
+            try {
+                route.send(notification, renderedContent);
+                notification.setProvider(route.name);
+                return;
+            } catch (RuntimeException ex) {
+                failure = ex;
+                if (i + 1 < candidates.size()) {
+                    route.failovers.increment();
+                    log.debug("Notification id={} failed on provider {}, failing over to {}: {}",
+                            notification.getId(), route.name, candidates.get(i + 1).name, ex.getMessage());
+                }
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Providers to try, in order: a weighted draw among those whose breaker
+     * admits calls, the rest of those, then the OPEN ones.
+     */
+    private List<Route> candidates() {
+        List<Route> available = new ArrayList<>(routes.size());
+        List<Route> open = null;
+        int totalWeight = 0;
+        for (Route route : routes) {
+            if (route.isOpen()) {
+                if (open == null) {
+                    open = new ArrayList<>(1);
+                }
+                open.add(route);
+            } else {
+                available.add(route);
+                totalWeight += route.weight;
+            }
+        }
+        if (available.size() > 1 && totalWeight > 0) {
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (int i = 0; i < available.size(); i++) {
+                pick -= available.get(i).weight;
+                if (pick < 0) {
+                    if (i > 0) {
+                        available.add(0, available.remove(i));
+                    }
+                    break;
+                }
+            }
+        }
+        if (open != null) {
+            available.addAll(open);
+        }
+        return available;
+    }
+
+    private void sendHedged(Notification notification, String content, Route primary, Route secondary) {
+        CompletableFuture<Route> primaryLeg = leg(primary, notification, content);
+        int legs = 1;
+        Route winner;
+        try {
+            try {
+                winner = primaryLeg.get(primary.hedgeDelayMillis(hedge), TimeUnit.MILLISECONDS);
+                hedgePrimaryWon.increment();
+            } catch (TimeoutException | ExecutionException slowOrFailed) {
+                legs = 2;
+                log.debug("Notification id={} not acknowledged by {} in time, hedging to {}",
+                        notification.getId(), primary.name, secondary.name);
+                winner = firstSuccess(primaryLeg, leg(secondary, notification, content));
+                (winner == primary ? hedgePrimaryWon : hedgeSecondaryWon).increment();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            notification.setStatus(NotificationStatus.FAILED);
+            notification.setAttempts(notification.getAttempts() + legs);
+            throw new NotificationException("Interrupted while sending notification id=" + notification.getId(), ex);
+        } catch (RuntimeException ex) {
+            hedgeBothFailed.increment();
+            notification.setStatus(NotificationStatus.FAILED);
+            notification.setAttempts(notification.getAttempts() + legs);
+            throw ex;
+        }
+        notification.setStatus(NotificationStatus.SUCCESS);
+        notification.setAttempts(notification.getAttempts() + legs);
+        notification.setProvider(winner.name);
+    }
+
+    private CompletableFuture<Route> leg(Route route, Notification notification, String content) {
+        Notification copy = notification.toBuilder().build();
+        return CompletableFuture.supplyAsync(() -> {
+            route.send(copy, content);
+            return route;
+        }, hedgeExecutor);
+    }
+
+    /** Wait for the first leg to succeed; fails with the last failure if both fail. */
+    private static Route firstSuccess(CompletableFuture<Route> first, CompletableFuture<Route> second)
+            throws InterruptedException {
+        CompletableFuture<Route> winner = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        BiConsumer<Route, Throwable> onDone = (route, ex) -> {
+            if (ex == null) {
+                winner.complete(route);
+            } else if (failed.incrementAndGet() == 2) {
+                winner.completeExceptionally(ex);
+            }
+        };
+        first.whenComplete(onDone);
+        second.whenComplete(onDone);
+        try {
+            return winner.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new NotificationException("Hedged send failed", ex.getCause());
+        }
+    }
+
+    private Counter hedgeCounter(MeterRegistry meterRegistry, String winner) {
+        return Counter.builder("notification.provider.hedges")
+                .description("Hedged sends by the provider whose leg succeeded first")
+                .tag("channel", channel.name().toLowerCase())
+                .tag("winner", winner)
+                .register(meterRegistry);
+    }
+
+    /** One provider with its breaker, latency window and meters. */
+    private static final class Route {
+
+        private final String name;
+        private final int weight;
+        private final Notifier adapter;
+        private final Notifier guarded;
+        private final CircuitBreaker circuitBreaker;
+        private final TemplateService templateService;
+        private final LatencyWindow latency;
+        private final Counter succeeded;
+        private final Counter failed;
+        private final Counter rejected;
+        private final Counter failovers;
+
+        Route(Channel channel, Provider provider, Hedge hedge, CircuitBreakerRegistry circuitBreakerRegistry,
+                MeterRegistry meterRegistry, TemplateService templateService) {
+            String breakerName = channel.circuitBreakerName(provider.name());
+            this.name = provider.name();
+            this.weight = provider.weight();
+            this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(breakerName);
+            this.adapter = provider.notifier();
+            this.guarded = new CircuitBreakerDecorator(provider.notifier(), circuitBreakerRegistry, breakerName);
+            this.templateService = templateService;
+            this.latency = new LatencyWindow(hedge.percentile(), hedge.minSamples());
+            String channelTag = channel.name().toLowerCase();
+            this.succeeded = callCounter(meterRegistry, channelTag, "success");
+            this.failed = callCounter(meterRegistry, channelTag, "failure");
+            this.rejected = callCounter(meterRegistry, channelTag, "rejected");
+            this.failovers = Counter.builder("notification.provider.failovers")
+                    .description("Sends that moved on to the next provider after this one failed")
+                    .tag("channel", channelTag)
+                    .tag("provider", name)
+                    .register(meterRegistry);
+        }
+
+        boolean isOpen() {
+            CircuitBreaker.State state = circuitBreaker.getState();
+            return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+        }
+
+        void send(Notification notification, String content) {
+            // A stored body arrives as its key; resolved per provider and attempt
+            String body = content.equals(notification.getContentRef())
+                    ? templateService.storedBody(notification, adapter.streamsStoredBodies())
+                    : content;
+            long start = System.nanoTime();
+            try {
+                guarded.send(notification, body);
+            } catch (CallNotPermittedException ex) {
+                rejected.increment();
+                throw ex;
+            } catch (RuntimeException ex) {
+                failed.increment();
+                throw ex;
+            }
+            succeeded.increment();
+            latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        /** The primary's recent latency percentile, bounded; maxDelay until known. */
+        long hedgeDelayMillis(Hedge hedge) {
+            long observed = latency.percentileMillis();
+            if (observed < 0) {
+                return hedge.maxDelay().toMillis();
+            }
+            return Math.max(hedge.minDelay().toMillis(), Math.min(hedge.maxDelay().toMillis(), observed));
+        }
+
+        private Counter callCounter(MeterRegistry meterRegistry, String channelTag, String outcome) {
+            return Counter.builder("notification.provider.calls")
+                    .description("Provider calls by outcome (rejected = circuit breaker open)")
+                    .tag("channel", channelTag)
+                    .tag("provider", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
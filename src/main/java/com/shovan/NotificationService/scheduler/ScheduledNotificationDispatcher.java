@@ -0,0 +1,194 @@
+package com.shovan.NotificationService.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.repository.NotificationRepository.ScheduledSlot;
+import com.shovan.NotificationService.service.NotificationPublisher;
+import com.shovan.NotificationService.util.TimingWheel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Releases SCHEDULED notifications into the exchange when their sendAt is due.
+ *
+ * <p>
+ * Two-level, timing-wheel style design:
+ * <ol>
+ * <li><b>Coarse level (database)</b> – future notifications stay in the
+ * notification table. Every tick the dispatcher reads only the next time
+ * window ({@code lookahead}) through the (status, send_at) index, using a
+ * keyset cursor so rows already loaded are never read again.</li>
+ * <li><b>Fine level (memory)</b> – ids from that window go into a
+ * {@link TimingWheel}; each tick expires the due bucket in O(1) and releases
+ * those ids in batches.</li>
+ * </ol>
+ * Millions of pending schedules therefore cost one index range read per window,
+ * not a table scan per poll. A slower "late sweep" picks up rows inserted
+ * behind the cursor (sendAt only seconds away) or left over after a restart.
+ * </p>
+ *
+ * <p>
+ * On unless notification.scheduler.enabled is false; rows accepted with a
+ * future sendAt stay SCHEDULED until an instance running it releases them.
+ * Several instances may run it: each due chunk is claimed with SELECT ...
+ * FOR UPDATE SKIP LOCKED before the SCHEDULED → PENDING transition, and an
+ * instance publishes only the rows it claimed, so a notification is released
+ * once.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ScheduledNotificationDispatcher {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationPublisher notificationPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lookahead;
+    private final Duration lateGrace;
+    private final int batchSize;
+    private final int maxInMemory;
+    private final TimingWheel wheel;
+    private final Counter releasedCounter;
+
+    /** Keyset cursor of the last row loaded into the wheel. */
+    private Instant cursorSendAt = Instant.EPOCH;
+    private long cursorId;
+
+    /** Everything scheduled before this instant has been loaded into the wheel. */
+    private volatile Instant loadedUntil = Instant.EPOCH;
+
+    public ScheduledNotificationDispatcher(NotificationRepository notificationRepository,
+            NotificationPublisher notificationPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${notification.scheduler.tick:1s}") Duration tick,
+            @Value("${notification.scheduler.lookahead:60s}") Duration lookahead,
+            @Value("${notification.scheduler.late-grace:5s}") Duration lateGrace,
+            @Value("${notification.scheduler.batch-size:1000}") int batchSize,
+            @Value("${notification.scheduler.max-in-memory:200000}") int maxInMemory) {
+        this.notificationRepository = notificationRepository;
+        this.notificationPublisher = notificationPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lookahead = lookahead;
+        this.lateGrace = lateGrace;
+        this.batchSize = batchSize;
+        this.maxInMemory = maxInMemory;
+        // One revolution of the wheel covers the lookahead window
+        int wheelSize = (int) Math.max(1, lookahead.toMillis() / tick.toMillis());
+        this.wheel = new TimingWheel(tick.toMillis(), wheelSize, System.currentTimeMillis());
+
+        this.releasedCounter = Counter.builder("notification.scheduler.released")
+                .description("Scheduled notifications released to the queue")
+                .register(meterRegistry);
+        Gauge.builder("notification.scheduler.in_memory", wheel, TimingWheel::size)
+                .description("Scheduled notifications loaded into the timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hint from the ingestion path: a notification was just scheduled. If its
+     * sendAt falls inside the window already loaded, put it in the wheel now
+     * instead of waiting for the late sweep.
+     *
+     * @param notification a persisted SCHEDULED notification
+     */
+    public void track(Notification notification) {
+        Instant sendAt = notification.getSendAt();
+        if (sendAt != null && sendAt.isBefore(loadedUntil)) {
+            wheel.add(notification.getId(), sendAt.toEpochMilli());
+        }
+    }
+
+    /**
+     * Main loop: load the next time window, then release whatever is due.
+     */
+    @Scheduled(fixedDelayString = "${notification.scheduler.tick:1s}")
+    public void tick() {
+        Instant now = Instant.now();
+        loadWindow(now.plus(lookahead));
+        release(wheel.advance(now.toEpochMilli()));
+    }
+
+    /**
+     * Pick up SCHEDULED rows that are already overdue but were never loaded,
+     * e.g. inserted with a sendAt behind the keyset cursor.
+     */
+    @Scheduled(fixedDelayString = "${notification.scheduler.late-sweep-interval:5s}")
+    public void sweepLate() {
+        List<ScheduledSlot> late = notificationRepository.findByStatusAndSendAtBeforeOrderBySendAtAsc(
+                NotificationStatus.SCHEDULED, Instant.now().minus(lateGrace), Limit.of(batchSize));
+        for (ScheduledSlot slot : late) {
+            wheel.add(slot.getId(), slot.getSendAt().toEpochMilli());
+        }
+    }
+
+    /**
+     * Read rows due before {@code horizon} that come after the cursor, page by
+     * page, stopping early if the wheel is at capacity.
+     */
+    private void loadWindow(Instant horizon) {
+        if (!horizon.isAfter(loadedUntil)) {
+            return;
+        }
+        while (wheel.size() < maxInMemory) {
+            List<ScheduledSlot> page = notificationRepository.findScheduledAfter(
+                    cursorSendAt, cursorId, horizon, Limit.of(batchSize));
+            for (ScheduledSlot slot : page) {
+                wheel.add(slot.getId(), slot.getSendAt().toEpochMilli());
+                cursorSendAt = slot.getSendAt();
+                cursorId = slot.getId();
+            }
+            if (page.size() < batchSize) {
+                loadedUntil = horizon;
+                return;
+            }
+        }
+        // Wheel is full: only what is before the cursor is known to be loaded
+        loadedUntil = cursorSendAt;
+    }
+
+    /**
+     * Claim due rows, flip them to PENDING and publish them, one batch per
+     * transaction. Rows another instance claimed, or already released, are
+     * left to it.
+     */
+    private void release(List<Long> dueIds) {
+        for (int from = 0; from < dueIds.size(); from += batchSize) {
+            List<Long> chunk = dueIds.subList(from, Math.min(from + batchSize, dueIds.size()));
+            List<Long> claimed = transactionTemplate.execute(status -> {
+                List<Long> locked = notificationRepository.lockIdsInStatus(chunk,
+                        NotificationStatus.SCHEDULED.name());
+                if (!locked.isEmpty()) {
+                    notificationRepository.transitionStatus(locked, NotificationStatus.SCHEDULED,
+                            NotificationStatus.PENDING);
+                }
+                return locked;
+            });
+            if (claimed == null || claimed.isEmpty()) {
+                continue;
+            }
+            for (Notification notification : notificationRepository.findAllById(claimed)) {
+                notificationPublisher.publish(notification);
+                releasedCounter.increment();
+            }
+            log.debug("Released {} scheduled notifications", claimed.size());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.shovan.NotificationService.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.dto.NotificationRequestDTO;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.exception.NotificationException;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.scheduler.ScheduledNotificationDispatcher;
+import com.shovan.NotificationService.tenant.Tenants;
+
+/**
+ * Turns an accepted NotificationRequest into persisted Notification rows and
+ * hands them to the queue (or the scheduler).
+ *
+ * <p>
+ * Split in two steps so callers control the transaction boundary:
+ * {@link #persist} may run inside a larger transaction (e.g. a batch from the
+ * outbox relay), while {@link #dispatch} must only run after commit, otherwise
+ * a consumer could pick up a row that is not visible yet.
+ * </p>
+ */
+@Service
+public class NotificationIngestService {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationPublisher notificationPublisher;
+    private final ObjectProvider<ScheduledNotificationDispatcher> scheduledDispatcher;
+    private final ObjectMapper objectMapper;
+
+    public NotificationIngestService(NotificationRepository notificationRepository,
+            NotificationPublisher notificationPublisher,
+            ObjectProvider<ScheduledNotificationDispatcher> scheduledDispatcher,
+            ObjectMapper objectMapper) {
+        this.notificationRepository = notificationRepository;
+        this.notificationPublisher = notificationPublisher;
+        this.scheduledDispatcher = scheduledDispatcher;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Persist and dispatch in one go (each save commits on its own).
+     *
+     * @param request the validated request
+     * @return ids of the created notifications, one per channel
+     */
+    public List<Long> accept(NotificationRequestDTO request) {
+        List<Notification> saved = persist(request);
+        dispatch(saved);
+        return saved.stream().map(Notification::getId).toList();
+    }
+
+    /**
+     * Create one Notification per channel, with status PENDING, or SCHEDULED
+     * when sendAt is in the future.
+     *
+     * @param request the validated request
+     * @return the saved entities
+     * @throws NotificationException if the parameters cannot be serialized
+     */
+    public List<Notification> persist(NotificationRequestDTO request) {
+        // Serialize the parameters map to a JSON string for storage
+        final String paramsJson;
+        try {
+            paramsJson = objectMapper.writeValueAsString(request.getParameters());
+        } catch (JsonProcessingException e) {
+            throw new NotificationException("Failed to serialize notification parameters", e);
+        }
+
+        NotificationPriority priority = request.getPriority() != null
+                ? request.getPriority()
+                : NotificationPriority.NORMAL;
+
+        // A future sendAt defers delivery; absent or past means send now
+        Instant sendAt = request.getSendAt() != null ? request.getSendAt().toInstant() : null;
+        boolean scheduled = sendAt != null && sendAt.isAfter(Instant.now());
+
+        // Already resolved by the API; relayed or internal requests may omit it
+        String tenantId = Tenants.resolve(null, request.getTenantId());
+
+        List<Notification> saved = new ArrayList<>(request.getChannels().size());
+        for (Channel channel : request.getChannels()) {
+            Notification notification = Notification.builder() // ← Builder pattern
+                    .channel(channel)
+                    .templateName(request.getTemplateName())
+                    .parameters(paramsJson)
+                    .priority(priority)
+                    .tenantId(tenantId)
+                    .sendAt(sendAt)
+                    .status(scheduled ? NotificationStatus.SCHEDULED : NotificationStatus.PENDING)
+                    .attempts(0)
+                    .build();
+            saved.add(notificationRepository.save(notification));
+        }
+        return saved;
+    }
+
+    /**
+     * Publish PENDING notifications to their lane; hand SCHEDULED ones to the
+     * scheduler. Call only after the rows are committed.
+     *
+     * @param notifications persisted notifications
+     */
+    public void dispatch(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            if (notification.getStatus() == NotificationStatus.SCHEDULED) {
+                // Released into the exchange by the scheduler when due
+                scheduledDispatcher.ifAvailable(dispatcher -> dispatcher.track(notification));
+                continue;
+            }
+            notificationPublisher.publish(notification);
+        }
+    }
+}
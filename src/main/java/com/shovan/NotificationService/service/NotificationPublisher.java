@@ -0,0 +1,38 @@
+package com.shovan.NotificationService.service;
+
+import java.time.Instant;
+
+import com.shovan.NotificationService.entity.Notification;
+
+/**
+ * Hands persisted PENDING notifications to the consumers; shared by the
+ * ingestion API, the delayed-delivery scheduler, replays and coalescing
+ * recovery.
+ *
+ * <p>
+ * {@link RabbitNotificationPublisher} publishes to the broker. Under the
+ * pg-queue profile the PENDING rows themselves are the queue and
+ * {@link PostgresNotificationPublisher} only wakes the consumers.
+ * </p>
+ */
+public interface NotificationPublisher {
+
+    /**
+     * Publish a notification.
+     *
+     * @param notification a persisted notification (must have an id)
+     */
+    default void publish(Notification notification) {
+        publish(notification, null);
+    }
+
+    /**
+     * Publish with an explicit acceptance time, e.g. the start of a replay, so
+     * delivery latency is measured from then rather than from creation.
+     *
+     * @param notification a persisted notification (must have an id)
+     * @param acceptedAt   when delivery was requested; null to use sendAt or
+     *                     createdAt
+     */
+    void publish(Notification notification, Instant acceptedAt);
+}
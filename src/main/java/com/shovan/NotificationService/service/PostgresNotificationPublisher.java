@@ -0,0 +1,57 @@
+package com.shovan.NotificationService.service;
+
+import java.time.Instant;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.queue.PostgresQueueProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationPublisher of the pg-queue profile: the notification is already
+ * a PENDING row, which PostgresQueueConsumer claims, so publishing only sends
+ * a NOTIFY to wake idle consumers on every instance.
+ *
+ * <p>
+ * Inside a transaction the NOTIFY is delivered when it commits, i.e. once the
+ * row is visible to the claim query, and PostgreSQL folds the identical
+ * NOTIFYs of one transaction into one. Rows carry no trace headers, so a
+ * replay's latency is measured from the notification's creation.
+ * </p>
+ * <p>
+ * The NOTIFY is only a wakeup: if it fails the row is still queued and is
+ * claimed on the consumers' next poll, so the failure is logged, not thrown.
+ * </p>
+ */
+@Service
+@Profile("pg-queue")
+@Slf4j
+public class PostgresNotificationPublisher implements NotificationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String notify;
+    private volatile boolean notifyFailing;
+
+    public PostgresNotificationPublisher(JdbcTemplate jdbcTemplate, PostgresQueueProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notify = "NOTIFY " + properties.channel();
+    }
+
+    @Override
+    public void publish(Notification notification, Instant acceptedAt) {
+        try {
+            jdbcTemplate.execute(notify);
+            notifyFailing = false;
+        } catch (DataAccessException ex) {
+            if (!notifyFailing) {
+                notifyFailing = true;
+                log.warn("NOTIFY failed; consumers pick notifications up on their next poll: {}", ex.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.shovan.NotificationService.service;
+
+import java.time.Instant;
+
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.partition.RecipientPartitions;
+import com.shovan.NotificationService.stream.NotificationLog;
+import com.shovan.NotificationService.tenant.TenantShards;
+import com.shovan.NotificationService.tracing.DeliveryTrace;
+
+/**
+ * Publishes persisted Notification entities to RabbitMQ; the default
+ * NotificationPublisher (all profiles but pg-queue).
+ * <p>
+ * Single place that knows how a notification maps to exchange and routing key
+ * (lane), shared by the ingestion API and the delayed-delivery scheduler.
+ * Bulk (non-HIGH) notifications are appended to the bulk stream when the
+ * stream lane is enabled (see {@link NotificationLog}), else go to their
+ * recipient's partition when partitioning is enabled (see
+ * {@link RecipientPartitions}), otherwise to their tenant's sub-queue (see
+ * {@link TenantShards}). Every message carries a {@link DeliveryTrace} (trace
+ * id, accepted and enqueued timestamps) in its headers.
+ * </p>
+ */
+@Service
+@Profile("!pg-queue")
+public class RabbitNotificationPublisher implements NotificationPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final TenantShards tenantShards;
+    private final RecipientPartitions recipientPartitions;
+    private final ObjectProvider<NotificationLog> bulkStream;
+
+    public RabbitNotificationPublisher(RabbitTemplate rabbitTemplate, TenantShards tenantShards,
+            RecipientPartitions recipientPartitions, ObjectProvider<NotificationLog> bulkStream) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.tenantShards = tenantShards;
+        this.recipientPartitions = recipientPartitions;
+        this.bulkStream = bulkStream;
+    }
+
+    /**
+     * Publish to the lane matching the notification's priority (and, in the
+     * bulk lane, its recipient or tenant), or to the bulk stream.
+     */
+    @Override
+    public void publish(Notification notification, Instant acceptedAt) {
+        DeliveryTrace trace = DeliveryTrace.forPublish(notification, acceptedAt);
+        NotificationLog stream = bulkStream.getIfAvailable();
+        if (stream != null && notification.getPriority() != NotificationPriority.HIGH) {
+            MessageProperties properties = new MessageProperties();
+            trace.writeTo(properties);
+            stream.append(rabbitTemplate.getMessageConverter().toMessage(notification, properties));
+            return;
+        }
+        rabbitTemplate.convertAndSend(
+                RabbitMQConfig.EXCHANGE,
+                routingKey(notification),
+                notification,
+                message -> {
+                    trace.writeTo(message.getMessageProperties());
+                    return message;
+                });
+    }
+
+    private String routingKey(Notification notification) {
+        if (notification.getPriority() == NotificationPriority.HIGH) {
+            return RabbitMQConfig.HIGH_PRIORITY_ROUTING_KEY;
+        }
+        if (recipientPartitions.enabled()) {
+            return recipientPartitions.routingKey(notification);
+        }
+        return tenantShards.routingKey(notification.getTenantId());
+    }
+}
@@ -0,0 +1,214 @@
+package com.shovan.NotificationService.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.shovan.NotificationService.dto.ReplayJobDTO;
+import com.shovan.NotificationService.dto.ReplayRequestDTO;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.repository.NotificationSpecifications;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays FAILED notifications back into the queue in throttled batches.
+ *
+ * <p>
+ * Each job walks matching rows with a keyset cursor (never loading them all)
+ * and re-publishes them at the requested rate using a Resilience4j
+ * RateLimiter, so a replay of millions of rows cannot overwhelm
+ * Twilio/FCM/SMTP. A row is moved FAILED → PENDING only when its turn comes,
+ * right before it is published: a cancelled or failed job leaves the rows it
+ * did not reach FAILED, where another replay finds them, and a row another
+ * replay or the reconciler moved first is skipped.
+ * </p>
+ * <p>
+ * Finished jobs stay queryable for notification.replay.job-retention.
+ * </p>
+ */
+@Service
+@Slf4j
+public class ReplayService {
+
+    private static final int DEFAULT_RATE_PER_SECOND = 50;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    /** Mutable progress of a running job. */
+    private static final class Job {
+        final String id;
+        final AtomicLong replayed = new AtomicLong();
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile LocalDateTime finishedAt;
+        volatile String state = "RUNNING";
+        volatile boolean cancelled;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        ReplayJobDTO toDto() {
+            return ReplayJobDTO.builder()
+                    .jobId(id)
+                    .state(state)
+                    .replayed(replayed.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationPublisher notificationPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final Duration jobRetention;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ReplayService(NotificationRepository notificationRepository,
+            NotificationPublisher notificationPublisher,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            @Value("${notification.replay.job-retention:1h}") Duration jobRetention) {
+        this.notificationRepository = notificationRepository;
+        this.notificationPublisher = notificationPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.jobRetention = jobRetention;
+    }
+
+    /**
+     * Start a replay job in the background.
+     *
+     * @param request filters and throttling options
+     * @return the initial job status
+     */
+    public ReplayJobDTO startReplay(ReplayRequestDTO request) {
+        Job job = new Job(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        taskExecutor.execute(() -> run(job, request));
+        return job.toDto();
+    }
+
+    /**
+     * @param jobId the job identifier
+     * @return the job status, if known
+     */
+    public Optional<ReplayJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDto);
+    }
+
+    /**
+     * Ask a running job to stop after the current message.
+     *
+     * @param jobId the job identifier
+     * @return the job status, if known
+     */
+    public Optional<ReplayJobDTO> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancelled = true;
+        return Optional.of(job.toDto());
+    }
+
+    /** Forget jobs that finished more than job-retention ago. */
+    @Scheduled(fixedDelayString = "${notification.replay.job-retention:1h}")
+    public void evictFinishedJobs() {
+        LocalDateTime before = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(before));
+    }
+
+    private void run(Job job, ReplayRequestDTO request) {
+        int rate = request.getRatePerSecond() != null ? request.getRatePerSecond() : DEFAULT_RATE_PER_SECOND;
+        int batchSize = request.getBatchSize() != null ? request.getBatchSize() : DEFAULT_BATCH_SIZE;
+        long remaining = request.getMaxMessages() != null ? request.getMaxMessages() : Long.MAX_VALUE;
+
+        RateLimiter limiter = RateLimiter.of("replay-" + job.id, RateLimiterConfig.custom()
+                .limitForPeriod(rate)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMinutes(1))
+                .build());
+
+        log.info("Replay job {} started [channel={}, from={}, to={}, errorClass={}, rate={}/s]",
+                job.id, request.getChannel(), request.getFrom(), request.getTo(), request.getErrorClass(), rate);
+        try {
+            long cursor = 0;
+            while (remaining > 0 && !job.cancelled) {
+                int limit = (int) Math.min(batchSize, remaining);
+                List<Notification> batch = notificationRepository.findBy(
+                        NotificationSpecifications.matching(NotificationStatus.FAILED, request.getChannel(),
+                                request.getFrom(), request.getTo(), request.getErrorClass(), cursor),
+                        q -> q.sortBy(Sort.by("id")).limit(limit).all());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                cursor = batch.get(batch.size() - 1).getId();
+
+                for (Notification notification : batch) {
+                    if (job.cancelled || remaining == 0) {
+                        break;
+                    }
+                    RateLimiter.waitForPermission(limiter);
+                    if (replay(notification)) {
+                        job.replayed.incrementAndGet();
+                        remaining--;
+                    }
+                }
+            }
+            job.state = job.cancelled ? "CANCELLED" : "COMPLETED";
+        } catch (RuntimeException ex) {
+            log.error("Replay job {} failed after {} notifications", job.id, job.replayed.get(), ex);
+            job.state = "FAILED";
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            log.info("Replay job {} {} [replayed={}]", job.id, job.state, job.replayed.get());
+        }
+    }
+
+    /**
+     * Move one row FAILED → PENDING and publish it; put it back to FAILED if
+     * the publish fails, so it is not left PENDING with no message.
+     *
+     * @return false if the row was no longer FAILED
+     */
+    private boolean replay(Notification notification) {
+        List<Long> id = List.of(notification.getId());
+        Integer claimed = transactionTemplate.execute(status -> notificationRepository
+                .transitionStatus(id, NotificationStatus.FAILED, NotificationStatus.PENDING));
+        if (claimed == null || claimed == 0) {
+            return false;
+        }
+        notification.setStatus(NotificationStatus.PENDING);
+        try {
+            // Measure replayed deliveries from now, not from their original creation
+            notificationPublisher.publish(notification, Instant.now());
+            return true;
+        } catch (RuntimeException ex) {
+            transactionTemplate.executeWithoutResult(status -> notificationRepository
+                    .transitionStatus(id, NotificationStatus.PENDING, NotificationStatus.FAILED));
+            throw ex;
+        }
+    }
+}
@@ -4,13 +4,23 @@ import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.blob.BlobStore;
+import com.shovan.NotificationService.entity.Notification;
 import com.shovan.NotificationService.entity.NotificationTemplate;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.exception.NotificationException;
+import com.shovan.NotificationService.render.RenderExecutor;
+import com.shovan.NotificationService.render.RenderedBody;
 import com.shovan.NotificationService.repository.NotificationTemplateRepository;
-import com.shovan.NotificationService.util.TemplateRenderer;
 
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -19,7 +29,9 @@ import java.util.Optional;
  * 1) Loading NotificationTemplate entities from the database.
  * 2) Caching raw template content in Redis to avoid DB hits.
  * 3) Parsing request parameters (JSON) into a Map.
- * 4) Rendering the final content via TemplateRenderer.
+ * 4) Rendering the final content via TemplateRenderer, on RenderExecutor's
+ * threads and within its budget.
+ * 5) Keeping large EMAIL bodies in the BlobStore instead of the heap.
  *
  * <p>
  * <b>Pattern:</b> Cache‐Aside (lazy load + cache) for the template content.
@@ -33,16 +45,19 @@ public class TemplateService {
 
     private final NotificationTemplateRepository templateRepository;
     private final StringRedisTemplate redisTemplate;
-    private final TemplateRenderer templateRenderer;
+    private final RenderExecutor renderExecutor;
+    private final BlobStore blobStore;
     private final ObjectMapper objectMapper;
 
     public TemplateService(NotificationTemplateRepository templateRepository,
             StringRedisTemplate redisTemplate,
-            TemplateRenderer templateRenderer,
+            RenderExecutor renderExecutor,
+            BlobStore blobStore,
             ObjectMapper objectMapper) {
         this.templateRepository = templateRepository;
         this.redisTemplate = redisTemplate;
-        this.templateRenderer = templateRenderer;
+        this.renderExecutor = renderExecutor;
+        this.blobStore = blobStore;
         this.objectMapper = objectMapper;
     }
 
@@ -55,22 +70,153 @@ public class TemplateService {
      * @throws NotificationException if template not found or JSON invalid
      */
     public String render(String templateName, String parametersJson) {
-        // 1) Load the raw template content (cache‐aside)
+        // 1) Deserialize parameters JSON into a Map
+        Map<String, Object> variables = parseParameters(templateName, parametersJson);
+        return render(templateName, variables);
+    }
+
+    /**
+     * Render a notification's body for sending.
+     *
+     * <p>
+     * An EMAIL body larger than the BlobStore's threshold is written to the
+     * store: the notification's contentRef is set to its key, and the key is
+     * returned in place of the content. RoutingNotifier hands each provider
+     * either the key or the text ({@link #storedBody}). A notification that already has a stored body (a replay, a
+     * reconciled or re-claimed row) is not rendered again.
+     * </p>
+     *
+     * @param notification the notification to render
+     * @return fully rendered content (HTML/text), or the notification's
+     *         contentRef when the body is stored
+     * @throws NotificationException if template not found or JSON invalid
+     */
+    public String renderBody(Notification notification) {
+        return renderBody(notification, Map.of());
+    }
+
+    /**
+     * {@link #renderBody(Notification)} with template content already fetched
+     * by {@link #loadAll}, so a batch of messages shares one lookup per
+     * template. A template missing from {@code loaded} is looked up as usual.
+     *
+     * @param notification the notification to render
+     * @param loaded       raw template content by name
+     * @return fully rendered content (HTML/text), or the notification's
+     *         contentRef when the body is stored
+     * @throws NotificationException if template not found or JSON invalid
+     */
+    public String renderBody(Notification notification, Map<String, String> loaded) {
+        String contentRef = notification.getContentRef();
+        if (contentRef != null && blobStore.contains(contentRef)) {
+            return contentRef;
+        }
+        String templateName = notification.getTemplateName();
+        Map<String, Object> variables = parseParameters(templateName, notification.getParameters());
+        String rawTemplate = loaded.get(templateName);
+        if (rawTemplate == null) {
+            rawTemplate = loadTemplateContent(templateName);
+        }
+        if (notification.getChannel() != Channel.EMAIL) {
+            return renderExecutor.render(templateName, rawTemplate, variables);
+        }
+        RenderedBody body = renderExecutor.renderBody(templateName, rawTemplate, variables);
+        notification.setContentRef(body.blobKey());
+        return body.stored() ? body.blobKey() : body.text();
+    }
+
+    /**
+     * The content to give a provider for a notification whose body
+     * {@link #renderBody} stored in the BlobStore.
+     *
+     * <p>
+     * A provider that streams stored bodies gets the key while the blob is in
+     * the store; any other provider gets the text. A blob swept since it was
+     * stored is rendered again, in memory.
+     * </p>
+     *
+     * @param notification a notification with a contentRef
+     * @param streams      whether the provider streams stored bodies
+     * @return the contentRef, or the body's text
+     * @throws NotificationException if the body has to be rendered again and
+     *                               cannot be
+     */
+    public String storedBody(Notification notification, boolean streams) {
+        String key = notification.getContentRef();
+        if (streams && blobStore.contains(key)) {
+            return key;
+        }
+        try {
+            return blobStore.read(key);
+        } catch (IOException e) {
+            return render(notification.getTemplateName(), notification.getParameters());
+        }
+    }
+
+    /**
+     * Fetch the raw content of several templates at once: one Redis MGET,
+     * then one DB query for the misses, which are cached.
+     *
+     * @param templateNames distinct template keys
+     * @return raw template content by name; unknown templates are absent
+     */
+    public Map<String, String> loadAll(Collection<String> templateNames) {
+        List<String> names = List.copyOf(templateNames);
+        Map<String, String> contents = new HashMap<>();
+        if (names.isEmpty()) {
+            return contents;
+        }
+
+        // 1) Redis, in one round trip
+        List<String> cached = redisTemplate.opsForValue()
+                .multiGet(names.stream().map(name -> CACHE_PREFIX + name).toList());
+        List<String> misses = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            String content = cached != null ? cached.get(i) : null;
+            if (content != null) {
+                contents.put(names.get(i), content);
+            } else {
+                misses.add(names.get(i));
+            }
+        }
+        if (misses.isEmpty()) {
+            return contents;
+        }
+
+        // 2) DB for the misses, cached for future requests
+        for (NotificationTemplate tpl : templateRepository.findByNameIn(misses)) {
+            contents.put(tpl.getName(), tpl.getContent());
+            redisTemplate.opsForValue().set(CACHE_PREFIX + tpl.getName(), tpl.getContent(), CACHE_TTL);
+        }
+        return contents;
+    }
+
+    /**
+     * Render a template identified by name with already-built variables (e.g.
+     * a digest's list of items).
+     *
+     * @param templateName the unique key of the NotificationTemplate
+     * @param variables    variable names → values
+     * @return fully rendered content (HTML/text)
+     * @throws NotificationException if template not found
+     */
+    public String render(String templateName, Map<String, Object> variables) {
+        // 2) Load the raw template content (cache‐aside)
         String rawTemplate = loadTemplateContent(templateName);
 
-        // 2) Deserialize parameters JSON into a Map
-        Map<String, Object> variables;
+        // 3) Delegate to TemplateRenderer (Thymeleaf) for substitution, within the render budget
+        return renderExecutor.render(templateName, rawTemplate, variables);
+    }
+
+    private Map<String, Object> parseParameters(String templateName, String parametersJson) {
         try {
-            variables = objectMapper.readValue(
+            return objectMapper.readValue(
                     parametersJson, new TypeReference<Map<String, Object>>() {
                     });
         } catch (Exception ex) {
             throw new NotificationException(
                     "Invalid template parameters JSON for template=" + templateName, ex);
         }
-
-        // 3) Delegate to TemplateRenderer (Thymeleaf) for substitution
-        return templateRenderer.render(rawTemplate, variables);
     }
 
     /**
@@ -0,0 +1,128 @@
+package com.shovan.NotificationService.status;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.shovan.NotificationService.dto.NotificationStatusDTO;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.tenant.Tenants;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers status polls: from the Redis read model when
+ * notification.status-cache is enabled, from the database for ids Redis does
+ * not hold (expired, or never written), which are then cached for the next
+ * poll. A caller only sees its own tenant's notifications.
+ *
+ * <p>
+ * Meter: notification.status.reads{source} – ids answered from redis vs
+ * database.
+ * </p>
+ */
+@Service
+@Slf4j
+public class NotificationStatusService {
+
+    /** Most ids one bulk status request may ask for. */
+    public static final int MAX_IDS = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final ObjectProvider<StatusReadModel> readModel;
+    private final Counter redisReads;
+    private final Counter databaseReads;
+
+    public NotificationStatusService(NotificationRepository notificationRepository,
+            ObjectProvider<StatusReadModel> readModel,
+            MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.readModel = readModel;
+        this.redisReads = reads(meterRegistry, "redis");
+        this.databaseReads = reads(meterRegistry, "database");
+    }
+
+    /**
+     * @param id     notification id
+     * @param tenant the caller's tenant
+     * @return its status, or empty if unknown or another tenant's
+     */
+    public Optional<NotificationStatusDTO> find(long id, String tenant) {
+        return findAll(List.of(id), tenant).stream().findFirst();
+    }
+
+    /**
+     * @param ids    notification ids, at most {@link #MAX_IDS}
+     * @param tenant the caller's tenant
+     * @return the statuses found, in request order; unknown ids and other
+     *         tenants' are left out
+     */
+    public List<NotificationStatusDTO> findAll(Collection<Long> ids, String tenant) {
+        List<Long> distinct = ids.stream().distinct().toList();
+        Map<Long, NotificationStatusDTO> found = new HashMap<>();
+
+        // 1) Redis, one pipeline for all ids
+        StatusReadModel cache = readModel.getIfAvailable();
+        if (cache != null) {
+            try {
+                found.putAll(cache.getAll(distinct));
+            } catch (DataAccessException ex) {
+                log.debug("Status read from Redis failed; reading {} ids from the database", distinct.size(), ex);
+            }
+        }
+        redisReads.increment(found.size());
+
+        // 2) Database for the rest, one query; cached for the next poll
+        List<Long> missing = distinct.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            databaseReads.increment(missing.size());
+            for (Notification notification : notificationRepository.findAllById(missing)) {
+                NotificationStatusDTO status = toStatus(notification);
+                found.put(status.getId(), status);
+                if (cache != null) {
+                    cache.put(status);
+                }
+            }
+        }
+
+        return distinct.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .filter(status -> tenant.equals(status.getTenantId()))
+                .toList();
+    }
+
+    /**
+     * @param notification a notification
+     * @return its delivery state
+     */
+    public static NotificationStatusDTO toStatus(Notification notification) {
+        return NotificationStatusDTO.builder()
+                .id(notification.getId())
+                .tenantId(Tenants.orDefault(notification.getTenantId()))
+                .channel(notification.getChannel())
+                .status(notification.getStatus())
+                .attempts(notification.getAttempts())
+                .provider(notification.getProvider())
+                .lastErrorClass(notification.getLastErrorClass())
+                .updatedAt(notification.getUpdatedAt())
+                .build();
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("notification.status.reads")
+                .description("Notification statuses returned to status polls")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
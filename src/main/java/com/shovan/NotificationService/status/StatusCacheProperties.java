@@ -0,0 +1,24 @@
+package com.shovan.NotificationService.status;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Redis read model of delivery statuses, bound from
+ * notification.status-cache.
+ *
+ * @param enabled       off by default; status reads then go to the database
+ * @param ttl           how long a status stays in Redis after its last change
+ * @param flushInterval how often pending status writes are sent to Redis, in
+ *                      one pipeline
+ * @param maxPending    status writes buffered while Redis is slow or down;
+ *                      beyond that they are dropped (and counted)
+ */
+@ConfigurationProperties("notification.status-cache")
+public record StatusCacheProperties(boolean enabled,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("20ms") Duration flushInterval,
+        @DefaultValue("50000") int maxPending) {
+}
@@ -0,0 +1,231 @@
+package com.shovan.NotificationService.status;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.shovan.NotificationService.dto.NotificationStatusDTO;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.event.NotificationSentEvent;
+import com.shovan.NotificationService.util.WriteBehindBuffer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivery statuses kept in Redis, one hash per notification
+ * ({@code notification:status:<id>}, expiring ttl after its last change), so
+ * clients polling for status never touch the notification table.
+ *
+ * <p>
+ * Written from the NotificationSentEvent once the outcome is committed, and
+ * from NotificationStatusService when a read falls back to the database.
+ * Writes are buffered per id and sent every flushInterval as one pipeline
+ * from a dedicated thread, so listener threads never wait on Redis. Each
+ * write is a small script that replaces the hash unless Redis already holds
+ * a later state, ordered by (attempts, status); a slow database read can
+ * therefore not overwrite a newer outcome. While Redis is unreachable, writes
+ * stay buffered up to maxPending and reads go to the database.
+ * </p>
+ * <p>
+ * Meters: notification.status.cache.pending (gauge),
+ * notification.status.cache.dropped and
+ * notification.status.cache.flush.failures.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.status-cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class StatusReadModel implements DisposableBean {
+
+    static final String KEY_PREFIX = "notification:status:";
+
+    /** KEYS[1] hash; ARGV ttl millis, version, then field/value pairs. */
+    private static final byte[] UPSERT = """
+            local stored = redis.call('HGET', KEYS[1], 'v')
+            if stored and tonumber(stored) > tonumber(ARGV[2]) then
+              return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'v', ARGV[2], unpack(ARGV, 3))
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """.getBytes(UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final StatusCacheProperties properties;
+    private final WriteBehindBuffer<Long, NotificationStatusDTO> pending;
+    private final Counter dropped;
+    private final Counter flushFailures;
+
+    public StatusReadModel(StringRedisTemplate redisTemplate,
+            StatusCacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.pending = new WriteBehindBuffer<>("status-flush", properties.flushInterval(), properties.maxPending(),
+                (queued, next) -> version(next) >= version(queued) ? next : queued, this::flush);
+        this.dropped = Counter.builder("notification.status.cache.dropped")
+                .description("Status writes dropped because too many were waiting for Redis")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("notification.status.cache.flush.failures")
+                .description("Status write pipelines Redis did not accept")
+                .register(meterRegistry);
+        Gauge.builder("notification.status.cache.pending", pending, WriteBehindBuffer::size)
+                .description("Status writes waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a committed outcome. Runs after the listener's transaction
+     * commits (immediately when there is none), so a rolled back outcome is
+     * never visible.
+     *
+     * @param event the processed notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationSent(NotificationSentEvent event) {
+        put(NotificationStatusService.toStatus(event.getNotification()));
+    }
+
+    /**
+     * Queue a status for the next flush; of two writes for one id, the later
+     * state wins.
+     *
+     * @param status the status to write
+     */
+    public void put(NotificationStatusDTO status) {
+        if (!pending.offer(status.getId(), status)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Read statuses in one pipeline.
+     *
+     * @param ids notification ids
+     * @return the statuses Redis holds, by id
+     * @throws DataAccessException if Redis cannot be reached
+     */
+    public Map<Long, NotificationStatusDTO> getAll(List<Long> ids) {
+        List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long id : ids) {
+                connection.hashCommands().hGetAll(key(id));
+            }
+            return null;
+        });
+        Map<Long, NotificationStatusDTO> found = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (hashes.get(i) instanceof Map<?, ?> hash && !hash.isEmpty()) {
+                @SuppressWarnings("unchecked")
+                Map<String, String> fields = (Map<String, String>) hash;
+                found.put(ids.get(i), fromHash(ids.get(i), fields));
+            }
+        }
+        return found;
+    }
+
+    /** Send every pending write to Redis in one pipeline; failed writes are retried next time. */
+    void flush() {
+        List<NotificationStatusDTO> batch = pending.drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        byte[] ttl = Long.toString(properties.ttl().toMillis()).getBytes(UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (NotificationStatusDTO status : batch) {
+                    connection.scriptingCommands().eval(UPSERT, ReturnType.INTEGER, 1, arguments(status, ttl));
+                }
+                return null;
+            });
+            if (pending.recovered()) {
+                log.info("Status writes to Redis recovered");
+            }
+        } catch (RuntimeException ex) {
+            flushFailures.increment();
+            if (pending.failed()) {
+                log.warn("Status writes to Redis failed; keeping up to {} pending: {}", properties.maxPending(),
+                        ex.toString());
+            }
+            batch.forEach(this::put);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        pending.close();
+    }
+
+    /**
+     * Order of states of one notification: every send attempt moves it
+     * forward, and within an attempt an outcome comes after waiting and a
+     * receipt after the outcome.
+     */
+    static long version(NotificationStatusDTO status) {
+        int rank = switch (status.getStatus()) {
+            case SCHEDULED, PENDING, BUFFERED -> 0;
+            case SUCCESS, FAILED, SUPPRESSED -> 1;
+            case DELIVERED -> 2;
+            case BOUNCED -> 3;
+        };
+        return status.getAttempts() * 4L + rank;
+    }
+
+    private static byte[] key(long id) {
+        return (KEY_PREFIX + id).getBytes(UTF_8);
+    }
+
+    private static byte[][] arguments(NotificationStatusDTO status, byte[] ttl) {
+        List<byte[]> args = new ArrayList<>(16);
+        args.add(key(status.getId()));
+        args.add(ttl);
+        args.add(Long.toString(version(status)).getBytes(UTF_8));
+        field(args, "tenant", status.getTenantId());
+        field(args, "channel", status.getChannel() != null ? status.getChannel().name() : null);
+        field(args, "status", status.getStatus().name());
+        field(args, "attempts", Integer.toString(status.getAttempts()));
+        field(args, "provider", status.getProvider());
+        field(args, "error", status.getLastErrorClass());
+        field(args, "updatedAt", status.getUpdatedAt() != null ? status.getUpdatedAt().toString() : null);
+        return args.toArray(byte[][]::new);
+    }
+
+    private static void field(List<byte[]> args, String name, String value) {
+        if (value != null) {
+            args.add(name.getBytes(UTF_8));
+            args.add(value.getBytes(UTF_8));
+        }
+    }
+
+    private static NotificationStatusDTO fromHash(long id, Map<String, String> hash) {
+        String channel = hash.get("channel");
+        String updatedAt = hash.get("updatedAt");
+        return NotificationStatusDTO.builder()
+                .id(id)
+                .tenantId(hash.get("tenant"))
+                .channel(channel != null ? Channel.valueOf(channel) : null)
+                .status(NotificationStatus.valueOf(hash.get("status")))
+                .attempts(Integer.parseInt(hash.getOrDefault("attempts", "0")))
+                .provider(hash.get("provider"))
+                .lastErrorClass(hash.get("error"))
+                .updatedAt(updatedAt != null ? LocalDateTime.parse(updatedAt) : null)
+                .build();
+    }
+}
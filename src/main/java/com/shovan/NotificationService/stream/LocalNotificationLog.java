@@ -0,0 +1,180 @@
+package com.shovan.NotificationService.stream;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process {@link NotificationLog}: the broker-free stand-in for tests and
+ * local development (notification.stream.backend=LOCAL).
+ *
+ * <p>
+ * Records live in memory, so they are lost on restart and never shared
+ * between instances; offsets stored under a consumer name survive closing
+ * and re-subscribing within the process. The oldest records are dropped past
+ * {@code maxRecords}. Each subscription reads on its own thread.
+ * </p>
+ */
+@Slf4j
+public class LocalNotificationLog implements NotificationLog {
+
+    private final int maxRecords;
+    private final Map<String, Long> storedOffsets = new ConcurrentHashMap<>();
+
+    /** Guarded by this. */
+    private final List<LogRecord> records = new ArrayList<>();
+    private long firstOffset;
+
+    /**
+     * @param maxRecords retention, in records
+     */
+    public LocalNotificationLog(int maxRecords) {
+        this.maxRecords = maxRecords;
+    }
+
+    @Override
+    public synchronized void append(Message message) {
+        // Copy: the publisher's properties object must not be shared with readers
+        MessageProperties properties = new MessageProperties();
+        message.getMessageProperties().getHeaders().forEach(properties::setHeader);
+        properties.setContentType(message.getMessageProperties().getContentType());
+        properties.setContentEncoding(message.getMessageProperties().getContentEncoding());
+        records.add(new LogRecord(firstOffset + records.size(), System.currentTimeMillis(),
+                new Message(message.getBody(), properties)));
+        if (records.size() > maxRecords) {
+            int dropped = records.size() - maxRecords;
+            records.subList(0, dropped).clear();
+            firstOffset += dropped;
+        }
+        notifyAll();
+    }
+
+    @Override
+    public Subscription subscribe(String name, int batchSize, Duration batchTimeout,
+            Consumer<List<LogRecord>> handler) {
+        long start = storedOffsets.getOrDefault(name, 0L);
+        return new Reader("stream-" + name, start, batchSize, batchTimeout, handler,
+                next -> storedOffsets.put(name, next));
+    }
+
+    @Override
+    public Subscription readFrom(Instant from, int batchSize, Duration batchTimeout,
+            Consumer<List<LogRecord>> handler) {
+        return new Reader("stream-replay", offsetAt(from.toEpochMilli()), batchSize, batchTimeout, handler,
+                next -> {
+                });
+    }
+
+    /** @return the first offset whose timestamp is at or after {@code timestamp} */
+    private synchronized long offsetAt(long timestamp) {
+        int low = 0;
+        int high = records.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (records.get(mid).timestamp() < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return firstOffset + low;
+    }
+
+    /** @return the offset the next append gets */
+    private synchronized long endOffset() {
+        return firstOffset + records.size();
+    }
+
+    /**
+     * Wait until records from {@code next} exist, then for a full batch or
+     * the batch timeout.
+     *
+     * @return the batch, empty once {@code running} turns false
+     */
+    private synchronized List<LogRecord> await(long next, int batchSize, Duration batchTimeout,
+            BooleanSupplier running) throws InterruptedException {
+        long from = Math.max(next, firstOffset);
+        while (endOffset() <= from) {
+            if (!running.getAsBoolean()) {
+                return List.of();
+            }
+            wait(100);
+            from = Math.max(next, firstOffset);
+        }
+        long deadline = System.nanoTime() + batchTimeout.toNanos();
+        long remaining;
+        while (endOffset() - from < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        int index = (int) (from - firstOffset);
+        return List.copyOf(records.subList(index, Math.min(records.size(), index + batchSize)));
+    }
+
+    private final class Reader implements Subscription {
+
+        private final Thread thread;
+        private volatile long next;
+        private volatile boolean running = true;
+
+        Reader(String threadName, long start, int batchSize, Duration batchTimeout,
+                Consumer<List<LogRecord>> handler, Consumer<Long> commit) {
+            this.next = start;
+            this.thread = Thread.ofPlatform().name(threadName).daemon().start(() -> {
+                while (running) {
+                    try {
+                        List<LogRecord> batch = await(next, batchSize, batchTimeout, () -> running);
+                        if (batch.isEmpty()) {
+                            return;
+                        }
+                        handler.accept(batch);
+                        next = batch.get(batch.size() - 1).offset() + 1;
+                        commit.accept(next);
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (RuntimeException ex) {
+                        // Same as an uncommitted batch on RabbitMQ: delivered again
+                        log.error("Stream batch handler failed; retrying from offset {}", next, ex);
+                        sleepQuietly(batchTimeout);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public long lag() {
+            return Math.max(0, endOffset() - next);
+        }
+
+        @Override
+        public void close() {
+            running = false;
+            // Wake a reader waiting for records; one mid-batch finishes the batch first
+            synchronized (LocalNotificationLog.this) {
+                LocalNotificationLog.this.notifyAll();
+            }
+            try {
+                thread.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.shovan.NotificationService.stream;
+
+import org.springframework.amqp.core.Message;
+
+/**
+ * One record of a {@link NotificationLog}.
+ *
+ * @param offset    position in the log
+ * @param timestamp append time in epoch millis (per chunk on RabbitMQ)
+ * @param message   the message as appended
+ */
+public record LogRecord(long offset, long timestamp, Message message) {
+}
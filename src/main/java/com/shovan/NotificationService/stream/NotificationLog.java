@@ -0,0 +1,67 @@
+package com.shovan.NotificationService.stream;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.amqp.core.Message;
+
+/**
+ * Append-only, replayable log of bulk notification messages.
+ *
+ * <p>
+ * Unlike a queue, reading does not remove records: a named subscription
+ * resumes after the last offset it stored, and any time window still within
+ * retention can be read again. Records are delivered in batches; a batch
+ * handler that returns normally stores the offset of the batch's last
+ * record, one that throws leaves it to be delivered again after a restart.
+ * </p>
+ */
+public interface NotificationLog {
+
+    /**
+     * Append a message; returns once the log has accepted it.
+     *
+     * @param message AMQP message (body and headers are kept)
+     * @throws org.springframework.amqp.AmqpException if the append failed
+     */
+    void append(Message message);
+
+    /**
+     * Consume from the offset stored under {@code name} (the start of the log
+     * for a new name), storing offsets as batches complete.
+     *
+     * @param name         consumer name
+     * @param batchSize    maximum records per batch
+     * @param batchTimeout how long a partial batch waits for more records
+     * @param handler      called with each batch, on a log-owned thread
+     * @return the running subscription
+     */
+    Subscription subscribe(String name, int batchSize, Duration batchTimeout, Consumer<List<LogRecord>> handler);
+
+    /**
+     * Read from a point in time without storing offsets, e.g. to reprocess a
+     * window. The first batch may start slightly before {@code from} (RabbitMQ
+     * resolves timestamps per chunk); callers filter on
+     * {@link LogRecord#timestamp()}.
+     *
+     * @param from         where to start
+     * @param batchSize    maximum records per batch
+     * @param batchTimeout how long a partial batch waits for more records
+     * @param handler      called with each batch, on a log-owned thread
+     * @return the running subscription
+     */
+    Subscription readFrom(Instant from, int batchSize, Duration batchTimeout, Consumer<List<LogRecord>> handler);
+
+    /** A running consumer of the log. */
+    interface Subscription extends AutoCloseable {
+
+        /** @return records appended but not yet handled (approximate) */
+        long lag();
+
+        /** Stop consuming; a batch in progress completes first. */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,251 @@
+package com.shovan.NotificationService.stream;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.rabbit.stream.support.StreamMessageProperties;
+import org.springframework.rabbit.stream.support.converter.DefaultStreamMessageConverter;
+
+import com.rabbitmq.stream.ConfirmationStatus;
+import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.MessageHandler;
+import com.rabbitmq.stream.OffsetSpecification;
+import com.rabbitmq.stream.Producer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link NotificationLog} on a RabbitMQ stream (stream protocol, port 5552;
+ * needs the rabbitmq_stream plugin).
+ *
+ * <p>
+ * The stream is created on first use with {@code maxAge} retention. Appends
+ * go through one producer, which batches frames on the wire; each append
+ * waits for its publish confirm, so a failure surfaces to the caller as it
+ * does with RabbitTemplate. Named subscriptions are single-active consumers
+ * with server-side offset tracking: across instances one consumer receives,
+ * the others take over from the stored offset if it goes away.
+ * </p>
+ * <p>
+ * Messages arrive one at a time on the client's dispatch thread and are
+ * grouped into batches here; a full batch is handled on that thread (which
+ * holds back credit, i.e. backpressure), a partial one by a timer after the
+ * batch timeout. The offset is stored after each handled batch.
+ * </p>
+ */
+@Slf4j
+public class RabbitNotificationLog implements NotificationLog, DisposableBean {
+
+    private final Environment environment;
+    private final String stream;
+    private final Duration maxAge;
+    private final Duration publishTimeout;
+    private final DefaultStreamMessageConverter converter = new DefaultStreamMessageConverter();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("stream-batch-timer").daemon().factory());
+
+    private volatile Producer producer;
+
+    /**
+     * @param environment    stream client environment (Boot's, from spring.rabbitmq.stream.*)
+     * @param stream         stream name
+     * @param maxAge         retention when the stream is created
+     * @param publishTimeout how long an append waits for its confirm
+     */
+    public RabbitNotificationLog(Environment environment, String stream, Duration maxAge, Duration publishTimeout) {
+        this.environment = environment;
+        this.stream = stream;
+        this.maxAge = maxAge;
+        this.publishTimeout = publishTimeout;
+    }
+
+    @Override
+    public void append(Message message) {
+        CompletableFuture<ConfirmationStatus> confirmed = new CompletableFuture<>();
+        producer().send(converter.fromMessage(message), confirmed::complete);
+        try {
+            ConfirmationStatus status = confirmed.get(publishTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!status.isConfirmed()) {
+                throw new AmqpException("Stream " + stream + " rejected message, code " + status.getCode());
+            }
+        } catch (TimeoutException e) {
+            throw new AmqpException("No publish confirm from stream " + stream + " within " + publishTimeout);
+        } catch (ExecutionException e) {
+            throw new AmqpException("Publish to stream " + stream + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted while publishing to stream " + stream);
+        }
+    }
+
+    @Override
+    public Subscription subscribe(String name, int batchSize, Duration batchTimeout,
+            Consumer<List<LogRecord>> handler) {
+        declare();
+        Batcher batcher = new Batcher(batchSize, batchTimeout, handler, true);
+        batcher.consumer = environment.consumerBuilder()
+                .stream(stream)
+                .name(name)
+                .singleActiveConsumer()
+                // Used only when nothing is stored under the name yet
+                .offset(OffsetSpecification.first())
+                .manualTrackingStrategy()
+                .builder()
+                .messageHandler(batcher)
+                .build();
+        return batcher;
+    }
+
+    @Override
+    public Subscription readFrom(Instant from, int batchSize, Duration batchTimeout,
+            Consumer<List<LogRecord>> handler) {
+        declare();
+        Batcher batcher = new Batcher(batchSize, batchTimeout, handler, false);
+        batcher.consumer = environment.consumerBuilder()
+                .stream(stream)
+                .offset(OffsetSpecification.timestamp(from.toEpochMilli()))
+                .noTrackingStrategy()
+                .messageHandler(batcher)
+                .build();
+        return batcher;
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        if (producer != null) {
+            producer.close();
+        }
+    }
+
+    private Producer producer() {
+        Producer current = producer;
+        if (current == null) {
+            synchronized (this) {
+                if (producer == null) {
+                    declare();
+                    producer = environment.producerBuilder().stream(stream).build();
+                }
+                current = producer;
+            }
+        }
+        return current;
+    }
+
+    private void declare() {
+        if (!environment.streamExists(stream)) {
+            environment.streamCreator().stream(stream).maxAge(maxAge).create();
+            log.info("Created stream {} (max age {})", stream, maxAge);
+        }
+    }
+
+    /** Groups delivered messages into batches and stores offsets after each. */
+    private final class Batcher implements MessageHandler, Subscription {
+
+        private final int batchSize;
+        private final Duration batchTimeout;
+        private final Consumer<List<LogRecord>> handler;
+        private final boolean track;
+        private volatile com.rabbitmq.stream.Consumer consumer;
+
+        /** Guarded by this. */
+        private List<LogRecord> batch = new ArrayList<>();
+        private Context last;
+        private ScheduledFuture<?> timeout;
+        private volatile long handledOffset = -1;
+        private volatile long committedChunkId = -1;
+        private volatile boolean closed;
+
+        Batcher(int batchSize, Duration batchTimeout, Consumer<List<LogRecord>> handler, boolean track) {
+            this.batchSize = batchSize;
+            this.batchTimeout = batchTimeout;
+            this.handler = handler;
+            this.track = track;
+        }
+
+        @Override
+        public synchronized void handle(Context context, com.rabbitmq.stream.Message message) {
+            if (closed) {
+                return;
+            }
+            batch.add(new LogRecord(context.offset(), context.timestamp(),
+                    converter.toMessage(message, new StreamMessageProperties(context))));
+            last = context;
+            committedChunkId = context.committedChunkId();
+            if (batch.size() >= batchSize) {
+                flush();
+            } else if (timeout == null) {
+                timeout = timer.schedule(this::flushTimedOut, batchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private synchronized void flushTimedOut() {
+            timeout = null;
+            if (!batch.isEmpty() && !closed) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (timeout != null) {
+                timeout.cancel(false);
+                timeout = null;
+            }
+            List<LogRecord> handled = batch;
+            batch = new ArrayList<>();
+            try {
+                handler.accept(handled);
+            } catch (RuntimeException ex) {
+                // Not stored: delivered again when the consumer restarts or fails over
+                log.error("Stream batch handler failed at offset {}; offset not stored",
+                        handled.get(0).offset(), ex);
+                return;
+            }
+            handledOffset = last.offset();
+            if (track) {
+                last.storeOffset();
+            }
+        }
+
+        @Override
+        public long lag() {
+            long handled = handledOffset;
+            if (handled < 0) {
+                try {
+                    return Math.max(0, environment.queryStreamStats(stream).committedChunkId() + 1);
+                } catch (RuntimeException ex) {
+                    // Stream empty or unreachable
+                    return 0;
+                }
+            }
+            // Chunk granularity: the tail chunk's records are not counted
+            return Math.max(0, committedChunkId - handled);
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                closed = true;
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+            }
+            if (consumer != null) {
+                consumer.close();
+            }
+        }
+    }
+}
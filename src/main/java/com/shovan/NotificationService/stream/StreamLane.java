@@ -0,0 +1,190 @@
+package com.shovan.NotificationService.stream;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.queue.NotificationListener;
+import com.shovan.NotificationService.queue.PoisonMessageRecoverer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consumes the bulk lane from the {@link NotificationLog} when
+ * notification.stream.enabled is set.
+ *
+ * <p>
+ * Records arrive in batches of up to {@code batch-size}; a batch is processed
+ * by {@code concurrency} workers through NotificationListener's pipeline, and
+ * its offset is stored once every record in it is done, so a crash replays at
+ * most one batch. A record that fails is retried in-thread like on the
+ * classic lanes (notification.dead-letter.listener-attempts and
+ * listener-backoff), then quarantined if unparseable or republished to the
+ * dead-letter queue: a stream cannot reject a single record.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.stream", name = "enabled", havingValue = "true")
+@Slf4j
+public class StreamLane implements SmartLifecycle {
+
+    /**
+     * Stops just after spring-rabbit's listener containers (Integer.MAX_VALUE),
+     * before the drain and the coalescer.
+     */
+    private static final int PHASE = Integer.MAX_VALUE - 100;
+
+    private final NotificationLog notificationLog;
+    private final StreamProperties properties;
+    private final NotificationListener notificationListener;
+    private final Jackson2JsonMessageConverter messageConverter;
+    private final MessageRecoverer recoverer;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final DistributionSummary batchSizes;
+
+    private ExecutorService workers;
+    private volatile NotificationLog.Subscription subscription;
+    private volatile boolean running;
+
+    public StreamLane(NotificationLog notificationLog,
+            StreamProperties properties,
+            NotificationListener notificationListener,
+            Jackson2JsonMessageConverter messageConverter,
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${notification.dead-letter.listener-attempts:3}") int maxAttempts,
+            @Value("${notification.dead-letter.listener-backoff:1s}") Duration backoff) {
+        this.notificationLog = notificationLog;
+        this.properties = properties;
+        this.notificationListener = notificationListener;
+        this.messageConverter = messageConverter;
+        this.recoverer = PoisonMessageRecoverer.republishing(rabbitTemplate);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.batchSizes = DistributionSummary.builder("notification.stream.batch.size")
+                .description("Records per batch consumed from the bulk stream")
+                .register(meterRegistry);
+        Gauge.builder("notification.stream.lag", this, StreamLane::lag)
+                .description("Records in the bulk stream not yet processed by this consumer")
+                .register(meterRegistry);
+    }
+
+    /** @return records not yet processed (approximate; 0 when stopped) */
+    public long lag() {
+        NotificationLog.Subscription current = subscription;
+        return current != null ? current.lag() : 0;
+    }
+
+    /**
+     * Process a batch: every record through the listener pipeline, in
+     * parallel, returning once all are done or recovered.
+     *
+     * @param batch records from the log
+     */
+    void process(List<LogRecord> batch) {
+        batchSizes.record(batch.size());
+        List<Future<?>> pending = new ArrayList<>(batch.size());
+        for (LogRecord record : batch) {
+            pending.add(workers.submit(() -> process(record.message())));
+        }
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // process(Message) recovers everything; only a failed recovery lands here
+                log.error("Stream record could not be processed or recovered", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing a stream batch", e);
+            }
+        }
+    }
+
+    /**
+     * Run one record through the listener with the lane's retry and recovery.
+     *
+     * @param message the record's message
+     */
+    public void process(Message message) {
+        RuntimeException failure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                Notification notification = (Notification) messageConverter.fromMessage(message);
+                notificationListener.handleStreamedNotification(notification, message);
+                return;
+            } catch (MessageConversionException | AmqpRejectAndDontRequeueException ex) {
+                // Poison or permanently failed: retrying cannot help
+                failure = ex;
+                break;
+            } catch (RuntimeException ex) {
+                failure = ex;
+                if (attempt < maxAttempts) {
+                    sleep(backoff);
+                }
+            }
+        }
+        recoverer.recover(message, failure);
+    }
+
+    @Override
+    public void start() {
+        workers = Executors.newFixedThreadPool(properties.concurrency(),
+                Thread.ofPlatform().name("stream-lane-", 0).factory());
+        subscription = notificationLog.subscribe(properties.consumer(), properties.batchSize(),
+                properties.batchTimeout(), this::process);
+        running = true;
+        log.info("Consuming bulk stream {} as {} (batch {}, concurrency {})", properties.name(),
+                properties.consumer(), properties.batchSize(), properties.concurrency());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (subscription != null) {
+            // Lets the batch in progress finish and store its offset
+            subscription.close();
+            subscription = null;
+        }
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
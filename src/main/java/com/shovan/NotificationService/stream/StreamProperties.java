@@ -0,0 +1,44 @@
+package com.shovan.NotificationService.stream;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Stream-backed bulk lane, bound from notification.stream.
+ *
+ * @param enabled            off by default (bulk traffic uses classic queues)
+ * @param backend            RABBIT for a RabbitMQ stream, LOCAL for the
+ *                           in-process stand-in (tests and development only)
+ * @param name               stream name
+ * @param consumer           consumer name under which offsets are stored;
+ *                           instances sharing it form one single-active
+ *                           consumer group
+ * @param batchSize          records handed to the lane at once; the offset is
+ *                           stored once per batch
+ * @param batchTimeout       a partial batch is processed after this long
+ * @param concurrency        records of a batch processed in parallel
+ * @param maxAge             retention: how far back a replay can reach
+ * @param publishTimeout     how long a publish waits for the broker's confirm
+ * @param replayIdleTimeout  a replay ends when no record arrived for this long
+ * @param localMaxRecords    retention of the LOCAL backend
+ */
+@ConfigurationProperties("notification.stream")
+public record StreamProperties(boolean enabled,
+        @DefaultValue("RABBIT") Backend backend,
+        @DefaultValue("notification.stream.bulk") String name,
+        @DefaultValue("notification-bulk") String consumer,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("200ms") Duration batchTimeout,
+        @DefaultValue("8") int concurrency,
+        @DefaultValue("7d") Duration maxAge,
+        @DefaultValue("5s") Duration publishTimeout,
+        @DefaultValue("5s") Duration replayIdleTimeout,
+        @DefaultValue("1000000") int localMaxRecords) {
+
+    /** Where the stream lives. */
+    public enum Backend {
+        RABBIT, LOCAL
+    }
+}
@@ -0,0 +1,196 @@
+package com.shovan.NotificationService.stream;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.shovan.NotificationService.dto.ReplayJobDTO;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.repository.NotificationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-reads a time window of the bulk stream and reprocesses it.
+ *
+ * <p>
+ * Reads from {@code from} without touching the lane's stored offset, and
+ * stops at the first record appended at or after {@code to}, or once no
+ * record arrived for notification.stream.replay-idle-timeout (the end of the
+ * stream). Records whose notification was already handed off to a provider
+ * are skipped, so a replay re-sends only what did not go out; everything else
+ * runs through the lane's pipeline again.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "notification.stream", name = "enabled", havingValue = "true")
+@Slf4j
+public class StreamReplayService {
+
+    /** Mutable progress of a running job. */
+    private static final class Job {
+        final String id;
+        final AtomicLong replayed = new AtomicLong();
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile LocalDateTime finishedAt;
+        volatile String state = "RUNNING";
+        volatile boolean done;
+        volatile boolean busy;
+        volatile long lastActivity = System.nanoTime();
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        ReplayJobDTO toDto() {
+            return ReplayJobDTO.builder()
+                    .jobId(id)
+                    .state(state)
+                    .replayed(replayed.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+
+    private final NotificationLog notificationLog;
+    private final StreamLane streamLane;
+    private final StreamProperties properties;
+    private final NotificationRepository notificationRepository;
+    private final Jackson2JsonMessageConverter messageConverter;
+    private final TaskExecutor taskExecutor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public StreamReplayService(NotificationLog notificationLog,
+            StreamLane streamLane,
+            StreamProperties properties,
+            NotificationRepository notificationRepository,
+            Jackson2JsonMessageConverter messageConverter,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor) {
+        this.notificationLog = notificationLog;
+        this.streamLane = streamLane;
+        this.properties = properties;
+        this.notificationRepository = notificationRepository;
+        this.messageConverter = messageConverter;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Start reprocessing the records appended in [from, to).
+     *
+     * @param from window start
+     * @param to   window end, exclusive; null for "until the end of the stream"
+     * @return the initial job status
+     */
+    public ReplayJobDTO startReplay(LocalDateTime from, LocalDateTime to) {
+        Job job = new Job(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        taskExecutor.execute(() -> run(job, toEpochMillis(from), to != null ? toEpochMillis(to) : Long.MAX_VALUE));
+        return job.toDto();
+    }
+
+    /**
+     * @param jobId the job identifier
+     * @return the job status, if known
+     */
+    public Optional<ReplayJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDto);
+    }
+
+    /**
+     * Ask a running job to stop after the current batch.
+     *
+     * @param jobId the job identifier
+     * @return the job status, if known
+     */
+    public Optional<ReplayJobDTO> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.state = "CANCELLED";
+        job.done = true;
+        return Optional.of(job.toDto());
+    }
+
+    private void run(Job job, long from, long to) {
+        log.info("Stream replay {} started [stream={}, from={}, to={}]", job.id, properties.name(),
+                Instant.ofEpochMilli(from), to == Long.MAX_VALUE ? "end" : Instant.ofEpochMilli(to));
+        long idleNanos = properties.replayIdleTimeout().toNanos();
+        try (NotificationLog.Subscription reader = notificationLog.readFrom(Instant.ofEpochMilli(from),
+                properties.batchSize(), properties.batchTimeout(), batch -> replay(job, batch, from, to))) {
+            while (!job.done && (job.busy || System.nanoTime() - job.lastActivity < idleNanos)) {
+                Thread.sleep(100);
+            }
+            if (!job.done) {
+                job.state = "COMPLETED";
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.state = "FAILED";
+        } catch (RuntimeException ex) {
+            log.error("Stream replay {} failed after {} notifications", job.id, job.replayed.get(), ex);
+            job.state = "FAILED";
+        } finally {
+            job.done = true;
+            job.finishedAt = LocalDateTime.now();
+            log.info("Stream replay {} {} [replayed={}]", job.id, job.state, job.replayed.get());
+        }
+    }
+
+    private void replay(Job job, List<LogRecord> batch, long from, long to) {
+        job.busy = true;
+        try {
+            for (LogRecord record : batch) {
+                if (job.done) {
+                    return;
+                }
+                if (record.timestamp() >= to) {
+                    job.state = "COMPLETED";
+                    job.done = true;
+                    return;
+                }
+                // Timestamps resolve per chunk, so the first chunk may start early
+                if (record.timestamp() < from || alreadySent(record)) {
+                    continue;
+                }
+                streamLane.process(record.message());
+                job.replayed.incrementAndGet();
+            }
+        } finally {
+            job.lastActivity = System.nanoTime();
+            job.busy = false;
+        }
+    }
+
+    /** @return true if the record needs no reprocessing */
+    private boolean alreadySent(LogRecord record) {
+        try {
+            Notification notification = (Notification) messageConverter.fromMessage(record.message());
+            return notificationRepository.findById(notification.getId())
+                    .map(current -> current.getStatus().handedOff())
+                    .orElse(false);
+        } catch (RuntimeException ex) {
+            // Unparseable: the lane quarantined it the first time round
+            return true;
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
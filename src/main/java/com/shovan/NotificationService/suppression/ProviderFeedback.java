@@ -0,0 +1,105 @@
+package com.shovan.NotificationService.suppression;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.springframework.mail.MailSendException;
+
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.shovan.NotificationService.enums.SuppressionReason;
+import com.twilio.exception.ApiException;
+
+/**
+ * Recognizes provider errors that say the recipient itself is undeliverable,
+ * as opposed to the provider being down or the request being wrong.
+ *
+ * <p>
+ * Looks through the whole exception: causes, suppressed exceptions, and the
+ * per-message exceptions Spring's MailSendException carries outside the cause
+ * chain. Recognized: FCM UNREGISTERED (dead device token); Twilio 21610
+ * (recipient replied STOP), 21211 (invalid number) and 21614 (not a mobile
+ * number), plus 30005 and 30006 from delivery receipts; SMTP 550, 551 and
+ * 553 on RCPT (no such mailbox).
+ * </p>
+ */
+public final class ProviderFeedback {
+
+    /** Twilio: the recipient unsubscribed by replying STOP. */
+    static final int TWILIO_UNSUBSCRIBED = 21610;
+    /** Twilio: the 'To' number is not a valid phone number. */
+    static final int TWILIO_INVALID_NUMBER = 21211;
+    /** Twilio: the 'To' number is not a mobile number. */
+    static final int TWILIO_NOT_MOBILE = 21614;
+    /** Twilio delivery receipt: unknown destination handset. */
+    static final int TWILIO_UNKNOWN_HANDSET = 30005;
+    /** Twilio delivery receipt: landline or unreachable carrier. */
+    static final int TWILIO_LANDLINE = 30006;
+
+    private ProviderFeedback() {
+    }
+
+    /**
+     * @param failure a send failure, as thrown by the notifier chain
+     * @return why the recipient should be suppressed, or null if the failure
+     *         says nothing about the recipient
+     */
+    public static SuppressionReason classify(Throwable failure) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Throwable> pending = new ArrayDeque<>();
+        pending.add(failure);
+        while (!pending.isEmpty()) {
+            Throwable ex = pending.poll();
+            if (!seen.add(ex)) {
+                continue;
+            }
+            SuppressionReason reason = reasonOf(ex);
+            if (reason != null) {
+                return reason;
+            }
+            if (ex.getCause() != null) {
+                pending.add(ex.getCause());
+            }
+            Collections.addAll(pending, ex.getSuppressed());
+            if (ex instanceof MailSendException mail) {
+                Collections.addAll(pending, mail.getMessageExceptions());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param code a Twilio error code, from an API error or a status callback
+     * @return why the recipient should be suppressed, or null if the code
+     *         says nothing permanent about the recipient
+     */
+    public static SuppressionReason twilioError(int code) {
+        return switch (code) {
+            case TWILIO_UNSUBSCRIBED -> SuppressionReason.UNSUBSCRIBED;
+            case TWILIO_INVALID_NUMBER, TWILIO_NOT_MOBILE, TWILIO_UNKNOWN_HANDSET, TWILIO_LANDLINE ->
+                SuppressionReason.INVALID_RECIPIENT;
+            default -> null;
+        };
+    }
+
+    private static SuppressionReason reasonOf(Throwable ex) {
+        if (ex instanceof FirebaseMessagingException fcm
+                && fcm.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
+            return SuppressionReason.INVALID_RECIPIENT;
+        }
+        if (ex instanceof ApiException twilio && twilio.getCode() != null) {
+            return twilioError(twilio.getCode());
+        }
+        if (ex instanceof SMTPAddressFailedException smtp) {
+            return switch (smtp.getReturnCode()) {
+                case 550, 551, 553 -> SuppressionReason.BOUNCE;
+                default -> null;
+            };
+        }
+        return null;
+    }
+}
@@ -0,0 +1,260 @@
+package com.shovan.NotificationService.suppression;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.entity.Suppression;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.SuppressionReason;
+import com.shovan.NotificationService.repository.SuppressionRepository;
+import com.shovan.NotificationService.util.BloomFilter;
+import com.shovan.NotificationService.util.Recipients;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Addresses that must not be sent to, checked before rendering.
+ *
+ * <p>
+ * The notification_suppression table is the source of truth; every instance
+ * keeps a Bloom filter of it in memory. An address the filter has never seen
+ * (the common case) is cleared without I/O; a filter hit is confirmed by an
+ * indexed lookup, so a false positive costs one query but never suppresses a
+ * clean address. Rows added by other instances are folded in by id every
+ * refreshInterval, and the filter is rebuilt every rebuildInterval, which
+ * drops removed addresses and resizes it as the table grows.
+ * </p>
+ * <p>
+ * Besides operators, the list is fed by the listener: a send failure that
+ * ProviderFeedback recognizes (bounced mailbox, STOP reply, dead device
+ * token) adds the recipient. An address added on another instance can still
+ * be sent to until the next refresh.
+ * </p>
+ * <p>
+ * Meters: notification.suppression.hits{channel},
+ * notification.suppression.false.positives,
+ * notification.suppression.added{reason} and
+ * notification.suppression.entries (gauge, keys in the filter).
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.suppression", name = "enabled", havingValue = "true")
+@Slf4j
+public class SuppressionList {
+
+    private static final int LOAD_BATCH = 10_000;
+
+    private final SuppressionRepository repository;
+    private final SuppressionProperties properties;
+    private final ObjectMapper objectMapper;
+    /** Writes commit on their own, so a duplicate key never dooms the caller's transaction. */
+    private final TransactionTemplate ownTransaction;
+    private final Map<Channel, Counter> hits = new EnumMap<>(Channel.class);
+    private final Map<SuppressionReason, Counter> added = new EnumMap<>(SuppressionReason.class);
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    /** Highest id folded into the filter; guarded by this. */
+    private long watermark;
+
+    public SuppressionList(SuppressionRepository repository,
+            SuppressionProperties properties,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.filter = BloomFilter.create(properties.expectedEntries(), properties.falsePositiveRate());
+        for (Channel channel : Channel.values()) {
+            hits.put(channel, Counter.builder("notification.suppression.hits")
+                    .description("Notifications not sent because the recipient is suppressed")
+                    .tag("channel", channel.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        for (SuppressionReason reason : SuppressionReason.values()) {
+            added.put(reason, Counter.builder("notification.suppression.added")
+                    .description("Addresses added to the suppression list")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.falsePositives = Counter.builder("notification.suppression.false.positives")
+                .description("Filter hits the database check cleared")
+                .register(meterRegistry);
+        Gauge.builder("notification.suppression.entries", this, list -> list.filter.count())
+                .description("Addresses in the in-memory suppression filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build a fresh filter from the whole table and swap it in. Sized for
+     * twice the current table (at least expectedEntries), so it keeps its
+     * false positive rate until the next rebuild.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${notification.suppression.rebuild-interval:1h}",
+            initialDelayString = "${notification.suppression.rebuild-interval:1h}")
+    public synchronized void rebuild() {
+        BloomFilter rebuilt = BloomFilter.create(Math.max(properties.expectedEntries(), 2 * repository.count()),
+                properties.falsePositiveRate());
+        long loadedTo = load(rebuilt, 0);
+        filter = rebuilt;
+        watermark = loadedTo;
+        log.info("Suppression filter rebuilt: {} addresses, {} KiB, {} hashes", rebuilt.count(),
+                rebuilt.bitSize() / 8 / 1024, rebuilt.hashCount());
+    }
+
+    /** Fold in the rows added since the last refresh, by any instance. */
+    @Scheduled(fixedDelayString = "${notification.suppression.refresh-interval:10s}",
+            initialDelayString = "${notification.suppression.refresh-interval:10s}")
+    public synchronized void refresh() {
+        watermark = load(filter, watermark);
+    }
+
+    /**
+     * @param notification a notification about to be rendered
+     * @return whether its recipient is suppressed on its channel
+     */
+    public boolean isSuppressed(Notification notification) {
+        String address = Recipients.of(notification, objectMapper);
+        if (address == null) {
+            return false;
+        }
+        boolean suppressed = isSuppressed(notification.getChannel(), address);
+        if (suppressed) {
+            hits.get(notification.getChannel()).increment();
+        }
+        return suppressed;
+    }
+
+    /**
+     * @param channel the channel
+     * @param address the address, normalized as by Recipients
+     * @return whether it is suppressed; the database is read only on a filter
+     *         hit
+     */
+    public boolean isSuppressed(Channel channel, String address) {
+        if (!filter.mightContain(key(channel, address))) {
+            return false;
+        }
+        boolean suppressed = repository.existsByChannelAndAddress(channel, address);
+        if (!suppressed) {
+            falsePositives.increment();
+        }
+        return suppressed;
+    }
+
+    /**
+     * Add an address, effective on this instance at once and on the others
+     * at their next refresh.
+     *
+     * @param channel the channel
+     * @param address the address; emails are lower-cased
+     * @param reason  why
+     * @param detail  provider error class or operator note; may be null
+     * @return false if it was already suppressed
+     */
+    public boolean suppress(Channel channel, String address, SuppressionReason reason, String detail) {
+        String normalized = Recipients.normalize(channel, address);
+        boolean inserted;
+        try {
+            inserted = Boolean.TRUE.equals(ownTransaction.execute(status -> {
+                if (repository.existsByChannelAndAddress(channel, normalized)) {
+                    return false;
+                }
+                repository.save(Suppression.builder()
+                        .channel(channel)
+                        .address(normalized)
+                        .reason(reason)
+                        .detail(detail)
+                        .build());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance added it first
+            inserted = false;
+        }
+        filter.put(key(channel, normalized));
+        if (inserted) {
+            added.get(reason).increment();
+            log.info("Suppressed {} recipient ({}{})", channel, reason, detail != null ? ", " + detail : "");
+        }
+        return inserted;
+    }
+
+    /**
+     * Remove an address, e.g. after the recipient opted back in. The filter
+     * keeps its bits until the next rebuild; the database check clears it
+     * meanwhile.
+     *
+     * @param channel the channel
+     * @param address the address; emails are lower-cased
+     * @return false if it was not suppressed
+     */
+    public boolean remove(Channel channel, String address) {
+        String normalized = Recipients.normalize(channel, address);
+        Integer deleted = ownTransaction.execute(
+                status -> repository.deleteByChannelAndAddress(channel, normalized));
+        return deleted != null && deleted > 0;
+    }
+
+    /**
+     * Suppress the recipient of a failed notification if the failure says the
+     * recipient is undeliverable (see ProviderFeedback). Never throws: the
+     * listener's outcome does not depend on it.
+     *
+     * @param notification the failed notification
+     * @param failure      the failure from the notifier chain
+     */
+    public void recordFailure(Notification notification, Throwable failure) {
+        SuppressionReason reason = ProviderFeedback.classify(failure);
+        if (reason == null) {
+            return;
+        }
+        String address = Recipients.of(notification, objectMapper);
+        if (address == null) {
+            return;
+        }
+        try {
+            suppress(notification.getChannel(), address, reason, notification.getLastErrorClass());
+        } catch (RuntimeException ex) {
+            log.warn("Could not suppress the recipient of notification id={}: {}", notification.getId(),
+                    ex.toString());
+        }
+    }
+
+    private long load(BloomFilter target, long after) {
+        long last = after;
+        List<Suppression> page;
+        do {
+            page = repository.findByIdGreaterThanOrderByIdAsc(last, Limit.of(LOAD_BATCH));
+            for (Suppression suppression : page) {
+                target.put(key(suppression.getChannel(), suppression.getAddress()));
+                last = suppression.getId();
+            }
+        } while (page.size() == LOAD_BATCH);
+        return last;
+    }
+
+    private static long key(Channel channel, String address) {
+        return BloomFilter.hash(channel.ordinal(), address);
+    }
+}
@@ -0,0 +1,28 @@
+package com.shovan.NotificationService.suppression;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Suppression list and its in-memory prefilter, bound from
+ * notification.suppression.
+ *
+ * @param enabled           off by default
+ * @param expectedEntries   minimum number of addresses the filter is sized
+ *                          for; a rebuild sizes it for twice the table
+ * @param falsePositiveRate share of clean addresses that still need the
+ *                          exact database check
+ * @param refreshInterval   how often addresses added by other instances are
+ *                          folded into the filter
+ * @param rebuildInterval   how often the filter is rebuilt from scratch,
+ *                          dropping removed addresses and resizing
+ */
+@ConfigurationProperties("notification.suppression")
+public record SuppressionProperties(boolean enabled,
+        @DefaultValue("1000000") long expectedEntries,
+        @DefaultValue("0.001") double falsePositiveRate,
+        @DefaultValue("10s") Duration refreshInterval,
+        @DefaultValue("1h") Duration rebuildInterval) {
+}
@@ -0,0 +1,56 @@
+package com.shovan.NotificationService.tenant;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+
+/**
+ * The bounded set of tenants that meters and quotas are kept for.
+ *
+ * <p>
+ * Tenant ids come from the X-Client-Id header, so anything a caller sends
+ * would otherwise become a new meter series and a new RateLimiter, kept for
+ * the life of the process. {@link #bucket} maps a tenant id to itself when
+ * it is known (notification.tenants.known, a "client-&lt;id&gt;" rate limiter
+ * instance, or the default tenant) and to {@link #OTHER} otherwise. Stored
+ * rows, routing and status lookups still use the tenant id itself.
+ * </p>
+ */
+@Component
+public class KnownTenants {
+
+    /** Bucket of every tenant id that is not known. */
+    public static final String OTHER = "other";
+
+    private static final String QUOTA_PREFIX = "client-";
+
+    private final Set<String> known = new HashSet<>();
+
+    /**
+     * @param properties  the configured tenants
+     * @param rateLimiters registry holding the configured "client-&lt;id&gt;"
+     *                     instances; read once, before any request creates more
+     */
+    public KnownTenants(TenantProperties properties, RateLimiterRegistry rateLimiters) {
+        known.add(Tenants.DEFAULT_TENANT);
+        known.addAll(properties.known());
+        for (RateLimiter limiter : rateLimiters.getAllRateLimiters()) {
+            if (limiter.getName().startsWith(QUOTA_PREFIX)) {
+                known.add(limiter.getName().substring(QUOTA_PREFIX.length()));
+            }
+        }
+    }
+
+    /**
+     * @param tenantId a tenant id, null for the default tenant
+     * @return the tenant id if it is known, {@link #OTHER} otherwise
+     */
+    public String bucket(String tenantId) {
+        String tenant = Tenants.orDefault(tenantId);
+        return known.contains(tenant) ? tenant : OTHER;
+    }
+}
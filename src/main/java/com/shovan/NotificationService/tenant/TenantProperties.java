@@ -0,0 +1,18 @@
+package com.shovan.NotificationService.tenant;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Tenants known to this deployment, bound from notification.tenants.
+ *
+ * @param known tenant ids that get their own meter tags and ingestion quota;
+ *              tenants with a "client-&lt;id&gt;" rate limiter instance are
+ *              known as well. Any other client id is counted, and limited,
+ *              as {@link KnownTenants#OTHER}
+ */
+@ConfigurationProperties("notification.tenants")
+public record TenantProperties(@DefaultValue List<String> known) {
+}
@@ -0,0 +1,114 @@
+package com.shovan.NotificationService.tenant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.util.ConsistentHash;
+
+/**
+ * Splits the bulk lane into per-tenant sub-queues so one tenant's campaign
+ * cannot starve the others.
+ *
+ * <p>
+ * Each tenant is mapped to one of {@code notification.fairness.shards} queues
+ * with jump consistent hashing (adding a shard moves only ~1/n of the
+ * tenants). The bulk listener consumes all shard queues with prefetch 1 per
+ * queue, so every consumer holds at most one message per shard and the broker
+ * hands it work round-robin across the non-empty shards: a tenant with a
+ * million queued messages gets one shard's share of the consumers, and a small
+ * tenant on another shard waits at most one message per busy shard.
+ * </p>
+ * <p>
+ * Fairness is therefore per shard, not per tenant: tenants that hash to the
+ * same shard share its queue FIFO, so a small tenant colliding with a
+ * campaign waits behind the campaign's whole backlog. Roughly 1/shards of the
+ * tenants collide with any given campaign; raise the shard count, or give the
+ * campaign tenant a separate deployment, where that matters.
+ * </p>
+ * <p>
+ * Hashing happens here rather than in a RabbitMQ consistent-hash exchange, so
+ * no broker plugin is needed. With zero shards everything goes to the single
+ * bulk queue as before; that queue is always consumed so backlog published
+ * before sharding was enabled still drains.
+ * </p>
+ */
+@Component
+public class TenantShards {
+
+    private final int shards;
+
+    public TenantShards(@Value("${notification.fairness.shards:8}") int shards) {
+        if (shards < 0) {
+            throw new IllegalArgumentException("notification.fairness.shards must be >= 0");
+        }
+        this.shards = shards;
+    }
+
+    /** @return the number of shard queues (0 when fairness is disabled) */
+    public int count() {
+        return shards;
+    }
+
+    /**
+     * @param tenantId the tenant, null for the default tenant
+     * @return the shard the tenant's bulk traffic goes to, or -1 when disabled
+     */
+    public int shardOf(String tenantId) {
+        if (shards == 0) {
+            return -1;
+        }
+        return ConsistentHash.bucket(Tenants.orDefault(tenantId), shards);
+    }
+
+    /**
+     * @param tenantId the tenant, null for the default tenant
+     * @return the routing key for the tenant's bulk (non-HIGH) notifications
+     */
+    public String routingKey(String tenantId) {
+        int shard = shardOf(tenantId);
+        return shard < 0 ? RabbitMQConfig.ROUTING_KEY : RabbitMQConfig.TENANT_SHARD_ROUTING_KEY_PREFIX + shard;
+    }
+
+    /**
+     * Queues consumed by the bulk listener: the shard queues plus the plain
+     * bulk queue.
+     *
+     * @return queue names, for {@code @RabbitListener(queues = ...)}
+     */
+    public String[] bulkQueues() {
+        String[] queues = new String[shards + 1];
+        for (int i = 0; i < shards; i++) {
+            queues[i] = RabbitMQConfig.TENANT_SHARD_QUEUE_PREFIX + i;
+        }
+        queues[shards] = RabbitMQConfig.QUEUE;
+        return queues;
+    }
+
+    /**
+     * Shard queues and their bindings to the notification exchange,
+     * dead-lettered like the bulk queue.
+     *
+     * @return the declarables for RabbitAdmin
+     */
+    public Declarables declarables() {
+        List<Declarable> declarables = new ArrayList<>(shards * 2);
+        for (int i = 0; i < shards; i++) {
+            String queue = RabbitMQConfig.TENANT_SHARD_QUEUE_PREFIX + i;
+            declarables.add(QueueBuilder.durable(queue)
+                    .deadLetterExchange(RabbitMQConfig.DEAD_LETTER_EXCHANGE)
+                    .deadLetterRoutingKey(RabbitMQConfig.DEAD_LETTER_ROUTING_KEY)
+                    .build());
+            declarables.add(new Binding(queue, Binding.DestinationType.QUEUE, RabbitMQConfig.EXCHANGE,
+                    RabbitMQConfig.TENANT_SHARD_ROUTING_KEY_PREFIX + i, null));
+        }
+        return new Declarables(declarables);
+    }
+}
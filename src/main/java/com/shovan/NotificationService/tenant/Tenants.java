@@ -0,0 +1,54 @@
+package com.shovan.NotificationService.tenant;
+
+import com.shovan.NotificationService.exception.InvalidTenantException;
+
+/**
+ * Tenant identity of a notification: the API client it was accepted for.
+ *
+ * <p>
+ * The X-Client-Id header wins over a tenantId in the request body; requests
+ * with neither belong to {@link #DEFAULT_TENANT}. The header is not
+ * authenticated by this service: it identifies the caller for quotas, routing
+ * and status lookups, but any caller can send any value, and so spend another
+ * tenant's quota. Deploy behind a gateway that authenticates clients and sets
+ * the header itself. Meters and quotas are kept per
+ * {@link KnownTenants#bucket bucket}, so unknown ids cannot grow them.
+ * </p>
+ */
+public final class Tenants {
+
+    /** Tenant of requests that carry no client id. */
+    public static final String DEFAULT_TENANT = "default";
+
+    /** Allowed tenant ids (also enforced on NotificationRequestDTO.tenantId). */
+    public static final String PATTERN = "[A-Za-z0-9._-]{1,64}";
+
+    private Tenants() {
+    }
+
+    /**
+     * Resolve the tenant of a request.
+     *
+     * @param clientId  the X-Client-Id header, may be null or blank
+     * @param requested tenantId from the request body, may be null or blank
+     * @return the tenant id to store, quota and route by
+     * @throws InvalidTenantException if the resolved id is not a valid tenant id
+     */
+    public static String resolve(String clientId, String requested) {
+        String tenant = clientId != null && !clientId.isBlank() ? clientId.trim()
+                : requested != null && !requested.isBlank() ? requested.trim()
+                : DEFAULT_TENANT;
+        if (!tenant.matches(PATTERN)) {
+            throw new InvalidTenantException(tenant);
+        }
+        return tenant;
+    }
+
+    /**
+     * @param tenantId stored tenant id, null for rows created before tenants
+     * @return the tenant id, or {@link #DEFAULT_TENANT}
+     */
+    public static String orDefault(String tenantId) {
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+}
@@ -0,0 +1,188 @@
+package com.shovan.NotificationService.tracing;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.tenant.Tenants;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records per-stage delivery latency as Micrometer timers with percentiles.
+ *
+ * <p>
+ * Meters:
+ * <ul>
+ * <li>notification.stage{stage,channel,priority} – stage is one of
+ * <i>ingest</i> (accepted → enqueued), <i>queue</i> (enqueued → dequeued),
+ * <i>render</i>, <i>send</i> (provider call including retries) and
+ * <i>persist</i> (sent → status update committed)</li>
+ * <li>notification.delivery{channel,priority,status} – accepted →
+ * committed. Not tagged by tenant: each series is a percentile histogram,
+ * and tenant ids come from a request header. Per-tenant outcomes are counted
+ * by notification.sent{tenant}, and every summary line carries the tenant.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Each processed message also gets exactly one summary line on the
+ * "notification.delivery" logger, with its trace id and stage breakdown:
+ * failed and slow (notification.tracing.slow-threshold) deliveries at WARN,
+ * always; successful ones at INFO for a random
+ * notification.logging.success-sample-rate fraction of messages.
+ * </p>
+ */
+@Component
+public class DeliveryMetrics {
+
+    private static final Logger deliveryLog = LoggerFactory.getLogger("notification.delivery");
+
+    private static final String SUMMARY = "{} id={} tenant={} channel={} priority={} status={} attempts={} error={} "
+            + "traceId={} total={}ms ingest={}ms queue={}ms render={}ms send={}ms persist={}ms";
+
+    private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdMillis;
+    private final double successSampleRate;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public DeliveryMetrics(MeterRegistry meterRegistry,
+            @Value("${notification.tracing.slow-threshold:30s}") Duration slowThreshold,
+            @Value("${notification.logging.success-sample-rate:0.01}") double successSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.successSampleRate = successSampleRate;
+    }
+
+    /**
+     * Start the consumer-side timeline; call as soon as a message is dequeued.
+     *
+     * @param trace trace context read from the message headers
+     * @return the timeline to mark as the notification progresses
+     */
+    public DeliveryTimeline start(DeliveryTrace trace) {
+        return new DeliveryTimeline(trace);
+    }
+
+    /**
+     * Record all stages once the status update is durable: after the current
+     * transaction commits, or immediately if there is none. A rolled-back
+     * save records nothing; the message is redelivered and recorded then.
+     *
+     * @param timeline     the marked timeline
+     * @param notification the processed notification (final status)
+     */
+    public void complete(DeliveryTimeline timeline, Notification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        record(timeline, notification, System.nanoTime());
+                    }
+                }
+            });
+        } else {
+            record(timeline, notification, System.nanoTime());
+        }
+    }
+
+    private void record(DeliveryTimeline timeline, Notification notification, long persistedNanos) {
+        DeliveryTrace trace = timeline.trace();
+        String channel = notification.getChannel().name().toLowerCase();
+        String priority = notification.getPriority() != null
+                ? notification.getPriority().name().toLowerCase()
+                : "normal";
+
+        long ingest = trace.acceptedAt() > 0 && trace.enqueuedAt() > 0
+                ? Math.max(0, trace.enqueuedAt() - trace.acceptedAt())
+                : -1;
+        long queue = trace.enqueuedAt() > 0
+                ? Math.max(0, timeline.dequeuedAtMillis() - trace.enqueuedAt())
+                : -1;
+        long render = timeline.renderedNanos() > 0
+                ? nanosToMillis(timeline.renderedNanos() - timeline.dequeuedNanos())
+                : -1;
+        long send = timeline.sentNanos() > 0 && timeline.renderedNanos() > 0
+                ? nanosToMillis(timeline.sentNanos() - timeline.renderedNanos())
+                : -1;
+        long lastMark = Math.max(timeline.dequeuedNanos(), Math.max(timeline.renderedNanos(), timeline.sentNanos()));
+        long persist = nanosToMillis(persistedNanos - lastMark);
+
+        stage("ingest", channel, priority, ingest);
+        stage("queue", channel, priority, queue);
+        stage("render", channel, priority, render);
+        stage("send", channel, priority, send);
+        stage("persist", channel, priority, persist);
+
+        String status = notification.getStatus().name().toLowerCase();
+        String tenant = Tenants.orDefault(notification.getTenantId());
+        long total = -1;
+        if (trace.acceptedAt() > 0) {
+            total = Math.max(0, timeline.dequeuedAtMillis() - trace.acceptedAt())
+                    + nanosToMillis(persistedNanos - timeline.dequeuedNanos());
+            timer("notification.delivery", "Time from acceptance to committed delivery status",
+                    "channel", channel, "priority", priority, "status", status)
+                    .record(total, TimeUnit.MILLISECONDS);
+        }
+
+        String outcome;
+        if (notification.getStatus() == NotificationStatus.FAILED) {
+            outcome = "failed";
+        } else if (total >= slowThresholdMillis) {
+            outcome = "slow";
+        } else {
+            if (deliveryLog.isInfoEnabled() && sampled()) {
+                deliveryLog.info(SUMMARY, "delivered", notification.getId(), tenant, channel, priority, status,
+                        notification.getAttempts(), "-", trace.traceId(), total, ingest, queue, render, send,
+                        persist);
+            }
+            return;
+        }
+        String error = notification.getLastErrorClass() != null ? notification.getLastErrorClass() : "-";
+        deliveryLog.warn(SUMMARY, outcome, notification.getId(), tenant, channel, priority, status,
+                notification.getAttempts(), error, trace.traceId(), total, ingest, queue, render, send, persist);
+    }
+
+    private boolean sampled() {
+        return successSampleRate >= 1
+                || (successSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < successSampleRate);
+    }
+
+    private void stage(String stage, String channel, String priority, long millis) {
+        if (millis < 0) {
+            return;
+        }
+        timer("notification.stage", "Time spent in each delivery stage",
+                "stage", stage, "channel", channel, "priority", priority)
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return timers.computeIfAbsent(name + String.join(":", tags), key -> Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(meterRegistry));
+    }
+
+    private static long nanosToMillis(long nanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+}
@@ -0,0 +1,63 @@
+package com.shovan.NotificationService.tracing;
+
+/**
+ * Stage marks for one notification on the consumer side.
+ *
+ * <p>
+ * Created when the message is dequeued; the listener marks rendered and sent,
+ * and {@link DeliveryMetrics#complete} marks persisted once the status update
+ * commits. Not thread-safe: owned by the listener thread.
+ * </p>
+ */
+public class DeliveryTimeline {
+
+    private final DeliveryTrace trace;
+    private final long dequeuedAtMillis;
+    private final long dequeuedNanos;
+    private long renderedNanos;
+    private long sentNanos;
+
+    DeliveryTimeline(DeliveryTrace trace) {
+        this.trace = trace;
+        this.dequeuedAtMillis = System.currentTimeMillis();
+        this.dequeuedNanos = System.nanoTime();
+    }
+
+    /** Template rendering finished. */
+    public void rendered() {
+        renderedNanos = System.nanoTime();
+    }
+
+    /**
+     * The provider call (including retries) returned or gave up. Ignored if
+     * rendering never finished, i.e. no send was attempted.
+     */
+    public void sent() {
+        if (renderedNanos > 0) {
+            sentNanos = System.nanoTime();
+        }
+    }
+
+    /** @return the trace context read from the message */
+    public DeliveryTrace trace() {
+        return trace;
+    }
+
+    long dequeuedAtMillis() {
+        return dequeuedAtMillis;
+    }
+
+    long dequeuedNanos() {
+        return dequeuedNanos;
+    }
+
+    /** @return rendered mark, or 0 if rendering failed */
+    long renderedNanos() {
+        return renderedNanos;
+    }
+
+    /** @return sent mark, or 0 if sending never started */
+    long sentNanos() {
+        return sentNanos;
+    }
+}
@@ -0,0 +1,110 @@
+package com.shovan.NotificationService.tracing;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.amqp.core.MessageProperties;
+
+import com.shovan.NotificationService.entity.Notification;
+
+/**
+ * Trace context carried in RabbitMQ headers from publisher to listener.
+ *
+ * <p>
+ * Wall-clock timestamps (epoch millis) because the two ends may run on
+ * different instances; in-process stages are timed by {@link DeliveryTimeline}.
+ * A value of 0 means unknown (e.g. a message published by an older version).
+ * </p>
+ *
+ * @param traceId    id shared by all log lines and the slow-delivery report
+ *                   of one notification
+ * @param acceptedAt when delivery was requested: creation time, or sendAt for
+ *                   scheduled notifications, or replay time
+ * @param enqueuedAt when the message was published
+ */
+public record DeliveryTrace(String traceId, long acceptedAt, long enqueuedAt) {
+
+    public static final String TRACE_ID_HEADER = "x-trace-id";
+    public static final String ACCEPTED_AT_HEADER = "x-accepted-at";
+    public static final String ENQUEUED_AT_HEADER = "x-enqueued-at";
+
+    /** MDC key holding the trace id while a notification is processed. */
+    public static final String MDC_KEY = "traceId";
+
+    private static final String UNKNOWN = "-";
+
+    /**
+     * New trace for a notification about to be published.
+     *
+     * @param notification the persisted notification
+     * @param acceptedAt   when delivery was requested; null to derive it from
+     *                     sendAt or createdAt
+     * @return the trace, stamped enqueued now
+     */
+    public static DeliveryTrace forPublish(Notification notification, Instant acceptedAt) {
+        return new DeliveryTrace(newTraceId(), epochMillis(notification, acceptedAt), System.currentTimeMillis());
+    }
+
+    /**
+     * New trace for a notification claimed from the Postgres queue, which
+     * carries no headers: it was enqueued when it last became PENDING.
+     *
+     * @param notification the claimed notification
+     * @return the trace
+     */
+    public static DeliveryTrace forClaim(Notification notification) {
+        long enqueuedAt = notification.getUpdatedAt() != null
+                ? notification.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+        return new DeliveryTrace(newTraceId(), epochMillis(notification, null), enqueuedAt);
+    }
+
+    /**
+     * Read the trace from consumed message headers.
+     *
+     * @param properties the message properties
+     * @return the trace; missing values are unknown
+     */
+    public static DeliveryTrace from(MessageProperties properties) {
+        Object traceId = properties.getHeader(TRACE_ID_HEADER);
+        return new DeliveryTrace(
+                traceId != null ? traceId.toString() : UNKNOWN,
+                longHeader(properties, ACCEPTED_AT_HEADER),
+                longHeader(properties, ENQUEUED_AT_HEADER));
+    }
+
+    /**
+     * Write the trace into outgoing message headers.
+     *
+     * @param properties the message properties
+     */
+    public void writeTo(MessageProperties properties) {
+        properties.setHeader(TRACE_ID_HEADER, traceId);
+        properties.setHeader(ACCEPTED_AT_HEADER, acceptedAt);
+        properties.setHeader(ENQUEUED_AT_HEADER, enqueuedAt);
+    }
+
+    private static long epochMillis(Notification notification, Instant acceptedAt) {
+        if (acceptedAt != null) {
+            return acceptedAt.toEpochMilli();
+        }
+        if (notification.getSendAt() != null) {
+            return notification.getSendAt().toEpochMilli();
+        }
+        if (notification.getCreatedAt() != null) {
+            return notification.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return System.currentTimeMillis();
+    }
+
+    private static long longHeader(MessageProperties properties, String name) {
+        Object value = properties.getHeader(name);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Long.toHexString(random.nextLong() | Long.MIN_VALUE) + Long.toHexString(random.nextLong() | Long.MIN_VALUE);
+    }
+}
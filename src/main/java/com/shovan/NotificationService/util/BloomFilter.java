@@ -0,0 +1,128 @@
+package com.shovan.NotificationService.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over 64-bit key hashes: {@link #mightContain} never
+ * answers false for a key that was {@link #put}, and answers true for an
+ * absent key with about the configured probability.
+ *
+ * <p>
+ * Lock-free: adds set bits with CAS, so one thread may add while others
+ * query. Keys cannot be removed; rebuild the filter instead. Uses
+ * Kirsch–Mitzenmacher double hashing, so each operation hashes the key once.
+ * </p>
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final AtomicLong count = new AtomicLong();
+
+    private BloomFilter(long bits, int hashes) {
+        long wordCount = (bits + 63) / 64;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large: " + bits + " bits");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bits = wordCount * 64;
+        this.hashes = hashes;
+    }
+
+    /**
+     * @param expectedKeys      keys the filter is sized for; more degrade the
+     *                          false positive rate
+     * @param falsePositiveRate target false positive rate in (0, 1)
+     * @return an empty filter
+     */
+    public static BloomFilter create(long expectedKeys, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedKeys);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * 64-bit hash of a key, without allocating: FNV-1a over the UTF-16 code
+     * units (seeded, e.g. by a namespace), finished with the MurmurHash3
+     * mixer.
+     *
+     * @param seed namespace of the key
+     * @param key  the key
+     * @return the hash to pass to {@link #put} and {@link #mightContain}
+     */
+    public static long hash(long seed, CharSequence key) {
+        long hash = 0xcbf29ce484222325L ^ mix(seed);
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * @param hash a key hash from {@link #hash}
+     */
+    public void put(long hash) {
+        long h2 = secondHash(hash);
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((hash + i * h2) & Long.MAX_VALUE) % bits;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * @param hash a key hash from {@link #hash}
+     * @return false if the key was definitely never put
+     */
+    public boolean mightContain(long hash) {
+        long h2 = secondHash(hash);
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((hash + i * h2) & Long.MAX_VALUE) % bits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return keys put so far, duplicates included */
+    public long count() {
+        return count.get();
+    }
+
+    /** @return size of the bit array */
+    public long bitSize() {
+        return bits;
+    }
+
+    /** @return bits set per key */
+    public int hashCount() {
+        return hashes;
+    }
+
+    /** Odd, so the probe sequence never collapses onto one bit. */
+    private static long secondHash(long hash) {
+        return mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
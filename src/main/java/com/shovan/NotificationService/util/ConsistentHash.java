@@ -0,0 +1,73 @@
+package com.shovan.NotificationService.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hash functions for spreading keys (tenants, recipients) over a fixed number
+ * of queues without a broker plugin.
+ */
+public final class ConsistentHash {
+
+    private ConsistentHash() {
+    }
+
+    /**
+     * Bucket for a key; growing {@code buckets} by one moves only ~1/n of the
+     * keys.
+     *
+     * @param key     the key to place
+     * @param buckets number of buckets, &gt; 0
+     * @return a bucket in [0, buckets)
+     */
+    public static int bucket(String key, int buckets) {
+        return jump(fnv1a64(key), buckets);
+    }
+
+    /** Lamping &amp; Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm". */
+    static int jump(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    /**
+     * Rendezvous (highest random weight) score of a node for a bucket: the
+     * bucket belongs to the node with the highest unsigned score, so removing a
+     * node moves only the buckets it owned.
+     *
+     * @param node   node id
+     * @param bucket bucket number
+     * @return the score, compared with {@link Long#compareUnsigned}
+     */
+    public static long rendezvous(String node, int bucket) {
+        // FNV alone barely changes the high bits for nearby suffixes; finish
+        // with the MurmurHash3 64-bit mixer
+        long h = fnv1a64(node + "#" + bucket);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 64-bit FNV-1a of the UTF-8 bytes.
+     *
+     * @param value the string to hash
+     * @return the hash
+     */
+    public static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,55 @@
+package com.shovan.NotificationService.util;
+
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+
+/**
+ * The recipient address of a notification, as the notifiers read it from the
+ * parameters: "email" for EMAIL, "phoneNumber" for SMS, "deviceToken" for
+ * PUSH. Email addresses are lower-cased so one mailbox has one key.
+ */
+public final class Recipients {
+
+    private Recipients() {
+    }
+
+    /**
+     * @param notification the notification
+     * @param objectMapper mapper for the parameters JSON
+     * @return the recipient address, or null if absent or the JSON is invalid
+     */
+    public static String of(Notification notification, ObjectMapper objectMapper) {
+        if (notification.getChannel() == null || notification.getParameters() == null) {
+            return null;
+        }
+        String field = switch (notification.getChannel()) {
+            case EMAIL -> "email";
+            case SMS -> "phoneNumber";
+            case PUSH -> "deviceToken";
+        };
+        JsonNode value;
+        try {
+            value = objectMapper.readTree(notification.getParameters()).get(field);
+        } catch (Exception ex) {
+            // Rendering reports the bad JSON; callers just get "no recipient"
+            return null;
+        }
+        if (value == null || !value.isTextual() || value.asText().isBlank()) {
+            return null;
+        }
+        return normalize(notification.getChannel(), value.asText());
+    }
+
+    /**
+     * @param channel the channel
+     * @param address a recipient address on that channel
+     * @return the address as {@link #of} returns it
+     */
+    public static String normalize(Channel channel, String address) {
+        return channel == Channel.EMAIL ? address.toLowerCase(Locale.ROOT) : address;
+    }
+}
@@ -1,11 +1,13 @@
 package com.shovan.NotificationService.util;
 
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.templateresolver.StringTemplateResolver;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.springframework.stereotype.Component;
 
+import java.io.Writer;
 import java.util.Map;
 
 /**
@@ -15,6 +17,11 @@ import java.util.Map;
  * No file‐based resolution here—each template is processed
  * from a String. We use StringTemplateResolver under the hood.
  * </p>
+ *
+ * <p>
+ * Expressions are evaluated with SpEL (SpringTemplateEngine); the plain
+ * TemplateEngine needs OGNL, which is not on the classpath.
+ * </p>
  */
 @Component
 public class TemplateRenderer {
@@ -29,7 +36,7 @@ public class TemplateRenderer {
         resolver.setCacheable(false); // we’ll rely on Redis to cache full templates
 
         // 2) Build the engine with our resolver
-        this.templateEngine = new TemplateEngine();
+        this.templateEngine = new SpringTemplateEngine();
         this.templateEngine.setTemplateResolver(resolver);
     }
 
@@ -42,12 +49,28 @@ public class TemplateRenderer {
      * @return the fully rendered result (HTML/text)
      */
     public String render(String templateContent, Map<String, Object> variables) {
+        // Process and return the result
+        return templateEngine.process(templateContent, context(variables));
+    }
+
+    /**
+     * Render the given template content into a writer, as it is produced (see
+     * RenderExecutor, whose writer enforces the render's budget).
+     *
+     * @param templateContent the raw Thymeleaf template string
+     * @param variables       a map of variable names → values for substitution
+     * @param out             receives the rendered result
+     */
+    public void render(String templateContent, Map<String, Object> variables, Writer out) {
+        templateEngine.process(templateContent, context(variables), out);
+    }
+
+    private static Context context(Map<String, Object> variables) {
         Context context = new Context();
         // Populate context with all variables
         for (Map.Entry<String, Object> entry : variables.entrySet()) {
             context.setVariable(entry.getKey(), entry.getValue());
         }
-        // Process and return the result
-        return templateEngine.process(templateContent, context);
+        return context;
     }
 }
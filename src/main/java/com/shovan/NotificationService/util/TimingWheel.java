@@ -0,0 +1,118 @@
+package com.shovan.NotificationService.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel holding ids of notifications due in the near future.
+ *
+ * <p>
+ * Time is divided into fixed ticks; each tick maps to one of {@code wheelSize}
+ * buckets. Adding and expiring an entry are O(1) regardless of how many entries
+ * are pending, so releasing due notifications never requires sorting or
+ * scanning everything that is scheduled. Deadlines further away than one wheel
+ * revolution are kept with a "remaining rounds" counter.
+ * </p>
+ *
+ * <p>
+ * This is the fine-grained, in-memory level of the scheduler. The coarse level
+ * (minutes to months ahead) stays in the database and is loaded into the wheel
+ * one time window at a time.
+ * </p>
+ *
+ * Not thread-safe by itself; all public methods are synchronized.
+ */
+public class TimingWheel {
+
+    private record Entry(long id, long deadlineMillis, long rounds) {
+    }
+
+    private final long tickMillis;
+    private final int mask;
+    private final ArrayDeque<Entry>[] buckets;
+    private final Set<Long> pendingIds = new HashSet<>();
+    private final long startMillis;
+    private long currentTick;
+
+    /**
+     * @param tickMillis  resolution of the wheel in milliseconds
+     * @param wheelSize   number of buckets (rounded up to a power of two)
+     * @param startMillis wall-clock time corresponding to tick 0
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Schedule an id to expire at the given deadline. Deadlines in the past
+     * expire on the next {@link #advance(long)}. Adding an id that is already
+     * pending is a no-op.
+     *
+     * @param id             notification id
+     * @param deadlineMillis epoch millis at which the id becomes due
+     * @return true if the id was added, false if it was already pending
+     */
+    public synchronized boolean add(long id, long deadlineMillis) {
+        if (!pendingIds.add(id)) {
+            return false;
+        }
+        long ticks = Math.max((deadlineMillis - startMillis + tickMillis - 1) / tickMillis, currentTick);
+        long rounds = (ticks - currentTick) / buckets.length;
+        buckets[(int) (ticks & mask)].add(new Entry(id, deadlineMillis, rounds));
+        return true;
+    }
+
+    /**
+     * Move the wheel forward to {@code nowMillis}, collecting every id whose
+     * deadline has passed.
+     *
+     * @param nowMillis current epoch millis
+     * @return ids that became due, in tick order
+     */
+    public synchronized List<Long> advance(long nowMillis) {
+        List<Long> due = new ArrayList<>();
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        while (currentTick <= targetTick) {
+            ArrayDeque<Entry> bucket = buckets[(int) (currentTick & mask)];
+            List<Entry> stillWaiting = null;
+            for (Iterator<Entry> it = bucket.iterator(); it.hasNext();) {
+                Entry entry = it.next();
+                it.remove();
+                if (entry.rounds() <= 0) {
+                    pendingIds.remove(entry.id());
+                    due.add(entry.id());
+                } else {
+                    if (stillWaiting == null) {
+                        stillWaiting = new ArrayList<>();
+                    }
+                    stillWaiting.add(new Entry(entry.id(), entry.deadlineMillis(), entry.rounds() - 1));
+                }
+            }
+            if (stillWaiting != null) {
+                bucket.addAll(stillWaiting);
+            }
+            currentTick++;
+        }
+        return due;
+    }
+
+    /** @return number of ids currently waiting in the wheel */
+    public synchronized int size() {
+        return pendingIds.size();
+    }
+}
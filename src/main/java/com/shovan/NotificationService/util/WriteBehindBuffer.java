@@ -0,0 +1,125 @@
+package com.shovan.NotificationService.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes buffered per key and handed to a flush callback every interval from
+ * a dedicated thread, so callers never wait on the store being written.
+ *
+ * <p>
+ * Of two writes for one key, {@code merge} decides what is kept. Beyond
+ * {@code maxPending} keys, writes for new keys are refused. The flush drains
+ * the buffer with {@link #drain()} and puts back what the store did not take
+ * with {@link #offer} or {@link #requeue}; {@link #failed()} and
+ * {@link #recovered()} let it log an outage once, not every flush. The last
+ * flush runs on {@link #close()}.
+ * </p>
+ *
+ * @param <K> key writes are coalesced by
+ * @param <V> buffered write
+ */
+@Slf4j
+public final class WriteBehindBuffer<K, V> implements AutoCloseable {
+
+    private final Map<K, V> pending = new ConcurrentHashMap<>();
+    private final int maxPending;
+    private final BinaryOperator<V> merge;
+    private final Runnable flush;
+    private final ScheduledExecutorService flusher;
+    /** Only touched by the flusher thread (and by close() once it has stopped). */
+    private boolean failing;
+
+    /**
+     * @param name          name of the flusher thread
+     * @param flushInterval delay between the end of one flush and the next
+     * @param maxPending    most keys buffered at once
+     * @param merge         combines the queued and the next write of a key
+     * @param flush         writes the buffered entries; exceptions are logged
+     *                      at debug and the schedule goes on
+     */
+    public WriteBehindBuffer(String name, Duration flushInterval, int maxPending, BinaryOperator<V> merge,
+            Runnable flush) {
+        this.maxPending = maxPending;
+        this.merge = merge;
+        this.flush = flush;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name(name).daemon().factory());
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Buffer a write, unless maxPending other keys are waiting.
+     *
+     * @return false if the write was refused
+     */
+    public boolean offer(K key, V value) {
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            return false;
+        }
+        pending.merge(key, value, merge);
+        return true;
+    }
+
+    /** Buffer a write whatever the backlog, e.g. one a flush took but could not complete yet. */
+    public void requeue(K key, V value) {
+        pending.merge(key, value, merge);
+    }
+
+    /** @return keys buffered */
+    public int size() {
+        return pending.size();
+    }
+
+    /** @return the buffered writes, now removed from the buffer */
+    public List<V> drain() {
+        List<V> batch = new ArrayList<>(pending.size());
+        for (K key : pending.keySet()) {
+            V value = pending.remove(key);
+            if (value != null) {
+                batch.add(value);
+            }
+        }
+        return batch;
+    }
+
+    /** @return true if this flush failure starts an outage (log it), false while it lasts */
+    public boolean failed() {
+        boolean first = !failing;
+        failing = true;
+        return first;
+    }
+
+    /** @return true if this successful flush ends an outage (log it) */
+    public boolean recovered() {
+        boolean wasFailing = failing;
+        failing = false;
+        return wasFailing;
+    }
+
+    /** Stop the schedule, then flush what is left. */
+    @Override
+    public void close() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flush.run();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush.run();
+        } catch (RuntimeException ex) {
+            // Keep the schedule alive; the flush logs or counts its own failures
+            log.debug("Flush failed", ex);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.shovan.NotificationService.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.shovan.NotificationService.dto.NotificationRequestDTO;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.exception.AdmissionRejectedException;
+import com.shovan.NotificationService.factory.NotifierFactory;
+import com.shovan.NotificationService.tenant.KnownTenants;
+import com.shovan.NotificationService.tenant.TenantProperties;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionControlServiceTest {
+
+    private final LoadSampler sampler = mock(LoadSampler.class);
+    private final NotifierFactory notifiers = mock(NotifierFactory.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimiterRegistry rateLimiters = RateLimiterRegistry.of(Map.of("clientQuota",
+            RateLimiterConfig.custom()
+                    .limitForPeriod(2)
+                    .limitRefreshPeriod(Duration.ofMinutes(1))
+                    .timeoutDuration(Duration.ZERO)
+                    .build()));
+    private final AdmissionControlService admission = new AdmissionControlService(sampler,
+            notifiers, CircuitBreakerRegistry.ofDefaults(), rateLimiters,
+            new KnownTenants(new TenantProperties(List.of("acme", "globex")), rateLimiters), meterRegistry,
+            true, 100, 10, 5, Duration.ofSeconds(5), Duration.ofMinutes(5));
+
+    @Test
+    void shedsBulkWhenBulkLaneIsBackedUpButKeepsHighPriority() {
+        when(sampler.current()).thenReturn(load(1_000, 0, 100, Set.of()));
+
+        assertThatThrownBy(() -> admission.admit("acme", request(NotificationPriority.NORMAL, Channel.EMAIL)))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, ex -> {
+                    assertThat(ex.getReason()).isEqualTo("queue_depth");
+                    assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofSeconds(9));
+                });
+        assertThatCode(() -> admission.admit("acme", request(NotificationPriority.HIGH, Channel.SMS)))
+                .doesNotThrowAnyException();
+
+        assertThat(meterRegistry.counter("notification.admission", "outcome", "shed", "reason", "queue_depth")
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("notification.admission", "outcome", "accepted", "reason", "none")
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void shedsWhenEveryRequestedChannelHasAnOpenBreaker() {
+        when(notifiers.circuitBreakerNames(Channel.SMS)).thenReturn(List.of("smsNotifier-twilio"));
+        when(notifiers.circuitBreakerNames(Channel.EMAIL)).thenReturn(List.of("emailNotifier-smtp"));
+        when(sampler.current()).thenReturn(load(0, 0, 0, Set.of("smsNotifier-twilio")));
+
+        assertThatThrownBy(() -> admission.admit("acme", request(NotificationPriority.HIGH, Channel.SMS)))
+                .hasFieldOrPropertyWithValue("reason", "circuit_open");
+        assertThatCode(() -> admission.admit("acme", request(NotificationPriority.HIGH, Channel.SMS, Channel.EMAIL)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void channelWithAHealthyBackupProviderIsNotShed() {
+        when(notifiers.circuitBreakerNames(Channel.SMS))
+                .thenReturn(List.of("smsNotifier-twilio", "smsNotifier-twilio-backup"));
+        when(sampler.current()).thenReturn(load(0, 0, 0, Set.of("smsNotifier-twilio")));
+
+        assertThatCode(() -> admission.admit("acme", request(NotificationPriority.HIGH, Channel.SMS)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void enforcesPerClientQuota() {
+        when(sampler.current()).thenReturn(load(0, 0, 0, Set.of()));
+
+        admission.admit("acme", request(NotificationPriority.NORMAL, Channel.EMAIL, Channel.SMS));
+
+        assertThatThrownBy(() -> admission.admit("acme", request(NotificationPriority.NORMAL, Channel.EMAIL)))
+                .hasFieldOrPropertyWithValue("reason", "client_quota");
+        assertThatCode(() -> admission.admit("globex", request(NotificationPriority.NORMAL, Channel.EMAIL)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void unknownClientIdsShareOneQuotaAndCreateNoLimiters() {
+        when(sampler.current()).thenReturn(load(0, 0, 0, Set.of()));
+
+        admission.admit("made-up-1", request(NotificationPriority.NORMAL, Channel.EMAIL, Channel.SMS));
+
+        assertThatThrownBy(() -> admission.admit("made-up-2", request(NotificationPriority.NORMAL, Channel.EMAIL)))
+                .hasFieldOrPropertyWithValue("reason", "client_quota");
+        assertThat(rateLimiters.find("client-made-up-1")).isEmpty();
+        assertThat(rateLimiters.find("client-other")).isPresent();
+    }
+
+    private static LoadSnapshot load(long bulkDepth, long highDepth, double consumedPerSecond, Set<String> open) {
+        return new LoadSnapshot(true, bulkDepth, highDepth, consumedPerSecond, 0, open, Instant.now());
+    }
+
+    private static NotificationRequestDTO request(NotificationPriority priority, Channel... channels) {
+        return NotificationRequestDTO.builder()
+                .templateName("welcome")
+                .channels(List.of(channels))
+                .parameters(Map.of())
+                .priority(priority)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.shovan.NotificationService.blob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BlobStoreTest {
+
+    private static final String BODY = "<p>Grüße</p>".repeat(1_000);
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void storesABodyOnceUnderItsHash() throws Exception {
+        BlobStore store = store(Duration.ofDays(7));
+
+        String first = write(store, BODY);
+        String second = write(store, BODY);
+
+        assertThat(second).isEqualTo(first).hasSize(64);
+        assertThat(store.contains(first)).isTrue();
+        assertThat(store.read(first)).isEqualTo(BODY);
+        assertThat(writes("stored")).isOne();
+        assertThat(writes("deduplicated")).isOne();
+        MappedBlob blob = store.open(first, "text/html; charset=UTF-8");
+        assertThat(blob.size()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+        // Every stream reads the whole blob
+        for (int i = 0; i < 2; i++) {
+            try (InputStream in = blob.getInputStream()) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+            }
+        }
+        try (Stream<Path> files = Files.list(dir.resolve("tmp"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void discardsAnUploadThatIsNotCommitted() throws Exception {
+        BlobStore store = store(Duration.ofDays(7));
+
+        try (BlobStore.Upload upload = store.upload()) {
+            upload.writer().write(BODY);
+        }
+
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    void sweepsBlobsNotStoredAgainWithinTheTtl() throws Exception {
+        BlobStore store = store(Duration.ofHours(1));
+        String old = write(store, BODY);
+        String recent = write(store, "<p>recent</p>");
+        Files.setLastModifiedTime(dir.resolve(old.substring(0, 2)).resolve(old),
+                FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        store.sweep();
+
+        assertThat(store.contains(old)).isFalse();
+        assertThat(store.contains(recent)).isTrue();
+        assertThat(store.contains("../../etc/passwd")).isFalse();
+        assertThat(meterRegistry.get("notification.blobs.swept").counter().count()).isOne();
+    }
+
+    private BlobStore store(Duration ttl) {
+        return new BlobStore(new BlobProperties(true, dir, DataSize.ofKilobytes(64), ttl, Duration.ofHours(1)),
+                meterRegistry);
+    }
+
+    private static String write(BlobStore store, String body) throws Exception {
+        try (BlobStore.Upload upload = store.upload()) {
+            upload.writer().write(body);
+            return upload.commit();
+        }
+    }
+
+    private double writes(String result) {
+        return meterRegistry.get("notification.blobs.writes").tag("result", result).counter().count();
+    }
+}
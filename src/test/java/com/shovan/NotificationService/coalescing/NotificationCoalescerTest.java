@@ -0,0 +1,183 @@
+package com.shovan.NotificationService.coalescing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.factory.NotifierFactory;
+import com.shovan.NotificationService.notifier.Notifier;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.service.NotificationPublisher;
+import com.shovan.NotificationService.service.TemplateService;
+
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NotificationCoalescerTest {
+
+    private final TemplateService templateService = mock(TemplateService.class);
+    private final NotifierFactory notifierFactory = mock(NotifierFactory.class);
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final NotificationPublisher publisher = mock(NotificationPublisher.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> sent = new ArrayList<>();
+
+    @BeforeEach
+    void providers() {
+        Notifier provider = (notification, content) -> {
+            sent.add(notification.getTemplateName() + ":" + content);
+            notification.setStatus(NotificationStatus.SUCCESS);
+            notification.setAttempts(notification.getAttempts() + 1);
+            notification.setProvider("smtp");
+        };
+        when(notifierFactory.getNotifier(Channel.EMAIL)).thenReturn(provider);
+        when(templateService.render(eq("activity-digest"), anyMap()))
+                .thenAnswer(call -> "digest of " + call.<Map<String, Object>>getArgument(1).get("count"));
+        when(templateService.render(anyString(), anyString())).thenReturn("single");
+    }
+
+    @Test
+    void burstToOneRecipientBecomesOneDigest() {
+        NotificationCoalescer coalescer = coalescer(Duration.ZERO, 50, 100);
+
+        for (long id = 1; id <= 5; id++) {
+            offer(coalescer, notification(id, "comment", "Ann@example.com"));
+        }
+        offer(coalescer, notification(6, "like", "bob@example.com"));
+        coalescer.flushDue();
+
+        assertThat(sent).containsExactlyInAnyOrder("activity-digest:digest of 5", "like:single");
+        verify(repository).completeBuffered(List.of(1L, 2L, 3L, 4L, 5L), NotificationStatus.SUCCESS, 1, "smtp", null);
+        verify(repository).completeBuffered(List.of(6L), NotificationStatus.SUCCESS, 1, "smtp", null);
+        assertThat(meterRegistry.get("notification.coalescing.digest.size").summary().totalAmount()).isEqualTo(6);
+        assertThat(meterRegistry.get("notification.coalescing.buffered").gauge().value()).isZero();
+    }
+
+    @Test
+    void fullDigestIsSentWithoutWaitingForTheWindow() {
+        NotificationCoalescer coalescer = coalescer(Duration.ofHours(1), 3, 100);
+
+        for (long id = 1; id <= 4; id++) {
+            offer(coalescer, notification(id, "comment", "ann@example.com"));
+        }
+        coalescer.flushDue();
+
+        assertThat(sent).containsExactly("activity-digest:digest of 3");
+        assertThat(meterRegistry.get("notification.coalescing.buffered").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void highPriorityUngroupedAndOverflowingNotificationsAreNotBuffered() {
+        NotificationCoalescer coalescer = coalescer(Duration.ofHours(1), 50, 2);
+        Notification otp = notification(1, "comment", "ann@example.com");
+        otp.setPriority(NotificationPriority.HIGH);
+
+        assertThat(coalescer.accepts(otp)).isFalse();
+        assertThat(coalescer.accepts(notification(2, "password-reset", "ann@example.com"))).isFalse();
+
+        offer(coalescer, notification(3, "comment", "ann@example.com"));
+        offer(coalescer, notification(4, "comment", "bob@example.com"));
+        assertThat(coalescer.accepts(notification(5, "comment", "cat@example.com"))).isFalse();
+        assertThat(meterRegistry.get("notification.coalescing.bypassed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void stopFlushesOpenDigests() {
+        NotificationCoalescer coalescer = coalescer(Duration.ofHours(1), 50, 100);
+        offer(coalescer, notification(1, "comment", "ann@example.com"));
+        offer(coalescer, notification(2, "like", "ann@example.com"));
+        coalescer.flushDue();
+        assertThat(sent).isEmpty();
+
+        coalescer.stop();
+
+        assertThat(sent).containsExactly("activity-digest:digest of 2");
+        assertThat(coalescer.accepts(notification(3, "comment", "ann@example.com"))).isFalse();
+    }
+
+    @Test
+    void failedDigestMarksEveryItemFailed() {
+        when(notifierFactory.getNotifier(Channel.EMAIL)).thenReturn((notification, content) -> {
+            notification.setStatus(NotificationStatus.FAILED);
+            throw new IllegalStateException("smtp down");
+        });
+        NotificationCoalescer coalescer = coalescer(Duration.ZERO, 50, 100);
+        offer(coalescer, notification(1, "comment", "ann@example.com"));
+        offer(coalescer, notification(2, "comment", "ann@example.com"));
+
+        coalescer.flushDue();
+
+        verify(repository).completeBuffered(eq(List.of(1L, 2L)), eq(NotificationStatus.FAILED),
+                anyInt(), any(), eq("IllegalStateException"));
+        verify(repository, never()).completeBuffered(any(), eq(NotificationStatus.SUCCESS), anyInt(), any(), any());
+    }
+
+    @Test
+    void recoveryPublishesOnlyTheOrphansItClaimed() {
+        when(repository.findIdsByStatusUpdatedBefore(eq(NotificationStatus.BUFFERED), any(), any()))
+                .thenReturn(List.of(1L, 2L, 3L));
+        // 2 is being recovered by another instance, 3 was flushed meanwhile
+        when(repository.lockIdsInStatus(List.of(1L, 2L, 3L), "BUFFERED")).thenReturn(List.of(1L));
+        Notification orphan = notification(1, "comment", "ann@example.com");
+        when(repository.findAllById(List.of(1L))).thenReturn(List.of(orphan));
+        NotificationCoalescer coalescer = coalescer(Duration.ofSeconds(5), 50, 100);
+
+        coalescer.recoverOrphans();
+
+        verify(repository).transitionStatus(List.of(1L), NotificationStatus.BUFFERED, NotificationStatus.PENDING);
+        verify(publisher).publish(orphan);
+        verify(publisher, times(1)).publish(any(Notification.class));
+    }
+
+    private NotificationCoalescer coalescer(Duration window, int maxItems, int maxBuffered) {
+        CoalescingProperties properties = new CoalescingProperties(true, window, maxItems, maxBuffered,
+                Duration.ofSeconds(1), Map.of("activity",
+                        new CoalescingProperties.Group(List.of("comment", "like"), "activity-digest")));
+        NotificationCoalescer coalescer = new NotificationCoalescer(properties, templateService, notifierFactory,
+                RetryRegistry.ofDefaults(), repository, publisher,
+                mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class), new ObjectMapper(),
+                meterRegistry);
+        coalescer.start();
+        return coalescer;
+    }
+
+    private static void offer(NotificationCoalescer coalescer, Notification notification) {
+        assertThat(coalescer.accepts(notification)).isTrue();
+        notification.setStatus(NotificationStatus.BUFFERED);
+        coalescer.buffer(notification);
+    }
+
+    private static Notification notification(long id, String template, String email) {
+        return Notification.builder()
+                .id(id)
+                .channel(Channel.EMAIL)
+                .templateName(template)
+                .parameters("{\"email\":\"" + email + "\",\"actor\":\"user-" + id + "\"}")
+                .priority(NotificationPriority.NORMAL)
+                .status(NotificationStatus.PENDING)
+                .build();
+    }
+}
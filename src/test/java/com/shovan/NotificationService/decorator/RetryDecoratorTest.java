@@ -0,0 +1,77 @@
+package com.shovan.NotificationService.decorator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.exception.HandBackException;
+import com.shovan.NotificationService.notifier.Notifier;
+
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+
+class RetryDecoratorTest {
+
+    private final RetryRegistry registry = RetryRegistry.of(RetryConfig.custom()
+            .maxAttempts(3)
+            .waitDuration(Duration.ofMillis(50))
+            .build());
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void retriesUntilTheSendSucceeds() {
+        Notifier flaky = (notification, content) -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("provider down");
+            }
+        };
+
+        new RetryDecorator(flaky, registry, "sms").send(notification(), "hi");
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void rethrowsTheLastFailureOnceAttemptsAreExhausted() {
+        Notifier down = failing();
+
+        assertThatThrownBy(() -> new RetryDecorator(down, registry, "sms").send(notification(), "hi"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void handsBackWithoutWaitingOnceDraining() {
+        AtomicBoolean draining = new AtomicBoolean();
+        Notifier down = (notification, content) -> {
+            attempts.incrementAndGet();
+            draining.set(true);
+            throw new IllegalStateException("provider down");
+        };
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> new RetryDecorator(down, registry, "sms", draining::get)
+                .send(notification(), "hi"))
+                .isInstanceOf(HandBackException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(1);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(50));
+    }
+
+    private Notifier failing() {
+        return (notification, content) -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("provider down");
+        };
+    }
+
+    private static Notification notification() {
+        return Notification.builder().id(1L).build();
+    }
+}
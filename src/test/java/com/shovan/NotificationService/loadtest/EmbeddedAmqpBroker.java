@@ -0,0 +1,70 @@
+package com.shovan.NotificationService.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.apache.qpid.server.SystemLauncher;
+
+/**
+ * In-process AMQP 0-9-1 broker (Apache Qpid Broker-J, in-memory virtual
+ * host) so load tests can run without Docker or a RabbitMQ install.
+ *
+ * <p>
+ * Exchanges, queues and bindings declared by RabbitMQConfig work as on
+ * RabbitMQ. RabbitMQ-specific queue arguments (x-dead-letter-*) are accepted
+ * but ignored, so rejected messages are dropped instead of dead-lettered;
+ * streams and the consistent-hash exchange are not available.
+ * </p>
+ */
+public class EmbeddedAmqpBroker implements AutoCloseable {
+
+    private static final String CONFIG = "loadtest/qpid-broker.json";
+
+    private final SystemLauncher launcher = new SystemLauncher();
+    private final int port;
+    private final Path workDir;
+
+    private EmbeddedAmqpBroker(int port, Path workDir) {
+        this.port = port;
+        this.workDir = workDir;
+    }
+
+    /**
+     * Start a broker on a free port; user guest/guest, virtual host "/".
+     *
+     * @return the running broker
+     * @throws Exception if the broker fails to start
+     */
+    public static EmbeddedAmqpBroker start() throws Exception {
+        EmbeddedAmqpBroker broker = new EmbeddedAmqpBroker(freePort(), Files.createTempDirectory("qpid-loadtest"));
+        broker.launcher.startup(Map.of(
+                "type", "Memory",
+                "initialConfigurationLocation",
+                EmbeddedAmqpBroker.class.getClassLoader().getResource(CONFIG).toExternalForm(),
+                "startupLoggedToSystemOut", false,
+                "context", Map.of(
+                        "qpid.amqp_port", String.valueOf(broker.port),
+                        "queue.behaviourOnUnknownDeclareArgument", "LOG",
+                        "qpid.work_dir", broker.workDir.toString())));
+        return broker;
+    }
+
+    /** @return the AMQP port */
+    public int port() {
+        return port;
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
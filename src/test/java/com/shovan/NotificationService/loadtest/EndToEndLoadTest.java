@@ -0,0 +1,284 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fppt.jedismock.RedisServer;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.entity.NotificationTemplate;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.event.NotificationSentEvent;
+import com.shovan.NotificationService.repository.NotificationTemplateRepository;
+import com.twilio.http.TwilioRestClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * End-to-end throughput of POST /api/notifications → RabbitMQ →
+ * NotificationListener → notifiers, with every dependency replaced by a local
+ * stand-in (no Docker, no network):
+ * <ul>
+ * <li>RabbitMQ – {@link EmbeddedAmqpBroker} (Qpid Broker-J, in memory)</li>
+ * <li>Postgres – H2 in PostgreSQL mode</li>
+ * <li>Redis – jedis-mock RESP server</li>
+ * <li>SMTP, Twilio, FCM – {@link ProviderStubs}</li>
+ * </ul>
+ * Reports ingest rate and latency, end-to-end latency (POST sent → listener
+ * finished) percentiles, consumer throughput, process CPU time per
+ * notification, and the per-stage breakdown recorded by DeliveryMetrics.
+ *
+ * <pre>
+ * mvn test -Pload-test -Dtest=EndToEndLoadTest \
+ *     -Dloadtest.concurrency=32 -Dloadtest.durationSeconds=30 \
+ *     -Dloadtest.provider.latencyMs=80 -Dloadtest.provider.errorRate=0.02
+ * </pre>
+ * Absolute numbers are for comparing builds on the same machine; H2 and the
+ * embedded broker are not stand-ins for production capacity.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Shipped logging config by default, so its CPU cost is part of the
+        // measurement; -Dloadtest.logLevel=WARN to take it out
+        "logging.level.com.shovan.NotificationService=${loadtest.logLevel:INFO}",
+        "resilience4j.ratelimiter.instances.client-loadtest.baseConfig=clientQuota",
+        "resilience4j.ratelimiter.instances.client-loadtest.limitForPeriod=1000000"
+})
+@ActiveProfiles("stub-providers")
+class EndToEndLoadTest {
+
+    private static final String BODY = """
+            {"templateName":"welcome","channels":["EMAIL","SMS","PUSH"],
+             "parameters":{"username":"load","email":"load@example.com",
+                           "phoneNumber":"+10000000000","deviceToken":"device-token"}}
+            """;
+
+    private static StandIns standIns;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NotificationTemplateRepository templateRepository;
+
+    @Autowired
+    private CompletionTracker tracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void standInProperties(DynamicPropertyRegistry registry) throws Exception {
+        standIns = StandIns.start(
+                Integer.getInteger("loadtest.provider.latencyMs", 50),
+                Double.parseDouble(System.getProperty("loadtest.provider.errorRate", "0")));
+
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:loadtest;MODE=PostgreSQL;"
+                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.rabbitmq.port", standIns.broker()::port);
+        registry.add("spring.data.redis.port", standIns.redis()::getBindPort);
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", standIns.providers()::smtpPort);
+        registry.add("notification.providers.twilio.account-sid", () -> ProviderStubs.TWILIO_ACCOUNT_SID);
+        registry.add("notification.providers.twilio.auth-token", () -> "stub-token");
+        registry.add("notification.providers.twilio.from-number", () -> "+10000000001");
+    }
+
+    @Test
+    void endToEndThroughput() throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 20));
+        Duration drainTimeout = Duration.ofSeconds(Long.getLong("loadtest.drainTimeoutSeconds", 120));
+
+        if (templateRepository.findByName("welcome").isEmpty()) {
+            templateRepository.save(NotificationTemplate.builder()
+                    .name("welcome")
+                    .content("<p>Welcome, <span th:text=\"${username}\">user</span>!</p>")
+                    .build());
+        }
+
+        long cpuStart = processCpuNanos();
+        // notification id -> nanoTime the creating POST was sent
+        Map<Long, Long> submitted = new ConcurrentHashMap<>();
+        HttpLoadDriver.Result ingest = new HttpLoadDriver().run(
+                "http://localhost:" + port + "/api/notifications", BODY, concurrency, warmup, duration,
+                (startNanos, status, body) -> {
+                    if (status / 100 == 2) {
+                        for (JsonNode id : readTree(body).path("notificationIds")) {
+                            submitted.put(id.asLong(), startNanos);
+                        }
+                    }
+                });
+
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (!tracker.completedAll(submitted.keySet()) && System.nanoTime() < drainDeadline) {
+            Thread.sleep(100);
+        }
+
+        LatencyStats endToEnd = new LatencyStats(submitted.size());
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        int completed = 0;
+        for (Map.Entry<Long, Long> entry : submitted.entrySet()) {
+            Long doneAt = tracker.completedAt(entry.getKey());
+            if (doneAt != null) {
+                completed++;
+                endToEnd.record((doneAt - entry.getValue()) / 1_000_000);
+                first = Math.min(first, doneAt);
+                last = Math.max(last, doneAt);
+            }
+        }
+        double consumeSeconds = Math.max((last - first) / 1e9, 0.001);
+        // Includes the load driver and the stand-ins, which cost the same in
+        // every build; compare builds, not absolute values
+        double cpuMillis = (processCpuNanos() - cpuStart) / 1e6;
+
+        System.out.printf("%n=== End-to-end load test (concurrency=%d, %ds, provider latency=%sms, error rate=%s) ===%n",
+                concurrency, duration.toSeconds(), System.getProperty("loadtest.provider.latencyMs", "50"),
+                System.getProperty("loadtest.provider.errorRate", "0"));
+        System.out.printf("ingest   : %s%n", ingest);
+        System.out.printf("e2e      : %s%n", endToEnd.summary());
+        System.out.printf("consumer : completed=%d/%d throughput=%.0f notifications/s statuses=%s%n",
+                completed, submitted.size(), completed / consumeSeconds, tracker.statusCounts());
+        long processed = tracker.statusCounts().values().stream().mapToLong(LongAdder::sum).sum();
+        System.out.printf("cpu      : %.0fms process CPU, %.2fms per processed notification (log level %s)%n",
+                cpuMillis, cpuMillis / Math.max(processed, 1), System.getProperty("loadtest.logLevel", "INFO"));
+        System.out.printf("providers: emails received=%d%n", standIns.providers().emailsReceived());
+        printStages();
+
+        assertThat(ingest.errors()).as("ingestion errors").isZero();
+        assertThat(completed).as("notifications processed").isEqualTo(submitted.size());
+    }
+
+    /** Per-stage breakdown from DeliveryMetrics, all channels combined. */
+    private void printStages() {
+        for (String stage : new String[] { "ingest", "queue", "render", "send", "persist" }) {
+            for (Timer timer : meterRegistry.find("notification.stage").tag("stage", stage).timers()) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                StringBuilder line = new StringBuilder(String.format("stage    : %-7s %-5s count=%d",
+                        stage, timer.getId().getTag("channel"), snapshot.count()));
+                for (ValueAtPercentile p : snapshot.percentileValues()) {
+                    line.append(String.format(" p%.0f=%.0fms", p.percentile() * 100, p.value(TimeUnit.MILLISECONDS)));
+                }
+                System.out.println(line);
+            }
+        }
+    }
+
+    /** CPU time of the whole JVM (warm-up, load driver and stand-ins included). */
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected response body: " + body, e);
+        }
+    }
+
+    @TestConfiguration
+    static class StandInConfig {
+
+        /** Replaces ProviderConfig's clients (inactive under "stub-providers"). */
+        @Bean
+        FirebaseMessaging firebaseMessaging() {
+            return standIns.providers().firebaseMessaging();
+        }
+
+        @Bean
+        TwilioRestClient twilioRestClient() {
+            return standIns.providers().twilioRestClient();
+        }
+
+        @Bean
+        CompletionTracker completionTracker() {
+            return new CompletionTracker();
+        }
+
+        /** Stops the stand-ins when the context closes, after listeners have stopped. */
+        @Bean(destroyMethod = "close")
+        StandIns standIns() {
+            return standIns;
+        }
+    }
+
+    /** Records when each notification finished processing (last attempt wins). */
+    static class CompletionTracker {
+
+        private final Map<Long, Long> completedAt = new ConcurrentHashMap<>();
+        private final Map<NotificationStatus, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        @EventListener
+        public void onSent(NotificationSentEvent event) {
+            Notification notification = event.getNotification();
+            completedAt.put(notification.getId(), System.nanoTime());
+            statuses.computeIfAbsent(notification.getStatus(), s -> new LongAdder()).increment();
+        }
+
+        Long completedAt(long id) {
+            return completedAt.get(id);
+        }
+
+        boolean completedAll(Iterable<Long> ids) {
+            for (Long id : ids) {
+                if (!completedAt.containsKey(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Map<NotificationStatus, LongAdder> statusCounts() {
+            return statuses;
+        }
+    }
+
+    /** The infrastructure stand-ins, started before the context is created. */
+    record StandIns(EmbeddedAmqpBroker broker, RedisServer redis, ProviderStubs providers) implements AutoCloseable {
+
+        static StandIns start(int providerLatencyMillis, double providerErrorRate) throws Exception {
+            RedisServer redis = RedisServer.newRedisServer();
+            redis.start();
+            return new StandIns(EmbeddedAmqpBroker.start(), redis,
+                    new ProviderStubs(providerLatencyMillis, providerErrorRate));
+        }
+
+        @Override
+        public void close() throws Exception {
+            providers.close();
+            redis.stop();
+            broker.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.shovan.NotificationService.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} virtual threads each
+ * send requests back-to-back for the given duration.
+ */
+public class HttpLoadDriver {
+
+    /**
+     * Result of a load run.
+     *
+     * @param requests        completed requests
+     * @param errors          non-2xx responses or I/O failures
+     * @param requestsPerSec  throughput over the measured window
+     * @param latency         per-request latency distribution
+     */
+    public record Result(long requests, long errors, double requestsPerSec, LatencyStats latency) {
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d rps=%.0f %s",
+                    requests, errors, requestsPerSec, latency.summary());
+        }
+    }
+
+    /** Receives each measured response, e.g. to correlate created ids. */
+    @FunctionalInterface
+    public interface ResponseListener {
+        /**
+         * @param startNanos System.nanoTime() when the request was sent
+         * @param status     HTTP status, or -1 on I/O failure
+         * @param body       response body (empty on failure)
+         */
+        void onResponse(long startNanos, int status, String body);
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * POST {@code body} to {@code url} as JSON under constant concurrency.
+     *
+     * @param url         target endpoint
+     * @param body        JSON request body
+     * @param concurrency number of concurrent callers
+     * @param warmup      warm-up period (not measured)
+     * @param duration    measured period
+     * @return throughput and latency figures
+     * @throws Exception if the run is interrupted
+     */
+    public Result run(String url, String body, int concurrency, Duration warmup, Duration duration)
+            throws Exception {
+        return run(url, body, concurrency, warmup, duration, null);
+    }
+
+    /**
+     * As {@link #run(String, String, int, Duration, Duration)}, passing every
+     * measured response to {@code listener}.
+     *
+     * @param url         target endpoint
+     * @param body        JSON request body
+     * @param concurrency number of concurrent callers
+     * @param warmup      warm-up period (not measured)
+     * @param duration    measured period
+     * @param listener    receives measured responses; null to discard bodies
+     * @return throughput and latency figures
+     * @throws Exception if the run is interrupted
+     */
+    public Result run(String url, String body, int concurrency, Duration warmup, Duration duration,
+            ResponseListener listener) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("X-Client-Id", "loadtest")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return run(() -> request, concurrency, warmup, duration, listener);
+    }
+
+    /**
+     * Send a fresh request from {@code requests} each time, e.g. callbacks
+     * that differ per call, under constant concurrency.
+     *
+     * @param next        builds the next request; called concurrently
+     * @param concurrency number of concurrent callers
+     * @param warmup      warm-up period (not measured)
+     * @param duration    measured period
+     * @param listener    receives measured responses; null to discard bodies
+     * @return throughput and latency figures
+     * @throws Exception if the run is interrupted
+     */
+    public Result run(Supplier<HttpRequest> next, int concurrency, Duration warmup, Duration duration,
+            ResponseListener listener) throws Exception {
+        LatencyStats latency = new LatencyStats(5_000_000);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> callers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                callers.add(executor.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        HttpRequest request = next.get();
+                        long start = System.nanoTime();
+                        int status;
+                        String responseBody = "";
+                        try {
+                            if (listener != null) {
+                                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                                status = response.statusCode();
+                                responseBody = response.body();
+                            } else {
+                                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            }
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                        boolean ok = status / 100 == 2;
+                        if (start >= measureFrom) {
+                            if (listener != null) {
+                                listener.onResponse(start, status, responseBody);
+                            }
+                            requests.incrementAndGet();
+                            latency.record(elapsedMillis);
+                            if (!ok) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+        }
+        double seconds = duration.toNanos() / 1e9;
+        return new Result(requests.get(), errors.get(), requests.get() / seconds, latency);
+    }
+}
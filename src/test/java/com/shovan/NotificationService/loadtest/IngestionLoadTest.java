@@ -0,0 +1,56 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares requests/sec and p99 latency of the servlet NotificationController
+ * against the reactive outbox path (profile "reactive").
+ *
+ * <p>
+ * Start two instances against the same Postgres/Redis/RabbitMQ, pinned to the
+ * same number of cores, e.g.:
+ * <pre>
+ * java -XX:ActiveProcessorCount=2 -jar app.jar --server.port=8080
+ * java -XX:ActiveProcessorCount=2 -jar app.jar --server.port=8082 --spring.profiles.active=reactive
+ * </pre>
+ * then run:
+ * <pre>
+ * mvn test -Pload-test -Dtest=IngestionLoadTest \
+ *     -Dloadtest.servletUrl=http://localhost:8080/api/notifications \
+ *     -Dloadtest.reactiveUrl=http://localhost:8082/api/notifications
+ * </pre>
+ * Admission quotas should be raised for the "loadtest" client
+ * (resilience4j.ratelimiter.instances.client-loadtest).
+ * </p>
+ */
+@Tag("load")
+class IngestionLoadTest {
+
+    private static final String BODY = """
+            {"templateName":"welcome","channels":["EMAIL","SMS"],
+             "parameters":{"username":"load","email":"load@example.com","phoneNumber":"+10000000000"}}
+            """;
+
+    @Test
+    void compareServletAndReactiveIngestion() throws Exception {
+        String servletUrl = System.getProperty("loadtest.servletUrl");
+        String reactiveUrl = System.getProperty("loadtest.reactiveUrl");
+        assumeTrue(servletUrl != null && reactiveUrl != null,
+                "Set -Dloadtest.servletUrl and -Dloadtest.reactiveUrl to run");
+
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30));
+
+        HttpLoadDriver driver = new HttpLoadDriver();
+        HttpLoadDriver.Result servlet = driver.run(servletUrl, BODY, concurrency, warmup, duration);
+        HttpLoadDriver.Result reactive = driver.run(reactiveUrl, BODY, concurrency, warmup, duration);
+
+        System.out.printf("servlet : %s%nreactive: %s%n", servlet, reactive);
+    }
+}
@@ -0,0 +1,73 @@
+package com.shovan.NotificationService.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimal, thread-safe latency recorder for load tests.
+ * <p>
+ * Samples are stored in a pre-sized array so recording never allocates on the
+ * hot path; percentiles are computed once at the end of a run.
+ * </p>
+ */
+public class LatencyStats {
+
+    private final AtomicLongArray samples;
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * @param capacity maximum number of samples kept (extra samples are dropped)
+     */
+    public LatencyStats(int capacity) {
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Record one latency sample.
+     *
+     * @param millis latency in milliseconds
+     */
+    public void record(long millis) {
+        int idx = count.getAndIncrement();
+        if (idx < samples.length()) {
+            samples.set(idx, millis);
+        }
+    }
+
+    /** @return number of samples recorded so far */
+    public int count() {
+        return Math.min(count.get(), samples.length());
+    }
+
+    /**
+     * @param percentile value between 0 and 100
+     * @return the latency at that percentile, or 0 if nothing was recorded
+     */
+    public long percentile(double percentile) {
+        long[] sorted = snapshot();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+    }
+
+    /** @return a one-line summary (count, p50, p95, p99, max) */
+    public String summary() {
+        long[] sorted = snapshot();
+        long max = sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        return String.format("count=%d p50=%dms p95=%dms p99=%dms max=%dms",
+                sorted.length, percentile(50), percentile(95), percentile(99), max);
+    }
+
+    private long[] snapshot() {
+        int n = count();
+        long[] copy = new long[n];
+        for (int i = 0; i < n; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        return copy;
+    }
+}
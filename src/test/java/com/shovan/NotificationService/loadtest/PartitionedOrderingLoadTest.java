@@ -0,0 +1,194 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fppt.jedismock.RedisServer;
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.partition.PartitionAssignor;
+import com.shovan.NotificationService.partition.RecipientPartitions;
+import com.shovan.NotificationService.queue.NotificationListener;
+import com.shovan.NotificationService.service.RabbitNotificationPublisher;
+import com.shovan.NotificationService.stream.NotificationLog;
+import com.shovan.NotificationService.tenant.TenantShards;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Load test proving that recipient partitions keep each recipient's
+ * notifications in order while instances join and leave.
+ *
+ * <p>
+ * Publishes through RabbitNotificationPublisher into the partition topology from
+ * {@link RecipientPartitions}, and consumes with two {@link PartitionAssignor}s
+ * sharing one membership set in a jedis-mock Redis: the first instance starts
+ * alone, the second joins a quarter of the way through and the first leaves
+ * halfway. Runs against {@link EmbeddedAmqpBroker}, so no Docker is needed.
+ * </p>
+ *
+ * Run with: {@code mvn test -Pload-test -Dtest=PartitionedOrderingLoadTest}
+ */
+@Tag("load")
+class PartitionedOrderingLoadTest {
+
+    private static final int PARTITIONS = 16;
+    private static final int RECIPIENTS = 50;
+    private static final int MESSAGES = 2_000;
+    private static final long PROVIDER_LATENCY_MS = 2;
+
+    private EmbeddedAmqpBroker broker;
+    private RedisServer redis;
+    private CachingConnectionFactory connectionFactory;
+    private LettuceConnectionFactory redisConnectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RabbitNotificationPublisher publisher;
+    // The embedded broker never activates a waiting single-active consumer when
+    // the active one is cancelled; ordering here rests on the assignment alone
+    private final RecipientPartitions partitions = new RecipientPartitions(PARTITIONS, false, new ObjectMapper());
+    private final RabbitMQConfig config = new RabbitMQConfig();
+    private final List<PartitionAssignor> assignors = new ArrayList<>();
+
+    /** Delivery order per recipient, as processed. */
+    private final Map<String, List<Long>> delivered = new ConcurrentHashMap<>();
+    private final Set<Long> distinct = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger deliveries = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        broker = EmbeddedAmqpBroker.start();
+        redis = RedisServer.newRedisServer();
+        redis.start();
+        connectionFactory = new CachingConnectionFactory("localhost", broker.port());
+        redisConnectionFactory = new LettuceConnectionFactory("localhost", redis.getBindPort());
+        redisConnectionFactory.afterPropertiesSet();
+        redisConnectionFactory.start();
+        redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+
+        RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        admin.declareExchange(config.notificationExchange());
+        for (Declarable declarable : partitions.declarables().getDeclarables()) {
+            if (declarable instanceof Queue queue) {
+                admin.declareQueue(queue);
+            } else if (declarable instanceof Binding binding) {
+                admin.declareBinding(binding);
+            }
+        }
+        publisher = new RabbitNotificationPublisher(config.rabbitTemplate(connectionFactory), new TenantShards(0),
+                partitions, new StaticListableBeanFactory().getBeanProvider(NotificationLog.class));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        assignors.forEach(PartitionAssignor::stop);
+        redisConnectionFactory.destroy();
+        connectionFactory.destroy();
+        redis.stop();
+        broker.close();
+    }
+
+    @Test
+    void recipientsStayInOrderAcrossJoinAndLeave() throws Exception {
+        for (long id = 0; id < MESSAGES; id++) {
+            publisher.publish(notification(id));
+        }
+
+        PartitionAssignor first = assignor("instance-a");
+        first.start();
+        assertThat(first.owned()).hasSize(PARTITIONS);
+        awaitDistinct(MESSAGES / 4);
+
+        // Join: the newcomer registers, then the incumbent hands over its share
+        PartitionAssignor second = assignor("instance-b");
+        second.start();
+        first.heartbeat();
+        assertThat(first.owned()).doesNotContainAnyElementsOf(second.owned());
+        assertThat(first.owned().size() + second.owned().size()).isEqualTo(PARTITIONS);
+        awaitDistinct(MESSAGES / 2);
+
+        // Leave: a graceful stop removes the member at once
+        first.stop();
+        second.heartbeat();
+        assertThat(second.owned()).hasSize(PARTITIONS);
+        awaitDistinct(MESSAGES);
+
+        System.out.printf("Partitioned delivery: %d messages, %d deliveries (%d redelivered on handover)%n",
+                MESSAGES, deliveries.get(), deliveries.get() - MESSAGES);
+        for (Map.Entry<String, List<Long>> entry : delivered.entrySet()) {
+            // Handover may redeliver the in-flight message; first deliveries stay in publish order
+            List<Long> firstDeliveries = new ArrayList<>(new LinkedHashSet<>(entry.getValue()));
+            assertThat(firstDeliveries).as(entry.getKey()).isSorted();
+        }
+    }
+
+    private PartitionAssignor assignor(String memberId) {
+        NotificationListener listener = mock(NotificationListener.class);
+        doAnswer(call -> {
+            Notification notification = call.getArgument(0);
+            Thread.sleep(PROVIDER_LATENCY_MS);
+            delivered.computeIfAbsent(recipientOf(notification.getId()), r -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(notification.getId());
+            distinct.add(notification.getId());
+            deliveries.incrementAndGet();
+            return null;
+        }).when(listener).handlePartitionedNotification(any(), any());
+
+        PartitionAssignor assignor = new PartitionAssignor(partitions, redisTemplate, connectionFactory, null, null,
+                config.jackson2JsonMessageConverter(), listener, new SimpleMeterRegistry(), 10,
+                Duration.ofSeconds(10), memberId);
+        assignors.add(assignor);
+        return assignor;
+    }
+
+    private void awaitDistinct(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (distinct.size() < count) {
+            assertThat(System.nanoTime()).as("timed out waiting for %d deliveries", count).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static String recipientOf(long id) {
+        return "user-" + (id % RECIPIENTS) + "@example.com";
+    }
+
+    private static Notification notification(long id) {
+        return Notification.builder()
+                .id(id)
+                .channel(Channel.EMAIL)
+                .templateName("welcome")
+                .parameters("{\"email\":\"" + recipientOf(id) + "\"}")
+                .priority(NotificationPriority.NORMAL)
+                .tenantId("acme")
+                .build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.shovan.NotificationService.repository.StatusCheckMigration;
+import com.shovan.NotificationService.retention.NotificationTableManager;
+import com.shovan.NotificationService.retention.RetentionProperties;
+import com.shovan.NotificationService.retention.RetentionProperties.Interval;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Load test measuring insert and update latency on a large notification
+ * table, plain versus partitioned by {@link NotificationTableManager}.
+ *
+ * <p>
+ * Seeds {@code loadtest.seedRows} rows spread over 180 days into the plain
+ * table ddl-auto creates and times single-row INSERT ... RETURNING id (the
+ * controller's) and UPDATE by id (the listener's). The manager then converts
+ * that table in place, which must keep every row, and
+ * {@link StatusCheckMigration} widens its status check. Finally the same rows are
+ * seeded into daily partitions and the manager's retention (keep 90 days)
+ * archives the older half to disk before the same timings are taken.
+ * </p>
+ *
+ * <p>
+ * Runs against {@code loadtest.postgres.url} (with {@code .user} and
+ * {@code .password}), which must be an empty scratch database, or else a
+ * PostgreSQL container; it is skipped when neither is available.
+ * </p>
+ *
+ * Run with: {@code mvn test -Pload-test -Dtest=PartitionedTableLoadTest}
+ */
+@Tag("load")
+class PartitionedTableLoadTest {
+
+    private static final int SEED_ROWS = Integer.getInteger("loadtest.seedRows", 5_000_000);
+    private static final int SEED_DAYS = 180;
+    private static final int SAMPLES = 2_000;
+
+    /**
+     * Same columns and checks as Hibernate's ddl-auto for the Notification
+     * entity, on a schema created before the newer statuses existed.
+     */
+    static final String PLAIN_TABLE = """
+            create table notification (
+                id bigint generated by default as identity,
+                attempts integer not null,
+                channel varchar(255) not null check (channel in ('EMAIL','SMS','PUSH')),
+                content_ref varchar(64),
+                created_at timestamp(6) not null,
+                last_error_class varchar(255),
+                parameters text not null,
+                priority varchar(255) check (priority in ('HIGH','NORMAL')),
+                provider varchar(64),
+                send_at timestamp(6) with time zone,
+                status varchar(255) not null check (status in ('PENDING','SUCCESS','FAILED')),
+                template_name varchar(255) not null,
+                tenant_id varchar(64),
+                updated_at timestamp(6),
+                primary key (id))
+            """;
+
+    private static final String URL = System.getProperty("loadtest.postgres.url");
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @TempDir
+    Path archiveDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeAll
+    static void startPostgres() {
+        if (URL == null) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                    "Needs Docker or -Dloadtest.postgres.url");
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+        }
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = postgres != null
+                ? new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                : new DriverManagerDataSource(URL, System.getProperty("loadtest.postgres.user"),
+                        System.getProperty("loadtest.postgres.password"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @Test
+    void partitionedTableKeepsInsertLatencyFlatAndArchivesOldRows() {
+        // 1) Plain table, as ddl-auto leaves it
+        jdbcTemplate.execute(PLAIN_TABLE);
+        jdbcTemplate.execute("create index idx_notification_status_send_at on notification (status, send_at)");
+        jdbcTemplate.execute("create index idx_notification_status_updated_at on notification (status, updated_at)");
+        seed("notification");
+        Timings plain = measure();
+
+        // 2) In-place conversion keeps every row and keeps ids increasing
+        long maxId = jdbcTemplate.queryForObject("select max(id) from notification", Long.class);
+        long start = System.nanoTime();
+        manager(Duration.ofDays(3650)).prepare();
+        long convertMillis = (System.nanoTime() - start) / 1_000_000;
+        assertThat(jdbcTemplate.queryForObject("select count(*) from notification", Long.class))
+                .isEqualTo(SEED_ROWS + SAMPLES);
+        assertThat(insert()).isGreaterThan(maxId);
+        assertThat(jdbcTemplate.queryForList("select conname from pg_constraint "
+                + "where conrelid = 'notification'::regclass and contype = 'c'", String.class))
+                .containsExactlyInAnyOrder("notification_channel_check", "notification_priority_check",
+                        "notification_status_check");
+
+        // The status check, copied to the parent and kept by the legacy partition, takes every status
+        StatusCheckMigration migration = new StatusCheckMigration(jdbcTemplate, transactionManager);
+        migration.migrate();
+        migration.migrate();
+        assertThat(jdbcTemplate.update("update notification set status = 'BOUNCED' where id = ?", maxId)).isOne();
+
+        // 3) Steady state: daily partitions, retention applied
+        jdbcTemplate.execute("drop table notification cascade");
+        jdbcTemplate.execute("drop table if exists notification_default");
+        jdbcTemplate.execute(PLAIN_TABLE);
+        NotificationTableManager manager = manager(Duration.ofDays(90));
+        manager.prepare();
+        jdbcTemplate.execute("alter table notification detach partition notification_legacy");
+        jdbcTemplate.execute("drop table notification_legacy");
+        for (int day = SEED_DAYS; day >= 0; day--) {
+            jdbcTemplate.execute("create table if not exists notification_p"
+                    + "%1$s partition of notification for values from ('%2$s') to ('%3$s')".formatted(
+                            jdbcTemplate.queryForObject("select to_char(current_date - ?, 'YYYYMMDD')", String.class,
+                                    day),
+                            jdbcTemplate.queryForObject("select (current_date - ?)::text", String.class, day),
+                            jdbcTemplate.queryForObject("select (current_date - ?)::text", String.class, day - 1)));
+        }
+        jdbcTemplate.execute("create index if not exists idx_notification_status_send_at "
+                + "on notification (status, send_at)");
+        seed("notification");
+        manager.maintain();
+        Timings partitioned = measure();
+
+        long kept = jdbcTemplate.queryForObject("select count(*) from notification", Long.class);
+        long archivedFiles;
+        long archivedBytes;
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            List<Path> archives = files.filter(file -> file.toString().endsWith(".csv.gz")).toList();
+            archivedFiles = archives.size();
+            archivedBytes = archives.stream().mapToLong(file -> file.toFile().length()).sum();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        System.out.printf("Notification table, %d rows over %d days, %d samples each:%n", SEED_ROWS, SEED_DAYS,
+                SAMPLES);
+        System.out.printf("  plain       : %s%n", plain);
+        System.out.printf("  partitioned : %s%n", partitioned);
+        System.out.printf("  conversion of the plain table: %d ms%n", convertMillis);
+        System.out.printf("  retention   : %d partitions archived (%d KiB gzip), %d rows left in the table%n",
+                archivedFiles, archivedBytes / 1024, kept);
+
+        assertThat(archivedFiles).isGreaterThanOrEqualTo(SEED_DAYS - 91);
+        assertThat(kept).isLessThan(SEED_ROWS);
+    }
+
+    private NotificationTableManager manager(Duration keep) {
+        return new NotificationTableManager(jdbcTemplate, transactionManager,
+                new RetentionProperties(true, Interval.DAILY, 7, keep, archiveDir), new SimpleMeterRegistry());
+    }
+
+    /** Rows in creation order, ending now, like a table filled by live traffic. */
+    private void seed(String table) {
+        jdbcTemplate.update("""
+                insert into %s (attempts, channel, created_at, parameters, priority, status, template_name,
+                                tenant_id, updated_at)
+                select 1, 'EMAIL', ts, '{"email":"user@example.com"}', 'NORMAL', 'SUCCESS', 'welcome', 'default', ts
+                from (select localtimestamp - (? - g) * (interval '1 day' * ? / ?) as ts
+                      from generate_series(1, ?) g) s
+                """.formatted(table), SEED_ROWS, SEED_DAYS, SEED_ROWS, SEED_ROWS);
+        jdbcTemplate.execute("vacuum analyze " + table);
+    }
+
+    private long insert() {
+        return jdbcTemplate.queryForObject("""
+                insert into notification (attempts, channel, created_at, parameters, priority, status,
+                                          template_name, tenant_id, updated_at)
+                values (0, 'EMAIL', localtimestamp, '{"email":"user@example.com"}', 'NORMAL', 'PENDING',
+                        'welcome', 'default', localtimestamp)
+                returning id
+                """, Long.class);
+    }
+
+    private Timings measure() {
+        LatencyStats inserts = new LatencyStats(SAMPLES);
+        LatencyStats updates = new LatencyStats(SAMPLES);
+        List<Long> ids = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            ids.add(insert());
+            inserts.record((System.nanoTime() - start) / 1_000);
+        }
+        for (long id : ids) {
+            long start = System.nanoTime();
+            jdbcTemplate.update("update notification set status = 'SUCCESS', attempts = 1, "
+                    + "updated_at = localtimestamp where id = ?", id);
+            updates.record((System.nanoTime() - start) / 1_000);
+        }
+        return new Timings(inserts, updates);
+    }
+
+    /** Latencies in microseconds. */
+    private record Timings(LatencyStats inserts, LatencyStats updates) {
+
+        @Override
+        public String toString() {
+            return "insert p50=%dus p99=%dus, update p50=%dus p99=%dus".formatted(
+                    inserts.percentile(50), inserts.percentile(99),
+                    updates.percentile(50), updates.percentile(99));
+        }
+    }
+}
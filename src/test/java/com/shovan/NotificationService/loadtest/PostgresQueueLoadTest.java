@@ -0,0 +1,173 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Load test of the pg-queue profile's claim query
+ * ({@link NotificationRepository#CLAIM_PENDING}) under contention.
+ *
+ * <p>
+ * Seeds {@code loadtest.pgQueue.rows} PENDING rows with
+ * PostgresQueueConsumer's partial index, then drains them with 1, 8, 32 and
+ * 64 concurrent workers, each claiming a batch with FOR UPDATE SKIP LOCKED
+ * and marking it SUCCESS in the same transaction, as the consumer does
+ * around its sends. Reports claimed notifications per second per worker
+ * count and asserts every row was claimed exactly once. Then times
+ * LISTEN/NOTIFY wakeups between two connections. Needs Docker for the
+ * PostgreSQL container and is skipped without it.
+ * </p>
+ *
+ * Run with: {@code mvn test -Pload-test -Dtest=PostgresQueueLoadTest}
+ */
+@Tag("load")
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresQueueLoadTest {
+
+    private static final int ROWS = Integer.getInteger("loadtest.pgQueue.rows", 200_000);
+    private static final int BATCH_SIZE = Integer.getInteger("loadtest.pgQueue.batchSize", 50);
+    private static final int[] WORKERS = { 1, 8, 32, 64 };
+    private static final int WAKEUPS = 200;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCommand("postgres", "-c", "max_connections=200");
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(POSTGRES.getJdbcUrl());
+        config.setUsername(POSTGRES.getUsername());
+        config.setPassword(POSTGRES.getPassword());
+        config.setMaximumPoolSize(WORKERS[WORKERS.length - 1] + 2);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void skipLockedClaimsScaleWithWorkersAndNeverOverlap() throws Exception {
+        jdbcTemplate.execute(PartitionedTableLoadTest.PLAIN_TABLE);
+        jdbcTemplate.execute("""
+                create index if not exists idx_notification_pending on notification (priority, id)
+                where status = 'PENDING'
+                """);
+        jdbcTemplate.update("""
+                insert into notification (attempts, channel, created_at, parameters, priority, status,
+                    template_name, updated_at)
+                select 0, 'EMAIL', now(), '{}', 'NORMAL', 'PENDING', 'welcome', now()
+                from generate_series(1, ?)
+                """, ROWS);
+        jdbcTemplate.execute("analyze notification");
+
+        System.out.printf("%n=== Postgres queue load test (%d rows, batches of %d) ===%n", ROWS, BATCH_SIZE);
+        for (int workers : WORKERS) {
+            jdbcTemplate.update("update notification set status = 'PENDING'");
+            jdbcTemplate.execute("vacuum analyze notification");
+
+            Set<Long> claimed = ConcurrentHashMap.newKeySet();
+            AtomicLong duplicates = new AtomicLong();
+            long start = System.nanoTime();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                threads.add(Thread.ofPlatform().start(() -> drain(claimed, duplicates)));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("workers=%-3d %,10.0f claims/s  (%.1fs)%n", workers, ROWS / seconds, seconds);
+            assertThat(duplicates.get()).as("rows claimed twice with %d workers", workers).isZero();
+            assertThat(claimed).as("rows claimed with %d workers", workers).hasSize(ROWS);
+        }
+
+        measureWakeups();
+    }
+
+    /** One worker: claim and complete batches until the queue is empty. */
+    private void drain(Set<Long> claimed, AtomicLong duplicates) {
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> batch = namedJdbcTemplate.queryForList(
+                        NotificationRepository.CLAIM_PENDING.replace("select *", "select id"),
+                        Map.of("priorities", List.of("NORMAL"), "limit", BATCH_SIZE), Long.class);
+                if (!batch.isEmpty()) {
+                    namedJdbcTemplate.update("update notification set status = 'SUCCESS' where id in (:ids)",
+                            Map.of("ids", batch));
+                }
+                return batch;
+            });
+            if (ids == null || ids.isEmpty()) {
+                return;
+            }
+            for (Long id : ids) {
+                if (!claimed.add(id)) {
+                    duplicates.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /** Round trip from a NOTIFY on one connection to its delivery on a listening one. */
+    private void measureWakeups() throws Exception {
+        long[] micros = new long[WAKEUPS];
+        try (Connection listen = dataSource.getConnection();
+                Connection notify = dataSource.getConnection()) {
+            try (Statement statement = listen.createStatement()) {
+                statement.execute("LISTEN notification_pending");
+            }
+            PGConnection pg = listen.unwrap(PGConnection.class);
+            for (int i = 0; i < WAKEUPS; i++) {
+                long start = System.nanoTime();
+                try (Statement statement = notify.createStatement()) {
+                    statement.execute("NOTIFY notification_pending");
+                }
+                PGNotification[] received = pg.getNotifications(5_000);
+                assertThat(received).as("NOTIFY %d delivered", i).isNotEmpty();
+                micros[i] = (System.nanoTime() - start) / 1_000;
+            }
+        }
+        Arrays.sort(micros);
+        System.out.printf("NOTIFY wakeup: p50 %d us, p99 %d us, max %d us%n",
+                micros[WAKEUPS / 2], micros[WAKEUPS * 99 / 100], micros[WAKEUPS - 1]);
+    }
+}
@@ -0,0 +1,157 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+
+/**
+ * Load test proving that HIGH priority notifications keep low latency while
+ * the bulk lane holds a large backlog.
+ *
+ * <p>
+ * Uses the real topology from {@link RabbitMQConfig} and the same consumer
+ * layout as NotificationListener (separate containers per lane, prefetch 1 on
+ * the HIGH lane). Every consumer simulates a slow provider call.
+ * </p>
+ *
+ * Run with: {@code mvn test -Pload-test -Dtest=PriorityLaneLoadTest}
+ */
+@Tag("load")
+@Testcontainers
+class PriorityLaneLoadTest {
+
+    private static final int BULK_MESSAGES = 5_000;
+    private static final int HIGH_MESSAGES = 200;
+    private static final long PROVIDER_LATENCY_MS = 50;
+    private static final String SENT_AT_HEADER = "x-sent-at";
+
+    @Container
+    static final RabbitMQContainer RABBIT = new RabbitMQContainer("rabbitmq:3-management");
+
+    private CachingConnectionFactory connectionFactory;
+    private RabbitTemplate rabbitTemplate;
+    private SimpleMessageListenerContainer bulkContainer;
+    private SimpleMessageListenerContainer highContainer;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new CachingConnectionFactory(RABBIT.getHost(), RABBIT.getAmqpPort());
+        connectionFactory.setUsername(RABBIT.getAdminUsername());
+        connectionFactory.setPassword(RABBIT.getAdminPassword());
+
+        RabbitMQConfig config = new RabbitMQConfig();
+        RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        admin.declareExchange(config.notificationExchange());
+        admin.declareQueue(config.notificationQueue());
+        admin.declareQueue(config.highPriorityNotificationQueue());
+        admin.declareBinding(config.notificationBinding());
+        admin.declareBinding(config.highPriorityNotificationBinding());
+
+        rabbitTemplate = config.rabbitTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bulkContainer != null) {
+            bulkContainer.stop();
+        }
+        if (highContainer != null) {
+            highContainer.stop();
+        }
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void highPriorityLatencyIsIndependentOfBulkBacklog() throws Exception {
+        LatencyStats highLatency = new LatencyStats(HIGH_MESSAGES);
+        AtomicInteger bulkProcessed = new AtomicInteger();
+        CountDownLatch highDone = new CountDownLatch(HIGH_MESSAGES);
+
+        // Same consumer layout as application.yml: bulk 2 consumers, high 4 with prefetch 1
+        bulkContainer = container(RabbitMQConfig.QUEUE, 2, 250, message -> {
+            simulateProvider();
+            bulkProcessed.incrementAndGet();
+        });
+        highContainer = container(RabbitMQConfig.HIGH_PRIORITY_QUEUE, 4, 1, message -> {
+            simulateProvider();
+            long sentAt = message.getMessageProperties().getHeader(SENT_AT_HEADER);
+            highLatency.record(System.currentTimeMillis() - sentAt);
+            highDone.countDown();
+        });
+
+        // 1) Campaign: flood the bulk lane
+        for (int i = 0; i < BULK_MESSAGES; i++) {
+            publish(i, NotificationPriority.NORMAL);
+        }
+        bulkContainer.start();
+        highContainer.start();
+
+        // 2) OTP traffic trickles in while the bulk backlog is being drained
+        for (int i = 0; i < HIGH_MESSAGES; i++) {
+            publish(BULK_MESSAGES + i, NotificationPriority.HIGH);
+            Thread.sleep(20);
+        }
+
+        assertThat(highDone.await(60, TimeUnit.SECONDS)).isTrue();
+        System.out.printf("HIGH lane latency: %s (bulk processed so far: %d/%d)%n",
+                highLatency.summary(), bulkProcessed.get(), BULK_MESSAGES);
+
+        // Bulk backlog still present, yet OTPs were delivered within seconds
+        assertThat(bulkProcessed.get()).isLessThan(BULK_MESSAGES);
+        assertThat(highLatency.percentile(99)).isLessThan(5_000);
+    }
+
+    private SimpleMessageListenerContainer container(String queue, int consumers, int prefetch,
+            MessageListener listener) {
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(queue);
+        container.setConcurrentConsumers(consumers);
+        container.setPrefetchCount(prefetch);
+        container.setMessageListener(listener);
+        return container;
+    }
+
+    private void publish(long id, NotificationPriority priority) {
+        Notification notification = Notification.builder()
+                .id(id)
+                .channel(Channel.SMS)
+                .templateName("otp")
+                .parameters("{\"phoneNumber\":\"+10000000000\"}")
+                .priority(priority)
+                .build();
+        rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE, RabbitMQConfig.routingKeyFor(priority),
+                notification, (Message m) -> {
+                    m.getMessageProperties().setHeader(SENT_AT_HEADER, System.currentTimeMillis());
+                    return m;
+                });
+    }
+
+    private static void simulateProvider() {
+        try {
+            Thread.sleep(PROVIDER_LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
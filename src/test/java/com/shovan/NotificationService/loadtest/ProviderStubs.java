@@ -0,0 +1,210 @@
+package com.shovan.NotificationService.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.twilio.http.HttpClient;
+import com.twilio.http.NetworkHttpClient;
+import com.twilio.http.Request;
+import com.twilio.http.Response;
+import com.twilio.http.TwilioRestClient;
+
+/**
+ * Local stand-ins for the notification providers:
+ * <ul>
+ * <li>SMTP – GreenMail</li>
+ * <li>Twilio and FCM – WireMock stubs of the message-create endpoints, with a
+ * log-normal latency around {@code medianLatencyMillis} and a fraction
+ * {@code errorRate} of requests answered with 503</li>
+ * </ul>
+ * SMS the Twilio stub accepted are counted per recipient, to spot duplicate
+ * sends.
+ * The real SDK clients are used, redirected to the stub server, so SDK
+ * serialization, retries and connection handling are part of the
+ * measurement.
+ */
+public class ProviderStubs implements AutoCloseable {
+
+    static final String TWILIO_ACCOUNT_SID = "AC00000000000000000000000000000000";
+    static final String FCM_PROJECT_ID = "loadtest";
+
+    private static final String TWILIO_MESSAGES = "/2010-04-01/Accounts/[^/]+/Messages.json";
+    private static final String FCM_SEND = "/v1/projects/[^/]+/messages:send";
+
+    private final GreenMail smtp;
+    private final WireMockServer http;
+    private final Map<String, LongAdder> smsAccepted = new ConcurrentHashMap<>();
+
+    /**
+     * Start the stubs.
+     *
+     * @param medianLatencyMillis median response delay of the HTTP providers
+     * @param errorRate           fraction (0..1) of HTTP provider calls that fail
+     */
+    public ProviderStubs(int medianLatencyMillis, double errorRate) {
+        this.smtp = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        this.smtp.start();
+
+        this.http = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(200)
+                .jettyAcceptors(4)
+                .disableRequestJournal()
+                .extensions(new FaultInjector(errorRate, smsAccepted)));
+        this.http.start();
+        this.http.stubFor(post(urlPathMatching(TWILIO_MESSAGES))
+                .willReturn(delayed(aResponse().withStatus(201), medianLatencyMillis)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"sid\":\"SM00000000000000000000000000000000\",\"status\":\"queued\"}")));
+        this.http.stubFor(post(urlPathMatching(FCM_SEND))
+                .willReturn(delayed(aResponse().withStatus(200), medianLatencyMillis)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"name\":\"projects/" + FCM_PROJECT_ID + "/messages/0\"}")));
+    }
+
+    /** @return the GreenMail SMTP port */
+    public int smtpPort() {
+        return smtp.getSmtp().getPort();
+    }
+
+    /** @return emails received by the SMTP stub */
+    public int emailsReceived() {
+        return smtp.getReceivedMessages().length;
+    }
+
+    /** @return SMS accepted by the Twilio stub, by "To" number */
+    public Map<String, LongAdder> smsAcceptedByRecipient() {
+        return smsAccepted;
+    }
+
+    /**
+     * @return a Twilio client whose requests go to the stub
+     */
+    public TwilioRestClient twilioRestClient() {
+        return new TwilioRestClient.Builder(TWILIO_ACCOUNT_SID, "stub-token")
+                .httpClient(new RedirectingTwilioClient(http.baseUrl()))
+                .build();
+    }
+
+    /**
+     * @return a FirebaseMessaging client whose HTTP transport targets the stub
+     */
+    public FirebaseMessaging firebaseMessaging() {
+        String base = http.baseUrl();
+        NetHttpTransport transport = new NetHttpTransport.Builder()
+                .setConnectionFactory(url -> (HttpURLConnection) new URL(base + url.getFile()).openConnection())
+                .build();
+        FirebaseOptions options = FirebaseOptions.builder()
+                .setCredentials(GoogleCredentials.create(
+                        new AccessToken("stub-token", Date.from(Instant.now().plusSeconds(86_400)))))
+                .setProjectId(FCM_PROJECT_ID)
+                .setHttpTransport(transport)
+                .build();
+        // One app per stub server: a later test class in the same JVM gets its own
+        String name = "loadtest-" + http.port();
+        FirebaseApp app = FirebaseApp.getApps().stream()
+                .filter(existing -> existing.getName().equals(name))
+                .findFirst()
+                .orElseGet(() -> FirebaseApp.initializeApp(options, name));
+        return FirebaseMessaging.getInstance(app);
+    }
+
+    @Override
+    public void close() {
+        http.stop();
+        smtp.stop();
+    }
+
+    private static ResponseDefinitionBuilder delayed(ResponseDefinitionBuilder response, int medianMillis) {
+        return medianMillis > 0 ? response.withLogNormalRandomDelay(medianMillis, 0.4) : response;
+    }
+
+    /** Turns a random fraction of stubbed responses into 503s, and counts accepted SMS. */
+    private static final class FaultInjector implements ResponseDefinitionTransformerV2 {
+
+        private final double errorRate;
+        private final Map<String, LongAdder> smsAccepted;
+
+        FaultInjector(double errorRate, Map<String, LongAdder> smsAccepted) {
+            this.errorRate = errorRate;
+            this.smsAccepted = smsAccepted;
+        }
+
+        @Override
+        public ResponseDefinition transform(ServeEvent serveEvent) {
+            ResponseDefinition response = serveEvent.getResponseDefinition();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                return ResponseDefinitionBuilder.like(response).but()
+                        .withStatus(503)
+                        .withBody("{\"error\":\"injected\"}")
+                        .build();
+            }
+            if (serveEvent.getRequest().getUrl().matches(TWILIO_MESSAGES)) {
+                String to = serveEvent.getRequest().formParameter("To").firstValue();
+                smsAccepted.computeIfAbsent(to, recipient -> new LongAdder()).increment();
+            }
+            return response;
+        }
+
+        @Override
+        public String getName() {
+            return "fault-injector";
+        }
+    }
+
+    /** Rewrites Twilio API URLs (https://api.twilio.com/...) to the stub server. */
+    private static final class RedirectingTwilioClient extends HttpClient {
+
+        private final NetworkHttpClient delegate = new NetworkHttpClient();
+        private final String baseUrl;
+
+        RedirectingTwilioClient(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        @Override
+        public Response makeRequest(Request request) {
+            Request redirected = new Request(request.getMethod(), baseUrl + path(request));
+            if (request.requiresAuthentication()) {
+                redirected.setAuth(request.getUsername(), request.getPassword());
+            }
+            request.getQueryParams().forEach((k, values) -> values.forEach(v -> redirected.addQueryParam(k, v)));
+            request.getPostParams().forEach((k, values) -> values.forEach(v -> redirected.addPostParam(k, v)));
+            request.getHeaderParams().forEach((k, values) -> values.forEach(v -> redirected.addHeaderParam(k, v)));
+            return delegate.makeRequest(redirected);
+        }
+
+        private static String path(Request request) {
+            try {
+                return new URL(request.getUrl()).getPath();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Bad Twilio URL " + request.getUrl(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.shovan.NotificationService.loadtest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.loadtest.EndToEndLoadTest.StandIns;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.twilio.http.TwilioRestClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Throughput of Twilio status callbacks into POST /api/callbacks/twilio, with
+ * the same local stand-ins as {@link EndToEndLoadTest}.
+ *
+ * <p>
+ * Seeds SUCCESS notifications, then floods the endpoint with signed
+ * callbacks from virtual threads, as Twilio does: a "sent" then a
+ * "delivered" per notification, cycling through the seeded rows so later
+ * rounds are duplicates. Reports callback rate and latency, and how many
+ * notifications each receipt UPDATE carried; asserts every notification
+ * that got a "delivered" callback ends DELIVERED.
+ * </p>
+ *
+ * <pre>
+ * mvn test -Pload-test -Dtest=ReceiptCallbackLoadTest \
+ *     -Dloadtest.concurrency=64 -Dloadtest.durationSeconds=30
+ * </pre>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.shovan.NotificationService=${loadtest.logLevel:WARN}",
+        "notification.receipts.enabled=true",
+        "notification.receipts.twilio-callback-url=" + ReceiptCallbackLoadTest.CALLBACK_URL
+})
+@ActiveProfiles("stub-providers")
+class ReceiptCallbackLoadTest {
+
+    /** As configured; Twilio signs this URL, whatever host the request reaches. */
+    static final String CALLBACK_URL = "https://notifications.example.com/api/callbacks/twilio";
+    private static final String AUTH_TOKEN = "stub-token";
+
+    private static StandIns standIns;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void standInProperties(DynamicPropertyRegistry registry) throws Exception {
+        standIns = StandIns.start(0, 0);
+
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:receipts;MODE=PostgreSQL;"
+                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.rabbitmq.port", standIns.broker()::port);
+        registry.add("spring.data.redis.port", standIns.redis()::getBindPort);
+        registry.add("notification.providers.twilio.account-sid", () -> ProviderStubs.TWILIO_ACCOUNT_SID);
+        registry.add("notification.providers.twilio.auth-token", () -> AUTH_TOKEN);
+        registry.add("notification.providers.twilio.from-number", () -> "+10000000001");
+    }
+
+    @Test
+    void callbackFloodThroughput() throws Exception {
+        int notifications = Integer.getInteger("loadtest.receipts.notifications", 20_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 20));
+
+        List<Long> ids = seed(notifications);
+        String endpoint = "http://localhost:" + port + "/api/callbacks/twilio?notificationId=";
+        AtomicLong sequence = new AtomicLong();
+        // Warm-up callbacks count too: they are applied all the same
+        Set<Long> delivered = ConcurrentHashMap.newKeySet();
+
+        HttpLoadDriver.Result flood = new HttpLoadDriver().run(() -> {
+            long n = sequence.getAndIncrement();
+            long id = ids.get((int) (n / 2 % ids.size()));
+            if (n % 2 == 1) {
+                delivered.add(id);
+            }
+            return callback(endpoint, id, n % 2 == 0 ? "sent" : "delivered");
+        }, concurrency, warmup, duration, null);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (meterRegistry.get("notification.receipts.pending").gauge().value() > 0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        // The flusher may still be writing the last batch it took
+        Thread.sleep(500);
+        long deliveredRows = notificationRepository.count((root, query, cb) -> cb.equal(root.get("status"),
+                NotificationStatus.DELIVERED));
+        var batches = meterRegistry.get("notification.receipts.batch.size").summary();
+
+        System.out.printf("%n=== Receipt callback load test (concurrency=%d, %ds, %d notifications) ===%n",
+                concurrency, duration.toSeconds(), notifications);
+        System.out.printf("callbacks: %s%n", flood);
+        System.out.printf("receipts : received=%.0f applied=%.0f discarded=%.0f rejected=%.0f%n",
+                meterRegistry.get("notification.receipts.received").counters().stream()
+                        .mapToDouble(c -> c.count()).sum(),
+                meterRegistry.get("notification.receipts.applied").counters().stream()
+                        .mapToDouble(c -> c.count()).sum(),
+                meterRegistry.get("notification.receipts.discarded").counter().count(),
+                meterRegistry.get("notification.receipts.rejected").counter().count());
+        System.out.printf("updates  : %d UPDATEs, mean %.0f / max %.0f notifications each%n",
+                batches.count(), batches.mean(), batches.max());
+        System.out.printf("rows     : %d of %d DELIVERED%n", deliveredRows, notifications);
+
+        assertThat(flood.errors()).as("callback errors").isZero();
+        assertThat(deliveredRows).as("notifications moved to DELIVERED").isEqualTo(delivered.size());
+    }
+
+    private List<Long> seed(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        List<Notification> chunk = new ArrayList<>(1000);
+        for (int i = 0; i < count; i++) {
+            chunk.add(Notification.builder()
+                    .channel(Channel.SMS)
+                    .templateName("otp")
+                    .parameters("{\"phoneNumber\":\"+1555" + i + "\"}")
+                    .status(NotificationStatus.SUCCESS)
+                    .attempts(1)
+                    .provider("twilio")
+                    .build());
+            if (chunk.size() == 1000 || i == count - 1) {
+                notificationRepository.saveAll(chunk).forEach(n -> ids.add(n.getId()));
+                chunk.clear();
+            }
+        }
+        return ids;
+    }
+
+    /** A callback as Twilio sends it, signed with the account's auth token. */
+    private static HttpRequest callback(String endpoint, long id, String status) {
+        Map<String, String> form = new TreeMap<>(Map.of(
+                "AccountSid", ProviderStubs.TWILIO_ACCOUNT_SID,
+                "MessageSid", "SM" + id,
+                "MessageStatus", status,
+                "To", "+15550000000"));
+        String body = form.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), UTF_8))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(URI.create(endpoint + id))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("X-Twilio-Signature", twilioSignature(CALLBACK_URL + "?notificationId=" + id, form))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /** Base64 HMAC-SHA1 of the URL followed by the sorted parameters, as Twilio signs. */
+    private static String twilioSignature(String url, Map<String, String> sortedForm) {
+        StringBuilder data = new StringBuilder(url);
+        sortedForm.forEach((key, value) -> data.append(key).append(value));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA1");
+            mac.init(new SecretKeySpec(AUTH_TOKEN.getBytes(UTF_8), "HmacSHA1"));
+            return Base64.getEncoder().encodeToString(mac.doFinal(data.toString().getBytes(UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TestConfiguration
+    static class StandInConfig {
+
+        /** Replaces ProviderConfig's clients (inactive under "stub-providers"). */
+        @Bean
+        FirebaseMessaging firebaseMessaging() {
+            return standIns.providers().firebaseMessaging();
+        }
+
+        @Bean
+        TwilioRestClient twilioRestClient() {
+            return standIns.providers().twilioRestClient();
+        }
+
+        /** Stops the stand-ins when the context closes. */
+        @Bean(destroyMethod = "close")
+        StandIns standIns() {
+            return standIns;
+        }
+    }
+}
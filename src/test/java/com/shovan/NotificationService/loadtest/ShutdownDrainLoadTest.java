@@ -0,0 +1,237 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.entity.NotificationTemplate;
+import com.shovan.NotificationService.repository.NotificationTemplateRepository;
+import com.shovan.NotificationService.tenant.TenantShards;
+import com.twilio.http.TwilioRestClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Shuts the service's consumers down in the middle of a backlog of SMS, as a rolling
+ * deploy does, and counts the sends the next instance would repeat.
+ *
+ * <p>
+ * The stand-ins are those of {@link EndToEndLoadTest}, with an SMS provider
+ * slow and flaky enough that deliveries are still retrying past the
+ * containers' default 5s shutdown wait when the context closes.
+ * Every notification has its own phone number. After the close, whatever is
+ * left on the bulk queues is what another instance would consume; a leftover
+ * whose recipient the provider stub already accepted is a duplicate send, as
+ * is a recipient accepted twice. Compare against the containers' defaults
+ * with -Dnotification.drain.enabled=false:
+ * </p>
+ *
+ * <pre>
+ * mvn test -Pload-test -Dtest=ShutdownDrainLoadTest [-Dnotification.drain.enabled=false]
+ * </pre>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.shovan.NotificationService=${loadtest.logLevel:INFO}",
+        "resilience4j.ratelimiter.instances.client-loadtest.baseConfig=clientQuota",
+        "resilience4j.ratelimiter.instances.client-loadtest.limitForPeriod=1000000",
+        "notification.lanes.bulk.concurrency=8"
+})
+@ActiveProfiles("stub-providers")
+@DirtiesContext
+class ShutdownDrainLoadTest {
+
+    private static final String BODY = """
+            {"templateName":"welcome","channels":["SMS"],
+             "parameters":{"username":"drain","phoneNumber":"%s"}}
+            """;
+
+    private static EndToEndLoadTest.StandIns standIns;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private NotificationTemplateRepository templateRepository;
+
+    @Autowired
+    private TenantShards tenantShards;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void standInProperties(DynamicPropertyRegistry registry) throws Exception {
+        standIns = EndToEndLoadTest.StandIns.start(
+                Integer.getInteger("loadtest.provider.latencyMs", 1500),
+                Double.parseDouble(System.getProperty("loadtest.provider.errorRate", "0.5")));
+
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:drain;MODE=PostgreSQL;"
+                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.rabbitmq.port", standIns.broker()::port);
+        registry.add("spring.data.redis.port", standIns.redis()::getBindPort);
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", standIns.providers()::smtpPort);
+        registry.add("notification.providers.twilio.account-sid", () -> ProviderStubs.TWILIO_ACCOUNT_SID);
+        registry.add("notification.providers.twilio.auth-token", () -> "stub-token");
+        registry.add("notification.providers.twilio.from-number", () -> "+10000000001");
+    }
+
+    @Test
+    void shutdownMidBacklogSendsNothingTwice() throws Exception {
+        int notifications = Integer.getInteger("loadtest.notifications", 150);
+        int closeAfter = Integer.getInteger("loadtest.closeAfter", 20);
+
+        if (templateRepository.findByName("welcome").isEmpty()) {
+            templateRepository.save(NotificationTemplate.builder()
+                    .name("welcome")
+                    .content("<p>Welcome, <span th:text=\"${username}\">user</span>!</p>")
+                    .build());
+        }
+        String[] bulkQueues = tenantShards.bulkQueues();
+
+        HttpClient http = HttpClient.newHttpClient();
+        for (int i = 0; i < notifications; i++) {
+            post(http, phone(i));
+        }
+
+        Map<String, LongAdder> accepted = standIns.providers().smsAcceptedByRecipient();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (accepted.size() < closeAfter && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        int acceptedAtClose = accepted.size();
+
+        // What close() does before destroying beans; the test framework closes the rest
+        long closeStarted = System.nanoTime();
+        context.publishEvent(new ContextClosedEvent(context));
+        context.stop();
+        long closeMillis = (System.nanoTime() - closeStarted) / 1_000_000;
+        // Sends abandoned by the close may still be on their way to the stub
+        Thread.sleep(5_000);
+
+        Map<String, Integer> sendsByRecipient = new HashMap<>();
+        accepted.forEach((phone, count) -> sendsByRecipient.put(phone, count.intValue()));
+        List<String> leftover = leftoverRecipients(bulkQueues);
+        long repeatedHere = sendsByRecipient.values().stream().filter(count -> count > 1).count();
+        long repeatedByNext = leftover.stream().filter(sendsByRecipient::containsKey).count();
+
+        System.out.printf("%n=== Shutdown drain load test (drain %s, %d SMS, provider latency=%sms, error rate=%s) ===%n",
+                System.getProperty("notification.drain.enabled", "true"), notifications,
+                System.getProperty("loadtest.provider.latencyMs", "1500"),
+                System.getProperty("loadtest.provider.errorRate", "0.5"));
+        System.out.printf("close    : %d ms, %d recipients accepted at close, %d after%n",
+                closeMillis, acceptedAtClose, sendsByRecipient.size());
+        System.out.printf("drain    : completed=%.0f handed-back=%.0f abandoned=%.0f%n",
+                drained("completed"), drained("handed-back"), drained("abandoned"));
+        System.out.printf("requeued : %d left for the next instance%n", leftover.size());
+        System.out.printf("duplicate: %d sent twice here, %d would be sent again by the next instance%n",
+                repeatedHere, repeatedByNext);
+
+        assertThat(acceptedAtClose).as("SMS sent before the close").isGreaterThanOrEqualTo(closeAfter);
+        if (Boolean.parseBoolean(System.getProperty("notification.drain.enabled", "true"))) {
+            assertThat(repeatedHere + repeatedByNext).as("duplicate sends").isZero();
+        }
+    }
+
+    private void post(HttpClient http, String phone) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/notifications"))
+                .header("Content-Type", "application/json")
+                .header("X-Client-Id", "loadtest")
+                .POST(HttpRequest.BodyPublishers.ofString(BODY.formatted(phone)))
+                .build();
+        for (int attempt = 0; attempt < 50; attempt++) {
+            if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("POST for " + phone + " was never accepted");
+    }
+
+    /** Consume what the closed instance left on the bulk queues. */
+    private static List<String> leftoverRecipients(String[] queues) throws Exception {
+        CachingConnectionFactory connectionFactory = new CachingConnectionFactory("localhost", standIns.broker().port());
+        try {
+            RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+            Jackson2JsonMessageConverter converter = new RabbitMQConfig().jackson2JsonMessageConverter();
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<String> recipients = new ArrayList<>();
+            for (String queue : queues) {
+                Message message;
+                while ((message = rabbitTemplate.receive(queue)) != null) {
+                    Notification notification = (Notification) converter.fromMessage(message);
+                    recipients.add(objectMapper.readTree(notification.getParameters()).path("phoneNumber").asText());
+                }
+            }
+            return recipients;
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private static String phone(int i) {
+        return String.format("+1555%07d", i);
+    }
+
+    private double drained(String outcome) {
+        return meterRegistry.get("notification.drain.deliveries").tag("outcome", outcome).counter().count();
+    }
+
+    @TestConfiguration
+    static class StandInConfig {
+
+        /** Replaces ProviderConfig's clients (inactive under "stub-providers"). */
+        @Bean
+        FirebaseMessaging firebaseMessaging() {
+            return standIns.providers().firebaseMessaging();
+        }
+
+        @Bean
+        TwilioRestClient twilioRestClient() {
+            return standIns.providers().twilioRestClient();
+        }
+
+        /** Stops the stand-ins when the context closes, after the leftovers are counted. */
+        @Bean(destroyMethod = "close")
+        EndToEndLoadTest.StandIns standIns() {
+            return standIns;
+        }
+    }
+}
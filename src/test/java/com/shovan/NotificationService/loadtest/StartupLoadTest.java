@@ -0,0 +1,244 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.h2.Driver;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.shovan.NotificationService.NotificationServiceApplication;
+import com.shovan.NotificationService.loadtest.EndToEndLoadTest.StandIns;
+
+/**
+ * Time from launching a new instance to its first consumed notification,
+ * the figure that decides how fast scaled-out consumers help during a spike.
+ *
+ * <p>
+ * Launches the application built by {@code mvn package -Pstartup} (the
+ * jar extracted to target/application, its CDS archive and AOT initializers)
+ * as a child JVM
+ * against the same stand-ins as {@link EndToEndLoadTest}, with H2 served over
+ * TCP from this JVM. For each configuration (plain, CDS, AOT, CDS + AOT) it
+ * starts {@code loadtest.startup.runs} instances one after another, posts an
+ * EMAIL notification until the instance accepts it, and waits for the SMTP
+ * stub to receive it. Reports the medians of launch → accepting and launch →
+ * first message consumed. An unmeasured run first creates the schema and
+ * warms the file cache. Skipped when target/application is missing.
+ * </p>
+ *
+ * <p>
+ * The profile's training run refreshes the context without touching the
+ * database, broker or providers, then exits and dumps the loaded classes.
+ * Outside this test, run the result from target/application with
+ * {@code java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar NotificationService-0.0.1-SNAPSHOT-exec.jar}.
+ * </p>
+ *
+ * <pre>
+ * mvn package -Pstartup -DskipTests
+ * mvn test -Pload-test -Dtest=StartupLoadTest -Dloadtest.startup.runs=5
+ * </pre>
+ */
+@Tag("load")
+class StartupLoadTest {
+
+    private static final Path APP_DIR = Path.of(System.getProperty("loadtest.startup.appDir", "target/application"));
+    private static final int RUNS = Integer.getInteger("loadtest.startup.runs", 3);
+    private static final Duration RUN_TIMEOUT = Duration.ofSeconds(120);
+    private static final String BODY = """
+            {"templateName":"welcome","channels":["EMAIL"],
+             "parameters":{"username":"startup","email":"startup@example.com"}}
+            """;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    /** One launch: milliseconds from process start. */
+    private record Timing(long acceptingMillis, long consumedMillis) {
+    }
+
+    @Test
+    void timeToFirstMessageConsumed() throws Exception {
+        Path jar = applicationJar();
+        assumeTrue(jar != null, "No application in " + APP_DIR + "; build and extract it first (see the class comment)");
+        Path archive = APP_DIR.resolve("application.jsa");
+
+        Map<String, List<String>> configurations = new LinkedHashMap<>();
+        configurations.put("plain", List.of());
+        configurations.put("aot", List.of("-Dspring.aot.enabled=true"));
+        if (Files.exists(archive)) {
+            configurations.put("cds", List.of("-XX:SharedArchiveFile=" + archive.getFileName()));
+            configurations.put("cds+aot", List.of("-XX:SharedArchiveFile=" + archive.getFileName(),
+                    "-Dspring.aot.enabled=true"));
+        }
+
+        Server h2 = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String jdbcUrl = "jdbc:h2:tcp://localhost:" + h2.getPort() + "/mem:startup;MODE=PostgreSQL;"
+                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+        try (StandIns standIns = StandIns.start(0, 0)) {
+            launch(jar, List.of(), jdbcUrl, standIns, true);
+
+            System.out.printf("%n=== Startup load test (%s, %d runs each) ===%n", jar.getFileName(), RUNS);
+            for (Map.Entry<String, List<String>> configuration : configurations.entrySet()) {
+                long[] accepting = new long[RUNS];
+                long[] consumed = new long[RUNS];
+                for (int run = 0; run < RUNS; run++) {
+                    Timing timing = launch(jar, configuration.getValue(), jdbcUrl, standIns, false);
+                    accepting[run] = timing.acceptingMillis();
+                    consumed[run] = timing.consumedMillis();
+                }
+                System.out.printf("%-8s accepting p50=%5dms  first consumed p50=%5dms  (runs %s)%n",
+                        configuration.getKey(), median(accepting), median(consumed), Arrays.toString(consumed));
+            }
+        } finally {
+            h2.stop();
+        }
+    }
+
+    /**
+     * Start an instance, post until it accepts, wait for the email and stop
+     * it. The first launch also seeds the template once Hibernate has created
+     * the schema.
+     */
+    private Timing launch(Path jar, List<String> jvmOptions, String jdbcUrl, StandIns standIns, boolean seed)
+            throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        // The extracted jar's manifest puts lib/ on the class path; H2 is a
+        // test dependency and goes after it, which CDS allows
+        command.add("-cp");
+        command.add(jar.getFileName() + File.pathSeparator + h2Jar());
+        command.add(NotificationServiceApplication.class.getName());
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.rabbitmq.port=" + standIns.broker().port(),
+                "--spring.data.redis.port=" + standIns.redis().getBindPort(),
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=" + standIns.providers().smtpPort(),
+                "--notification.providers.twilio.account-sid=" + ProviderStubs.TWILIO_ACCOUNT_SID,
+                "--notification.providers.twilio.auth-token=stub-token",
+                "--notification.providers.twilio.from-number=+10000000001"));
+
+        Path log = Files.createTempFile("startup-", ".log");
+        int emailsBefore = standIns.providers().emailsReceived();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(APP_DIR.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + RUN_TIMEOUT.toNanos();
+            if (seed) {
+                seedTemplate(jdbcUrl, process, deadline, log);
+            }
+            long accepted = post(port, process, deadline, log);
+            while (standIns.providers().emailsReceived() == emailsBefore) {
+                assertThat(System.nanoTime()).as("first notification consumed; see %s", log).isLessThan(deadline);
+                Thread.sleep(5);
+            }
+            long consumed = System.nanoTime();
+            Files.deleteIfExists(log);
+            return new Timing((accepted - start) / 1_000_000, (consumed - start) / 1_000_000);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /** POST until the instance accepts the notification; returns the nanoTime it did. */
+    private long post(int port, Process process, long deadline, Path log) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/notifications"))
+                .header("Content-Type", "application/json")
+                .header("X-Client-Id", "loadtest")
+                .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                .build();
+        while (true) {
+            assertThat(process.isAlive()).as("instance running; see %s", log).isTrue();
+            assertThat(System.nanoTime()).as("instance accepting; see %s", log).isLessThan(deadline);
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() / 100 == 2) {
+                    return System.nanoTime();
+                }
+            } catch (ConnectException notListening) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void seedTemplate(String jdbcUrl, Process process, long deadline, Path log) throws Exception {
+        Driver.load();
+        while (true) {
+            assertThat(process.isAlive()).as("instance running; see %s", log).isTrue();
+            assertThat(System.nanoTime()).as("schema created; see %s", log).isLessThan(deadline);
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+                    Statement statement = connection.createStatement()) {
+                statement.executeUpdate("""
+                        insert into notification_template (name, content, created_at, updated_at)
+                        values ('welcome', '<p>Welcome, <span th:text="${username}">user</span>!</p>',
+                                now(), now())
+                        """);
+                return;
+            } catch (SQLException tableMissing) {
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    private static Path applicationJar() throws IOException {
+        if (!Files.isDirectory(APP_DIR)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(APP_DIR)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar")).findFirst().orElse(null);
+        }
+    }
+
+    private static String h2Jar() throws Exception {
+        return Path.of(Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,218 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.rabbitmq.stream.Address;
+import com.rabbitmq.stream.Environment;
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.queue.NotificationListener;
+import com.shovan.NotificationService.stream.RabbitNotificationLog;
+import com.shovan.NotificationService.stream.StreamLane;
+import com.shovan.NotificationService.stream.StreamProperties;
+import com.shovan.NotificationService.stream.StreamProperties.Backend;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Load test comparing bulk-lane throughput on the classic queue with the
+ * stream-backed lane (notification.stream.enabled).
+ *
+ * <p>
+ * The same backlog is published to each and drained with the same
+ * parallelism and simulated provider latency: the classic lane with
+ * NotificationListener's container layout, the stream lane with
+ * {@link StreamLane} over {@link RabbitNotificationLog}. Both rates are
+ * printed; the test asserts every notification is handled exactly once.
+ * Needs Docker for the RabbitMQ container (with the stream plugin) and is
+ * skipped without it.
+ * </p>
+ *
+ * Run with: {@code mvn test -Pload-test -Dtest=StreamLaneLoadTest}
+ */
+@Tag("load")
+@Testcontainers(disabledWithoutDocker = true)
+class StreamLaneLoadTest {
+
+    private static final int MESSAGES = 20_000;
+    private static final int CONCURRENCY = 8;
+    private static final long PROVIDER_LATENCY_MS = 2;
+    private static final int STREAM_PORT = 5552;
+
+    @Container
+    static final RabbitMQContainer RABBIT = new RabbitMQContainer("rabbitmq:3.13-management")
+            .withExposedPorts(5672, 15672, STREAM_PORT);
+
+    private final Jackson2JsonMessageConverter converter = new RabbitMQConfig().jackson2JsonMessageConverter();
+    private CachingConnectionFactory connectionFactory;
+    private RabbitTemplate rabbitTemplate;
+    private Environment environment;
+    private ExecutorService publishers;
+
+    @BeforeAll
+    static void enableStreams() throws Exception {
+        assertThat(RABBIT.execInContainer("rabbitmq-plugins", "enable", "rabbitmq_stream").getExitCode()).isZero();
+    }
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new CachingConnectionFactory(RABBIT.getHost(), RABBIT.getAmqpPort());
+        connectionFactory.setUsername(RABBIT.getAdminUsername());
+        connectionFactory.setPassword(RABBIT.getAdminPassword());
+
+        RabbitMQConfig config = new RabbitMQConfig();
+        RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        admin.declareExchange(config.notificationExchange());
+        admin.declareQueue(config.notificationQueue());
+        admin.declareBinding(config.notificationBinding());
+        rabbitTemplate = config.rabbitTemplate(connectionFactory);
+
+        // The broker advertises its container hostname; always dial the mapped port
+        Address mapped = new Address(RABBIT.getHost(), RABBIT.getMappedPort(STREAM_PORT));
+        environment = Environment.builder()
+                .host(mapped.host())
+                .port(mapped.port())
+                .username(RABBIT.getAdminUsername())
+                .password(RABBIT.getAdminPassword())
+                .addressResolver(address -> mapped)
+                .build();
+        publishers = Executors.newFixedThreadPool(CONCURRENCY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publishers.shutdownNow();
+        environment.close();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void comparesBacklogDrainRateOfClassicQueueAndStream() throws Exception {
+        double classic = classicQueueRate();
+        double stream = streamLaneRate();
+
+        System.out.printf("Bulk lane drain, %d notifications, %d workers, %d ms provider: "
+                + "classic queue %.0f/s, stream %.0f/s (%.2fx)%n",
+                MESSAGES, CONCURRENCY, PROVIDER_LATENCY_MS, classic, stream, stream / classic);
+    }
+
+    private double classicQueueRate() throws Exception {
+        Set<Long> handled = ConcurrentHashMap.newKeySet();
+        publish(id -> rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE, RabbitMQConfig.ROUTING_KEY,
+                notification(id)));
+
+        // NotificationListener's bulk container: one consumer per worker, prefetch 250
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(RabbitMQConfig.QUEUE);
+        container.setConcurrentConsumers(CONCURRENCY);
+        container.setPrefetchCount(250);
+        container.setMessageListener(message -> {
+            simulateProvider();
+            handled.add(((Notification) converter.fromMessage(message)).getId());
+        });
+        long start = System.nanoTime();
+        container.start();
+        try {
+            awaitAll(handled);
+        } finally {
+            container.stop();
+        }
+        return rate(start);
+    }
+
+    private double streamLaneRate() throws Exception {
+        Set<Long> handled = ConcurrentHashMap.newKeySet();
+        NotificationListener listener = mock(NotificationListener.class);
+        doAnswer(call -> {
+            simulateProvider();
+            return handled.add(call.<Notification>getArgument(0).getId());
+        }).when(listener).handleStreamedNotification(any(), any());
+
+        RabbitNotificationLog log = new RabbitNotificationLog(environment, "notification.stream.load-test",
+                Duration.ofHours(1), Duration.ofSeconds(5));
+        publish(id -> log.append(converter.toMessage(notification(id), new MessageProperties())));
+
+        StreamProperties properties = new StreamProperties(true, Backend.RABBIT, "notification.stream.load-test",
+                "load-test", 100, Duration.ofMillis(200), CONCURRENCY, Duration.ofHours(1),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), 0);
+        StreamLane lane = new StreamLane(log, properties, listener, converter, rabbitTemplate,
+                new SimpleMeterRegistry(), 3, Duration.ofMillis(100));
+        long start = System.nanoTime();
+        lane.start();
+        try {
+            awaitAll(handled);
+        } finally {
+            lane.stop();
+            log.destroy();
+        }
+        return rate(start);
+    }
+
+    /** Publish the backlog from the worker pool: appends wait for their confirm. */
+    private void publish(java.util.function.LongConsumer send) throws InterruptedException {
+        for (long id = 0; id < MESSAGES; id++) {
+            long current = id;
+            publishers.execute(() -> send.accept(current));
+        }
+        ExecutorService pool = publishers;
+        publishers = Executors.newFixedThreadPool(CONCURRENCY);
+        pool.shutdown();
+        assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+    }
+
+    private static void awaitAll(Set<Long> handled) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (handled.size() < MESSAGES) {
+            assertThat(System.nanoTime()).as("drained %d/%d", handled.size(), MESSAGES).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        assertThat(handled).hasSize(MESSAGES);
+    }
+
+    private static double rate(long startNanos) {
+        return MESSAGES / ((System.nanoTime() - startNanos) / 1e9);
+    }
+
+    private static Notification notification(long id) {
+        return Notification.builder()
+                .id(id)
+                .channel(Channel.EMAIL)
+                .templateName("campaign")
+                .parameters("{\"email\":\"user" + id + "@example.com\"}")
+                .build();
+    }
+
+    private static void simulateProvider() {
+        try {
+            Thread.sleep(PROVIDER_LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.shovan.NotificationService.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.partition.RecipientPartitions;
+import com.shovan.NotificationService.service.RabbitNotificationPublisher;
+import com.shovan.NotificationService.stream.NotificationLog;
+import com.shovan.NotificationService.tenant.TenantShards;
+import com.shovan.NotificationService.tracing.DeliveryTrace;
+
+/**
+ * Load test proving that small tenants keep low latency while one tenant's
+ * campaign fills the bulk lane.
+ *
+ * <p>
+ * The guarantee is per shard, not per tenant: a tenant that hashes to the
+ * campaign's shard queues behind the campaign's backlog in FIFO order. The
+ * test asserts both sides, so a change to the sharding shows up here.
+ * </p>
+ * <p>
+ * Publishes through RabbitNotificationPublisher into the topology from
+ * {@link RabbitMQConfig} and {@link TenantShards}, and consumes with the same
+ * layout as NotificationListener's bulk lane (one container over every tenant
+ * sub-queue, prefetch 1). Every consumer simulates a slow provider call. Runs
+ * against {@link EmbeddedAmqpBroker}, so no Docker is needed.
+ * </p>
+ *
+ * Run with: {@code mvn test -Pload-test -Dtest=TenantFairnessLoadTest}
+ */
+@Tag("load")
+class TenantFairnessLoadTest {
+
+    private static final int CAMPAIGN_MESSAGES = 3_000;
+    private static final int SMALL_TENANT_MESSAGES = 60;
+    private static final long PROVIDER_LATENCY_MS = 20;
+    private static final String CAMPAIGN_TENANT = "campaign";
+
+    private EmbeddedAmqpBroker broker;
+    private CachingConnectionFactory connectionFactory;
+    private SimpleMessageListenerContainer bulkContainer;
+    private RabbitNotificationPublisher publisher;
+    private MessageConverter converter;
+    private final TenantShards shards = new TenantShards(8);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        broker = EmbeddedAmqpBroker.start();
+        connectionFactory = new CachingConnectionFactory("localhost", broker.port());
+
+        RabbitMQConfig config = new RabbitMQConfig();
+        RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        admin.declareExchange(config.notificationExchange());
+        admin.declareQueue(config.notificationQueue());
+        admin.declareBinding(config.notificationBinding());
+        for (Declarable declarable : config.tenantShardQueues(shards).getDeclarables()) {
+            if (declarable instanceof Queue queue) {
+                admin.declareQueue(queue);
+            } else if (declarable instanceof Binding binding) {
+                admin.declareBinding(binding);
+            }
+        }
+
+        RabbitTemplate rabbitTemplate = config.rabbitTemplate(connectionFactory);
+        converter = rabbitTemplate.getMessageConverter();
+        publisher = new RabbitNotificationPublisher(rabbitTemplate, shards,
+                new RecipientPartitions(0, true, new ObjectMapper()),
+                new StaticListableBeanFactory().getBeanProvider(NotificationLog.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bulkContainer != null) {
+            bulkContainer.stop();
+        }
+        connectionFactory.destroy();
+        broker.close();
+    }
+
+    @Test
+    void smallTenantsAreNotStarvedByACampaign() throws Exception {
+        List<String> smallTenants = tenantsOnOtherShards(3);
+        String collidingTenant = tenantOnCampaignShard();
+        LatencyStats smallLatency = new LatencyStats(SMALL_TENANT_MESSAGES);
+        AtomicInteger campaignProcessed = new AtomicInteger();
+        AtomicInteger collidingProcessed = new AtomicInteger();
+        CountDownLatch smallDone = new CountDownLatch(SMALL_TENANT_MESSAGES);
+
+        // Same layout as application.yml: bulk lane 2 consumers, prefetch 1 per queue
+        bulkContainer = new SimpleMessageListenerContainer(connectionFactory);
+        bulkContainer.setQueueNames(shards.bulkQueues());
+        bulkContainer.setConcurrentConsumers(2);
+        bulkContainer.setPrefetchCount(1);
+        bulkContainer.setMessageListener((Message message) -> {
+            simulateProvider();
+            DeliveryTrace trace = DeliveryTrace.from(message.getMessageProperties());
+            String tenant = ((Notification) converter.fromMessage(message)).getTenantId();
+            if (CAMPAIGN_TENANT.equals(tenant)) {
+                campaignProcessed.incrementAndGet();
+            } else if (collidingTenant.equals(tenant)) {
+                collidingProcessed.incrementAndGet();
+            } else {
+                smallLatency.record(System.currentTimeMillis() - trace.enqueuedAt());
+                smallDone.countDown();
+            }
+        });
+
+        // 1) Campaign: one tenant floods the bulk lane
+        for (int i = 0; i < CAMPAIGN_MESSAGES; i++) {
+            publisher.publish(notification(i, CAMPAIGN_TENANT));
+        }
+        publisher.publish(notification(CAMPAIGN_MESSAGES + SMALL_TENANT_MESSAGES, collidingTenant));
+        bulkContainer.start();
+
+        // 2) Other tenants trickle in while the campaign backlog is drained
+        for (int i = 0; i < SMALL_TENANT_MESSAGES; i++) {
+            publisher.publish(notification(CAMPAIGN_MESSAGES + i, smallTenants.get(i % smallTenants.size())));
+            Thread.sleep(25);
+        }
+
+        assertThat(smallDone.await(60, TimeUnit.SECONDS)).isTrue();
+        System.out.printf("Small tenant latency: %s (campaign processed so far: %d/%d)%n",
+                smallLatency.summary(), campaignProcessed.get(), CAMPAIGN_MESSAGES);
+
+        // Campaign still queued (a FIFO lane would take ~30s to reach the
+        // small tenants), yet their notifications went out within a second
+        assertThat(campaignProcessed.get()).isLessThan(CAMPAIGN_MESSAGES);
+        assertThat(smallLatency.percentile(99)).isLessThan(1_000);
+        // ...while the tenant sharing the campaign's shard still waits behind it
+        assertThat(collidingProcessed.get()).isZero();
+    }
+
+    /** Tenants whose shard differs from the campaign's (collisions share its turn). */
+    private List<String> tenantsOnOtherShards(int count) {
+        int campaignShard = shards.shardOf(CAMPAIGN_TENANT);
+        return IntStream.range(0, 100)
+                .mapToObj(i -> "tenant-" + i)
+                .filter(tenant -> shards.shardOf(tenant) != campaignShard)
+                .limit(count)
+                .toList();
+    }
+
+    /** A tenant that hashes to the campaign's shard. */
+    private String tenantOnCampaignShard() {
+        int campaignShard = shards.shardOf(CAMPAIGN_TENANT);
+        return IntStream.range(0, 100)
+                .mapToObj(i -> "tenant-" + i)
+                .filter(tenant -> shards.shardOf(tenant) == campaignShard)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Notification notification(long id, String tenantId) {
+        return Notification.builder()
+                .id(id)
+                .channel(Channel.EMAIL)
+                .templateName("welcome")
+                .parameters("{\"email\":\"load@example.com\"}")
+                .priority(NotificationPriority.NORMAL)
+                .tenantId(tenantId)
+                .build();
+    }
+
+    private static void simulateProvider() {
+        try {
+            Thread.sleep(PROVIDER_LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
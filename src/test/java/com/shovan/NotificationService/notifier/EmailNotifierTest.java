@@ -0,0 +1,89 @@
+package com.shovan.NotificationService.notifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.blob.BlobProperties;
+import com.shovan.NotificationService.blob.BlobStore;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+class EmailNotifierTest {
+
+    private static final String BODY = "<p>Grüße, Ada</p>".repeat(5_000);
+
+    @TempDir
+    Path dir;
+
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+
+    @Test
+    void streamsAStoredBodyFromTheBlobStore() throws Exception {
+        BlobStore blobStore = new BlobStore(
+                new BlobProperties(true, dir, DataSize.ofKilobytes(64), Duration.ofDays(7), Duration.ofHours(1)),
+                new SimpleMeterRegistry());
+        String key;
+        try (BlobStore.Upload upload = blobStore.upload()) {
+            upload.writer().write(BODY);
+            key = upload.commit();
+        }
+        Notification notification = notification();
+        notification.setContentRef(key);
+
+        MimeMessage sent = send(blobStore, notification, key);
+
+        assertThat(sent.getContentType()).isEqualTo("text/html; charset=UTF-8");
+        assertThat(sent.getAllRecipients()[0]).hasToString("ada@example.com");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        sent.getDataHandler().writeTo(body);
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    void sendsOtherContentAsText() throws Exception {
+        BlobStore blobStore = new BlobStore(
+                new BlobProperties(false, dir, DataSize.ofKilobytes(64), Duration.ofDays(7), Duration.ofHours(1)),
+                new SimpleMeterRegistry());
+
+        MimeMessage sent = send(blobStore, notification(), "<p>Hi</p>");
+
+        assertThat(sent.getContent()).isEqualTo("<p>Hi</p>");
+    }
+
+    private MimeMessage send(BlobStore blobStore, Notification notification, String content) throws Exception {
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+        new EmailNotifier(mailSender, new ObjectMapper(), blobStore).send(notification, content);
+        ArgumentCaptor<MimeMessage> sent = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender).send(sent.capture());
+        // What JavaMailSenderImpl does before writing the message out
+        sent.getValue().saveChanges();
+        return sent.getValue();
+    }
+
+    private static Notification notification() {
+        return Notification.builder()
+                .id(1)
+                .channel(Channel.EMAIL)
+                .templateName("newsletter")
+                .parameters("{\"email\":\"ada@example.com\"}")
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.shovan.NotificationService.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+
+class RecipientPartitionsTest {
+
+    private final RecipientPartitions partitions = new RecipientPartitions(16, true, new ObjectMapper());
+
+    @Test
+    void aRecipientAlwaysMapsToOnePartition() {
+        int partition = partitions.partitionOf(email(1, "acme", "Ann@Example.com"));
+
+        assertThat(partitions.partitionOf(email(2, "acme", "ann@example.com"))).isEqualTo(partition);
+        assertThat(partitions.routingKey(email(3, "acme", "ann@example.com")))
+                .isEqualTo(RabbitMQConfig.PARTITION_ROUTING_KEY_PREFIX + partition);
+        assertThat(IntStream.range(0, 1_000)
+                .map(i -> partitions.partitionOf(email(i, "acme", "user-" + i + "@example.com")))
+                .distinct().count()).isEqualTo(16);
+    }
+
+    @Test
+    void queuesAreSingleActiveConsumerAndDisabledByDefault() {
+        Queue queue = (Queue) partitions.declarables().getDeclarables().iterator().next();
+
+        assertThat(queue.getName()).isEqualTo(RabbitMQConfig.PARTITION_QUEUE_PREFIX + 0);
+        assertThat(queue.getArguments()).containsEntry("x-single-active-consumer", true);
+        assertThat(partitions.queues()).hasSize(16);
+
+        RecipientPartitions disabled = new RecipientPartitions(0, true, new ObjectMapper());
+        assertThat(disabled.enabled()).isFalse();
+        assertThat(disabled.partitionOf(email(1, "acme", "ann@example.com"))).isEqualTo(-1);
+        assertThat(disabled.declarables().getDeclarables()).isEmpty();
+    }
+
+    @Test
+    void everyPartitionHasExactlyOneOwner() {
+        List<String> members = List.of("a", "b", "c", "d");
+        Set<Integer> seen = new HashSet<>();
+
+        for (String member : members) {
+            Set<Integer> owned = PartitionAssignor.assign(256, members, member);
+            // Ideal is 64 each
+            assertThat(owned.size()).isBetween(40, 90);
+            for (int partition : owned) {
+                assertThat(seen.add(partition)).isTrue();
+            }
+        }
+        assertThat(seen).hasSize(256);
+    }
+
+    @Test
+    void joinAndLeaveMoveOnlyThatMembersShare() {
+        List<String> three = List.of("a", "b", "c");
+        List<String> four = List.of("a", "b", "c", "d");
+
+        for (String member : three) {
+            Set<Integer> before = PartitionAssignor.assign(256, three, member);
+            Set<Integer> after = PartitionAssignor.assign(256, four, member);
+            // Existing members only give partitions away (to d), never swap among themselves
+            assertThat(before).containsAll(after);
+        }
+        Set<Integer> joined = PartitionAssignor.assign(256, four, "d");
+        assertThat(joined.size()).isBetween(40, 90);
+
+        // d leaving hands its partitions back without touching the rest
+        for (String member : three) {
+            Set<Integer> restored = PartitionAssignor.assign(256, three, member);
+            Set<Integer> withD = PartitionAssignor.assign(256, four, member);
+            assertThat(restored).containsAll(withD);
+        }
+    }
+
+    private static Notification email(long id, String tenant, String address) {
+        return Notification.builder()
+                .id(id)
+                .tenantId(tenant)
+                .channel(Channel.EMAIL)
+                .parameters("{\"email\":\"" + address + "\"}")
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.shovan.NotificationService.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.rabbitmq.client.Channel;
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.exception.HandBackException;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.service.TemplateService;
+import com.shovan.NotificationService.tracing.DeliveryMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BatchNotificationListenerTest {
+
+    private final Jackson2JsonMessageConverter converter = new RabbitMQConfig().jackson2JsonMessageConverter();
+    private final NotificationListener pipeline = mock(NotificationListener.class);
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final TemplateService templateService = mock(TemplateService.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final Channel channel = mock(Channel.class);
+    private final BatchNotificationListener listener = new BatchNotificationListener(pipeline, repository,
+            templateService, new DeliveryMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(30), 0),
+            converter, mock(PlatformTransactionManager.class), rabbitTemplate, new SimpleMeterRegistry(),
+            new ShutdownDrain(new DrainProperties(true, Duration.ofSeconds(20)), new SimpleMeterRegistry()),
+            4, 2, Duration.ofMillis(1));
+
+    @AfterEach
+    void stop() {
+        listener.destroy();
+    }
+
+    @Test
+    void sharesTemplateLookupsSavesOnceAndAcksEachMessageOnItsOwn() throws Exception {
+        Map<String, String> templates = Map.of("welcome", "<p>hi</p>", "otp", "<p>code</p>");
+        when(templateService.loadAll(any())).thenReturn(templates);
+        doAnswer(call -> {
+            Notification notification = call.getArgument(0);
+            call.<Supplier<String>>getArgument(1).get();
+            if (notification.getId() == 3) {
+                notification.setStatus(NotificationStatus.FAILED);
+                return new IllegalStateException("provider rejected");
+            }
+            notification.setStatus(NotificationStatus.SUCCESS);
+            return null;
+        }).when(pipeline).send(any(), any(), any());
+
+        listener.handleNotifications(List.of(
+                message(1, 1, "welcome"),
+                message(2, 2, "welcome"),
+                message(3, 3, "otp"),
+                new Message("not json".getBytes(), properties(4))), channel);
+
+        ArgumentCaptor<Collection<String>> names = ArgumentCaptor.captor();
+        verify(templateService).loadAll(names.capture());
+        assertThat(names.getValue()).containsExactly("welcome", "otp");
+        verify(templateService, times(2)).renderBody(argThat(n -> n.getTemplateName().equals("welcome")), eq(templates));
+
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.captor();
+        verify(repository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Notification::getStatus)
+                .containsExactly(NotificationStatus.SUCCESS, NotificationStatus.SUCCESS, NotificationStatus.FAILED);
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicReject(3, false);
+        // Poison: quarantined, then acked
+        verify(rabbitTemplate).send(eq(RabbitMQConfig.DEAD_LETTER_EXCHANGE),
+                eq(RabbitMQConfig.QUARANTINE_ROUTING_KEY), any(Message.class));
+        verify(channel).basicAck(4, false);
+        verify(pipeline, times(3)).completed(any(), any());
+    }
+
+    @Test
+    void buffersCoalescedNotificationsOnlyOnceTheBatchIsSaved() throws Exception {
+        List<String> order = new ArrayList<>();
+        when(pipeline.coalesces(any())).thenReturn(true);
+        doAnswer(call -> {
+            order.add("save");
+            return call.getArgument(0);
+        }).when(repository).saveAll(any());
+        doAnswer(call -> order.add("buffer")).when(pipeline).buffer(any());
+
+        listener.handleNotifications(List.of(message(1, 7, "welcome")), channel);
+
+        assertThat(order).containsExactly("save", "buffer");
+        verify(pipeline, never()).send(any(), any(), any());
+        verify(channel).basicAck(7, false);
+    }
+
+    @Test
+    void requeuesHandedBackMessagesWithoutSavingThem() throws Exception {
+        doAnswer(call -> {
+            Notification notification = call.getArgument(0);
+            if (notification.getId() == 2) {
+                notification.setStatus(NotificationStatus.FAILED);
+                return new HandBackException("handed back", new IllegalStateException("provider down"));
+            }
+            notification.setStatus(NotificationStatus.SUCCESS);
+            return null;
+        }).when(pipeline).send(any(), any(), any());
+
+        listener.handleNotifications(List.of(message(1, 1, "welcome"), message(2, 2, "welcome")), channel);
+
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.captor();
+        verify(repository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Notification::getId).containsExactly(1L);
+        verify(channel).basicAck(1, false);
+        verify(channel).basicReject(2, true);
+        verify(pipeline, times(1)).completed(any(), any());
+    }
+
+    @Test
+    void deadLettersTheWholeBatchWhenItsOutcomeCannotBeSaved() throws Exception {
+        doThrow(new QueryTimeoutException("db down")).when(repository).saveAll(any());
+
+        listener.handleNotifications(List.of(message(1, 1, "welcome"), message(2, 2, "welcome")), channel);
+
+        verify(repository, times(2)).saveAll(any());
+        verify(channel).basicReject(1, false);
+        verify(channel).basicReject(2, false);
+        verify(channel, never()).basicAck(anyLong(), eq(false));
+        verify(pipeline, never()).completed(any(), any());
+    }
+
+    private Message message(long id, long deliveryTag, String template) {
+        Notification notification = Notification.builder()
+                .id(id)
+                .templateName(template)
+                .parameters("{}")
+                .status(NotificationStatus.PENDING)
+                .build();
+        return converter.toMessage(notification, properties(deliveryTag));
+    }
+
+    private static MessageProperties properties(long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        return properties;
+    }
+}
@@ -0,0 +1,68 @@
+package com.shovan.NotificationService.queue;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import com.shovan.NotificationService.config.RabbitMQConfig;
+
+class PoisonMessageRecovererTest {
+
+    private final AmqpTemplate amqpTemplate = mock(AmqpTemplate.class);
+    private final PoisonMessageRecoverer recoverer = new PoisonMessageRecoverer(amqpTemplate);
+    private final Message message = new Message("not json".getBytes(), new MessageProperties());
+
+    @Test
+    void quarantinesUnparseableMessages() {
+        Throwable cause = new ListenerExecutionFailedException("conversion failed",
+                new MessageConversionException("bad payload"), message);
+
+        recoverer.recover(message, cause);
+
+        verify(amqpTemplate).send(eq(RabbitMQConfig.DEAD_LETTER_EXCHANGE),
+                eq(RabbitMQConfig.QUARANTINE_ROUTING_KEY), any(Message.class));
+    }
+
+    @Test
+    void deadLettersOtherFailures() {
+        Throwable cause = new ListenerExecutionFailedException("send failed",
+                new IllegalStateException("provider down"), message);
+
+        assertThatThrownBy(() -> recoverer.recover(message, cause))
+                .isInstanceOf(AmqpRejectAndDontRequeueException.class);
+        verify(amqpTemplate, never()).send(any(), any(), any(Message.class));
+    }
+
+    @Test
+    void requeuesDeliveriesHandedBackOnShutdown() {
+        Throwable cause = new ListenerExecutionFailedException("handed back",
+                new ImmediateRequeueAmqpException("handed back", new IllegalStateException("provider down")),
+                message);
+
+        assertThatThrownBy(() -> recoverer.recover(message, cause))
+                .isInstanceOf(ImmediateRequeueAmqpException.class);
+        verify(amqpTemplate, never()).send(any(), any(), any(Message.class));
+    }
+
+    @Test
+    void streamRecovererRepublishesOtherFailuresToTheDeadLetterQueue() {
+        Throwable cause = new IllegalStateException("provider down");
+
+        PoisonMessageRecoverer.republishing(amqpTemplate).recover(message, cause);
+
+        verify(amqpTemplate).send(eq(RabbitMQConfig.DEAD_LETTER_EXCHANGE),
+                eq(RabbitMQConfig.DEAD_LETTER_ROUTING_KEY), any(Message.class));
+    }
+}
@@ -0,0 +1,139 @@
+package com.shovan.NotificationService.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.service.TemplateService;
+import com.shovan.NotificationService.tracing.DeliveryMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostgresQueueConsumerTest {
+
+    private final NotificationListener pipeline = mock(NotificationListener.class);
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final TemplateService templateService = mock(TemplateService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PostgresQueueConsumer consumer = new PostgresQueueConsumer(pipeline, repository,
+            templateService, new DeliveryMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(30), 0),
+            mock(DataSource.class), mock(PlatformTransactionManager.class),
+            new PostgresQueueProperties(1, 1, 3, 2, Duration.ofMillis(10), "notification_pending"),
+            new ShutdownDrain(new DrainProperties(true, Duration.ofSeconds(20)), new SimpleMeterRegistry()),
+            meterRegistry);
+
+    @AfterEach
+    void stop() {
+        consumer.destroy();
+    }
+
+    @Test
+    void claimsTheLaneRendersWithOneTemplateLookupAndSavesOnce() {
+        when(repository.claimPending(List.of("HIGH"), 3))
+                .thenReturn(List.of(notification(1, "otp"), notification(2, "otp"), notification(3, "reset")));
+        Map<String, String> templates = Map.of("otp", "<p>code</p>", "reset", "<p>reset</p>");
+        when(templateService.loadAll(any())).thenReturn(templates);
+        doAnswer(call -> {
+            Notification notification = call.getArgument(0);
+            call.<Supplier<String>>getArgument(1).get();
+            if (notification.getId() == 3) {
+                notification.setStatus(NotificationStatus.FAILED);
+                return new IllegalStateException("provider rejected");
+            }
+            notification.setStatus(NotificationStatus.SUCCESS);
+            return null;
+        }).when(pipeline).send(any(), any(), any());
+
+        assertThat(consumer.claimBatch(NotificationPriority.HIGH)).isEqualTo(3);
+
+        ArgumentCaptor<Collection<String>> names = ArgumentCaptor.captor();
+        verify(templateService).loadAll(names.capture());
+        assertThat(names.getValue()).containsExactly("otp", "reset");
+        verify(templateService, times(2)).renderBody(argThat(n -> n.getTemplateName().equals("otp")), eq(templates));
+
+        // A failure is an outcome like any other: saved FAILED, not rolled back
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.captor();
+        verify(repository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Notification::getStatus)
+                .containsExactly(NotificationStatus.SUCCESS, NotificationStatus.SUCCESS, NotificationStatus.FAILED);
+        verify(pipeline, times(3)).completed(any(), any());
+        assertThat(meterRegistry.get("notification.pg-queue.claimed").tag("lane", "high").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void buffersCoalescedNotificationsOnlyOnceTheBatchIsSaved() {
+        List<String> order = new ArrayList<>();
+        when(repository.claimPending(List.of("NORMAL"), 3)).thenReturn(List.of(notification(1, "comment")));
+        when(pipeline.coalesces(any())).thenReturn(true);
+        doAnswer(call -> {
+            order.add("save");
+            return call.getArgument(0);
+        }).when(repository).saveAll(any());
+        doAnswer(call -> order.add("buffer")).when(pipeline).buffer(any());
+
+        consumer.claimBatch(NotificationPriority.NORMAL);
+
+        assertThat(order).containsExactly("save", "buffer");
+        verify(pipeline, never()).send(any(), any(), any());
+    }
+
+    @Test
+    void leavesTheBatchToBeClaimedAgainWhenItsOutcomeCannotBeSaved() {
+        when(repository.claimPending(List.of("NORMAL"), 3)).thenReturn(List.of(notification(1, "welcome")));
+        doThrow(new QueryTimeoutException("db down")).when(repository).saveAll(any());
+
+        assertThatThrownBy(() -> consumer.claimBatch(NotificationPriority.NORMAL))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        verify(pipeline, never()).completed(any(), any());
+    }
+
+    @Test
+    void anEmptyClaimDoesNoWork() {
+        when(repository.claimPending(any(), anyInt())).thenReturn(List.of());
+
+        assertThat(consumer.claimBatch(NotificationPriority.NORMAL)).isZero();
+
+        verify(templateService, never()).loadAll(any());
+        verify(repository, never()).saveAll(any());
+    }
+
+    private static Notification notification(long id, String template) {
+        return Notification.builder()
+                .id(id)
+                .templateName(template)
+                .parameters("{}")
+                .status(NotificationStatus.PENDING)
+                .build();
+    }
+}
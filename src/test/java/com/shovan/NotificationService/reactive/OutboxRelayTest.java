@@ -0,0 +1,111 @@
+package com.shovan.NotificationService.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.service.NotificationIngestService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, Object, Object> streams = mock(StreamOperations.class);
+    private final NotificationIngestService ingestService = mock(NotificationIngestService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxRelay relay = new OutboxRelay(redisTemplate, ingestService,
+            mock(PlatformTransactionManager.class), new ObjectMapper(), meterRegistry, "outbox", "relay",
+            100, Duration.ofMillis(10), 3, "outbox:dead", Duration.ofMinutes(1));
+
+    @BeforeEach
+    void redis() {
+        when(redisTemplate.opsForStream()).thenReturn(streams);
+    }
+
+    @Test
+    void relaysTheRestOfABatchPastAnEntryThatKeepsFailingThenDeadLettersIt() {
+        Notification welcome = Notification.builder().id(1).build();
+        when(ingestService.persist(argThat(request -> request != null
+                && "welcome".equals(request.getTemplateName())))).thenReturn(List.of(welcome));
+        when(ingestService.persist(argThat(request -> request != null
+                && "broken".equals(request.getTemplateName()))))
+                .thenThrow(new IllegalStateException("constraint violation"));
+        MapRecord<String, Object, Object> good = entry("1-0", "welcome");
+        MapRecord<String, Object, Object> bad = entry("2-0", "broken");
+
+        assertThat(relay.relay(List.of(good, bad))).isFalse();
+
+        // The good entry is persisted, removed from the outbox and published
+        verify(streams).acknowledge("outbox", "relay", RecordId.of("1-0"));
+        verify(ingestService).dispatch(List.of(welcome));
+        verify(streams, never()).acknowledge("outbox", "relay", RecordId.of("2-0"));
+
+        // Retried from the pending entries until max-attempts, then dead-lettered
+        assertThat(relay.relay(List.of(bad))).isFalse();
+        assertThat(relay.relay(List.of(bad))).isTrue();
+        verify(streams).add(argThat((MapRecord<String, String, String> record) ->
+                record.getStream().equals("outbox:dead") && record.getValue().get("outboxId").equals("2-0")));
+        verify(streams).acknowledge("outbox", "relay", RecordId.of("2-0"));
+        assertThat(meterRegistry.get("notification.outbox.dead-lettered").counter().count()).isOne();
+    }
+
+    @Test
+    void deadLettersAnUnparseableEntryAtOnce() {
+        assertThat(relay.relay(List.of(MapRecord.create("outbox", Map.<Object, Object>of("request", "not json"))
+                .withId(RecordId.of("3-0"))))).isTrue();
+
+        verify(streams).add(any(MapRecord.class));
+        verify(streams).delete(eq("outbox"), eq(RecordId.of("3-0")));
+        verify(ingestService, never()).persist(any());
+    }
+
+    @Test
+    void claimsOnlyOtherConsumersEntriesThatHaveBeenIdleLongEnough() throws Exception {
+        String self = InetAddress.getLocalHost().getHostName();
+        when(streams.pending("outbox", "relay", Range.unbounded(), 100L)).thenReturn(new PendingMessages("relay",
+                List.of(pending("1-0", self, Duration.ofMinutes(5)),
+                        pending("2-0", "gone-pod", Duration.ofMinutes(5)),
+                        pending("3-0", "live-pod", Duration.ofSeconds(5)))));
+        MapRecord<String, Object, Object> orphan = entry("2-0", "welcome");
+        when(streams.claim("outbox", "relay", self, Duration.ofMinutes(1), RecordId.of("2-0")))
+                .thenReturn(List.of(orphan));
+
+        assertThat(relay.claimIdle()).containsExactly(orphan);
+    }
+
+    private static PendingMessage pending(String id, String consumer, Duration idle) {
+        return new PendingMessage(RecordId.of(id), Consumer.from("relay", consumer), idle, 1);
+    }
+
+    private static MapRecord<String, Object, Object> entry(String id, String templateName) {
+        return MapRecord.create("outbox", Map.<Object, Object>of("request",
+                "{\"templateName\":\"" + templateName + "\",\"channels\":[\"EMAIL\"],\"parameters\":{}}"))
+                .withId(RecordId.of(id));
+    }
+}
@@ -0,0 +1,55 @@
+package com.shovan.NotificationService.reactive;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.shovan.NotificationService.admission.AdmissionControlService;
+import com.shovan.NotificationService.config.ReactiveRoutesConfig;
+import com.shovan.NotificationService.dto.NotificationStatusDTO;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.status.NotificationStatusService;
+
+import jakarta.validation.Validator;
+
+class ReactiveNotificationHandlerTest {
+
+    private final NotificationStatusService statusService = mock(NotificationStatusService.class);
+    private final WebTestClient client = WebTestClient.bindToRouterFunction(new ReactiveRoutesConfig()
+            .notificationRoutes(new ReactiveNotificationHandler(mock(AdmissionControlService.class),
+                    mock(NotificationOutbox.class), mock(Validator.class), statusService)))
+            .build();
+
+    @Test
+    void servesStatusPollsForTheCallersTenant() {
+        NotificationStatusDTO sent = NotificationStatusDTO.builder()
+                .id(7L).tenantId("acme").status(NotificationStatus.SUCCESS).build();
+        when(statusService.find(7L, "acme")).thenReturn(Optional.of(sent));
+        when(statusService.findAll(List.of(7L, 9L), "acme")).thenReturn(List.of(sent));
+
+        client.get().uri("/api/notifications/7/status").header("X-Client-Id", "acme").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("SUCCESS");
+        client.get().uri("/api/notifications/7/status").exchange()
+                .expectStatus().isNotFound();
+        client.get().uri("/api/notifications/status?ids=7,9").header("X-Client-Id", "acme").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].id").isEqualTo(7).jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void rejectsMissingMalformedOrTooManyIds() {
+        client.get().uri("/api/notifications/status").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/notifications/status?ids=7,x").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/notifications/x/status").exchange().expectStatus().isBadRequest();
+        String tooMany = "1" + ",1".repeat(NotificationStatusService.MAX_IDS);
+        client.get().uri("/api/notifications/status?ids=" + tooMany).exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/notifications/7/status").header("X-Client-Id", "not a tenant!").exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,152 @@
+package com.shovan.NotificationService.receipt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.enums.SuppressionReason;
+import com.shovan.NotificationService.exception.AdmissionRejectedException;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties;
+import com.shovan.NotificationService.status.StatusReadModel;
+import com.shovan.NotificationService.suppression.SuppressionList;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReceiptBufferTest {
+
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReceiptBuffer buffer;
+
+    private ReceiptBuffer buffer(int maxPending, Duration earlyReceiptGrace) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        // Flushed by hand below
+        buffer = new ReceiptBuffer(repository,
+                new ReceiptProperties(true, "", "", Duration.ofHours(1), 1000, maxPending, earlyReceiptGrace),
+                beans.getBeanProvider(StatusReadModel.class), beans.getBeanProvider(SuppressionList.class),
+                new ObjectMapper(), mock(PlatformTransactionManager.class), meterRegistry);
+        return buffer;
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        if (buffer != null) {
+            buffer.destroy();
+        }
+    }
+
+    @Test
+    void coalescesPerNotificationAndWritesOneUpdatePerStatusAndReason() {
+        when(repository.applyReceipt(anyCollection(), any(), any(), anyCollection()))
+                .thenAnswer(call -> call.<Collection<?>>getArgument(0).size());
+        ReceiptBuffer buffer = buffer(100, Duration.ofSeconds(30));
+
+        buffer.accept(Receipt.delivered(1));
+        buffer.accept(Receipt.delivered(2));
+        buffer.accept(Receipt.delivered(3));
+        buffer.accept(Receipt.delivered(3));
+        // A late bounce wins over the delivery; a late delivery does not undo a bounce
+        buffer.accept(new Receipt(2, NotificationStatus.BOUNCED, "twilio-30005", SuppressionReason.INVALID_RECIPIENT));
+        buffer.accept(new Receipt(4, NotificationStatus.BOUNCED, "twilio-30005", SuppressionReason.INVALID_RECIPIENT));
+        buffer.accept(Receipt.delivered(4));
+        buffer.flush();
+
+        ArgumentCaptor<Collection<Long>> delivered = idsCaptor();
+        verify(repository).applyReceipt(delivered.capture(), eq(NotificationStatus.DELIVERED), eq(null),
+                eq(Set.of(NotificationStatus.SUCCESS)));
+        assertThat(delivered.getValue()).containsExactlyInAnyOrder(1L, 3L);
+        ArgumentCaptor<Collection<Long>> bounced = idsCaptor();
+        verify(repository).applyReceipt(bounced.capture(), eq(NotificationStatus.BOUNCED), eq("twilio-30005"),
+                anyCollection());
+        assertThat(bounced.getValue()).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(meterRegistry.get("notification.receipts.applied").tag("status", "bounced").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("notification.receipts.batch.size").summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsReceiptsThatArriveBeforeTheSendOutcomeCommits() {
+        // First flush: the listener has not committed SUCCESS yet
+        when(repository.applyReceipt(anyCollection(), any(), any(), anyCollection())).thenReturn(0, 1);
+        when(repository.findIdsByStatusIn(anyCollection(), anyCollection())).thenReturn(List.of(5L));
+        ReceiptBuffer buffer = buffer(100, Duration.ofSeconds(30));
+
+        buffer.accept(Receipt.delivered(5));
+        buffer.flush();
+        assertThat(meterRegistry.get("notification.receipts.pending").gauge().value()).isEqualTo(1);
+
+        buffer.flush();
+        verify(repository, times(2)).applyReceipt(eq(List.of(5L)), eq(NotificationStatus.DELIVERED), any(),
+                anyCollection());
+        assertThat(meterRegistry.get("notification.receipts.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("notification.receipts.discarded").counter().count()).isZero();
+    }
+
+    @Test
+    void discardsReceiptsThatChangeNothingAndShedsBeyondMaxPending() {
+        when(repository.applyReceipt(anyCollection(), any(), any(), anyCollection())).thenReturn(0);
+        when(repository.findIdsByStatusIn(anyCollection(), anyCollection())).thenReturn(List.of(7L));
+        ReceiptBuffer buffer = buffer(2, Duration.ZERO);
+
+        buffer.accept(Receipt.delivered(7));
+        buffer.accept(Receipt.delivered(8));
+        // Another receipt for a buffered id still coalesces
+        buffer.accept(Receipt.delivered(8));
+        assertThatThrownBy(() -> buffer.accept(Receipt.delivered(9)))
+                .isInstanceOf(AdmissionRejectedException.class);
+
+        // 7 is still PENDING but past the grace period; 8 is unknown or already final
+        buffer.flush();
+        assertThat(meterRegistry.get("notification.receipts.discarded").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("notification.receipts.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.receipts.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void readsFinalTwilioStatusesAndChecksSignatures() {
+        assertThat(TwilioReceipts.fromCallback(1, Map.of("MessageStatus", "sent"))).isNull();
+        assertThat(TwilioReceipts.fromCallback(1, Map.of("MessageStatus", "delivered")))
+                .isEqualTo(Receipt.delivered(1));
+        assertThat(TwilioReceipts.fromCallback(1, Map.of("MessageStatus", "undelivered", "ErrorCode", "30006")))
+                .isEqualTo(new Receipt(1, NotificationStatus.BOUNCED, "twilio-30006",
+                        SuppressionReason.INVALID_RECIPIENT));
+        // Carrier trouble says nothing about the recipient
+        assertThat(TwilioReceipts.fromCallback(1, Map.of("MessageStatus", "failed", "ErrorCode", "30008"))
+                .suppression()).isNull();
+
+        ReceiptSignatures signatures = new ReceiptSignatures(
+                new ReceiptProperties(true, "", "s3cret", Duration.ofSeconds(1), 1, 1, Duration.ZERO),
+                new ProviderRoutingProperties(null), "AC1", "token");
+        byte[] body = "[{\"notificationId\":1,\"status\":\"DELIVERED\"}]".getBytes();
+        assertThat(signatures.generic(body, signatures.signature(body))).isTrue();
+        assertThat(signatures.generic(body, "sha256=00")).isFalse();
+        assertThat(signatures.twilio("https://example.com/cb?notificationId=1",
+                Map.of("AccountSid", "AC1", "MessageStatus", "delivered"), "bogus")).isFalse();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ArgumentCaptor<Collection<Long>> idsCaptor() {
+        return ArgumentCaptor.forClass((Class) Collection.class);
+    }
+}
@@ -0,0 +1,194 @@
+package com.shovan.NotificationService.reconcile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.shovan.NotificationService.admission.LoadSampler;
+import com.shovan.NotificationService.admission.LoadSnapshot;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.queue.PostgresQueueConsumer;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.repository.NotificationRepository.StuckRow;
+import com.shovan.NotificationService.service.NotificationPublisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StuckNotificationReconcilerTest {
+
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final NotificationPublisher publisher = mock(NotificationPublisher.class);
+    private final LoadSampler loadSampler = mock(LoadSampler.class);
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<PostgresQueueConsumer> postgresQueue = mock(ObjectProvider.class);
+    private final DataSource dataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StuckNotificationReconciler reconciler = new StuckNotificationReconciler(repository, publisher,
+            loadSampler, postgresQueue, dataSource, mock(PlatformTransactionManager.class),
+            new ReconcilerProperties(true, Duration.ofSeconds(30), Duration.ofMinutes(15), Duration.ofMinutes(10),
+                    9, List.of("NotificationException"), Duration.ofHours(24), 2, 3, 1000),
+            meterRegistry);
+
+    @BeforeEach
+    void leader() throws SQLException {
+        lockHeld(true);
+        when(loadSampler.current()).thenReturn(LoadSnapshot.INITIAL);
+        when(repository.requeue(any(), any())).thenAnswer(call -> call.<Collection<Long>>getArgument(0).size());
+        when(repository.findAllById(any())).thenAnswer(call -> {
+            List<Notification> rows = new ArrayList<>();
+            for (Long id : call.<Iterable<Long>>getArgument(0)) {
+                rows.add(Notification.builder().id(id).status(NotificationStatus.PENDING).build());
+            }
+            return rows;
+        });
+    }
+
+    @Test
+    void sweepsInKeysetChunksAndResumesWhereTheLastRunStopped() {
+        LocalDateTime t = LocalDateTime.now().minusHours(1);
+        when(repository.findStuckAfter(eq(NotificationStatus.PENDING), anyInt(), any(), any(), anyLong(), any(), any()))
+                .thenReturn(List.of(row(1, t), row(2, t)))
+                .thenReturn(List.of(row(3, t.plusSeconds(1))))
+                .thenReturn(List.of(row(4, t.plusSeconds(2))));
+        when(repository.findStuckAfter(eq(NotificationStatus.FAILED), anyInt(), any(), any(), anyLong(), any(), any()))
+                .thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        // maxPerRun 3: a chunk of 2, then one of 1, and the pass is not over
+        ArgumentCaptor<Long> afterId = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Limit> limits = ArgumentCaptor.forClass(Limit.class);
+        verify(repository, times(2)).findStuckAfter(eq(NotificationStatus.PENDING), eq(Integer.MAX_VALUE), any(), any(),
+                afterId.capture(), any(), limits.capture());
+        assertThat(afterId.getAllValues()).containsExactly(0L, 2L);
+        assertThat(limits.getAllValues()).extracting(Limit::max).containsExactly(2, 1);
+        verify(repository).requeue(List.of(1L, 2L), NotificationStatus.PENDING);
+        verify(publisher, times(3)).publish(any(), any(Instant.class));
+
+        reconciler.reconcile();
+
+        // Resumed after id 3; a short page ends the pass
+        verify(repository, times(3)).findStuckAfter(eq(NotificationStatus.PENDING), eq(Integer.MAX_VALUE), any(), any(),
+                afterId.capture(), any(), any());
+        assertThat(afterId.getValue()).isEqualTo(3L);
+        verify(publisher, times(4)).publish(any(), any(Instant.class));
+        assertThat(meterRegistry.get("notification.reconciler.requeued").tag("status", "pending").counter().count())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void retriesFailedRowsBelowTheAttemptCapOnly() {
+        when(repository.findStuckAfter(eq(NotificationStatus.PENDING), anyInt(), any(), any(), anyLong(), any(), any()))
+                .thenReturn(List.of());
+        when(repository.findStuckAfter(eq(NotificationStatus.FAILED), eq(9), any(), any(), anyLong(), any(), any()))
+                .thenReturn(List.of(row(7, LocalDateTime.now().minusMinutes(20))));
+
+        reconciler.reconcile();
+
+        verify(repository).requeue(List.of(7L), NotificationStatus.FAILED);
+        verify(publisher).publish(any(), any(Instant.class));
+    }
+
+    @Test
+    void stopsRetryingAFailureThatNeverReachesAProvider() {
+        // A missing template fails before any provider attempt: attempts stays 0
+        // but for the requeues, which the UPDATE counts
+        AtomicInteger attempts = new AtomicInteger();
+        when(repository.findStuckAfter(eq(NotificationStatus.PENDING), anyInt(), any(), any(), anyLong(), any(),
+                any())).thenReturn(List.of());
+        when(repository.findStuckAfter(eq(NotificationStatus.FAILED), anyInt(), any(), any(), anyLong(), any(),
+                any())).thenAnswer(call -> attempts.get() < call.<Integer>getArgument(1)
+                        ? List.of(row(7, LocalDateTime.now().minusMinutes(20)))
+                        : List.of());
+        when(repository.requeue(List.of(7L), NotificationStatus.FAILED)).thenAnswer(call -> {
+            attempts.incrementAndGet();
+            return 1;
+        });
+
+        for (int run = 0; run < 20; run++) {
+            reconciler.reconcile();
+        }
+
+        assertThat(attempts.get()).isEqualTo(9);
+        verify(publisher, times(9)).publish(any(), any(Instant.class));
+    }
+
+    @Test
+    void leavesNonRetryableFailuresToTheReplayApi() {
+        when(repository.findStuckAfter(any(), anyInt(), any(), any(), anyLong(), any(), any())).thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        verify(repository).findStuckAfter(eq(NotificationStatus.FAILED), eq(9), eq(List.of("NotificationException")),
+                any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void defersPendingSweepsWhileTheBacklogMayStillHoldTheRows() {
+        when(loadSampler.current()).thenReturn(new LoadSnapshot(true, 100_000, 0, 10, 0, Set.of(), Instant.now()));
+        when(repository.findStuckAfter(eq(NotificationStatus.FAILED), anyInt(), any(), any(), anyLong(), any(), any()))
+                .thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        verify(repository, never()).findStuckAfter(eq(NotificationStatus.PENDING), anyInt(), any(), any(), anyLong(),
+                any(), any());
+        assertThat(meterRegistry.get("notification.reconciler.deferred").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyTheLockHolderSweeps() throws SQLException {
+        lockHeld(false);
+
+        reconciler.reconcile();
+
+        verify(repository, never()).findStuckAfter(any(), anyInt(), any(), any(), anyLong(), any(), any());
+    }
+
+    private void lockHeld(boolean acquired) throws SQLException {
+        when(dataSource.getConnection().prepareStatement(any()).executeQuery().next()).thenReturn(true);
+        when(dataSource.getConnection().prepareStatement(any()).executeQuery().getBoolean(1)).thenReturn(acquired);
+    }
+
+    private static StuckRow row(long id, LocalDateTime updatedAt) {
+        return new StuckRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.shovan.NotificationService.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.shovan.NotificationService.blob.BlobProperties;
+import com.shovan.NotificationService.blob.BlobStore;
+import com.shovan.NotificationService.exception.RenderRejectedException;
+import com.shovan.NotificationService.exception.RenderRejectedException.Reason;
+import com.shovan.NotificationService.util.TemplateRenderer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RenderExecutorTest {
+
+    private static final String GREETING = "<p th:text=\"${name}\">name</p>";
+    /** One paragraph per number up to ${count}. */
+    private static final String LOOP = "<p th:each=\"i : ${#numbers.sequence(1, count)}\" th:text=\"${i}\">n</p>";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RenderExecutor executor;
+    private BlobStore blobStore = new BlobStore(
+            new BlobProperties(false, null, DataSize.ofKilobytes(64), Duration.ofDays(7), Duration.ofHours(1)),
+            meterRegistry);
+
+    @TempDir
+    Path blobs;
+
+    @AfterEach
+    void stop() {
+        executor.destroy();
+    }
+
+    @Test
+    void rendersOffTheCallerAndRecordsTheRenderTimePerTemplate() {
+        executor = executor(2, 1, Duration.ofSeconds(2), Duration.ofSeconds(1), DataSize.ofMegabytes(1));
+
+        assertThat(executor.render("welcome", GREETING, Map.of("name", "Ada"))).isEqualTo("<p>Ada</p>");
+
+        assertThat(meterRegistry.get("notification.render").tag("template", "welcome").timer().count()).isOne();
+    }
+
+    @Test
+    void stopsARenderOverItsOutputBudget() {
+        executor = executor(2, 1, Duration.ofSeconds(5), Duration.ofSeconds(5), DataSize.ofKilobytes(64));
+
+        assertThatThrownBy(() -> executor.render("huge", LOOP, Map.of("count", 1_000_000)))
+                .isInstanceOfSatisfying(RenderRejectedException.class,
+                        ex -> assertThat(ex.getReason()).isEqualTo(Reason.OUTPUT));
+        assertThat(rejected("huge", "output")).isOne();
+    }
+
+    @Test
+    void stopsARenderOverItsCpuBudget() {
+        executor = executor(2, 1, Duration.ofSeconds(30), Duration.ofMillis(20), DataSize.ofMegabytes(512));
+
+        assertThatThrownBy(() -> executor.render("heavy", LOOP, Map.of("count", 2_000_000)))
+                .isInstanceOfSatisfying(RenderRejectedException.class,
+                        ex -> assertThat(ex.getReason()).isEqualTo(Reason.CPU));
+    }
+
+    @Test
+    void givesUpOnARenderPastTheTimeout() {
+        executor = executor(2, 1, Duration.ofMillis(200), Duration.ofSeconds(5), DataSize.ofMegabytes(1));
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> executor.render("slow", GREETING, Map.of("name", new Slow(Duration.ofSeconds(2)))))
+                .isInstanceOfSatisfying(RenderRejectedException.class,
+                        ex -> assertThat(ex.getReason()).isEqualTo(Reason.TIMEOUT));
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void throttlesAHeavyTemplateWithoutHoldingUpOthers() throws Exception {
+        executor = executor(2, 1, Duration.ofMillis(500), Duration.ofSeconds(5), DataSize.ofMegabytes(1));
+        CompletableFuture<String> heavy = CompletableFuture.supplyAsync(
+                () -> executor.render("heavy", GREETING, Map.of("name", new Slow(Duration.ofMillis(1500)))));
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        // The heavy template's only render thread is taken; other templates still get theirs
+        assertThatThrownBy(() -> executor.render("heavy", GREETING, Map.of("name", "Ada")))
+                .isInstanceOfSatisfying(RenderRejectedException.class,
+                        ex -> assertThat(ex.getReason()).isEqualTo(Reason.THROTTLED));
+        assertThat(executor.render("welcome", GREETING, Map.of("name", "Ada"))).isEqualTo("<p>Ada</p>");
+        assertThat(heavy).failsWithin(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void writesALargeBodyToTheBlobStoreInsteadOfTheHeap() throws Exception {
+        blobStore = new BlobStore(
+                new BlobProperties(true, blobs, DataSize.ofKilobytes(8), Duration.ofDays(7), Duration.ofHours(1)),
+                meterRegistry);
+        executor = executor(2, 1, Duration.ofSeconds(5), Duration.ofSeconds(5), DataSize.ofMegabytes(1));
+        String expected = executor.render("large", LOOP, Map.of("count", 5_000));
+
+        RenderedBody large = executor.renderBody("large", LOOP, Map.of("count", 5_000));
+        RenderedBody small = executor.renderBody("welcome", GREETING, Map.of("name", "Ada"));
+
+        assertThat(large.stored()).isTrue();
+        assertThat(large.text()).isNull();
+        try (var in = blobStore.open(large.blobKey(), "text/html").getInputStream()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(expected);
+        }
+        assertThat(small).isEqualTo(new RenderedBody("<p>Ada</p>", null));
+    }
+
+    private RenderExecutor executor(int threads, int templateThreads, Duration timeout, Duration cpuBudget,
+            DataSize maxOutput) {
+        return new RenderExecutor(new TemplateRenderer(),
+                new RenderProperties(threads, templateThreads, 16, timeout, cpuBudget, maxOutput), blobStore,
+                meterRegistry);
+    }
+
+    private double rejected(String template, String reason) {
+        return meterRegistry.get("notification.render.rejected")
+                .tag("template", template).tag("reason", reason).counter().count();
+    }
+
+    /** A parameter that takes a while to print, and does not let go when interrupted. */
+    private record Slow(Duration duration) {
+
+        @Override
+        public String toString() {
+            long deadline = System.nanoTime() + duration.toNanos();
+            boolean interrupted = false;
+            while (System.nanoTime() < deadline) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(deadline - System.nanoTime());
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        }
+    }
+}
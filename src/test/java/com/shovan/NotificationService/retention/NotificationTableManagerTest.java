@@ -0,0 +1,56 @@
+package com.shovan.NotificationService.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.shovan.NotificationService.retention.NotificationTableManager.Range;
+import com.shovan.NotificationService.retention.RetentionProperties.Interval;
+
+class NotificationTableManagerTest {
+
+    @Test
+    void plansTheCurrentDailyPartitionAndThePremadeOnes() {
+        List<Range> plan = NotificationTableManager.plan(LocalDate.of(2026, 10, 19), Interval.DAILY, 2);
+
+        assertThat(plan).containsExactly(
+                new Range(LocalDateTime.of(2026, 10, 19, 0, 0), LocalDateTime.of(2026, 10, 20, 0, 0)),
+                new Range(LocalDateTime.of(2026, 10, 20, 0, 0), LocalDateTime.of(2026, 10, 21, 0, 0)),
+                new Range(LocalDateTime.of(2026, 10, 21, 0, 0), LocalDateTime.of(2026, 10, 22, 0, 0)));
+        assertThat(plan.get(0).partitionName()).isEqualTo("notification_p20261019");
+    }
+
+    @Test
+    void alignsWeeklyPartitionsOnMonday() {
+        // A Thursday
+        List<Range> plan = NotificationTableManager.plan(LocalDate.of(2026, 10, 22), Interval.WEEKLY, 1);
+
+        assertThat(plan).containsExactly(
+                new Range(LocalDateTime.of(2026, 10, 19, 0, 0), LocalDateTime.of(2026, 10, 26, 0, 0)),
+                new Range(LocalDateTime.of(2026, 10, 26, 0, 0), LocalDateTime.of(2026, 11, 2, 0, 0)));
+    }
+
+    @Test
+    void parsesPartitionBoundsAsPrintedByPostgres() {
+        assertThat(NotificationTableManager.parseBound(
+                "FOR VALUES FROM ('2026-10-19 00:00:00') TO ('2026-10-20 00:00:00')"))
+                .isEqualTo(new Range(LocalDateTime.of(2026, 10, 19, 0, 0), LocalDateTime.of(2026, 10, 20, 0, 0)));
+        assertThat(NotificationTableManager.parseBound("FOR VALUES FROM (MINVALUE) TO ('2026-10-20 00:00:00')"))
+                .isEqualTo(new Range(LocalDateTime.MIN, LocalDateTime.of(2026, 10, 20, 0, 0)));
+        assertThat(NotificationTableManager.parseBound("DEFAULT")).isNull();
+    }
+
+    @Test
+    void legacyPartitionCoversEverythingBeforeTheCutover() {
+        Range legacy = new Range(LocalDateTime.MIN, LocalDateTime.of(2026, 10, 20, 0, 0));
+        List<Range> plan = NotificationTableManager.plan(LocalDate.of(2026, 10, 19), Interval.DAILY, 1);
+
+        // Today's range is already the legacy partition's; only tomorrow's is created
+        assertThat(plan).filteredOn(range -> !range.overlaps(legacy)).extracting(Range::partitionName)
+                .containsExactly("notification_p20261020");
+    }
+}
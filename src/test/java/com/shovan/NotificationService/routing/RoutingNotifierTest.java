@@ -0,0 +1,194 @@
+package com.shovan.NotificationService.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.notifier.Notifier;
+import com.shovan.NotificationService.notifier.StubNotifier;
+import com.shovan.NotificationService.routing.ProviderRoutingProperties.Hedge;
+import com.shovan.NotificationService.service.TemplateService;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RoutingNotifierTest {
+
+    private final CircuitBreakerRegistry breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TemplateService templateService = mock(TemplateService.class);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void splitsTrafficByWeightAndKeepsStandbysIdle() {
+        StubNotifier primary = new StubNotifier("primary", Duration.ZERO, 0);
+        StubNotifier secondary = new StubNotifier("secondary", Duration.ZERO, 0);
+        StubNotifier standby = new StubNotifier("standby", Duration.ZERO, 0);
+        RoutingNotifier router = router(Hedge.DISABLED,
+                new Provider("primary", 3, primary),
+                new Provider("secondary", 1, secondary),
+                new Provider("standby", 0, standby));
+
+        for (int i = 0; i < 4_000; i++) {
+            router.send(notification(NotificationPriority.NORMAL), "hi");
+        }
+
+        assertThat(primary.sentCount() / 4_000.0).isBetween(0.70, 0.80);
+        assertThat(primary.sentCount() + secondary.sentCount()).isEqualTo(4_000);
+        assertThat(standby.sentCount()).isZero();
+    }
+
+    @Test
+    void failsOverAndStopsCallingAProviderOnceItsBreakerOpens() {
+        StubNotifier broken = new StubNotifier("broken", Duration.ZERO, 1.0);
+        StubNotifier backup = new StubNotifier("backup", Duration.ZERO, 0);
+        RoutingNotifier router = router(Hedge.DISABLED,
+                new Provider("broken", 1, broken),
+                new Provider("backup", 0, backup));
+
+        for (int i = 0; i < 20; i++) {
+            Notification notification = notification(NotificationPriority.NORMAL);
+            router.send(notification, "hi");
+            assertThat(notification.getStatus()).isEqualTo(NotificationStatus.SUCCESS);
+            assertThat(notification.getProvider()).isEqualTo("backup");
+        }
+
+        assertThat(breakers.circuitBreaker("smsNotifier-broken").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("notification.provider.calls").tag("provider", "broken")
+                .tag("outcome", "failure").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("notification.provider.failovers").tag("provider", "broken")
+                .counter().count()).isEqualTo(4);
+        assertThat(router.circuitBreakerNames()).containsExactly("smsNotifier-broken", "smsNotifier-backup");
+    }
+
+    @Test
+    void failsWithTheLastErrorWhenEveryProviderFails() {
+        RoutingNotifier router = router(Hedge.DISABLED,
+                new Provider("a", 1, new StubNotifier("a", Duration.ZERO, 1.0)),
+                new Provider("b", 1, new StubNotifier("b", Duration.ZERO, 1.0)));
+        Notification notification = notification(NotificationPriority.NORMAL);
+
+        assertThatThrownBy(() -> router.send(notification, "hi")).isInstanceOf(IllegalStateException.class);
+        assertThat(notification.getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(notification.getAttempts()).isEqualTo(2);
+        assertThat(notification.getProvider()).isNull();
+    }
+
+    @Test
+    void hedgesASlowPrimaryForHighPriorityOnly() {
+        StubNotifier slow = new StubNotifier("slow", Duration.ofMillis(400), 0);
+        StubNotifier fast = new StubNotifier("fast", Duration.ofMillis(5), 0);
+        Hedge hedge = new Hedge(true, Set.of(NotificationPriority.HIGH), 0.95, 20,
+                Duration.ofMillis(10), Duration.ofMillis(50));
+        RoutingNotifier router = router(hedge,
+                new Provider("slow", 1, slow),
+                new Provider("fast", 0, fast));
+
+        Notification otp = notification(NotificationPriority.HIGH);
+        long start = System.nanoTime();
+        router.send(otp, "123456");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(otp.getProvider()).isEqualTo("fast");
+        assertThat(otp.getStatus()).isEqualTo(NotificationStatus.SUCCESS);
+        assertThat(otp.getAttempts()).isEqualTo(2);
+        assertThat(elapsedMillis).isLessThan(300);
+        assertThat(meterRegistry.get("notification.provider.hedges").tag("winner", "secondary")
+                .counter().count()).isEqualTo(1);
+
+        Notification bulk = notification(NotificationPriority.NORMAL);
+        router.send(bulk, "newsletter");
+        assertThat(bulk.getProvider()).isEqualTo("slow");
+        assertThat(bulk.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void givesAStoredBodysKeyOnlyToProvidersThatStreamIt() {
+        String key = "ab".repeat(32);
+        Notification notification = notification(NotificationPriority.NORMAL);
+        notification.setContentRef(key);
+        when(templateService.storedBody(notification, true)).thenReturn(key);
+        when(templateService.storedBody(notification, false)).thenReturn("<p>Hi</p>");
+        List<String> received = new ArrayList<>();
+        Notifier text = (sent, content) -> {
+            received.add(content);
+            throw new IllegalStateException("text provider down");
+        };
+        Notifier streaming = new Notifier() {
+            @Override
+            public void send(Notification sent, String content) {
+                received.add(content);
+            }
+
+            @Override
+            public boolean streamsStoredBodies() {
+                return true;
+            }
+        };
+        RoutingNotifier router = router(Hedge.DISABLED,
+                new Provider("text", 1, text),
+                new Provider("streaming", 0, streaming));
+
+        router.send(notification, key);
+
+        assertThat(received).containsExactly("<p>Hi</p>", key);
+    }
+
+    @Test
+    void hedgeDelayFollowsThePrimarysObservedPercentile() {
+        LatencyWindow window = new LatencyWindow(0.95, 20);
+        assertThat(window.percentileMillis()).isEqualTo(-1);
+
+        for (int i = 1; i <= 20; i++) {
+            window.record(i);
+        }
+        assertThat(window.percentileMillis()).isEqualTo(19);
+
+        // Recomputed every RECOMPUTE_EVERY samples, not per sample
+        for (int i = 0; i < LatencyWindow.CAPACITY; i++) {
+            window.record(1_000);
+        }
+        assertThat(window.percentileMillis()).isEqualTo(1_000);
+    }
+
+    private RoutingNotifier router(Hedge hedge, Provider... providers) {
+        return new RoutingNotifier(Channel.SMS, List.of(providers), hedge, breakers, meterRegistry, executor,
+                templateService);
+    }
+
+    private static Notification notification(NotificationPriority priority) {
+        return Notification.builder()
+                .id(1L)
+                .channel(Channel.SMS)
+                .priority(priority)
+                .status(NotificationStatus.PENDING)
+                .build();
+    }
+}
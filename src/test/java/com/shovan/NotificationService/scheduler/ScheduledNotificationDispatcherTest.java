@@ -0,0 +1,70 @@
+package com.shovan.NotificationService.scheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.repository.NotificationRepository;
+import com.shovan.NotificationService.repository.NotificationRepository.ScheduledSlot;
+import com.shovan.NotificationService.service.NotificationPublisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ScheduledNotificationDispatcherTest {
+
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final NotificationPublisher publisher = mock(NotificationPublisher.class);
+    private final ScheduledNotificationDispatcher dispatcher = new ScheduledNotificationDispatcher(repository,
+            publisher, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+            Duration.ofSeconds(1), Duration.ofSeconds(60), Duration.ofSeconds(5), 100, 1000);
+
+    @Test
+    void publishesOnlyTheRowsItClaimed() {
+        Instant due = Instant.now().minusSeconds(1);
+        when(repository.findScheduledAfter(any(), anyLong(), any(), any()))
+                .thenReturn(List.of(slot(1, due), slot(2, due), slot(3, due)));
+        // Row 2 is being released by another instance
+        when(repository.lockIdsInStatus(List.of(1L, 2L, 3L), "SCHEDULED")).thenReturn(List.of(1L, 3L));
+        Notification first = notification(1);
+        Notification third = notification(3);
+        when(repository.findAllById(List.of(1L, 3L))).thenReturn(List.of(first, third));
+
+        dispatcher.tick();
+
+        verify(repository).transitionStatus(List.of(1L, 3L), NotificationStatus.SCHEDULED,
+                NotificationStatus.PENDING);
+        verify(publisher).publish(first);
+        verify(publisher).publish(third);
+        verify(repository, never()).findAllById(List.of(1L, 2L, 3L));
+    }
+
+    private static ScheduledSlot slot(long id, Instant sendAt) {
+        return new ScheduledSlot() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Instant getSendAt() {
+                return sendAt;
+            }
+        };
+    }
+
+    private static Notification notification(long id) {
+        return Notification.builder().id(id).status(NotificationStatus.PENDING).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.shovan.NotificationService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.shovan.NotificationService.dto.ReplayJobDTO;
+import com.shovan.NotificationService.dto.ReplayRequestDTO;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.repository.NotificationRepository;
+
+class ReplayServiceTest {
+
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final NotificationPublisher publisher = mock(NotificationPublisher.class);
+    private final ReplayService replayService = new ReplayService(repository, publisher,
+            mock(PlatformTransactionManager.class), new SyncTaskExecutor(), Duration.ZERO);
+
+    @Test
+    void aFailedPublishLeavesTheRowsItDidNotReachFailed() {
+        Notification first = notification(1);
+        Notification second = notification(2);
+        Notification third = notification(3);
+        when(repository.findBy(any(Specification.class), any())).thenReturn(List.of(first, second, third), List.of());
+        when(repository.transitionStatus(any(), eq(NotificationStatus.FAILED), eq(NotificationStatus.PENDING)))
+                .thenReturn(1);
+        doThrow(new IllegalStateException("broker down")).when(publisher).publish(eq(second), any());
+
+        ReplayJobDTO job = replayService.startReplay(new ReplayRequestDTO());
+
+        verify(publisher).publish(eq(first), any());
+        // The row whose publish failed goes back to FAILED; the next one was never touched
+        verify(repository).transitionStatus(List.of(2L), NotificationStatus.PENDING, NotificationStatus.FAILED);
+        verify(repository, never()).transitionStatus(List.of(3L), NotificationStatus.FAILED,
+                NotificationStatus.PENDING);
+        assertThat(replayService.getJob(job.getJobId())).hasValueSatisfying(status -> {
+            assertThat(status.getState()).isEqualTo("FAILED");
+            assertThat(status.getReplayed()).isOne();
+        });
+    }
+
+    @Test
+    void skipsRowsNoLongerFailedAndForgetsFinishedJobs() {
+        Notification first = notification(1);
+        Notification second = notification(2);
+        when(repository.findBy(any(Specification.class), any())).thenReturn(List.of(first, second), List.of());
+        // Row 1 was replayed by someone else in the meantime
+        when(repository.transitionStatus(List.of(1L), NotificationStatus.FAILED, NotificationStatus.PENDING))
+                .thenReturn(0);
+        when(repository.transitionStatus(List.of(2L), NotificationStatus.FAILED, NotificationStatus.PENDING))
+                .thenReturn(1);
+
+        ReplayJobDTO job = replayService.startReplay(new ReplayRequestDTO());
+
+        verify(publisher, never()).publish(eq(first), any());
+        verify(publisher).publish(eq(second), any());
+        assertThat(replayService.getJob(job.getJobId())).hasValueSatisfying(
+                status -> assertThat(status.getState()).isEqualTo("COMPLETED"));
+
+        replayService.evictFinishedJobs();
+
+        assertThat(replayService.getJob(job.getJobId())).isEmpty();
+    }
+
+    private static Notification notification(long id) {
+        return Notification.builder().id(id).status(NotificationStatus.FAILED).build();
+    }
+}
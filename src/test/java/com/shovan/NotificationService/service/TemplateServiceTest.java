@@ -0,0 +1,86 @@
+package com.shovan.NotificationService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.blob.BlobProperties;
+import com.shovan.NotificationService.blob.BlobStore;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.render.RenderExecutor;
+import com.shovan.NotificationService.repository.NotificationTemplateRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TemplateServiceTest {
+
+    private static final String BODY = "<p>Grüße, Ada</p>".repeat(100);
+
+    @TempDir
+    Path dir;
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final RenderExecutor renderExecutor = mock(RenderExecutor.class);
+    private BlobStore blobStore;
+    private TemplateService templateService;
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get("template:newsletter")).thenReturn("<p th:text=\"${email}\"></p>");
+        when(renderExecutor.render(eq("newsletter"), eq("<p th:text=\"${email}\"></p>"), anyMap()))
+                .thenReturn("re-rendered");
+        blobStore = new BlobStore(
+                new BlobProperties(true, dir, DataSize.ofKilobytes(1), Duration.ofDays(7), Duration.ofHours(1)),
+                new SimpleMeterRegistry());
+        templateService = new TemplateService(mock(NotificationTemplateRepository.class), redisTemplate,
+                renderExecutor, blobStore, new ObjectMapper());
+    }
+
+    @Test
+    void givesTheKeyOnlyToProvidersThatStreamStoredBodies() throws Exception {
+        String key;
+        try (BlobStore.Upload upload = blobStore.upload()) {
+            upload.writer().write(BODY);
+            key = upload.commit();
+        }
+        Notification notification = notification(key);
+
+        assertThat(templateService.storedBody(notification, true)).isEqualTo(key);
+        assertThat(templateService.storedBody(notification, false)).isEqualTo(BODY);
+    }
+
+    @Test
+    void rendersASweptBodyAgain() {
+        Notification notification = notification("cd".repeat(32));
+
+        assertThat(templateService.storedBody(notification, true)).isEqualTo("re-rendered");
+        assertThat(templateService.storedBody(notification, false)).isEqualTo("re-rendered");
+    }
+
+    private static Notification notification(String contentRef) {
+        return Notification.builder()
+                .id(1)
+                .channel(Channel.EMAIL)
+                .templateName("newsletter")
+                .parameters("{\"email\":\"ada@example.com\"}")
+                .contentRef(contentRef)
+                .build();
+    }
+}
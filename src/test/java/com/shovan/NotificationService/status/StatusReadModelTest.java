@@ -0,0 +1,132 @@
+package com.shovan.NotificationService.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.shovan.NotificationService.dto.NotificationStatusDTO;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationStatus;
+import com.shovan.NotificationService.event.NotificationSentEvent;
+import com.shovan.NotificationService.repository.NotificationRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StatusReadModelTest {
+
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisServer redis;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private StatusReadModel readModel;
+    private NotificationStatusService statusService;
+
+    @BeforeEach
+    void start() throws Exception {
+        redis = RedisServer.newRedisServer();
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        // Flushed by hand below
+        readModel = new StatusReadModel(redisTemplate,
+                new StatusCacheProperties(true, Duration.ofHours(1), Duration.ofHours(1), 100), meterRegistry);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("statusReadModel", readModel);
+        statusService = new NotificationStatusService(repository, beans.getBeanProvider(StatusReadModel.class),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        readModel.destroy();
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @Test
+    void servesCommittedOutcomesFromRedisWithoutTheDatabase() {
+        readModel.onNotificationSent(new NotificationSentEvent(this,
+                notification(1, "acme", NotificationStatus.SUCCESS, 1)));
+        readModel.onNotificationSent(new NotificationSentEvent(this,
+                notification(2, "acme", NotificationStatus.FAILED, 3)));
+        readModel.flush();
+
+        List<NotificationStatusDTO> statuses = statusService.findAll(List.of(2L, 1L), "acme");
+
+        assertThat(statuses).extracting(NotificationStatusDTO::getId).containsExactly(2L, 1L);
+        assertThat(statuses.get(0).getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(statuses.get(0).getAttempts()).isEqualTo(3);
+        assertThat(statuses.get(0).getLastErrorClass()).isEqualTo("ApiException");
+        assertThat(statuses.get(1).getProvider()).isEqualTo("twilio");
+        assertThat(redisTemplate.getExpire(StatusReadModel.KEY_PREFIX + 1)).isPositive();
+        verify(repository, never()).findAllById(any());
+        // Another tenant sees nothing
+        assertThat(statusService.find(1, "other")).isEmpty();
+    }
+
+    @Test
+    void fallsBackToTheDatabaseAndCachesTheRow() {
+        when(repository.findAllById(List.of(5L)))
+                .thenReturn(List.of(notification(5, "default", NotificationStatus.PENDING, 0)));
+
+        assertThat(statusService.find(5, "default")).get()
+                .extracting(NotificationStatusDTO::getStatus).isEqualTo(NotificationStatus.PENDING);
+        readModel.flush();
+
+        assertThat(redisTemplate.opsForHash().get(StatusReadModel.KEY_PREFIX + 5, "status")).isEqualTo("PENDING");
+        assertThat(meterRegistry.get("notification.status.reads").tag("source", "database").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void aStaleDatabaseReadNeverOverwritesANewerOutcome() {
+        readModel.put(NotificationStatusService.toStatus(notification(9, "default", NotificationStatus.SUCCESS, 1)));
+        readModel.flush();
+
+        // A poll that read the row before the outcome committed
+        readModel.put(NotificationStatusService.toStatus(notification(9, "default", NotificationStatus.PENDING, 0)));
+        readModel.flush();
+        assertThat(redisTemplate.opsForHash().get(StatusReadModel.KEY_PREFIX + 9, "status")).isEqualTo("SUCCESS");
+
+        // A replayed notification moves on with its next attempt
+        readModel.put(NotificationStatusService.toStatus(notification(9, "default", NotificationStatus.FAILED, 2)));
+        readModel.flush();
+        assertThat(redisTemplate.opsForHash().get(StatusReadModel.KEY_PREFIX + 9, "status")).isEqualTo("FAILED");
+    }
+
+    private static Notification notification(long id, String tenant, NotificationStatus status, int attempts) {
+        return Notification.builder()
+                .id(id)
+                .tenantId(tenant)
+                .channel(Channel.SMS)
+                .templateName("otp")
+                .parameters("{}")
+                .status(status)
+                .attempts(attempts)
+                .provider(status == NotificationStatus.SUCCESS ? "twilio" : null)
+                .lastErrorClass(status == NotificationStatus.FAILED ? "ApiException" : null)
+                .updatedAt(LocalDateTime.of(2026, 10, 19, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.shovan.NotificationService.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.queue.NotificationListener;
+import com.shovan.NotificationService.stream.StreamProperties.Backend;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StreamLaneTest {
+
+    private final Jackson2JsonMessageConverter converter = new RabbitMQConfig().jackson2JsonMessageConverter();
+    private final NotificationListener listener = mock(NotificationListener.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final LocalNotificationLog log = new LocalNotificationLog(10_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StreamLane lane;
+
+    @AfterEach
+    void stop() {
+        if (lane != null) {
+            lane.stop();
+        }
+    }
+
+    @Test
+    void consumesInBatchesAndResumesFromTheStoredOffset() throws Exception {
+        Set<Long> handled = ConcurrentHashMap.newKeySet();
+        doAnswer(call -> handled.add(call.<Notification>getArgument(0).getId()))
+                .when(listener).handleStreamedNotification(any(), any());
+        for (long id = 1; id <= 250; id++) {
+            log.append(message(id));
+        }
+
+        lane = lane(2);
+        lane.start();
+        await(() -> handled.size() == 250);
+        lane.stop();
+        assertThat(meterRegistry.get("notification.stream.batch.size").summary().max()).isEqualTo(100);
+
+        // Records appended while stopped are picked up after the stored offset, nothing twice
+        for (long id = 251; id <= 260; id++) {
+            log.append(message(id));
+        }
+        lane = lane(2);
+        lane.start();
+        await(() -> handled.size() == 260);
+        verify(listener, timeout(1_000).times(260)).handleStreamedNotification(any(), any());
+        assertThat(lane.lag()).isZero();
+    }
+
+    @Test
+    void retriesTransientFailuresThenDeadLettersAndQuarantinesPoison() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(call -> {
+            Notification notification = call.getArgument(0);
+            if (notification.getId() == 1 && attempts.incrementAndGet() < 2) {
+                throw new IllegalStateException("database blip");
+            }
+            if (notification.getId() == 2) {
+                throw new AmqpRejectAndDontRequeueException("provider rejected");
+            }
+            return null;
+        }).when(listener).handleStreamedNotification(any(), any());
+
+        log.append(message(1));
+        log.append(message(2));
+        log.append(new Message("not json".getBytes(), new MessageProperties()));
+        lane = lane(1);
+        lane.start();
+
+        verify(rabbitTemplate, timeout(2_000)).send(eq(RabbitMQConfig.DEAD_LETTER_EXCHANGE),
+                eq(RabbitMQConfig.DEAD_LETTER_ROUTING_KEY), any(Message.class));
+        verify(rabbitTemplate, timeout(2_000)).send(eq(RabbitMQConfig.DEAD_LETTER_EXCHANGE),
+                eq(RabbitMQConfig.QUARANTINE_ROUTING_KEY), any(Message.class));
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void readsATimeWindowWithoutMovingTheLanesOffset() throws Exception {
+        log.append(message(1));
+        Thread.sleep(20);
+        Instant from = Instant.now();
+        log.append(message(2));
+        log.append(message(3));
+
+        List<Long> replayed = new CopyOnWriteArrayList<>();
+        try (NotificationLog.Subscription reader = log.readFrom(from, 10, Duration.ofMillis(20),
+                batch -> batch.forEach(record -> replayed
+                        .add(((Notification) converter.fromMessage(record.message())).getId())))) {
+            await(() -> replayed.size() == 2);
+        }
+        assertThat(replayed).containsExactly(2L, 3L);
+
+        // The named consumer still starts from the beginning
+        Set<Long> handled = ConcurrentHashMap.newKeySet();
+        doAnswer(call -> handled.add(call.<Notification>getArgument(0).getId()))
+                .when(listener).handleStreamedNotification(any(), any());
+        lane = lane(1);
+        lane.start();
+        await(() -> handled.size() == 3);
+    }
+
+    private StreamLane lane(int concurrency) {
+        StreamProperties properties = new StreamProperties(true, Backend.LOCAL, "bulk", "lane-test", 100,
+                Duration.ofMillis(50), concurrency, Duration.ofDays(1), Duration.ofSeconds(1),
+                Duration.ofSeconds(1), 10_000);
+        StreamLane lane = new StreamLane(log, properties, listener, converter, rabbitTemplate, meterRegistry,
+                3, Duration.ofMillis(10));
+        return lane;
+    }
+
+    private Message message(long id) {
+        return converter.toMessage(Notification.builder().id(id).channel(Channel.EMAIL).build(),
+                new MessageProperties());
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.shovan.NotificationService.suppression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.entity.Suppression;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.SuppressionReason;
+import com.shovan.NotificationService.repository.SuppressionRepository;
+import com.shovan.NotificationService.util.BloomFilter;
+import com.twilio.exception.ApiException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.InternetAddress;
+
+class SuppressionListTest {
+
+    private final SuppressionRepository repository = mock(SuppressionRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SuppressionList list() {
+        return new SuppressionList(repository,
+                new SuppressionProperties(true, 1_000, 0.001, Duration.ofSeconds(10), Duration.ofHours(1)),
+                new ObjectMapper(), mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    @Test
+    void clearsUnknownRecipientsWithoutQueryingAndConfirmsFilterHits() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(row(1, Channel.EMAIL, "bounced@example.com")));
+        when(repository.existsByChannelAndAddress(Channel.EMAIL, "bounced@example.com")).thenReturn(true);
+        SuppressionList list = list();
+        list.rebuild();
+
+        assertThat(list.isSuppressed(notification(Channel.EMAIL, "{\"email\":\"Bounced@Example.com\"}"))).isTrue();
+        assertThat(list.isSuppressed(notification(Channel.EMAIL, "{\"email\":\"alice@example.com\"}"))).isFalse();
+        // Same address on another channel is a different key
+        assertThat(list.isSuppressed(Channel.SMS, "bounced@example.com")).isFalse();
+
+        verify(repository, never()).existsByChannelAndAddress(Channel.EMAIL, "alice@example.com");
+        assertThat(meterRegistry.get("notification.suppression.hits").tag("channel", "email").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void refreshFoldsInRowsAddedElsewhere() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of());
+        SuppressionList list = list();
+        list.rebuild();
+        when(repository.existsByChannelAndAddress(Channel.SMS, "+15550001")).thenReturn(true);
+        assertThat(list.isSuppressed(Channel.SMS, "+15550001")).isFalse();
+
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(row(7, Channel.SMS, "+15550001")));
+        list.refresh();
+        assertThat(list.isSuppressed(Channel.SMS, "+15550001")).isTrue();
+
+        // The watermark moved past the folded row
+        list.refresh();
+        verify(repository).findByIdGreaterThanOrderByIdAsc(eq(7L), any());
+    }
+
+    @Test
+    void suppressesRecipientsProvidersReportAsUndeliverable() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of());
+        SuppressionList list = list();
+        list.rebuild();
+
+        list.recordFailure(notification(Channel.SMS, "{\"phoneNumber\":\"+15550002\"}"),
+                new RuntimeException("SmsNotifier failed",
+                        new ApiException("unsubscribed", ProviderFeedback.TWILIO_UNSUBSCRIBED, null, 400, null)));
+        // A provider outage says nothing about the recipient
+        list.recordFailure(notification(Channel.SMS, "{\"phoneNumber\":\"+15550003\"}"),
+                new RuntimeException(new ApiException("unavailable", 20500, null, 500, null)));
+
+        ArgumentCaptor<Suppression> saved = ArgumentCaptor.forClass(Suppression.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getAddress()).isEqualTo("+15550002");
+        assertThat(saved.getValue().getReason()).isEqualTo(SuppressionReason.UNSUBSCRIBED);
+        when(repository.existsByChannelAndAddress(Channel.SMS, "+15550002")).thenReturn(true);
+        assertThat(list.isSuppressed(Channel.SMS, "+15550002")).isTrue();
+    }
+
+    @Test
+    void findsMailboxRejectionsOutsideTheCauseChain() throws Exception {
+        SMTPAddressFailedException rcpt = new SMTPAddressFailedException(
+                new InternetAddress("gone@example.com"), "RCPT TO", 550, "5.1.1 no such user");
+        MailSendException mail = new MailSendException(Map.of(new Object(), rcpt));
+
+        assertThat(ProviderFeedback.classify(new RuntimeException("EmailNotifier failed", mail)))
+                .isEqualTo(SuppressionReason.BOUNCE);
+        assertThat(ProviderFeedback.classify(new MailSendException(Map.of(new Object(),
+                new SMTPAddressFailedException(new InternetAddress("full@example.com"), "RCPT TO", 452,
+                        "4.2.2 mailbox full")))))
+                .isNull();
+    }
+
+    @Test
+    void bloomFilterStaysNearItsFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(BloomFilter.hash(0, "user" + i + "@example.com"));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(BloomFilter.hash(0, "user" + i + "@example.com"))).isTrue();
+            if (filter.mightContain(BloomFilter.hash(0, "other" + i + "@example.com"))) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    private static Suppression row(long id, Channel channel, String address) {
+        return Suppression.builder().id(id).channel(channel).address(address)
+                .reason(SuppressionReason.BOUNCE).build();
+    }
+
+    private static Notification notification(Channel channel, String parameters) {
+        return Notification.builder().id(1).channel(channel).templateName("welcome").parameters(parameters)
+                .build();
+    }
+}
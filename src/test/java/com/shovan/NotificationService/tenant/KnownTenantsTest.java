@@ -0,0 +1,24 @@
+package com.shovan.NotificationService.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+
+class KnownTenantsTest {
+
+    @Test
+    void bucketsEveryUnknownTenantAsOther() {
+        RateLimiterRegistry rateLimiters = RateLimiterRegistry.ofDefaults();
+        rateLimiters.rateLimiter("client-loadtest");
+        KnownTenants tenants = new KnownTenants(new TenantProperties(List.of("acme")), rateLimiters);
+
+        assertThat(tenants.bucket("acme")).isEqualTo("acme");
+        assertThat(tenants.bucket("loadtest")).isEqualTo("loadtest");
+        assertThat(tenants.bucket(null)).isEqualTo(Tenants.DEFAULT_TENANT);
+        assertThat(tenants.bucket("anything-else")).isEqualTo(KnownTenants.OTHER);
+    }
+}
@@ -0,0 +1,62 @@
+package com.shovan.NotificationService.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.shovan.NotificationService.config.RabbitMQConfig;
+import com.shovan.NotificationService.exception.InvalidTenantException;
+
+class TenantShardsTest {
+
+    @Test
+    void tenantsSpreadOverAllShardsAndStayPut() {
+        TenantShards shards = new TenantShards(8);
+
+        assertThat(IntStream.range(0, 1_000).map(i -> shards.shardOf("tenant-" + i)).distinct().count())
+                .isEqualTo(8);
+        assertThat(shards.shardOf("acme")).isEqualTo(shards.shardOf("acme"));
+        assertThat(shards.routingKey("acme"))
+                .isEqualTo(RabbitMQConfig.TENANT_SHARD_ROUTING_KEY_PREFIX + shards.shardOf("acme"));
+        assertThat(shards.shardOf(null)).isEqualTo(shards.shardOf(Tenants.DEFAULT_TENANT));
+    }
+
+    @Test
+    void addingAShardMovesOnlyAFewTenants() {
+        TenantShards eight = new TenantShards(8);
+        TenantShards nine = new TenantShards(9);
+
+        long moved = IntStream.range(0, 9_000)
+                .filter(i -> eight.shardOf("tenant-" + i) != nine.shardOf("tenant-" + i))
+                .count();
+
+        // Ideal is 1/9 of the tenants, all of them onto the new shard
+        assertThat(moved).isBetween(700L, 1_300L);
+        assertThat(IntStream.range(0, 9_000)
+                .filter(i -> eight.shardOf("tenant-" + i) != nine.shardOf("tenant-" + i))
+                .allMatch(i -> nine.shardOf("tenant-" + i) == 8)).isTrue();
+    }
+
+    @Test
+    void zeroShardsKeepsTheSingleBulkQueue() {
+        TenantShards disabled = new TenantShards(0);
+
+        assertThat(disabled.routingKey("acme")).isEqualTo(RabbitMQConfig.ROUTING_KEY);
+        assertThat(disabled.bulkQueues()).containsExactly(RabbitMQConfig.QUEUE);
+        assertThat(disabled.declarables().getDeclarables()).isEmpty();
+        assertThat(new TenantShards(2).bulkQueues()).containsExactly(
+                RabbitMQConfig.TENANT_SHARD_QUEUE_PREFIX + 0, RabbitMQConfig.TENANT_SHARD_QUEUE_PREFIX + 1,
+                RabbitMQConfig.QUEUE);
+    }
+
+    @Test
+    void headerTenantWinsOverBodyTenant() {
+        assertThat(Tenants.resolve("acme", "other")).isEqualTo("acme");
+        assertThat(Tenants.resolve(" ", "other")).isEqualTo("other");
+        assertThat(Tenants.resolve(null, null)).isEqualTo(Tenants.DEFAULT_TENANT);
+        assertThatThrownBy(() -> Tenants.resolve("acme corp", null)).isInstanceOf(InvalidTenantException.class);
+    }
+}
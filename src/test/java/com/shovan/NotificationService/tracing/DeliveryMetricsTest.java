@@ -0,0 +1,163 @@
+package com.shovan.NotificationService.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.shovan.NotificationService.entity.Notification;
+import com.shovan.NotificationService.enums.Channel;
+import com.shovan.NotificationService.enums.NotificationPriority;
+import com.shovan.NotificationService.enums.NotificationStatus;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DeliveryMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeliveryMetrics metrics = new DeliveryMetrics(meterRegistry, Duration.ofSeconds(30), 0);
+    private final ListAppender<ILoggingEvent> deliveryLog = new ListAppender<>();
+
+    @BeforeEach
+    void captureDeliveryLog() {
+        deliveryLog.start();
+        ((Logger) LoggerFactory.getLogger("notification.delivery")).addAppender(deliveryLog);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        ((Logger) LoggerFactory.getLogger("notification.delivery")).detachAppender(deliveryLog);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void traceSurvivesTheHeaderRoundTrip() {
+        Instant accepted = Instant.now().minusSeconds(5);
+        DeliveryTrace published = DeliveryTrace.forPublish(notification(NotificationStatus.PENDING), accepted);
+        MessageProperties properties = new MessageProperties();
+
+        published.writeTo(properties);
+
+        assertThat(DeliveryTrace.from(properties)).isEqualTo(published);
+        assertThat(published.acceptedAt()).isEqualTo(accepted.toEpochMilli());
+        assertThat(published.traceId()).hasSize(32);
+    }
+
+    @Test
+    void missingHeadersMeanUnknownStagesAreSkipped() {
+        DeliveryTimeline timeline = metrics.start(DeliveryTrace.from(new MessageProperties()));
+        timeline.rendered();
+        timeline.sent();
+
+        metrics.complete(timeline, notification(NotificationStatus.SUCCESS));
+
+        assertThat(meterRegistry.find("notification.stage").tag("stage", "queue").timer()).isNull();
+        assertThat(meterRegistry.find("notification.stage").tag("stage", "render").timer()).isNotNull();
+        assertThat(meterRegistry.find("notification.delivery").timer()).isNull();
+    }
+
+    @Test
+    void recordsAllStagesOnceTheTransactionCompletes() {
+        long now = System.currentTimeMillis();
+        DeliveryTimeline timeline = metrics.start(new DeliveryTrace("abc", now - 2_000, now - 1_500));
+        timeline.rendered();
+        timeline.sent();
+        TransactionSynchronizationManager.initSynchronization();
+
+        metrics.complete(timeline, notification(NotificationStatus.SUCCESS));
+
+        assertThat(meterRegistry.find("notification.delivery").timer()).isNull();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        for (String stage : new String[] { "ingest", "queue", "render", "send", "persist" }) {
+            assertThat(meterRegistry.get("notification.stage").tag("stage", stage)
+                    .tag("channel", "sms").tag("priority", "high").timer().count())
+                    .as(stage).isEqualTo(1);
+        }
+        Timer delivery = meterRegistry.get("notification.delivery").tag("status", "success").timer();
+        assertThat(delivery.count()).isEqualTo(1);
+        assertThat(delivery.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2_000);
+        assertThat(meterRegistry.get("notification.stage").tag("stage", "ingest").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(500);
+    }
+
+    @Test
+    void recordsNothingWhenTheTransactionRollsBack() {
+        long now = System.currentTimeMillis();
+        DeliveryTimeline timeline = metrics.start(new DeliveryTrace("abc", now - 2_000, now - 1_500));
+        timeline.rendered();
+        timeline.sent();
+        TransactionSynchronizationManager.initSynchronization();
+
+        metrics.complete(timeline, notification(NotificationStatus.SUCCESS));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(meterRegistry.find("notification.delivery").timer()).isNull();
+        assertThat(meterRegistry.find("notification.stage").timer()).isNull();
+        assertThat(deliveryLog.list).isEmpty();
+    }
+
+    @Test
+    void failedRenderRecordsNoSendStage() {
+        long now = System.currentTimeMillis();
+        DeliveryTimeline timeline = metrics.start(new DeliveryTrace("abc", now, now));
+        timeline.sent();
+
+        metrics.complete(timeline, notification(NotificationStatus.FAILED));
+
+        assertThat(meterRegistry.find("notification.stage").tag("stage", "render").timer()).isNull();
+        assertThat(meterRegistry.find("notification.stage").tag("stage", "send").timer()).isNull();
+        assertThat(meterRegistry.get("notification.delivery").tag("status", "failed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failuresAreAlwaysSummarisedAndSuccessesSampled() {
+        long now = System.currentTimeMillis();
+        Notification failed = notification(NotificationStatus.FAILED);
+        failed.setLastErrorClass("SocketTimeoutException");
+
+        metrics.complete(metrics.start(new DeliveryTrace("ok", now, now)), notification(NotificationStatus.SUCCESS));
+        metrics.complete(metrics.start(new DeliveryTrace("bad", now, now)), failed);
+
+        assertThat(deliveryLog.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.WARN);
+            assertThat(event.getFormattedMessage())
+                    .startsWith("failed id=7 tenant=default channel=sms priority=high status=failed")
+                    .contains("error=SocketTimeoutException", "traceId=bad");
+        });
+
+        new DeliveryMetrics(meterRegistry, Duration.ofSeconds(30), 1.0)
+                .complete(metrics.start(new DeliveryTrace("ok", now, now)), notification(NotificationStatus.SUCCESS));
+
+        assertThat(deliveryLog.list).hasSize(2);
+        assertThat(deliveryLog.list.get(1).getLevel()).isEqualTo(Level.INFO);
+        assertThat(deliveryLog.list.get(1).getFormattedMessage()).startsWith("delivered id=7");
+    }
+
+    private static Notification notification(NotificationStatus status) {
+        return Notification.builder()
+                .id(7L)
+                .channel(Channel.SMS)
+                .priority(NotificationPriority.HIGH)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.shovan.NotificationService.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void expiresEntriesOnlyOnceTheirDeadlinePassed() {
+        TimingWheel wheel = new TimingWheel(1_000, 8, 0);
+        wheel.add(1, 2_500);
+        wheel.add(2, 500);
+
+        assertThat(wheel.advance(999)).isEmpty();
+        assertThat(wheel.advance(1_000)).containsExactly(2L);
+        assertThat(wheel.advance(2_999)).isEmpty();
+        assertThat(wheel.advance(3_000)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void keepsDeadlinesBeyondOneRevolution() {
+        TimingWheel wheel = new TimingWheel(1_000, 4, 0);
+        wheel.add(7, 10_000);
+
+        assertThat(wheel.advance(9_999)).isEmpty();
+        assertThat(wheel.advance(10_000)).containsExactly(7L);
+    }
+
+    @Test
+    void pastDeadlinesAndDuplicatesAreHandled() {
+        TimingWheel wheel = new TimingWheel(1_000, 4, 5_000);
+        assertThat(wheel.add(3, 0)).isTrue();
+        assertThat(wheel.add(3, 0)).isFalse();
+
+        assertThat(wheel.advance(5_000)).containsExactly(3L);
+    }
+}